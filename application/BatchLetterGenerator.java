@@ -0,0 +1,181 @@
+/**
+ * Command-line batch generation of letters from a JSONL or CSV file.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Generates recommendation letters from a JSONL or CSV file without starting
+ * the JavaFX toolkit. Records are streamed from the input in chunks, and each
+ * chunk is rendered and written by a {@link BulkLetterRenderer} before the next
+ * one is read, so only one chunk of records is held in memory at a time.
+ *
+ * <p>
+ * Each letter is saved as {@code Last_First.txt}, as from the draft screen.
+ * Records whose name would not make a valid letter name, such as one holding a
+ * {@code /} or starting with a dot, are skipped, and so is every record after
+ * the first for the same student, so no letter of the batch overwrites
+ * another. The names seen so far are kept to find these, about a hundred bytes
+ * per letter. Both are reported and counted as failed.
+ *
+ * <pre>
+ * java application.Main --batch &lt;input.jsonl|input.csv&gt; [storeDirectory] [threads]
+ * </pre>
+ */
+public class BatchLetterGenerator {
+	/** The number of records read per worker thread before they are rendered. */
+	static final int CHUNK_PER_THREAD = 8 * BulkLetterRenderer.LEAF_SIZE;
+
+	private final RecommendationStore store;
+	private final BulkLetterRenderer renderer;
+	private long skipped;
+
+	/**
+	 * Constructor for the BatchLetterGenerator.
+	 *
+	 * @param recommendationManager the manager used to render letters
+	 * @param store                 the store letters are written to
+	 * @param threads               the number of worker threads
+	 */
+	public BatchLetterGenerator(RecommendationManager recommendationManager, RecommendationStore store,
+			int threads) {
+		this.store = store;
+		this.renderer = new BulkLetterRenderer(recommendationManager, store, threads);
+	}
+
+	/**
+	 * Runs a batch from the command line.
+	 *
+	 * @param args the input file, and optionally the store directory and the
+	 *             number of worker threads
+	 */
+	public static void main(String[] args) {
+		int threads = args.length > 2 ? parseThreads(args[2]) : Runtime.getRuntime().availableProcessors();
+		if (args.length < 1 || args.length > 3 || threads < 1) {
+			System.out.println(
+					"Usage: java application.Main --batch <input.jsonl|input.csv> [storeDirectory] [threads]");
+			return;
+		}
+		Path input = Paths.get(args[0]);
+		Path output = Paths.get(args.length > 1 ? args[1] : SegmentRecommendationStore.DEFAULT_DIRECTORY);
+
+		try (RecommendationStore store = new SegmentRecommendationStore(output)) {
+			new BatchLetterGenerator(new RecommendationManager(new SharedDataModel()), store, threads).generate(input);
+		} catch (IOException e) {
+			System.out.println("Batch failed: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads a thread count from the command line.
+	 *
+	 * @return the count, or 0 if it is not a number
+	 */
+	private static int parseThreads(String value) {
+		try {
+			return Integer.parseInt(value);
+		} catch (NumberFormatException e) {
+			return 0;
+		}
+	}
+
+	/**
+	 * Renders and writes a letter for every record in the input file, then prints
+	 * a throughput report.
+	 *
+	 * @param input the JSONL or CSV input file
+	 * @throws IOException if the input cannot be read or the letters cannot be
+	 *                     flushed to the store
+	 */
+	public void generate(Path input) throws IOException {
+		int chunkSize = renderer.getThreads() * CHUNK_PER_THREAD;
+		List<Recommendation> chunk = new ArrayList<>(chunkSize);
+		long start = System.nanoTime();
+		long records = 0;
+		Set<String> fileNames = new HashSet<>();
+		try (RecommendationRecordReader reader = RecommendationRecordReader.open(input)) {
+			while (true) {
+				Recommendation recommendation;
+				try {
+					recommendation = reader.read();
+				} catch (IllegalArgumentException e) {
+					skipped++;
+					System.out.println("Skipping record: " + e.getMessage());
+					continue;
+				}
+				if (recommendation == null) {
+					break;
+				}
+				records++;
+				String fileName = recommendation.getLastName() + "_" + recommendation.getFirstName() + ".txt";
+				if (!RecommendationStore.isLetterName(fileName)) {
+					skipped++;
+					System.out.println("Skipping record " + records + ": invalid student name for " + fileName);
+					continue;
+				}
+				if (!fileNames.add(fileName)) {
+					skipped++;
+					System.out.println("Skipping record " + records + ": duplicate student " + fileName
+							+ ", the first record for this student is kept");
+					continue;
+				}
+				chunk.add(recommendation);
+				if (chunk.size() == chunkSize) {
+					renderer.renderAll(chunk);
+					chunk.clear();
+				}
+			}
+			renderer.renderAll(chunk);
+		} finally {
+			renderer.shutdown();
+		}
+		store.flush();
+		printReport(records, System.nanoTime() - start);
+	}
+
+	private void printReport(long records, long elapsedNanos) {
+		double seconds = elapsedNanos / 1e9;
+		System.out.println(String.format("Batch complete: %d records read, %d letters written, %d failed in %.2fs",
+				records, getWritten(), getFailed(), seconds));
+		System.out.println(String.format("Throughput: %.1f records/sec on %d threads",
+				seconds > 0 ? records / seconds : 0.0, renderer.getThreads()));
+		System.out.println("Per-letter latency: " + renderer.getLatency().summary());
+	}
+
+	/**
+	 * Returns the per-letter render and write latency.
+	 *
+	 * @return the latency histogram
+	 */
+	public LatencyHistogram getLatency() {
+		return renderer.getLatency();
+	}
+
+	/**
+	 * Returns the number of letters written.
+	 *
+	 * @return the number of letters written
+	 */
+	public long getWritten() {
+		return renderer.getWritten();
+	}
+
+	/**
+	 * Returns the number of records that were skipped or could not be written.
+	 *
+	 * @return the number of failures
+	 */
+	public long getFailed() {
+		return skipped + renderer.getFailed();
+	}
+}
@@ -0,0 +1,215 @@
+/**
+ * Parallel rendering of many recommendations into a letter store.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Renders a list of recommendations into letters in parallel and writes them
+ * straight to a letter store.
+ *
+ * <p>
+ * The list is split in halves on a fork/join pool until the pieces are small,
+ * so idle workers steal the remaining halves from busy ones. Each worker thread
+ * keeps its own text buffer, character array, byte buffer and UTF-8 encoder and
+ * reuses them for every letter it renders, and the encoded bytes are handed to
+ * {@link RecommendationStore#writeUtf8}, so no intermediate letter string is
+ * created. Letters are saved under the same names as those saved from the
+ * draft screen. The {@code --batch} command renders its input through this
+ * class, one chunk of records at a time.
+ *
+ * <p>
+ * How far this scales with the number of cores is not known yet:
+ * {@code BulkRenderBenchmark} has so far only been run on a single-core
+ * machine, where more threads cannot help. Near-linear scaling up to 16 cores
+ * is the goal, not a measured result.
+ */
+public class BulkLetterRenderer {
+	static final int LEAF_SIZE = 32;
+
+	private final RecommendationManager recommendationManager;
+	private final RecommendationStore store;
+	private final ForkJoinPool pool;
+	private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+	private final AtomicLong written = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+	private final LatencyHistogram latency = new LatencyHistogram();
+
+	/**
+	 * Constructor for the BulkLetterRenderer.
+	 *
+	 * @param recommendationManager the manager used to render letters
+	 * @param store                 the store letters are written to
+	 * @param threads               the number of worker threads
+	 */
+	public BulkLetterRenderer(RecommendationManager recommendationManager, RecommendationStore store, int threads) {
+		this.recommendationManager = recommendationManager;
+		this.store = store;
+		this.pool = new ForkJoinPool(Math.max(1, threads));
+	}
+
+	/**
+	 * Renders and writes a letter for every recommendation. Letters that cannot
+	 * be written are reported and counted, and the rest are still written.
+	 *
+	 * @param recommendations the recommendations to render
+	 * @return the number of letters written
+	 */
+	public int renderAll(List<Recommendation> recommendations) {
+		if (recommendations.isEmpty()) {
+			return 0;
+		}
+		return pool.invoke(new RenderTask(recommendations, 0, recommendations.size()));
+	}
+
+	/**
+	 * Returns the number of worker threads.
+	 *
+	 * @return the number of threads
+	 */
+	public int getThreads() {
+		return pool.getParallelism();
+	}
+
+	/**
+	 * Returns the number of letters written.
+	 *
+	 * @return the number of letters written
+	 */
+	public long getWritten() {
+		return written.get();
+	}
+
+	/**
+	 * Returns the number of letters that could not be written.
+	 *
+	 * @return the number of failures
+	 */
+	public long getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * Returns the time taken to render and write each letter.
+	 *
+	 * @return the per-letter latency histogram
+	 */
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	/**
+	 * Stops the worker threads.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	/**
+	 * Renders one letter with the current thread's buffers and writes it.
+	 *
+	 * @return true if the letter was written
+	 */
+	private boolean writeLetter(Recommendation recommendation) {
+		long start = System.nanoTime();
+		Worker worker = workers.get();
+		String fileName = recommendation.getLastName() + "_" + recommendation.getFirstName() + ".txt";
+		try {
+			if (!RecommendationStore.isLetterName(fileName)) {
+				throw new IOException("invalid student name");
+			}
+			worker.text.setLength(0);
+			recommendationManager.generateFormattedText(recommendation, worker.text);
+			store.writeUtf8(fileName, worker.encode());
+			written.incrementAndGet();
+			return true;
+		} catch (IOException | RuntimeException e) {
+			failed.incrementAndGet();
+			System.out.println("Failed to write " + fileName + ": " + e.getMessage());
+			return false;
+		} finally {
+			latency.recordSince(start);
+		}
+	}
+
+	/**
+	 * Renders a range of the list, splitting it in halves while it is larger than
+	 * {@link #LEAF_SIZE}.
+	 */
+	private final class RenderTask extends RecursiveTask<Integer> {
+		private static final long serialVersionUID = 1L;
+		private final List<Recommendation> recommendations;
+		private final int from;
+		private final int to;
+
+		private RenderTask(List<Recommendation> recommendations, int from, int to) {
+			this.recommendations = recommendations;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected Integer compute() {
+			if (to - from <= LEAF_SIZE) {
+				int count = 0;
+				for (int i = from; i < to; i++) {
+					if (writeLetter(recommendations.get(i))) {
+						count++;
+					}
+				}
+				return count;
+			}
+			int middle = (from + to) >>> 1;
+			RenderTask right = new RenderTask(recommendations, middle, to);
+			right.fork();
+			int count = new RenderTask(recommendations, from, middle).compute();
+			return count + right.join();
+		}
+	}
+
+	/**
+	 * The buffers one worker thread reuses from letter to letter.
+	 */
+	private static final class Worker {
+		private final StringBuilder text = new StringBuilder(4096);
+		private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+				.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		private char[] chars = new char[4096];
+		private ByteBuffer bytes = ByteBuffer.allocate(4096 * 3);
+
+		/**
+		 * Encodes the text buffer as UTF-8. The returned buffer is only valid
+		 * until the next call.
+		 */
+		private ByteBuffer encode() {
+			int length = text.length();
+			if (chars.length < length) {
+				chars = new char[Math.max(length, chars.length * 2)];
+			}
+			text.getChars(0, length, chars, 0);
+			int maxBytes = (int) Math.ceil(length * (double) encoder.maxBytesPerChar());
+			if (bytes.capacity() < maxBytes) {
+				bytes = ByteBuffer.allocate(Math.max(maxBytes, bytes.capacity() * 2));
+			}
+			bytes.clear();
+			encoder.reset();
+			encoder.encode(CharBuffer.wrap(chars, 0, length), bytes, true);
+			encoder.flush(bytes);
+			bytes.flip();
+			return bytes;
+		}
+	}
+}
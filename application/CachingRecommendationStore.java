@@ -0,0 +1,253 @@
+/**
+ * In-memory cache of recently opened letters in front of a letter store.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps recently opened letters in memory in front of another
+ * {@link RecommendationStore}, so reopening a letter in the editor does not
+ * read it from disk again. The cache is bounded by the total number of
+ * characters it holds and evicts the least recently used letters first.
+ * Letters that are saved are cached as written; deleted letters are dropped.
+ */
+public class CachingRecommendationStore implements RecommendationStore {
+	/** The default number of characters kept in memory, about 16 MB. */
+	public static final long DEFAULT_MAX_CHARS = 8L * 1024 * 1024;
+
+	private final RecommendationStore delegate;
+	private final long maxChars;
+	private final LinkedHashMap<String, String> letters = new LinkedHashMap<>(64, 0.75f, true);
+	private long cachedChars;
+	private long generation;
+	private long hits;
+	private long misses;
+
+	/**
+	 * Constructor for the CachingRecommendationStore.
+	 *
+	 * @param delegate the store letters are read from and written to
+	 * @param maxChars the maximum number of characters to keep in memory
+	 */
+	public CachingRecommendationStore(RecommendationStore delegate, long maxChars) {
+		this.delegate = delegate;
+		this.maxChars = maxChars;
+	}
+
+	@Override
+	public void write(String name, String text) throws IOException {
+		delegate.write(name, text);
+		synchronized (letters) {
+			generation++;
+			cache(name, text);
+		}
+	}
+
+	/**
+	 * Writes the encoded letter straight to the underlying store and drops the
+	 * letter from the cache, so the text is not decoded just to be cached. It is
+	 * cached again the next time it is read.
+	 */
+	@Override
+	public void writeUtf8(String name, ByteBuffer text) throws IOException {
+		delegate.writeUtf8(name, text);
+		synchronized (letters) {
+			generation++;
+			uncache(name);
+		}
+	}
+
+	@Override
+	public String read(String name) throws IOException {
+		long readGeneration;
+		synchronized (letters) {
+			String text = letters.get(name);
+			if (text != null) {
+				hits++;
+				return text;
+			}
+			misses++;
+			readGeneration = generation;
+		}
+		String text = delegate.read(name);
+		synchronized (letters) {
+			// Skip caching if the letter may have been saved or deleted meanwhile.
+			if (text != null && generation == readGeneration) {
+				cache(name, text);
+			}
+		}
+		return text;
+	}
+
+	/**
+	 * Returns a cached letter from the cache, and any other from the underlying
+	 * store without caching it, so copying every letter does not push out the
+	 * letters in use.
+	 */
+	@Override
+	public Utf8Letter readUtf8(String name) throws IOException {
+		String text;
+		synchronized (letters) {
+			text = letters.get(name);
+		}
+		return text != null ? Utf8Letter.of(text) : delegate.readUtf8(name);
+	}
+
+	/**
+	 * Caches the letter right away, so the editor sees it while the write is
+	 * still queued, and passes the write on to the underlying store. If the
+	 * write fails the letter is dropped from the cache again.
+	 */
+	@Override
+	public CompletableFuture<Void> writeAsync(String name, String text) {
+		synchronized (letters) {
+			generation++;
+			cache(name, text);
+		}
+		CompletableFuture<Void> written = delegate.writeAsync(name, text);
+		written.whenComplete((ignored, error) -> {
+			if (error != null) {
+				synchronized (letters) {
+					generation++;
+					uncache(name);
+				}
+			}
+		});
+		return written;
+	}
+
+	@Override
+	public CompletableFuture<Boolean> deleteAsync(String name) {
+		synchronized (letters) {
+			generation++;
+			uncache(name);
+		}
+		return delegate.deleteAsync(name);
+	}
+
+	@Override
+	public boolean delete(String name) throws IOException {
+		synchronized (letters) {
+			generation++;
+			uncache(name);
+		}
+		return delegate.delete(name);
+	}
+
+	@Override
+	public boolean contains(String name) {
+		return delegate.contains(name);
+	}
+
+	@Override
+	public List<String> names() {
+		return delegate.names();
+	}
+
+	@Override
+	public int size() {
+		return delegate.size();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		delegate.flush();
+	}
+
+	/**
+	 * Copies every letter straight from the underlying store, without filling
+	 * the cache.
+	 */
+	@Override
+	public int copyTo(RecommendationStore target) throws IOException {
+		return delegate.copyTo(target);
+	}
+
+	/**
+	 * Exports every letter straight from the underlying store, without filling
+	 * the cache.
+	 */
+	@Override
+	public int exportTo(Path directory) throws IOException {
+		return delegate.exportTo(directory);
+	}
+
+	@Override
+	public void close() throws IOException {
+		synchronized (letters) {
+			letters.clear();
+			cachedChars = 0;
+		}
+		delegate.close();
+	}
+
+	/**
+	 * Returns the number of reads answered from memory.
+	 *
+	 * @return the number of cache hits
+	 */
+	public long getHitCount() {
+		synchronized (letters) {
+			return hits;
+		}
+	}
+
+	/**
+	 * Returns the number of reads that went to the underlying store.
+	 *
+	 * @return the number of cache misses
+	 */
+	public long getMissCount() {
+		synchronized (letters) {
+			return misses;
+		}
+	}
+
+	/**
+	 * Returns the number of characters currently cached.
+	 *
+	 * @return the number of cached characters
+	 */
+	public long getCachedChars() {
+		synchronized (letters) {
+			return cachedChars;
+		}
+	}
+
+	/**
+	 * Caches a letter and evicts the least recently used letters until the
+	 * cache fits. Letters larger than the whole cache are not kept. Must be
+	 * called while holding the lock.
+	 */
+	private void cache(String name, String text) {
+		uncache(name);
+		if (text.length() > maxChars) {
+			return;
+		}
+		letters.put(name, text);
+		cachedChars += text.length();
+		Iterator<Map.Entry<String, String>> eldest = letters.entrySet().iterator();
+		while (cachedChars > maxChars && eldest.hasNext()) {
+			cachedChars -= eldest.next().getValue().length();
+			eldest.remove();
+		}
+	}
+
+	private void uncache(String name) {
+		String previous = letters.remove(name);
+		if (previous != null) {
+			cachedChars -= previous.length();
+		}
+	}
+}
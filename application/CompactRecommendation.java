@@ -0,0 +1,171 @@
+/**
+ * Memory-efficient read-only recommendation for large in-memory data sets.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A read-only {@link Recommendation} in a fraction of the memory, for holding
+ * many of them at once for search and analytics. Every string but the
+ * student's names is replaced by its id in a {@link SymbolTable} and every
+ * grade by its one-byte code. The names are kept as they are: nearly every
+ * student has their own, and a table entry costs more than the string. The
+ * courses taken and both lists of characteristics share a single
+ * {@code int[]}, and the grades of the courses a single {@code byte[]}, so
+ * the number of objects a recommendation takes, the two arrays and the two
+ * name strings included, does not grow with the number of its courses.
+ *
+ * <p>
+ * The same table must be used to encode and to decode. Ids can be compared
+ * directly, for example to count the recommendations for a program without
+ * decoding them. A recommendation without a list of courses or
+ * characteristics is decoded with an empty list.
+ */
+public class CompactRecommendation {
+	private final String firstName;
+	private final String lastName;
+	private final int gender;
+	private final int targetSchool;
+	private final int todayDate;
+	private final int program;
+	private final int firstSemester;
+	private final int firstCourse;
+	private final byte firstCourseGrade;
+	private final short personalCount;
+	/** The courses taken, then the personal and academic characteristics. */
+	private final int[] lists;
+	/** The grades of the courses taken. */
+	private final byte[] grades;
+
+	private CompactRecommendation(Recommendation recommendation, SymbolTable symbols) {
+		firstName = recommendation.getFirstName();
+		lastName = recommendation.getLastName();
+		gender = symbols.id(recommendation.getGender());
+		targetSchool = symbols.id(recommendation.getTargetSchool());
+		todayDate = symbols.id(recommendation.getTodayDate());
+		program = symbols.id(recommendation.getProgram());
+		firstSemester = symbols.id(recommendation.getFirstSemester());
+		firstCourse = symbols.id(recommendation.getFirstCourse());
+		firstCourseGrade = symbols.gradeCode(recommendation.getFirstCourseGrade());
+		List<Course> courses = orEmpty(recommendation.getCourses());
+		List<String> personal = orEmpty(recommendation.getPersonalCharacteristics());
+		List<String> academic = orEmpty(recommendation.getAcademicCharacteristics());
+		if (personal.size() > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("Too many personal characteristics: " + personal.size());
+		}
+		personalCount = (short) personal.size();
+		lists = new int[courses.size() + personal.size() + academic.size()];
+		grades = new byte[courses.size()];
+		int i = 0;
+		for (Course course : courses) {
+			grades[i] = symbols.gradeCode(course.getGrade());
+			lists[i++] = symbols.id(course.getName());
+		}
+		for (String characteristic : personal) {
+			lists[i++] = symbols.id(characteristic);
+		}
+		for (String characteristic : academic) {
+			lists[i++] = symbols.id(characteristic);
+		}
+	}
+
+	/**
+	 * Encodes a recommendation, adding its strings to the table as needed.
+	 *
+	 * @param recommendation the recommendation
+	 * @param symbols        the symbol table
+	 * @return the compact recommendation
+	 */
+	public static CompactRecommendation encode(Recommendation recommendation, SymbolTable symbols) {
+		return new CompactRecommendation(recommendation, symbols);
+	}
+
+	/**
+	 * Decodes the recommendation.
+	 *
+	 * @param symbols the symbol table it was encoded with
+	 * @return a new recommendation equal to the encoded one
+	 */
+	public Recommendation decode(SymbolTable symbols) {
+		int courseCount = grades.length;
+		List<Course> courses = new ArrayList<>(courseCount);
+		for (int i = 0; i < courseCount; i++) {
+			courses.add(new Course(symbols.symbol(lists[i]), symbols.grade(grades[i])));
+		}
+		ArrayList<String> personal = new ArrayList<>(personalCount);
+		for (int i = courseCount; i < courseCount + personalCount; i++) {
+			personal.add(symbols.symbol(lists[i]));
+		}
+		ArrayList<String> academic = new ArrayList<>(lists.length - courseCount - personalCount);
+		for (int i = courseCount + personalCount; i < lists.length; i++) {
+			academic.add(symbols.symbol(lists[i]));
+		}
+		return new Recommendation(firstName, lastName, symbols.symbol(gender), symbols.symbol(todayDate),
+				symbols.symbol(targetSchool), symbols.symbol(program), symbols.symbol(firstSemester),
+				symbols.symbol(firstCourse), symbols.grade(firstCourseGrade), courses, personal, academic);
+	}
+
+	/**
+	 * Returns the id of the program the student is applying for.
+	 *
+	 * @return the program id
+	 */
+	public int getProgramId() {
+		return program;
+	}
+
+	/**
+	 * Returns the id of the student's planned first course.
+	 *
+	 * @return the course id
+	 */
+	public int getFirstCourseId() {
+		return firstCourse;
+	}
+
+	/**
+	 * Returns the number of courses the student has taken.
+	 *
+	 * @return the number of courses
+	 */
+	public int getCourseCount() {
+		return grades.length;
+	}
+
+	/**
+	 * Returns the id of a course the student has taken.
+	 *
+	 * @param index the index of the course
+	 * @return the course id
+	 */
+	public int getCourseId(int index) {
+		if (index >= grades.length) {
+			throw new IndexOutOfBoundsException("Course " + index + " of " + grades.length);
+		}
+		return lists[index];
+	}
+
+	/**
+	 * Returns whether the student has a characteristic, personal or academic.
+	 *
+	 * @param id the id of the characteristic
+	 * @return true if the student has it
+	 */
+	public boolean hasCharacteristic(int id) {
+		for (int i = grades.length; i < lists.length; i++) {
+			if (lists[i] == id) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static <T> List<T> orEmpty(List<T> list) {
+		return list == null ? new ArrayList<>() : list;
+	}
+}
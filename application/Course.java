@@ -76,7 +76,7 @@ public class Course {
 	 * @return a new Course instance
 	 */
 	public static Course deserialize(String data) {
-		String[] parts = data.split(",", -1);
+		String[] parts = Recommendation.FIELD_SEPARATOR.split(data, -1);
 		String name = unescapeCommas(parts[0]);
 		String grade = unescapeCommas(parts[1]);
 		return new Course(name, grade);
@@ -0,0 +1,163 @@
+/**
+ * Letter store with one text file per letter, used for the legacy letter folder.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Keeps each letter as its own text file in a directory, the way the
+ * application saved letters to {@code CompiledRecommendations/} before the
+ * {@link SegmentRecommendationStore}. It is used to import those letters and
+ * as the export format.
+ */
+public class DirectoryRecommendationStore implements RecommendationStore {
+	private final Path directory;
+
+	/**
+	 * Constructor for the DirectoryRecommendationStore.
+	 *
+	 * @param directory the directory holding the letters
+	 */
+	public DirectoryRecommendationStore(Path directory) {
+		this.directory = directory;
+	}
+
+	/**
+	 * Writes the letter to a temporary file, forces it to disk and then renames
+	 * it over the old letter in one atomic step, so a crash leaves either the
+	 * old letter or the new one, never a truncated file.
+	 */
+	@Override
+	public void write(String name, String text) throws IOException {
+		Path file = resolve(name);
+		Files.createDirectories(directory);
+		Path temp = Files.createTempFile(directory, ".write-", ".tmp");
+		try {
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				ByteBuffer bytes = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+				while (bytes.hasRemaining()) {
+					channel.write(bytes);
+				}
+				channel.force(true);
+			}
+			Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	@Override
+	public String read(String name) throws IOException {
+		try {
+			return new String(Files.readAllBytes(resolve(name)), StandardCharsets.UTF_8);
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns a letter that is copied straight from its file with
+	 * {@link FileChannel#transferTo}.
+	 */
+	@Override
+	public Utf8Letter readUtf8(String name) throws IOException {
+		Path file = resolve(name);
+		long size;
+		try {
+			size = Files.size(file);
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+		return new Utf8Letter() {
+			@Override
+			public long size() {
+				return size;
+			}
+
+			@Override
+			public void transferTo(WritableByteChannel target) throws IOException {
+				try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+					long copied = 0;
+					while (copied < size) {
+						long transferred = channel.transferTo(copied, size - copied, target);
+						if (transferred <= 0) {
+							throw new IOException(file + " was changed while being copied");
+						}
+						copied += transferred;
+					}
+				} catch (NoSuchFileException e) {
+					throw new IOException(file + " was deleted while being copied", e);
+				}
+			}
+		};
+	}
+
+	@Override
+	public boolean delete(String name) throws IOException {
+		return Files.deleteIfExists(resolve(name));
+	}
+
+	@Override
+	public boolean contains(String name) {
+		return Files.isRegularFile(resolve(name));
+	}
+
+	@Override
+	public List<String> names() {
+		List<String> names = new ArrayList<>();
+		if (!Files.isDirectory(directory)) {
+			return names;
+		}
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.txt")) {
+			for (Path file : files) {
+				names.add(file.getFileName().toString());
+			}
+		} catch (IOException e) {
+			System.out.println("Error while listing " + directory + ": " + e.getMessage());
+		}
+		Collections.sort(names);
+		return names;
+	}
+
+	@Override
+	public int size() {
+		return names().size();
+	}
+
+	@Override
+	public void flush() {
+	}
+
+	@Override
+	public void close() {
+	}
+
+	/**
+	 * Resolves a letter name inside the directory, rejecting names that would
+	 * point outside it.
+	 */
+	private Path resolve(String name) {
+		if (name.isEmpty() || name.equals(".") || name.equals("..") || name.indexOf('/') >= 0
+				|| name.indexOf('\\') >= 0) {
+			throw new IllegalArgumentException("Invalid letter name: " + name);
+		}
+		return directory.resolve(name);
+	}
+}
@@ -11,6 +11,8 @@
  */
 package application;
 
+import java.util.function.Consumer;
+
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -26,7 +28,7 @@ import javafx.scene.control.Alert.AlertType;
  * selections in the application. It allows users to add new items to various
  * list views and edit faculty data.
  */
-public class DropdownSelectionController {
+public class DropdownSelectionController implements ResettableController {
 	private Main main;
 	private SharedDataModel sharedDataModel;
 	private Faculty faculty;
@@ -114,12 +116,29 @@ public class DropdownSelectionController {
 		this.sharedDataModel = main.getSharedDataModel();
 	}
 
-	private void addItemToListView(TextField textField, ListView<String> listView, Runnable saveOption) {
+	/**
+	 * Clears the entry fields and shows the current faculty data.
+	 */
+	@Override
+	public void reset() {
+		for (TextField textField : new TextField[] { programTextField, personalCharacteristicsTextField,
+				academicCharacteristicsTextField, coursesTextField, semesterTextField, fullNameTextField,
+				titleTextField, schoolTextField, departmentTextField, emailTextField, phoneNumberTextField }) {
+			textField.clear();
+		}
+		errorLabel.setText("");
+		loadFacultyData();
+	}
+
+	/**
+	 * Saves the option typed into a field and clears the field. The list views
+	 * show the shared option lists, so the saved option appears in them.
+	 */
+	private void addItemToListView(TextField textField, Consumer<String> saveOption) {
 		String text = textField.getText().trim();
 		if (!text.isEmpty()) {
-			listView.getItems().add(text);
 			textField.clear();
-			saveOption.run();
+			saveOption.accept(text);
 		}
 	}
 
@@ -141,13 +160,11 @@ public class DropdownSelectionController {
 		alert.setContentText("Are you sure you want to save changes?");
 		alert.showAndWait().ifPresent((btnType) -> {
 			if (btnType == ButtonType.OK) {
-				addItemToListView(programTextField, programListView, this::saveNewProgram);
-				addItemToListView(personalCharacteristicsTextField, personalCharacteristicsListView,
-						this::saveNewPersonalCharacteristic);
-				addItemToListView(academicCharacteristicsTextField, academicCharacteristicsListView,
-						this::saveNewAcademicCharacteristic);
-				addItemToListView(coursesTextField, coursesListView, this::saveNewCourse);
-				addItemToListView(semesterTextField, semesterListView, this::saveNewSemester);
+				addItemToListView(programTextField, this::saveNewProgram);
+				addItemToListView(personalCharacteristicsTextField, this::saveNewPersonalCharacteristic);
+				addItemToListView(academicCharacteristicsTextField, this::saveNewAcademicCharacteristic);
+				addItemToListView(coursesTextField, this::saveNewCourse);
+				addItemToListView(semesterTextField, this::saveNewSemester);
 
 				String fullName = fullNameTextField.getText();
 				String[] nameParts = fullName.split(" ");
@@ -276,50 +293,58 @@ public class DropdownSelectionController {
 		}
 	}
 
-	public void saveNewProgram() {
-		String newProgram = programTextField.getText();
-
+	/**
+	 * Adds a program option and appends it to the program option log.
+	 * 
+	 * @param newProgram the program to add
+	 */
+	public void saveNewProgram(String newProgram) {
 		if (!newProgram.isEmpty()) {
-			sharedDataModel.getProgramOptions().add(newProgram);
-			sharedDataModel.saveDataToFile("programOptions.txt", sharedDataModel.getProgramOptions());
+			sharedDataModel.addOption("programOptions.txt", newProgram);
 		}
 	}
 
-	public void saveNewPersonalCharacteristic() {
-		String newPersonalCharacteristic = personalCharacteristicsTextField.getText();
-
+	/**
+	 * Adds a personal characteristic option and appends it to its option log.
+	 * 
+	 * @param newPersonalCharacteristic the characteristic to add
+	 */
+	public void saveNewPersonalCharacteristic(String newPersonalCharacteristic) {
 		if (!newPersonalCharacteristic.isEmpty()) {
-			sharedDataModel.getPersonalCharacterOptions().add(newPersonalCharacteristic);
-			sharedDataModel.saveDataToFile("personalCharacterOptions.txt",
-					sharedDataModel.getPersonalCharacterOptions());
+			sharedDataModel.addOption("personalCharacterOptions.txt", newPersonalCharacteristic);
 		}
 	}
 
-	public void saveNewAcademicCharacteristic() {
-		String newAcademicCharacteristic = academicCharacteristicsTextField.getText();
-
+	/**
+	 * Adds an academic characteristic option and appends it to its option log.
+	 * 
+	 * @param newAcademicCharacteristic the characteristic to add
+	 */
+	public void saveNewAcademicCharacteristic(String newAcademicCharacteristic) {
 		if (!newAcademicCharacteristic.isEmpty()) {
-			sharedDataModel.getAcademicCharacterOptions().add(newAcademicCharacteristic);
-			sharedDataModel.saveDataToFile("academicCharacterOptions.txt",
-					sharedDataModel.getAcademicCharacterOptions());
+			sharedDataModel.addOption("academicCharacterOptions.txt", newAcademicCharacteristic);
 		}
 	}
 
-	public void saveNewCourse() {
-		String newCourse = coursesTextField.getText();
-
+	/**
+	 * Adds a course option and appends it to the course option log.
+	 * 
+	 * @param newCourse the course to add
+	 */
+	public void saveNewCourse(String newCourse) {
 		if (!newCourse.isEmpty()) {
-			sharedDataModel.getCourseOptions().add(newCourse);
-			sharedDataModel.saveDataToFile("coursesOptions.txt", sharedDataModel.getCourseOptions());
+			sharedDataModel.addOption("coursesOptions.txt", newCourse);
 		}
 	}
 
-	public void saveNewSemester() {
-		String newSemester = semesterTextField.getText();
-
+	/**
+	 * Adds a semester option and appends it to the semester option log.
+	 * 
+	 * @param newSemester the semester to add
+	 */
+	public void saveNewSemester(String newSemester) {
 		if (!newSemester.isEmpty()) {
-			sharedDataModel.getSemesterOptions().add(newSemester);
-			sharedDataModel.saveDataToFile("semesterOptions.txt", sharedDataModel.getSemesterOptions());
+			sharedDataModel.addOption("semesterOptions.txt", newSemester);
 		}
 	}
 
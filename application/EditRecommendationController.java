@@ -10,15 +10,9 @@
  */
 package application;
 
-import java.io.*;
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Optional;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
@@ -35,7 +29,7 @@ import javafx.scene.control.Alert.AlertType;
  * recommendation, load its contents, make changes, and save the changes to the
  * file.
  */
-public class EditRecommendationController {
+public class EditRecommendationController implements ResettableController {
 	private Main main;
 	private SharedDataModel sharedDataModel;
 	private RecommendationManager recommendationManager;
@@ -78,6 +72,24 @@ public class EditRecommendationController {
 		this.recommendationManager = recommendationManager;
 	}
 
+	/**
+	 * Sets the file being edited and loads its contents into the text area.
+	 * 
+	 * @param selectedFile The name of the recommendation file.
+	 */
+	public void setSelectedFile(String selectedFile) {
+		this.selectedFile = selectedFile;
+		setTextArea();
+	}
+
+	/**
+	 * Clears the letter left by the previous visit.
+	 */
+	@Override
+	public void reset() {
+		resultsTextArea.clear();
+	}
+
 	/**
 	 * Sets the main application object for this controller.
 	 * 
@@ -137,21 +149,20 @@ public class EditRecommendationController {
 	}
 	
 	/**
-	 * Populates the text area with the contents of the selected file.
+	 * Populates the text area with the contents of the selected file. The letter
+	 * is read from the store in one call, or from memory if it was opened or
+	 * saved recently.
 	 */
 	@FXML
 	public void setTextArea() {
 	    if (selectedFile != null) {
-	        String text = "";
 	        try {
-	            Path path = Paths.get("CompiledRecommendations", selectedFile);
-	            BufferedReader br = new BufferedReader(new FileReader(path.toFile()));
-	            String line;
-	            while ((line = br.readLine()) != null) {
-	                text += line + '\n';
+	            String text = recommendationManager.getRecommendationStore().read(selectedFile);
+	            if (text == null) {
+	                System.out.println("File not found: " + selectedFile);
+	                return;
 	            }
 	            resultsTextArea.setText(text);
-	            br.close();
 	        } catch (Exception e) {
 	            e.printStackTrace();
 	        }
@@ -161,26 +172,30 @@ public class EditRecommendationController {
 	}
 
 	/**
-	 * Handles the action of clicking the save button.
+	 * Handles the action of clicking the save button. The letter is queued for
+	 * the letter store and the result is shown once it has been written.
 	 */
 	@FXML
 	public void handleSaveButton() {
 		if (selectedFile != null) {
-			try {
-	            Path filePath = Paths.get("CompiledRecommendations", selectedFile);
-	            BufferedWriter writer = Files.newBufferedWriter(filePath);
-				String text = resultsTextArea.getText();
-				writer.write(text);
-				writer.close();
-				showAlert(Alert.AlertType.INFORMATION, "File Saved", "The file has been successfully Saved.");
-				try {
-					main.showMenuScene();
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-			} catch (IOException e) {
-				e.printStackTrace();
-			}
+			String text = resultsTextArea.getText();
+			saveButton.setDisable(true);
+			recommendationManager.saveLetter(selectedFile, text)
+					.whenComplete((ignored, error) -> Platform.runLater(() -> {
+						saveButton.setDisable(false);
+						if (error != null) {
+							error.printStackTrace();
+							showAlert(Alert.AlertType.ERROR, "Error Saving File",
+									"An error occurred while saving the file. Please try again.");
+							return;
+						}
+						showAlert(Alert.AlertType.INFORMATION, "File Saved", "The file has been successfully Saved.");
+						try {
+							main.showMenuScene();
+						} catch (Exception e) {
+							e.printStackTrace();
+						}
+					}));
 		}
 	}
 }
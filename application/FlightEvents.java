@@ -0,0 +1,197 @@
+/**
+ * JDK Flight Recorder event types of the application.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * The JDK Flight Recorder events of the application, shown under "AcademRec"
+ * in JDK Mission Control and by {@code jfr print --categories AcademRec}.
+ * They are recorded by a {@link FlightRecording}, or by any recording started
+ * with {@code -XX:StartFlightRecording}; when no recording is running they
+ * cost next to nothing.
+ *
+ * <p>
+ * Each event is timed from {@code begin()} to {@code commit()}, and its
+ * fields are only filled in when {@code shouldCommit()} says it will be
+ * recorded. Events that can happen thousands of times a second are only
+ * recorded when they take at least a millisecond, which is what a stall is
+ * made of. Student names are not recorded, so recordings can be shared.
+ */
+public final class FlightEvents {
+	private FlightEvents() {
+	}
+
+	/**
+	 * Rendering the letter for one recommendation.
+	 */
+	@Name("academrec.LetterRender")
+	@Label("Letter Render")
+	@Category({ "AcademRec", "Letters" })
+	@Description("Rendering the letter for a recommendation")
+	@Threshold("1 ms")
+	@StackTrace(false)
+	public static final class LetterRender extends Event {
+		@Label("Characters")
+		@Description("Length of the rendered letter")
+		public int characters;
+
+		@Label("Courses")
+		@Description("Courses the recommendation names")
+		public int courses;
+
+		@Label("Cached")
+		@Description("Whether the letter came from the rendered letter cache")
+		public boolean cached;
+	}
+
+	/**
+	 * Reading, saving or deleting one letter in the letter store.
+	 */
+	@Name("academrec.LetterStore")
+	@Label("Letter Store")
+	@Category({ "AcademRec", "Letters" })
+	@Description("Reading, saving or deleting a stored letter")
+	@Threshold("1 ms")
+	public static final class LetterStore extends Event {
+		@Label("Operation")
+		@Description("read, write, writeAsync or delete")
+		public String operation;
+
+		@Label("Characters")
+		@Description("Length of the letter read or written")
+		public int characters;
+
+		@Label("Found")
+		@Description("Whether a letter was read or deleted")
+		public boolean found;
+	}
+
+	/**
+	 * Writing a batch of queued letter changes to disk and syncing it.
+	 */
+	@Name("academrec.LetterCommit")
+	@Label("Letter Commit")
+	@Category({ "AcademRec", "Letters" })
+	@Description("Writing a batch of saved and deleted letters to disk and syncing it")
+	@StackTrace(false)
+	public static final class LetterCommit extends Event {
+		@Label("Changes")
+		@Description("Letters saved or deleted in the batch")
+		public int changes;
+
+		@Label("Characters")
+		@Description("Total length of the letters saved in the batch")
+		public long characters;
+
+		@Label("Failed")
+		@Description("Changes that failed, all of them if the sync failed")
+		public int failed;
+	}
+
+	/**
+	 * Loading the catalog of saved recommendations, or indexing their text.
+	 */
+	@Name("academrec.CatalogLoad")
+	@Label("Catalog Load")
+	@Category({ "AcademRec", "Letters" })
+	@Description("Loading the recommendation catalog or the full-text index at startup")
+	@StackTrace(false)
+	public static final class CatalogLoad extends Event {
+		@Label("Phase")
+		@Description("catalog or index")
+		public String phase;
+
+		@Label("Recommendations")
+		@Description("Recommendations loaded or letters indexed")
+		public int recommendations;
+	}
+
+	/**
+	 * Reading one option file, such as the course list.
+	 */
+	@Name("academrec.OptionLoad")
+	@Label("Option File Load")
+	@Category({ "AcademRec", "Options" })
+	@Description("Reading an option file with its log of added options")
+	@StackTrace(false)
+	public static final class OptionLoad extends Event {
+		@Label("File")
+		public String file;
+
+		@Label("Options")
+		@Description("Options read from the file")
+		public int options;
+
+		@Label("Size")
+		@DataAmount
+		@Description("Size of the option file")
+		public long bytes;
+	}
+
+	/**
+	 * Parsing the FXML of a scene and creating its controller.
+	 */
+	@Name("academrec.SceneLoad")
+	@Label("Scene Load")
+	@Category({ "AcademRec", "Screens" })
+	@Description("Loading a screen from FXML")
+	@StackTrace(false)
+	public static final class SceneLoad extends Event {
+		@Label("Scene")
+		public String scene;
+
+		@Label("FXML")
+		public String fxml;
+
+		@Label("Nodes")
+		@Description("Nodes in the loaded scene graph")
+		public int nodes;
+	}
+
+	/**
+	 * Showing a screen, including loading it if it was not loaded before.
+	 */
+	@Name("academrec.SceneSwitch")
+	@Label("Scene Switch")
+	@Category({ "AcademRec", "Screens" })
+	@Description("Showing a screen on the main window")
+	@StackTrace(false)
+	public static final class SceneSwitch extends Event {
+		@Label("Scene")
+		public String scene;
+	}
+
+	/**
+	 * One search of the letters or names.
+	 */
+	@Name("academrec.Search")
+	@Label("Search")
+	@Category({ "AcademRec", "Search" })
+	@Description("Searching the letters or the student names")
+	@Threshold("1 ms")
+	@StackTrace(false)
+	public static final class Search extends Event {
+		@Label("Kind")
+		@Description("letters, names, files or incremental")
+		public String kind;
+
+		@Label("Query Length")
+		@Description("Characters in the search text, which is not recorded")
+		public int queryLength;
+
+		@Label("Results")
+		public int results;
+	}
+}
@@ -0,0 +1,145 @@
+/**
+ * Continuous JDK Flight Recorder recording that can be dumped after a stall.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * A continuous JDK Flight Recorder recording of the last minutes of the
+ * application, for finding out afterwards why it stalled. It records the JDK's
+ * low-overhead "default" settings, about one percent of CPU, together with
+ * the {@link FlightEvents} of the application, and keeps only the last
+ * {@value #DEFAULT_MAX_AGE_MINUTES} minutes, at most
+ * {@value #MAX_SIZE_MEGABYTES} MB, on disk.
+ *
+ * <p>
+ * Start the application with {@code -Dacademrec.jfr=recordings} to run it,
+ * writing into the {@code recordings} directory, and with
+ * {@code -Dacademrec.jfrMaxAge=60} to keep an hour instead. The recording is
+ * saved to a file:
+ * <ul>
+ * <li>with the Save Recording button of the diagnostics panel on the menu;</li>
+ * <li>with {@code jcmd <pid> JFR.dump name=academrec filename=stall.jfr},
+ * which works even while the screens are frozen;</li>
+ * <li>when the application exits, including when it is killed.</li>
+ * </ul>
+ * Open the file in JDK Mission Control, or print the application's events
+ * with {@code jfr print --categories AcademRec stall.jfr}.
+ */
+public class FlightRecording implements Closeable {
+	static final String NAME = "academrec";
+	static final String DIRECTORY_PROPERTY = "academrec.jfr";
+	static final String MAX_AGE_PROPERTY = "academrec.jfrMaxAge";
+	static final long DEFAULT_MAX_AGE_MINUTES = 30;
+	static final long MAX_SIZE_MEGABYTES = 250;
+	private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+	private final Recording recording;
+	private final Path directory;
+
+	/**
+	 * Constructor for the FlightRecording. Starts recording right away.
+	 *
+	 * @param directory the directory the recording is saved to
+	 * @param maxAge    how far back the recording reaches
+	 * @throws IOException if the directory cannot be created or the JDK has no
+	 *                     "default" recording settings
+	 */
+	public FlightRecording(Path directory, Duration maxAge) throws IOException {
+		this.directory = directory.toAbsolutePath();
+		Files.createDirectories(this.directory);
+		Configuration settings;
+		try {
+			settings = Configuration.getConfiguration("default");
+		} catch (ParseException e) {
+			throw new IOException("Cannot read the default recording settings", e);
+		}
+		recording = new Recording(settings);
+		recording.setName(NAME);
+		recording.setToDisk(true);
+		recording.setMaxAge(maxAge);
+		recording.setMaxSize(MAX_SIZE_MEGABYTES * 1024 * 1024);
+		recording.setDumpOnExit(true);
+		recording.setDestination(fileFor("exit"));
+		recording.start();
+	}
+
+	/**
+	 * Starts a recording if the {@value #DIRECTORY_PROPERTY} system property
+	 * names a directory. The application runs without one if it cannot be
+	 * started.
+	 *
+	 * @return the recording, or null if none was asked for or it failed
+	 */
+	public static FlightRecording fromSystemProperties() {
+		String directory = System.getProperty(DIRECTORY_PROPERTY);
+		if (directory == null || directory.isEmpty()) {
+			return null;
+		}
+		long maxAge = Long.getLong(MAX_AGE_PROPERTY, DEFAULT_MAX_AGE_MINUTES);
+		try {
+			FlightRecording recording = new FlightRecording(Path.of(directory),
+					Duration.ofMinutes(Math.max(1, maxAge)));
+			System.out.println("Flight recording the last " + maxAge + " minutes into " + recording.directory
+					+ "; save it with jcmd " + ProcessHandle.current().pid() + " JFR.dump name=" + NAME
+					+ " filename=<file>");
+			return recording;
+		} catch (IOException | RuntimeException e) {
+			System.out.println("Flight recording not started: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Saves what has been recorded so far to a new file in the recording
+	 * directory. Recording goes on.
+	 *
+	 * @return the file written
+	 * @throws IOException if the file cannot be written
+	 */
+	public Path dump() throws IOException {
+		Path file = fileFor("dump");
+		recording.dump(file);
+		return file;
+	}
+
+	/**
+	 * Returns the directory the recording is saved to.
+	 *
+	 * @return the directory
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Stops recording, saving the recording to the directory one last time.
+	 */
+	@Override
+	public void close() {
+		try {
+			recording.stop();
+		} catch (IllegalStateException e) {
+			// already stopped and saved by the recorder's own exit hook
+		}
+		recording.close();
+	}
+
+	private Path fileFor(String reason) {
+		return directory.resolve(NAME + "-" + LocalDateTime.now().format(FILE_TIME) + "-" + reason + ".jfr");
+	}
+}
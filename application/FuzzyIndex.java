@@ -0,0 +1,358 @@
+/**
+ * Typo-tolerant string index used for student name lookups.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A case-insensitive index from string keys to values that finds the keys
+ * within a given edit distance of a possibly misspelled key, such as a student
+ * name typed with a typo. Several values may share a key.
+ *
+ * <p>
+ * Each distinct key is split into trigrams after padding it with two marker
+ * characters at both ends, so a key of length n has n + 2 trigrams, and the
+ * trigrams are indexed separately for each key length. One edit changes at
+ * most three trigrams, so a key of length m within distance d of a query of
+ * length n shares at least max(n, m) + 2 - 3d trigrams with it. For every key
+ * length within d of the query's, the shared trigrams are counted over all but
+ * the longest posting lists, which lowers the required count by the number of
+ * lists left out, and only the keys that reach it are compared with a banded
+ * Levenshtein distance. When the count gives no bound, as for very short
+ * queries, the keys of that length are compared directly.
+ *
+ * <p>
+ * All methods are thread-safe.
+ *
+ * @param <V> the type of the indexed values
+ */
+public class FuzzyIndex<V> {
+	static final int MAX_INDEXED_LENGTH = 120;
+	private static final int Q = 3;
+	private static final char PAD = '\u0000';
+
+	private final HashMap<String, Integer> ids = new HashMap<>();
+	private final ArrayList<String> keys = new ArrayList<>();
+	private final ArrayList<List<V>> values = new ArrayList<>();
+	private final HashMap<Long, IntList> postings = new HashMap<>();
+	private final ArrayList<IntList> keysByLength = new ArrayList<>();
+	private char[] keyChars = new char[256];
+	private int[] keyOffsets = new int[65];
+	private int[] liveValues = new int[64];
+	private int size;
+	private byte[] counts = new byte[64];
+	private final IntList touched = new IntList();
+	private int[] previousRow = new int[16];
+	private int[] currentRow = new int[16];
+
+	/**
+	 * Returns the edit distance usually allowed for a name of the given length:
+	 * none for up to two characters, one for up to five and two beyond.
+	 *
+	 * @param length the length of the name
+	 * @return the edit distance
+	 */
+	public static int autoDistance(int length) {
+		return length <= 2 ? 0 : length <= 5 ? 1 : 2;
+	}
+
+	/**
+	 * Adds a value under the given key.
+	 *
+	 * @param key   the key, matched case-insensitively
+	 * @param value the value
+	 */
+	public synchronized void add(String key, V value) {
+		String normalized = normalize(key);
+		Integer id = ids.get(normalized);
+		if (id == null) {
+			id = keys.size();
+			ids.put(normalized, id);
+			keys.add(normalized);
+			values.add(new ArrayList<>(1));
+			appendChars(id, normalized);
+			if (normalized.length() <= MAX_INDEXED_LENGTH) {
+				for (long gram : grams(normalized)) {
+					postings.computeIfAbsent(withLength(gram, normalized.length()), g -> new IntList()).add(id);
+				}
+			}
+			while (keysByLength.size() <= normalized.length()) {
+				keysByLength.add(new IntList());
+			}
+			keysByLength.get(normalized.length()).add(id);
+		}
+		values.get(id).add(value);
+		liveValues[id]++;
+		size++;
+	}
+
+	/**
+	 * Removes one occurrence of a value from the given key. The key stays in the
+	 * index without values and is reused if it is added again.
+	 *
+	 * @param key   the key the value was added under
+	 * @param value the value
+	 * @return true if the value was found and removed
+	 */
+	public synchronized boolean remove(String key, V value) {
+		Integer id = ids.get(normalize(key));
+		if (id == null || !values.get(id).remove(value)) {
+			return false;
+		}
+		liveValues[id]--;
+		size--;
+		return true;
+	}
+
+	/**
+	 * Returns the number of indexed values.
+	 *
+	 * @return the number of values
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of distinct keys ever added.
+	 *
+	 * @return the number of keys
+	 */
+	public synchronized int getKeyCount() {
+		return keys.size();
+	}
+
+	/**
+	 * Returns the values of the keys within the given edit distance of a key,
+	 * the closest keys first and keys at the same distance in alphabetical
+	 * order. A value stored under several matching keys is returned once.
+	 *
+	 * @param key         the key, possibly misspelled
+	 * @param maxDistance the largest number of inserted, deleted or replaced
+	 *                    characters allowed
+	 * @param limit       the maximum number of values to return
+	 * @return the matching values
+	 */
+	public synchronized List<V> findSimilar(String key, int maxDistance, int limit) {
+		String normalized = normalize(key);
+		if (normalized.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		List<long[]> matches = new ArrayList<>();
+		long[] grams = normalized.length() <= MAX_INDEXED_LENGTH ? grams(normalized) : null;
+		int from = Math.max(0, normalized.length() - maxDistance);
+		int to = Math.min(keysByLength.size() - 1, normalized.length() + maxDistance);
+		for (int length = from; length <= to; length++) {
+			int threshold = Math.max(normalized.length(), length) + Q - 1 - Q * maxDistance;
+			if (grams != null && length <= MAX_INDEXED_LENGTH && threshold > 0) {
+				collectByTrigrams(normalized, grams, length, maxDistance, threshold, matches);
+			} else {
+				IntList list = keysByLength.get(length);
+				for (int i = 0; i < list.size; i++) {
+					match(normalized, list.values[i], maxDistance, matches);
+				}
+			}
+		}
+		// Each match is {distance, key id}; sort by distance, then by key.
+		matches.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0])
+				: keys.get((int) a[1]).compareTo(keys.get((int) b[1])));
+		LinkedHashSet<V> found = new LinkedHashSet<>();
+		for (long[] match : matches) {
+			for (V value : values.get((int) match[1])) {
+				found.add(value);
+				if (found.size() == limit) {
+					return new ArrayList<>(found);
+				}
+			}
+		}
+		return new ArrayList<>(found);
+	}
+
+	/**
+	 * Counts the trigrams the keys of one length share with the query and
+	 * compares the keys that share enough of them. A key must appear in at least
+	 * {@code threshold} of the query's lists, so it appears in at least
+	 * {@code threshold - s} of them once the s longest lists are left out; half
+	 * the slack is spent that way, trading list entries for comparisons.
+	 */
+	private void collectByTrigrams(String query, long[] grams, int length, int maxDistance, int threshold,
+			List<long[]> matches) {
+		if (counts.length < keys.size()) {
+			counts = new byte[Math.max(keys.size(), counts.length * 2)];
+		}
+		IntList[] lists = new IntList[grams.length];
+		int found = 0;
+		for (long gram : grams) {
+			IntList list = postings.get(withLength(gram, length));
+			if (list != null) {
+				lists[found++] = list;
+			}
+		}
+		if (found < threshold) {
+			return;
+		}
+		Arrays.sort(lists, 0, found, (a, b) -> Integer.compare(a.size, b.size));
+		int skipped = (threshold - 1) / 2;
+		int required = threshold - skipped;
+		touched.size = 0;
+		for (int l = 0; l < found - skipped; l++) {
+			IntList list = lists[l];
+			for (int i = 0; i < list.size; i++) {
+				int id = list.values[i];
+				if (counts[id]++ == 0) {
+					touched.add(id);
+				}
+			}
+		}
+		for (int i = 0; i < touched.size; i++) {
+			int id = touched.values[i];
+			if (counts[id] >= required) {
+				match(query, id, maxDistance, matches);
+			}
+			counts[id] = 0;
+		}
+	}
+
+	private void match(String query, int id, int maxDistance, List<long[]> matches) {
+		if (liveValues[id] == 0) {
+			return;
+		}
+		int offset = keyOffsets[id];
+		int length = keyOffsets[id + 1] - offset;
+		if (previousRow.length <= length + 1) {
+			previousRow = new int[length * 2 + 2];
+			currentRow = new int[length * 2 + 2];
+		}
+		int distance = editDistance(query, keyChars, offset, length, maxDistance, previousRow, currentRow);
+		if (distance <= maxDistance) {
+			matches.add(new long[] { distance, id });
+		}
+	}
+
+	/**
+	 * Copies a new key into the shared character array, so that comparing
+	 * candidates reads consecutive memory instead of one string each.
+	 */
+	private void appendChars(int id, String key) {
+		if (id + 2 > keyOffsets.length) {
+			keyOffsets = Arrays.copyOf(keyOffsets, keyOffsets.length * 2);
+			liveValues = Arrays.copyOf(liveValues, keyOffsets.length);
+		}
+		int offset = keyOffsets[id];
+		if (offset + key.length() > keyChars.length) {
+			keyChars = Arrays.copyOf(keyChars, Math.max(keyChars.length * 2, offset + key.length()));
+		}
+		key.getChars(0, key.length(), keyChars, offset);
+		keyOffsets[id + 1] = offset + key.length();
+	}
+
+	/**
+	 * Computes the Levenshtein distance between two strings, giving up as soon
+	 * as it must exceed the given maximum.
+	 *
+	 * @param a           the first string
+	 * @param b           the second string
+	 * @param maxDistance the largest distance of interest
+	 * @return the distance, or {@code maxDistance + 1} if it is larger than
+	 *         {@code maxDistance}
+	 */
+	public static int editDistance(String a, String b, int maxDistance) {
+		return editDistance(a, b.toCharArray(), 0, b.length(), maxDistance, new int[b.length() + 2],
+				new int[b.length() + 2]);
+	}
+
+	/**
+	 * Fills only the band of cells within {@code maxDistance} of the diagonal;
+	 * every cell outside it is known to exceed the maximum.
+	 */
+	private static int editDistance(String a, char[] b, int offset, int length, int maxDistance, int[] previous,
+			int[] current) {
+		if (Math.abs(a.length() - length) > maxDistance) {
+			return maxDistance + 1;
+		}
+		int beyond = maxDistance + 1;
+		for (int j = 0; j <= length; j++) {
+			previous[j] = Math.min(j, beyond);
+		}
+		for (int i = 1; i <= a.length(); i++) {
+			int from = Math.max(1, i - maxDistance);
+			int to = Math.min(length, i + maxDistance);
+			current[from - 1] = from == 1 ? Math.min(i, beyond) : beyond;
+			int rowMinimum = current[from - 1];
+			char c = a.charAt(i - 1);
+			for (int j = from; j <= to; j++) {
+				int cost = c == b[offset + j - 1] ? 0 : 1;
+				int distance = Math.min(Math.min(current[j - 1], previous[j]) + 1, previous[j - 1] + cost);
+				current[j] = Math.min(distance, beyond);
+				rowMinimum = Math.min(rowMinimum, current[j]);
+			}
+			if (to < length) {
+				current[to + 1] = beyond;
+			}
+			if (rowMinimum > maxDistance) {
+				return beyond;
+			}
+			int[] swap = previous;
+			previous = current;
+			current = swap;
+		}
+		return previous[length];
+	}
+
+	/**
+	 * Returns the trigrams of a padded key. A trigram occurring more than once
+	 * is numbered by occurrence, so shared trigrams are counted with their
+	 * multiplicity.
+	 */
+	private static long[] grams(String key) {
+		String padded = PAD + "" + PAD + key + PAD + PAD;
+		long[] grams = new long[padded.length() - Q + 1];
+		for (int i = 0; i < grams.length; i++) {
+			long gram = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16 | padded.charAt(i + 2);
+			int occurrence = 0;
+			for (int j = 0; j < i; j++) {
+				if ((grams[j] & 0xFFFFFFFFFFFFL) == gram) {
+					occurrence++;
+				}
+			}
+			grams[i] = (long) occurrence << 48 | gram;
+		}
+		return grams;
+	}
+
+	/**
+	 * Combines a trigram with the length of the keys its list is for.
+	 */
+	private static long withLength(long gram, int length) {
+		return (long) length << 56 | gram;
+	}
+
+	private static String normalize(String key) {
+		return key == null ? "" : key.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * A growable list of key ids.
+	 */
+	private static final class IntList {
+		private int[] values = new int[4];
+		private int size;
+
+		private void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+	}
+}
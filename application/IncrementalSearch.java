@@ -0,0 +1,336 @@
+/**
+ * Background letter search for the search screen.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the letter searches of the search screen on a background thread, so
+ * typing in the search field never waits for a search.
+ *
+ * <p>
+ * Every new search makes the previous one stale: a stale search that has not
+ * started is cancelled, and one that is running stops at its next check and
+ * publishes nothing more. Results are handed to the publisher (the JavaFX
+ * application thread in the app) one page at a time, and the next page is only
+ * sent once the previous one has been shown, so the application thread never
+ * spends more than one small update at a time on search results.
+ *
+ * <p>
+ * Letter names starting with the search text are fetched from the index one
+ * page at a time, as they are shown, so a short prefix over a large catalog
+ * costs only the pages shown plus, for later pages, walking past the names
+ * already shown. A search stops after
+ * {@link #RESULTS_PER_REQUEST} names and goes on only when {@link #more} is
+ * called, for instance when the user asks for more results.
+ *
+ * <p>
+ * The time from starting a search to showing its first page, and the time the
+ * application thread spends showing each page, are recorded.
+ */
+public class IncrementalSearch {
+	static final int PAGE_SIZE = 200;
+	static final int RESULTS_PER_REQUEST = 5 * PAGE_SIZE;
+	static final int MAX_RANKED_RESULTS = 500;
+
+	private final RecommendationManager recommendationManager;
+	private final Executor publisher;
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "letter-search");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final AtomicLong generation = new AtomicLong();
+	private final LatencyHistogram queryLatency = new LatencyHistogram();
+	private final LatencyHistogram pageLatency = new LatencyHistogram();
+	private Future<?> pending;
+	private Search current;
+
+	/**
+	 * Receives the results of one search on the publisher's thread. Nothing is
+	 * received once a newer search has started.
+	 */
+	public interface Results {
+
+		/**
+		 * Receives one page of letter names.
+		 *
+		 * @param names the letter names on the page
+		 * @param first true for the first page, which replaces earlier results
+		 */
+		void page(List<String> names, boolean first);
+
+		/**
+		 * Called after the last page of a request.
+		 *
+		 * @param shown the number of letters shown so far
+		 * @param more  true if there are more letters, which {@link #more}
+		 *              would show
+		 */
+		void done(int shown, boolean more);
+	}
+
+	/**
+	 * Constructor for the IncrementalSearch.
+	 *
+	 * @param recommendationManager the manager whose letters are searched
+	 * @param publisher             runs each result update, e.g.
+	 *                              {@code Platform::runLater}
+	 */
+	public IncrementalSearch(RecommendationManager recommendationManager, Executor publisher) {
+		this.recommendationManager = recommendationManager;
+		this.publisher = publisher;
+	}
+
+	/**
+	 * Starts a search, replacing any search still running. Must be called on
+	 * the publisher's thread.
+	 *
+	 * @param query   the search text
+	 * @param results receives the results
+	 */
+	public void search(String query, Results results) {
+		Search search = new Search(generation.incrementAndGet(), query.trim(), results);
+		if (pending != null) {
+			pending.cancel(false);
+		}
+		current = search;
+		submit(search);
+	}
+
+	/**
+	 * Shows the next {@link #RESULTS_PER_REQUEST} letters of the latest search,
+	 * if it stopped with more to show. Must be called on the publisher's
+	 * thread.
+	 */
+	public void more() {
+		Search search = current;
+		if (search == null || !search.more || isStale(search.id)) {
+			return;
+		}
+		search.more = false;
+		submit(search);
+	}
+
+	/**
+	 * Cancels the search still running, if any. Must be called on the
+	 * publisher's thread.
+	 */
+	public void cancel() {
+		generation.incrementAndGet();
+		current = null;
+		if (pending != null) {
+			pending.cancel(false);
+			pending = null;
+		}
+	}
+
+	/**
+	 * Finds the first letters for a search text, as the first page of a search
+	 * does. File names starting with the text come first; if there are none,
+	 * the letters containing the text, best match first; if there are none
+	 * either, the file names with a name close to the text, in case it was
+	 * mistyped.
+	 *
+	 * @param query the search text
+	 * @param limit the maximum number of letters to return
+	 * @return the letter names found
+	 */
+	public List<String> find(String query, int limit) {
+		if (query.isEmpty()) {
+			return new ArrayList<>();
+		}
+		List<String> found = recommendationManager.searchRecommendationFiles(query, 0, limit);
+		return found.isEmpty() ? findInLetters(query, limit) : found;
+	}
+
+	/**
+	 * Finds the letters containing the search text, or else the file names
+	 * close to it, for a search text no file name starts with.
+	 */
+	private List<String> findInLetters(String query, int limit) {
+		List<String> found = recommendationManager.searchLetters(query, limit);
+		if (found.isEmpty() && query.indexOf(' ') < 0) {
+			found = recommendationManager.searchRecommendationFilesFuzzy(query,
+					FuzzyIndex.autoDistance(query.length()), limit);
+		}
+		return found;
+	}
+
+	/**
+	 * Returns the time from starting a search to showing its first page.
+	 *
+	 * @return the query latency histogram
+	 */
+	public LatencyHistogram getQueryLatency() {
+		return queryLatency;
+	}
+
+	/**
+	 * Returns the time the publisher's thread spent showing each page.
+	 *
+	 * @return the page latency histogram
+	 */
+	public LatencyHistogram getPageLatency() {
+		return pageLatency;
+	}
+
+	/**
+	 * Describes the search latencies on one line.
+	 *
+	 * @return the latency statistics
+	 */
+	public String summary() {
+		return "Search latency: query " + queryLatency.summary() + "; per page on the application thread "
+				+ pageLatency.summary();
+	}
+
+	/**
+	 * Stops the search thread.
+	 */
+	public void shutdown() {
+		cancel();
+		executor.shutdownNow();
+	}
+
+	private boolean isStale(long id) {
+		return generation.get() != id;
+	}
+
+	private void submit(Search search) {
+		long start = System.nanoTime();
+		pending = executor.submit(() -> run(search, start));
+	}
+
+	/**
+	 * Shows the next pages of a search, up to {@link #RESULTS_PER_REQUEST}
+	 * letters or the last one found.
+	 */
+	private void run(Search search, long start) {
+		int stopAt = search.shown + RESULTS_PER_REQUEST;
+		while (!isStale(search.id)) {
+			boolean first = search.shown == 0;
+			List<String> page = nextPage(search);
+			search.shown += page.size();
+			boolean last = !search.more || search.shown >= stopAt;
+			int shown = search.shown;
+			boolean more = search.more;
+			if (!publish(search.id, () -> {
+				long pageShown = System.nanoTime();
+				search.results.page(page, first);
+				if (last) {
+					search.results.done(shown, more);
+				}
+				pageLatency.recordSince(pageShown);
+				if (first) {
+					queryLatency.recordSince(start);
+				}
+			}) || last) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Fetches the next page of a search and records whether there is more.
+	 * File names starting with the text are fetched one page at a time; the
+	 * first page decides whether the letters are searched instead, in which
+	 * case the at most {@link #MAX_RANKED_RESULTS} found are then paged through.
+	 */
+	private List<String> nextPage(Search search) {
+		if (search.query.isEmpty()) {
+			search.more = false;
+			return new ArrayList<>();
+		}
+		if (search.shown == 0) {
+			FlightEvents.Search event = new FlightEvents.Search();
+			event.begin();
+			List<String> page = recommendationManager.searchRecommendationFiles(search.query, 0, PAGE_SIZE + 1);
+			if (page.isEmpty()) {
+				search.ranked = findInLetters(search.query, MAX_RANKED_RESULTS);
+			}
+			RecommendationManager.commitSearch(event, "incremental", search.query,
+					search.ranked != null ? search.ranked.size() : page.size());
+			if (search.ranked == null) {
+				return trim(search, page);
+			}
+		}
+		if (search.ranked != null) {
+			int to = Math.min(search.shown + PAGE_SIZE, search.ranked.size());
+			search.more = to < search.ranked.size();
+			return new ArrayList<>(search.ranked.subList(search.shown, to));
+		}
+		return trim(search,
+				recommendationManager.searchRecommendationFiles(search.query, search.shown, PAGE_SIZE + 1));
+	}
+
+	/**
+	 * Cuts a page fetched with one extra name down to {@link #PAGE_SIZE},
+	 * noting whether the extra name was there.
+	 */
+	private static List<String> trim(Search search, List<String> page) {
+		search.more = page.size() > PAGE_SIZE;
+		return search.more ? new ArrayList<>(page.subList(0, PAGE_SIZE)) : page;
+	}
+
+	/**
+	 * Hands an update to the publisher and waits until it has run, unless the
+	 * search has become stale by then.
+	 *
+	 * @return false if the search is stale or the wait was interrupted
+	 */
+	private boolean publish(long id, Runnable update) {
+		CompletableFuture<Void> shown = new CompletableFuture<>();
+		publisher.execute(() -> {
+			try {
+				if (!isStale(id)) {
+					update.run();
+				}
+			} finally {
+				shown.complete(null);
+			}
+		});
+		try {
+			shown.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (ExecutionException e) {
+			return false;
+		}
+		return !isStale(id);
+	}
+
+	/**
+	 * The state of one search: how many letters have been shown, and whether
+	 * there are more. It is changed by the search thread while the search runs,
+	 * and by {@link IncrementalSearch#more} once it has stopped; the hand-offs
+	 * between the two threads order the changes.
+	 */
+	private static final class Search {
+		private final long id;
+		private final String query;
+		private final Results results;
+		private int shown;
+		private boolean more;
+		private List<String> ranked;
+
+		private Search(long id, String query, Results results) {
+			this.id = id;
+			this.query = query;
+			this.results = results;
+		}
+	}
+}
@@ -0,0 +1,159 @@
+/**
+ * Fixed-size log-linear histogram of latencies.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, log-linear latency histogram. Every power of two is split into
+ * 64 buckets, which keeps recorded values within about 1.6% of their true value
+ * from one nanosecond up to several minutes. Recording is thread-safe and does
+ * not allocate, so it can sit on hot paths.
+ */
+public class LatencyHistogram {
+	private static final int SUB_BUCKET_BITS = 6;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MAX_EXPONENT = 61;
+	private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+	private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final AtomicLong count = new AtomicLong();
+	private final AtomicLong sum = new AtomicLong();
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Records one latency.
+	 *
+	 * @param nanos the latency in nanoseconds; negative values count as zero
+	 */
+	public void record(long nanos) {
+		long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+		counts.incrementAndGet(bucketOf(value));
+		count.incrementAndGet();
+		sum.addAndGet(value);
+		long current;
+		while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+			// retry until our value is stored or a larger one wins
+		}
+	}
+
+	/**
+	 * Records the time elapsed since the given {@link System#nanoTime()} reading.
+	 *
+	 * @param startNanos the start time
+	 */
+	public void recordSince(long startNanos) {
+		record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return the number of recorded values
+	 */
+	public long getCount() {
+		return count.get();
+	}
+
+	/**
+	 * Returns the mean recorded value.
+	 *
+	 * @return the mean in nanoseconds, or 0 if nothing was recorded
+	 */
+	public long getMean() {
+		long n = count.get();
+		return n == 0 ? 0 : sum.get() / n;
+	}
+
+	/**
+	 * Returns the largest recorded value.
+	 *
+	 * @return the maximum in nanoseconds
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Returns the value below which the given fraction of recorded values fall.
+	 *
+	 * @param percentile the percentile, between 0 and 100
+	 * @return the value in nanoseconds, or 0 if nothing was recorded
+	 */
+	public long getPercentile(double percentile) {
+		long total = count.get();
+		if (total == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long) Math.ceil(total * Math.min(percentile, 100.0) / 100.0));
+		long seen = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts.get(i);
+			if (seen >= target) {
+				return Math.min(highestValueOf(i), max.get());
+			}
+		}
+		return max.get();
+	}
+
+	/**
+	 * Clears all recorded values.
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.set(i, 0);
+		}
+		count.set(0);
+		sum.set(0);
+		max.set(0);
+	}
+
+	/**
+	 * Returns a one-line summary of the recorded values in milliseconds.
+	 *
+	 * @return the summary
+	 */
+	public String summary() {
+		return String.format("count=%d mean=%.3fms p50=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms", getCount(),
+				toMillis(getMean()), toMillis(getPercentile(50)), toMillis(getPercentile(99)),
+				toMillis(getPercentile(99.9)), toMillis(getMax()));
+	}
+
+	/**
+	 * Converts nanoseconds to fractional milliseconds.
+	 *
+	 * @param nanos the value in nanoseconds
+	 * @return the value in milliseconds
+	 */
+	public static double toMillis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+	static int bucketOf(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int shift = exponent - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+	}
+
+	static long lowestValueOf(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int group = bucket / SUB_BUCKETS;
+		return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (group - 1);
+	}
+
+	static long highestValueOf(int bucket) {
+		return bucket + 1 < BUCKETS ? lowestValueOf(bucket + 1) - 1 : MAX_VALUE;
+	}
+}
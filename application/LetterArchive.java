@@ -0,0 +1,375 @@
+/**
+ * Export of stored letters into a single archive file.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Writes stored letters into one archive file, for handing every letter of a
+ * cycle to the registrar. The archive holds one {@code Last_First.txt} entry
+ * per letter, as the letters were once saved in {@code CompiledRecommendations/}.
+ *
+ * <p>
+ * Letters are streamed one at a time through fixed buffers, so memory use
+ * does not grow with the size of the archive, and everything goes into one
+ * output file instead of one file per letter. A plain {@link Format#TAR} is
+ * written with {@link FileChannel#transferTo} from the letter store's own
+ * files, so the letter text never passes through the Java heap.
+ * {@link Format#TAR_GZ} and {@link Format#ZIP} compress it on the way. A ZIP
+ * file ends with a directory of its entries, which {@link ZipOutputStream}
+ * keeps in memory until then, about a hundred bytes per letter.
+ *
+ * <p>
+ * The archive is written to a temporary file next to the destination and
+ * renamed into place once complete, so a failed export never leaves a
+ * truncated archive under the final name.
+ */
+public class LetterArchive {
+	static final int BUFFER_BYTES = 1 << 16;
+
+	private final RecommendationStore store;
+
+	/**
+	 * The archive formats.
+	 */
+	public enum Format {
+		/** A ZIP file, compressed; opened by every desktop without tools. */
+		ZIP(".zip"),
+		/** An uncompressed tar file; the fastest to write. */
+		TAR(".tar"),
+		/** A gzip-compressed tar file. */
+		TAR_GZ(".tar.gz");
+
+		private final String extension;
+
+		Format(String extension) {
+			this.extension = extension;
+		}
+
+		/**
+		 * Returns the format an archive file name asks for.
+		 *
+		 * @param file the archive file
+		 * @return the format
+		 * @throws IllegalArgumentException if the name does not end in
+		 *                                  {@code .zip}, {@code .tar},
+		 *                                  {@code .tar.gz} or {@code .tgz}
+		 */
+		public static Format forFile(Path file) {
+			String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+			if (name.endsWith(".tgz")) {
+				return TAR_GZ;
+			}
+			for (Format format : values()) {
+				if (name.endsWith(format.extension)) {
+					return format;
+				}
+			}
+			throw new IllegalArgumentException("Unknown archive type: " + file + " (use .zip, .tar or .tar.gz)");
+		}
+	}
+
+	/**
+	 * Receives the progress of an export.
+	 */
+	public interface Progress {
+		/**
+		 * Called after each letter is added to the archive.
+		 *
+		 * @param letters the letters added so far
+		 * @param total   the letters to add
+		 * @param bytes   the size of the letters added so far, before
+		 *                compression
+		 */
+		void update(int letters, int total, long bytes);
+	}
+
+	/**
+	 * Constructor for the LetterArchive.
+	 *
+	 * @param store the store holding the letters
+	 */
+	public LetterArchive(RecommendationStore store) {
+		this.store = store;
+	}
+
+	/**
+	 * Writes the letters whose names pass a filter into an archive, in the
+	 * format its file name asks for.
+	 *
+	 * @param file     the archive file, replaced if it exists
+	 * @param filter   selects letters by name, such as {@code Last_First.txt}
+	 * @param progress receives the progress, or null
+	 * @return the number of letters written
+	 * @throws IOException if a letter cannot be read or the archive cannot be
+	 *                     written
+	 * @see Format#forFile
+	 */
+	public int export(Path file, Predicate<String> filter, Progress progress) throws IOException {
+		return export(file, Format.forFile(file), filter, progress);
+	}
+
+	/**
+	 * Writes the letters whose names pass a filter into an archive.
+	 *
+	 * @param file     the archive file, replaced if it exists
+	 * @param format   the archive format
+	 * @param filter   selects letters by name, such as {@code Last_First.txt}
+	 * @param progress receives the progress, or null
+	 * @return the number of letters written
+	 * @throws IOException if a letter cannot be read or the archive cannot be
+	 *                     written
+	 */
+	public int export(Path file, Format format, Predicate<String> filter, Progress progress) throws IOException {
+		List<String> names = new ArrayList<>();
+		for (String name : store.names()) {
+			if (filter.test(name)) {
+				names.add(name);
+			}
+		}
+		Path target = file.toAbsolutePath();
+		Path directory = target.getParent();
+		Files.createDirectories(directory);
+		Path temp = Files.createTempFile(directory, ".export-", ".tmp");
+		try {
+			int written;
+			try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+				written = write(channel, format, names, progress);
+			}
+			try {
+				Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			return written;
+		} finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	/**
+	 * Writes the archive and syncs it to disk, before closing the compressing
+	 * streams closes the channel.
+	 */
+	private int write(FileChannel channel, Format format, List<String> names, Progress progress)
+			throws IOException {
+		long time = System.currentTimeMillis();
+		if (format == Format.TAR) {
+			TarWriter tar = new TarWriter(channel, time);
+			int written = addAll(tar, names, progress);
+			tar.finish();
+			channel.force(false);
+			return written;
+		}
+		OutputStream file = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_BYTES);
+		if (format == Format.TAR_GZ) {
+			try (GZIPOutputStream gzip = new GZIPOutputStream(file, BUFFER_BYTES)) {
+				TarWriter tar = new TarWriter(Channels.newChannel(gzip), time);
+				int written = addAll(tar, names, progress);
+				tar.finish();
+				gzip.finish();
+				file.flush();
+				channel.force(false);
+				return written;
+			}
+		}
+		try (ZipOutputStream zip = new ZipOutputStream(file, StandardCharsets.UTF_8)) {
+			WritableByteChannel entry = Channels.newChannel(zip);
+			int written = addAll((name, letter) -> {
+				ZipEntry zipEntry = new ZipEntry(name);
+				zipEntry.setLastModifiedTime(FileTime.fromMillis(time));
+				zip.putNextEntry(zipEntry);
+				letter.transferTo(entry);
+				zip.closeEntry();
+			}, names, progress);
+			zip.finish();
+			file.flush();
+			channel.force(false);
+			return written;
+		}
+	}
+
+	/**
+	 * Adds the letters one at a time, skipping any deleted since the names
+	 * were listed.
+	 */
+	private int addAll(EntryWriter writer, List<String> names, Progress progress) throws IOException {
+		int written = 0;
+		long bytes = 0;
+		for (String name : names) {
+			RecommendationStore.Utf8Letter letter = store.readUtf8(name);
+			if (letter != null) {
+				writer.add(name, letter);
+				written++;
+				bytes += letter.size();
+			}
+			if (progress != null) {
+				progress.update(written, names.size(), bytes);
+			}
+		}
+		return written;
+	}
+
+	/**
+	 * Adds one letter to an archive.
+	 */
+	private interface EntryWriter {
+		void add(String name, RecommendationStore.Utf8Letter letter) throws IOException;
+	}
+
+	/**
+	 * Writes a POSIX (ustar) tar stream. Names that do not fit the 100 bytes of
+	 * the ustar header, or are not ASCII, are given in a PAX extended header,
+	 * which every current tar reader understands.
+	 */
+	private static final class TarWriter implements EntryWriter {
+		private static final int BLOCK = 512;
+		private static final int NAME_LENGTH = 100;
+		private static final long MAX_SIZE = 077777777777L;
+
+		private final WritableByteChannel out;
+		private final long mtimeSeconds;
+		private final ByteBuffer header = ByteBuffer.allocate(BLOCK);
+		private final ByteBuffer padding = ByteBuffer.allocate(BLOCK);
+
+		private TarWriter(WritableByteChannel out, long timeMillis) {
+			this.out = out;
+			this.mtimeSeconds = timeMillis / 1000;
+		}
+
+		@Override
+		public void add(String name, RecommendationStore.Utf8Letter letter) throws IOException {
+			long size = letter.size();
+			if (size > MAX_SIZE) {
+				throw new IOException(name + " is too large for a tar archive");
+			}
+			byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+			boolean ascii = nameBytes.length == name.length();
+			if (!ascii || nameBytes.length > NAME_LENGTH) {
+				byte[] record = paxRecord("path", nameBytes);
+				writeHeader(paxName(name), 'x', record.length);
+				writeFully(ByteBuffer.wrap(record));
+				pad(record.length);
+			}
+			writeHeader(ascii && nameBytes.length <= NAME_LENGTH ? nameBytes : paxName(name), '0', size);
+			letter.transferTo(out);
+			pad(size);
+		}
+
+		/**
+		 * Ends the archive with two empty blocks.
+		 */
+		private void finish() throws IOException {
+			for (int i = 0; i < 2; i++) {
+				padding.clear();
+				writeFully(padding);
+			}
+		}
+
+		private void writeHeader(byte[] name, char type, long size) throws IOException {
+			byte[] block = header.array();
+			Arrays.fill(block, (byte) 0);
+			System.arraycopy(name, 0, block, 0, Math.min(name.length, NAME_LENGTH));
+			octal(block, 100, 8, 0644);
+			octal(block, 108, 8, 0);
+			octal(block, 116, 8, 0);
+			octal(block, 124, 12, size);
+			octal(block, 136, 12, mtimeSeconds);
+			Arrays.fill(block, 148, 156, (byte) ' ');
+			block[156] = (byte) type;
+			ascii(block, 257, "ustar\0");
+			ascii(block, 263, "00");
+			int checksum = 0;
+			for (byte b : block) {
+				checksum += b & 0xFF;
+			}
+			octal(block, 148, 7, checksum);
+			header.clear();
+			writeFully(header);
+		}
+
+		/**
+		 * Returns a short ASCII stand-in name, used by readers that ignore the
+		 * PAX header.
+		 */
+		private static byte[] paxName(String name) {
+			StringBuilder ascii = new StringBuilder();
+			for (int i = 0; i < name.length() && ascii.length() < NAME_LENGTH - 4; i++) {
+				char c = name.charAt(i);
+				ascii.append(c >= ' ' && c < 0x7F && c != '/' ? c : '_');
+			}
+			return ascii.append(".txt").toString().getBytes(StandardCharsets.US_ASCII);
+		}
+
+		/**
+		 * Builds a PAX record, {@code "<length> <key>=<value>\n"}, whose length
+		 * counts its own digits.
+		 */
+		private static byte[] paxRecord(String key, byte[] value) {
+			int body = 1 + key.length() + 1 + value.length + 1;
+			int length = body + 1;
+			while (length != body + String.valueOf(length).length()) {
+				length = body + String.valueOf(length).length();
+			}
+			byte[] record = new byte[length];
+			byte[] prefix = (length + " " + key + "=").getBytes(StandardCharsets.US_ASCII);
+			System.arraycopy(prefix, 0, record, 0, prefix.length);
+			System.arraycopy(value, 0, record, prefix.length, value.length);
+			record[length - 1] = '\n';
+			return record;
+		}
+
+		private static void octal(byte[] block, int offset, int length, long value) {
+			String digits = Long.toOctalString(value);
+			int start = offset + length - 1 - digits.length();
+			Arrays.fill(block, offset, start, (byte) '0');
+			ascii(block, start, digits);
+			block[offset + length - 1] = 0;
+		}
+
+		private static void ascii(byte[] block, int offset, String text) {
+			for (int i = 0; i < text.length(); i++) {
+				block[offset + i] = (byte) text.charAt(i);
+			}
+		}
+
+		private void pad(long size) throws IOException {
+			int remainder = (int) (size % BLOCK);
+			if (remainder != 0) {
+				padding.clear().limit(BLOCK - remainder);
+				writeFully(padding);
+			}
+		}
+
+		private void writeFully(ByteBuffer buffer) throws IOException {
+			while (buffer.hasRemaining()) {
+				out.write(buffer);
+			}
+		}
+	}
+}
@@ -0,0 +1,772 @@
+/**
+ * Full-text index over the compiled letters.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * A full-text index over the compiled letters, so letters can be found by
+ * program, course, school or any phrase they contain rather than only by file
+ * name.
+ *
+ * <p>
+ * Letters are split into lower-case words of letters or digits; a word is also
+ * split where letters meet digits, so "CS401" and "CS 401" are the same two
+ * words. For every word the index keeps a posting list of the letters that
+ * contain it, with the positions of the word in each letter. Letter numbers and
+ * positions are stored as differences from the previous entry, written as
+ * variable-length integers, so most take a single byte. Every
+ * {@value #SKIP_INTERVAL} letters a skip entry is recorded, which lets an AND
+ * query jump over the parts of a long list that cannot match. The skip entry
+ * also keeps the highest word count and the shortest letter in its block, which
+ * bound the score any letter in the block can reach; once enough results have
+ * been found, blocks that cannot beat them are skipped without being decoded.
+ *
+ * <p>
+ * Queries are words separated by spaces, all of which must occur. Words in
+ * double quotes, or joined by punctuation such as "problem-solving", must occur
+ * next to each other in that order. {@code OR} separates alternatives. Results
+ * are ranked by BM25.
+ *
+ * <p>
+ * Saving a letter again gives it a new number and marks the old one deleted;
+ * once more letters are deleted than live, the posting lists are rewritten
+ * without them. All methods are thread-safe.
+ */
+public class LetterIndex {
+	static final int SKIP_INTERVAL = 64;
+	private static final int SKIP_ENTRY = 5;
+	static final int MIN_DELETED_FOR_COMPACTION = 1024;
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+	private static final int NO_MORE_DOCS = Integer.MAX_VALUE;
+
+	private final HashMap<String, Postings> postings = new HashMap<>();
+	private final HashMap<String, Integer> docIds = new HashMap<>();
+	private String[] names = new String[1024];
+	private int[] lengths = new int[1024];
+	private int maxDoc;
+	private int liveDocs;
+	private long liveTokens;
+
+	/**
+	 * Splits a letter into words and records their positions. This is the
+	 * expensive part of indexing and does not lock the index, so letters can be
+	 * analyzed in parallel and then added with {@link #add(Document)}.
+	 *
+	 * @param name the letter name
+	 * @param text the letter text
+	 * @return the analyzed letter
+	 */
+	public static Document analyze(String name, String text) {
+		Document document = new Document(name);
+		List<String> words = tokenize(text);
+		for (int position = 0; position < words.size(); position++) {
+			document.terms.computeIfAbsent(words.get(position), term -> new Positions()).add(position);
+		}
+		document.length = words.size();
+		return document;
+	}
+
+	/**
+	 * Indexes a letter, replacing any letter already indexed under the name.
+	 *
+	 * @param name the letter name
+	 * @param text the letter text
+	 */
+	public void update(String name, String text) {
+		add(analyze(name, text));
+	}
+
+	/**
+	 * Adds an analyzed letter, replacing any letter already indexed under the
+	 * name.
+	 *
+	 * @param document the analyzed letter
+	 */
+	public synchronized void add(Document document) {
+		removeDoc(document.name);
+		int doc = maxDoc++;
+		if (doc == names.length) {
+			names = Arrays.copyOf(names, doc * 2);
+			lengths = Arrays.copyOf(lengths, doc * 2);
+		}
+		names[doc] = document.name;
+		lengths[doc] = document.length;
+		docIds.put(document.name, doc);
+		liveDocs++;
+		liveTokens += document.length;
+		for (Map.Entry<String, Positions> term : document.terms.entrySet()) {
+			postings.computeIfAbsent(term.getKey(), key -> new Postings()).add(doc, document.length, term.getValue());
+		}
+		compactIfMostlyDeleted();
+	}
+
+	/**
+	 * Adds an analyzed letter unless a letter is already indexed under the name.
+	 * Used when building the index from the store, so a letter saved meanwhile
+	 * is not replaced by its older text.
+	 *
+	 * @param document the analyzed letter
+	 * @return true if the letter was added
+	 */
+	public synchronized boolean addIfAbsent(Document document) {
+		if (docIds.containsKey(document.name)) {
+			return false;
+		}
+		add(document);
+		return true;
+	}
+
+	/**
+	 * Removes a letter from the index.
+	 *
+	 * @param name the letter name
+	 * @return true if the letter was indexed
+	 */
+	public synchronized boolean remove(String name) {
+		boolean removed = removeDoc(name);
+		compactIfMostlyDeleted();
+		return removed;
+	}
+
+	/**
+	 * Returns the number of letters in the index.
+	 *
+	 * @return the number of letters
+	 */
+	public synchronized int size() {
+		return liveDocs;
+	}
+
+	/**
+	 * Returns the number of distinct words in the index.
+	 *
+	 * @return the number of words
+	 */
+	public synchronized int getTermCount() {
+		return postings.size();
+	}
+
+	/**
+	 * Returns the number of bytes used by the posting lists.
+	 *
+	 * @return the size of the posting lists in bytes
+	 */
+	public synchronized long getPostingBytes() {
+		long bytes = 0;
+		for (Postings list : postings.values()) {
+			bytes += list.docsSize + list.positionsSize + list.skipCount * (long) SKIP_ENTRY * Integer.BYTES;
+		}
+		return bytes;
+	}
+
+	/**
+	 * Finds the letters matching a query, best match first.
+	 *
+	 * @param query the query
+	 * @param limit the maximum number of letters to return
+	 * @return the names of the matching letters
+	 */
+	public synchronized List<String> search(String query, int limit) {
+		List<List<String[]>> alternatives = parse(query);
+		if (alternatives.isEmpty() || limit <= 0) {
+			return Collections.emptyList();
+		}
+		PriorityQueue<Hit> best = new PriorityQueue<>(Math.min(limit, 1024) + 1);
+		if (alternatives.size() == 1) {
+			evaluate(alternatives.get(0), best, limit, null);
+		} else {
+			mergeAlternatives(alternatives, best, limit);
+		}
+		String[] ranked = new String[best.size()];
+		for (int i = ranked.length - 1; i >= 0; i--) {
+			ranked[i] = names[best.poll().doc];
+		}
+		return Arrays.asList(ranked);
+	}
+
+	/**
+	 * Rewrites the posting lists without the deleted letters and renumbers the
+	 * remaining letters in their current order.
+	 */
+	public synchronized void compact() {
+		int[] newIds = new int[maxDoc];
+		int next = 0;
+		for (int doc = 0; doc < maxDoc; doc++) {
+			newIds[doc] = names[doc] != null ? next++ : -1;
+		}
+		HashMap<String, Postings> compacted = new HashMap<>(postings.size() * 2);
+		for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+			Postings list = new Postings();
+			Cursor cursor = new Cursor(entry.getValue());
+			Positions positions = new Positions();
+			for (int doc = cursor.next(); doc != NO_MORE_DOCS; doc = cursor.next()) {
+				if (newIds[doc] >= 0) {
+					positions.size = 0;
+					int[] decoded = cursor.positions();
+					for (int i = 0; i < cursor.freq; i++) {
+						positions.add(decoded[i]);
+					}
+					list.add(newIds[doc], lengths[doc], positions);
+				}
+			}
+			if (list.docCount > 0) {
+				compacted.put(entry.getKey(), list);
+			}
+		}
+		String[] newNames = new String[Math.max(1024, next * 2)];
+		int[] newLengths = new int[newNames.length];
+		for (int doc = 0; doc < maxDoc; doc++) {
+			if (newIds[doc] >= 0) {
+				newNames[newIds[doc]] = names[doc];
+				newLengths[newIds[doc]] = lengths[doc];
+				docIds.put(names[doc], newIds[doc]);
+			}
+		}
+		postings.clear();
+		postings.putAll(compacted);
+		names = newNames;
+		lengths = newLengths;
+		maxDoc = next;
+	}
+
+	private void compactIfMostlyDeleted() {
+		int deleted = maxDoc - liveDocs;
+		if (deleted >= MIN_DELETED_FOR_COMPACTION && deleted > liveDocs) {
+			compact();
+		}
+	}
+
+	private boolean removeDoc(String name) {
+		Integer doc = docIds.remove(name);
+		if (doc == null) {
+			return false;
+		}
+		names[doc] = null;
+		liveDocs--;
+		liveTokens -= lengths[doc];
+		return true;
+	}
+
+	private static void offer(PriorityQueue<Hit> best, int limit, int doc, double score) {
+		if (best.size() < limit) {
+			best.add(new Hit(doc, score));
+		} else if (score > best.peek().score) {
+			best.poll();
+			best.add(new Hit(doc, score));
+		}
+	}
+
+	/**
+	 * Evaluates every alternative of an OR query and merges their matches by
+	 * letter number, adding up the scores of letters matched more than once.
+	 */
+	private void mergeAlternatives(List<List<String[]>> alternatives, PriorityQueue<Hit> best, int limit) {
+		Matches[] matches = new Matches[alternatives.size()];
+		int[] next = new int[matches.length];
+		for (int i = 0; i < matches.length; i++) {
+			matches[i] = new Matches();
+			evaluate(alternatives.get(i), null, 0, matches[i]);
+		}
+		while (true) {
+			int doc = NO_MORE_DOCS;
+			for (int i = 0; i < matches.length; i++) {
+				if (next[i] < matches[i].size) {
+					doc = Math.min(doc, matches[i].docs[next[i]]);
+				}
+			}
+			if (doc == NO_MORE_DOCS) {
+				return;
+			}
+			double score = 0;
+			for (int i = 0; i < matches.length; i++) {
+				if (next[i] < matches[i].size && matches[i].docs[next[i]] == doc) {
+					score += matches[i].scores[next[i]++];
+				}
+			}
+			offer(best, limit, doc, score);
+		}
+	}
+
+	/**
+	 * Finds the live letters containing every word of the clauses, with every
+	 * phrase clause in order, by walking the posting lists together starting
+	 * from the rarest word. The matches are either offered to the ranked
+	 * results, skipping blocks whose best possible score cannot enter them, or,
+	 * when {@code matches} is given, all collected in letter order.
+	 */
+	private void evaluate(List<String[]> clauses, PriorityQueue<Hit> best, int limit, Matches matches) {
+		LinkedHashMap<String, Cursor> cursors = new LinkedHashMap<>();
+		for (String[] clause : clauses) {
+			for (String term : clause) {
+				if (!cursors.containsKey(term)) {
+					Postings list = postings.get(term);
+					if (list == null) {
+						return;
+					}
+					cursors.put(term, new Cursor(list));
+				}
+			}
+		}
+		List<Cursor[]> phrases = new ArrayList<>();
+		for (String[] clause : clauses) {
+			if (clause.length > 1) {
+				Cursor[] phrase = new Cursor[clause.length];
+				for (int i = 0; i < clause.length; i++) {
+					phrase[i] = cursors.get(clause[i]);
+				}
+				phrases.add(phrase);
+			}
+		}
+		Cursor[] ordered = cursors.values().toArray(new Cursor[0]);
+		Arrays.sort(ordered, (a, b) -> Integer.compare(a.postings.docCount, b.postings.docCount));
+		double averageLength = liveDocs > 0 ? (double) liveTokens / liveDocs : 1.0;
+		double[] idf = new double[ordered.length];
+		for (int i = 0; i < ordered.length; i++) {
+			double docFreq = ordered[i].postings.docCount;
+			idf[i] = Math.log(1 + (maxDoc - docFreq + 0.5) / (docFreq + 0.5));
+		}
+
+		int doc = ordered[0].next();
+		int checkedUpTo = -1;
+		while (doc != NO_MORE_DOCS) {
+			if (matches == null && best.size() == limit && doc > checkedUpTo) {
+				double bound = 0;
+				int blockEnd = NO_MORE_DOCS;
+				for (int i = 0; i < ordered.length && blockEnd >= 0; i++) {
+					int end = ordered[i].shallowAdvance(doc);
+					blockEnd = end < 0 ? -1 : Math.min(blockEnd, end);
+					bound += score(idf[i], ordered[i].blockMaxFreq(), ordered[i].blockMinLength(), averageLength);
+				}
+				if (blockEnd < 0) {
+					return;
+				}
+				if (bound <= best.peek().score) {
+					doc = blockEnd == NO_MORE_DOCS ? NO_MORE_DOCS : ordered[0].advance(blockEnd + 1);
+					continue;
+				}
+				checkedUpTo = blockEnd;
+			}
+			int candidate = doc;
+			for (int i = 1; i < ordered.length && candidate == doc; i++) {
+				candidate = ordered[i].advance(doc);
+			}
+			if (candidate != doc) {
+				doc = ordered[0].advance(candidate);
+				continue;
+			}
+			if (names[doc] != null && phrasesMatch(phrases)) {
+				double score = 0;
+				for (int i = 0; i < ordered.length; i++) {
+					score += score(idf[i], ordered[i].freq, lengths[doc], averageLength);
+				}
+				if (matches != null) {
+					matches.add(doc, score);
+				} else {
+					offer(best, limit, doc, score);
+				}
+			}
+			doc = ordered[0].next();
+		}
+	}
+
+	/**
+	 * The BM25 score of one word in a letter. It grows with the word count and
+	 * shrinks with the letter length, so the highest count and shortest length
+	 * of a block give an upper bound for the block.
+	 */
+	private static double score(double idf, int freq, int length, double averageLength) {
+		return idf * freq * (K1 + 1) / (freq + K1 * (1 - B + B * length / averageLength));
+	}
+
+	private static boolean phrasesMatch(List<Cursor[]> phrases) {
+		for (Cursor[] phrase : phrases) {
+			if (!phraseMatches(phrase)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean phraseMatches(Cursor[] phrase) {
+		int[] starts = phrase[0].positions();
+		for (int s = 0; s < phrase[0].freq; s++) {
+			boolean matched = true;
+			for (int i = 1; i < phrase.length && matched; i++) {
+				matched = Arrays.binarySearch(phrase[i].positions(), 0, phrase[i].freq, starts[s] + i) >= 0;
+			}
+			if (matched) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Splits a query into OR alternatives, each a list of clauses that must all
+	 * match. A clause is a single word, or a phrase of several words.
+	 */
+	static List<List<String[]>> parse(String query) {
+		List<List<String[]>> alternatives = new ArrayList<>();
+		List<String[]> clauses = new ArrayList<>();
+		int i = 0;
+		while (i < query.length()) {
+			char c = query.charAt(i);
+			if (Character.isWhitespace(c)) {
+				i++;
+				continue;
+			}
+			int end;
+			List<String> words;
+			if (c == '"') {
+				end = query.indexOf('"', i + 1);
+				if (end < 0) {
+					end = query.length();
+				}
+				words = tokenize(query.substring(i + 1, end));
+				end++;
+			} else {
+				end = i;
+				while (end < query.length() && !Character.isWhitespace(query.charAt(end))) {
+					end++;
+				}
+				String word = query.substring(i, end);
+				if (word.equals("OR")) {
+					if (!clauses.isEmpty()) {
+						alternatives.add(clauses);
+						clauses = new ArrayList<>();
+					}
+					i = end;
+					continue;
+				}
+				words = word.equals("AND") ? Collections.emptyList() : tokenize(word);
+			}
+			if (!words.isEmpty()) {
+				clauses.add(words.toArray(new String[0]));
+			}
+			i = end;
+		}
+		if (!clauses.isEmpty()) {
+			alternatives.add(clauses);
+		}
+		return alternatives;
+	}
+
+	/**
+	 * Splits text into lower-case words of letters or digits, also splitting
+	 * where letters meet digits.
+	 */
+	static List<String> tokenize(String text) {
+		List<String> words = new ArrayList<>();
+		int start = -1;
+		boolean digits = false;
+		for (int i = 0; i <= text.length(); i++) {
+			char c = i < text.length() ? text.charAt(i) : ' ';
+			boolean letterOrDigit = Character.isLetterOrDigit(c);
+			boolean digit = Character.isDigit(c);
+			if (start >= 0 && (!letterOrDigit || digit != digits)) {
+				words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+			if (letterOrDigit && start < 0) {
+				start = i;
+				digits = digit;
+			}
+		}
+		return words;
+	}
+
+	private static int writeVarint(byte[] bytes, int offset, int value) {
+		while ((value & ~0x7F) != 0) {
+			bytes[offset++] = (byte) ((value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+		bytes[offset++] = (byte) value;
+		return offset;
+	}
+
+	/**
+	 * A letter split into words, ready to be added to the index.
+	 */
+	public static final class Document {
+		private final String name;
+		private final HashMap<String, Positions> terms = new HashMap<>();
+		private int length;
+
+		private Document(String name) {
+			this.name = name;
+		}
+
+		/**
+		 * Returns the letter name.
+		 *
+		 * @return the letter name
+		 */
+		public String getName() {
+			return name;
+		}
+	}
+
+	/**
+	 * The positions of one word in a letter, in increasing order.
+	 */
+	private static final class Positions {
+		private int[] values = new int[4];
+		private int size;
+
+		private void add(int position) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = position;
+		}
+	}
+
+	/**
+	 * The posting list of one word. {@code docs} holds, for each letter, the
+	 * difference from the previous letter number and the number of occurrences;
+	 * {@code positions} holds the differences between consecutive positions.
+	 * Each skip entry holds the last letter number of a block, the offsets in
+	 * both streams where the next block starts, and the highest word count and
+	 * shortest letter length in the block.
+	 */
+	private static final class Postings {
+		private byte[] docs = new byte[16];
+		private int docsSize;
+		private byte[] positions = new byte[16];
+		private int positionsSize;
+		private int[] skips = new int[0];
+		private int skipCount;
+		private int docCount;
+		private int lastDoc = -1;
+		private int openMaxFreq;
+		private int openMinLength = Integer.MAX_VALUE;
+
+		private void add(int doc, int length, Positions occurrences) {
+			if (docCount > 0 && docCount % SKIP_INTERVAL == 0) {
+				int entry = skipCount * SKIP_ENTRY;
+				if (entry == skips.length) {
+					skips = Arrays.copyOf(skips, Math.max(4 * SKIP_ENTRY, skips.length * 2));
+				}
+				skips[entry] = lastDoc;
+				skips[entry + 1] = docsSize;
+				skips[entry + 2] = positionsSize;
+				skips[entry + 3] = openMaxFreq;
+				skips[entry + 4] = openMinLength;
+				skipCount++;
+				openMaxFreq = 0;
+				openMinLength = Integer.MAX_VALUE;
+			}
+			openMaxFreq = Math.max(openMaxFreq, occurrences.size);
+			openMinLength = Math.min(openMinLength, length);
+			if (docsSize + 10 > docs.length) {
+				docs = Arrays.copyOf(docs, docs.length * 2);
+			}
+			docsSize = writeVarint(docs, docsSize, doc - lastDoc);
+			docsSize = writeVarint(docs, docsSize, occurrences.size);
+			if (positionsSize + occurrences.size * 5 > positions.length) {
+				positions = Arrays.copyOf(positions, Math.max(positions.length * 2, positionsSize + occurrences.size * 5));
+			}
+			int previous = 0;
+			for (int i = 0; i < occurrences.size; i++) {
+				positionsSize = writeVarint(positions, positionsSize, occurrences.values[i] - previous);
+				previous = occurrences.values[i];
+			}
+			lastDoc = doc;
+			docCount++;
+		}
+	}
+
+	/**
+	 * Reads a posting list in order. Positions are decoded only for letters
+	 * whose positions are asked for; the others are skipped over lazily.
+	 */
+	private static final class Cursor {
+		private final Postings postings;
+		private int doc = -1;
+		private int freq;
+		private int read;
+		private int docsOffset;
+		private int positionsOffset;
+		private int positionsToSkip;
+		private boolean positionsDecoded = true;
+		private int[] decoded = new int[8];
+		private int nextSkip;
+		private int block;
+
+		private Cursor(Postings postings) {
+			this.postings = postings;
+		}
+
+		private int next() {
+			if (!positionsDecoded) {
+				positionsToSkip += freq;
+			}
+			if (read == postings.docCount) {
+				return doc = NO_MORE_DOCS;
+			}
+			byte[] bytes = postings.docs;
+			int delta = 0;
+			for (int shift = 0;; shift += 7) {
+				byte b = bytes[docsOffset++];
+				delta |= (b & 0x7F) << shift;
+				if (b >= 0) {
+					break;
+				}
+			}
+			int count = 0;
+			for (int shift = 0;; shift += 7) {
+				byte b = bytes[docsOffset++];
+				count |= (b & 0x7F) << shift;
+				if (b >= 0) {
+					break;
+				}
+			}
+			read++;
+			freq = count;
+			positionsDecoded = false;
+			return doc += delta;
+		}
+
+		/**
+		 * Moves to the first letter at or after the target, using the skip
+		 * entries to jump over whole blocks.
+		 */
+		private int advance(int target) {
+			if (doc >= target) {
+				return doc;
+			}
+			int[] skips = postings.skips;
+			int jump = -1;
+			while (nextSkip < postings.skipCount && skips[nextSkip * SKIP_ENTRY] < target) {
+				jump = nextSkip++;
+			}
+			if (jump >= 0 && (jump + 1) * SKIP_INTERVAL > read) {
+				doc = skips[jump * SKIP_ENTRY];
+				docsOffset = skips[jump * SKIP_ENTRY + 1];
+				positionsOffset = skips[jump * SKIP_ENTRY + 2];
+				read = (jump + 1) * SKIP_INTERVAL;
+				positionsToSkip = 0;
+				positionsDecoded = true;
+			}
+			while (doc < target) {
+				next();
+			}
+			return doc;
+		}
+
+		/**
+		 * Finds the block that would hold the target, without decoding anything.
+		 *
+		 * @return the last letter number of that block, or -1 if the list has no
+		 *         letter at or after the target
+		 */
+		private int shallowAdvance(int target) {
+			int[] skips = postings.skips;
+			while (block < postings.skipCount && skips[block * SKIP_ENTRY] < target) {
+				block++;
+			}
+			if (block < postings.skipCount) {
+				return skips[block * SKIP_ENTRY];
+			}
+			return postings.lastDoc >= target ? postings.lastDoc : -1;
+		}
+
+		private int blockMaxFreq() {
+			return block < postings.skipCount ? postings.skips[block * SKIP_ENTRY + 3] : postings.openMaxFreq;
+		}
+
+		private int blockMinLength() {
+			return block < postings.skipCount ? postings.skips[block * SKIP_ENTRY + 4] : postings.openMinLength;
+		}
+
+		/**
+		 * Returns the positions of the word in the current letter; only the first
+		 * {@code freq} entries are valid.
+		 */
+		private int[] positions() {
+			if (positionsDecoded) {
+				return decoded;
+			}
+			byte[] bytes = postings.positions;
+			int offset = positionsOffset;
+			for (int skipped = 0; skipped < positionsToSkip; offset++) {
+				if (bytes[offset] >= 0) {
+					skipped++;
+				}
+			}
+			if (decoded.length < freq) {
+				decoded = new int[Math.max(freq, decoded.length * 2)];
+			}
+			int position = 0;
+			for (int i = 0; i < freq; i++) {
+				int delta = 0;
+				for (int shift = 0;; shift += 7) {
+					byte b = bytes[offset++];
+					delta |= (b & 0x7F) << shift;
+					if (b >= 0) {
+						break;
+					}
+				}
+				position += delta;
+				decoded[i] = position;
+			}
+			positionsOffset = offset;
+			positionsToSkip = 0;
+			positionsDecoded = true;
+			return decoded;
+		}
+	}
+
+	/**
+	 * The letters matching one alternative of a query, in increasing letter
+	 * number, with their scores.
+	 */
+	private static final class Matches {
+		private int[] docs = new int[16];
+		private double[] scores = new double[16];
+		private int size;
+
+		private void add(int doc, double score) {
+			if (size == docs.length) {
+				docs = Arrays.copyOf(docs, size * 2);
+				scores = Arrays.copyOf(scores, size * 2);
+			}
+			docs[size] = doc;
+			scores[size++] = score;
+		}
+	}
+
+	/**
+	 * A ranked letter. The queue keeps the lowest score at its head; among equal
+	 * scores the newest letter is dropped first.
+	 */
+	private static final class Hit implements Comparable<Hit> {
+		private final int doc;
+		private final double score;
+
+		private Hit(int doc, double score) {
+			this.doc = doc;
+			this.score = score;
+		}
+
+		@Override
+		public int compareTo(Hit other) {
+			int byScore = Double.compare(score, other.score);
+			return byScore != 0 ? byScore : Integer.compare(other.doc, doc);
+		}
+	}
+}
@@ -0,0 +1,426 @@
+/**
+ * Loopback HTTP server for rendering and saving letters.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Serves letter generation over HTTP on the loopback interface, so other
+ * programs on the same machine, such as the student information portal, can
+ * render and save letters without the desktop screens. Nothing of JavaFX is
+ * started.
+ *
+ * <pre>
+ * POST /render                  recommendation JSON in, letter text out
+ * POST /letters                 recommendation JSON in; the letter is saved
+ *                               as Last_First.txt, 201 once it is on disk,
+ *                               and only then listed in the catalog
+ * GET  /letters/{name}          the text of a saved letter
+ * GET  /search?q=..&amp;limit=..    names of the letters containing the words
+ * GET  /recommendations?name=.. recommendations for a name, allowing typos
+ * </pre>
+ *
+ * The recommendation JSON is the format of {@link RecommendationJson}, and
+ * requests sending it must say {@code Content-Type: application/json}.
+ *
+ * <p>
+ * Listening on loopback keeps other machines out, but not web pages open in a
+ * browser on this machine. Requests are therefore refused with 403 unless
+ * their {@code Host} header names a loopback address ({@code localhost},
+ * {@code 127.x.x.x} or {@code [::1]}), which stops DNS rebinding, and refused
+ * if they carry an {@code Origin} header, which browsers add to cross-site
+ * requests and other programs do not. Requiring the JSON content type keeps a
+ * page from posting letters with a plain form, which cannot set it.
+ *
+ * <p>
+ * Each request runs on its own virtual thread when the Java runtime has them
+ * (Java 21 and later), so thousands of requests waiting on the disk hold no
+ * platform threads. Older runtimes use a fixed pool of
+ * {@link #FALLBACK_THREADS} threads instead, and requests beyond that wait in
+ * its queue. The server takes no locks of its own; the
+ * {@link RecommendationManager} is thread-safe. Request latency is recorded
+ * for every request. The virtual thread path has not been run yet, as the
+ * build machine only has Java 17; on Java 21, {@code LetterServerLoadTest}
+ * checks that it is taken and measures it.
+ */
+public class LetterServer implements Closeable {
+	public static final int DEFAULT_PORT = 8765;
+	static final int FALLBACK_THREADS = Math.max(16, Runtime.getRuntime().availableProcessors() * 8);
+	static final int MAX_BODY_BYTES = 1 << 20;
+	static final int DEFAULT_LIMIT = 20;
+	private static final int BACKLOG = 4096;
+
+	static {
+		// The JDK server writes headers and body separately; without this, each
+		// small response waits on the client's delayed acknowledgment (~40 ms).
+		if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	private final RecommendationManager recommendationManager;
+	private final RecommendationSearch recommendationSearch;
+	private final HttpServer server;
+	private final ExecutorService requestExecutor;
+	private final boolean virtualThreads;
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+
+	/**
+	 * Constructor for the LetterServer. The server does not accept requests
+	 * until {@link #start} is called.
+	 *
+	 * @param recommendationManager the manager used to render, save and search
+	 *                              letters; it must have a recommendation store
+	 * @param port                  the loopback port, or 0 for any free port
+	 * @throws IOException if the port cannot be bound
+	 */
+	public LetterServer(RecommendationManager recommendationManager, int port) throws IOException {
+		if (recommendationManager.getRecommendationStore() == null) {
+			throw new IllegalArgumentException("The manager has no recommendation store");
+		}
+		this.recommendationManager = recommendationManager;
+		this.recommendationSearch = new RecommendationSearch(recommendationManager);
+		ExecutorService virtual = newVirtualThreadExecutor();
+		virtualThreads = virtual != null;
+		requestExecutor = virtual != null ? virtual : Executors.newFixedThreadPool(FALLBACK_THREADS, runnable -> {
+			Thread thread = new Thread(runnable, "letter-server");
+			thread.setDaemon(true);
+			return thread;
+		});
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+		server.setExecutor(requestExecutor);
+		server.createContext("/render", exchange -> handle(exchange, "POST", this::render));
+		server.createContext("/letters", exchange -> handle(exchange,
+				exchange.getRequestURI().getPath().equals("/letters") ? "POST" : "GET",
+				exchange.getRequestURI().getPath().equals("/letters") ? this::save : this::fetch));
+		server.createContext("/search", exchange -> handle(exchange, "GET", this::search));
+		server.createContext("/recommendations", exchange -> handle(exchange, "GET", this::findRecommendations));
+	}
+
+	/**
+	 * Returns an executor starting a virtual thread per task, looked up by
+	 * reflection so the application still builds and runs on Java 17.
+	 *
+	 * @return the executor, or null if the runtime has no virtual threads
+	 */
+	static ExecutorService newVirtualThreadExecutor() {
+		try {
+			Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+			return (ExecutorService) factory.invoke(null);
+		} catch (ReflectiveOperationException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Starts accepting requests.
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/**
+	 * Returns the port the server listens on.
+	 *
+	 * @return the port
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/**
+	 * Returns whether requests run on virtual threads.
+	 *
+	 * @return true if each request has its own virtual thread
+	 */
+	public boolean usesVirtualThreads() {
+		return virtualThreads;
+	}
+
+	/**
+	 * Returns the latency of the requests served so far.
+	 *
+	 * @return the latency histogram
+	 */
+	public LatencyHistogram getLatency() {
+		return latency;
+	}
+
+	/**
+	 * Returns a one-line summary of the requests served.
+	 *
+	 * @return the summary
+	 */
+	public String summary() {
+		return "Letter server: " + requests.get() + " requests, " + failures.get() + " failed, "
+				+ latency.summary();
+	}
+
+	/**
+	 * Stops accepting requests, waits up to a second for those in progress and
+	 * stops the request threads.
+	 */
+	@Override
+	public void close() {
+		server.stop(1);
+		requestExecutor.shutdown();
+		try {
+			requestExecutor.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private Response render(HttpExchange exchange) throws IOException {
+		Recommendation recommendation = RecommendationJson.fromJson(readBody(exchange));
+		return Response.text(200, recommendationManager.generateFormattedText(recommendation));
+	}
+
+	private Response save(HttpExchange exchange) throws IOException {
+		Recommendation recommendation = RecommendationJson.fromJson(readBody(exchange));
+		String fileName = recommendation.getLastName() + "_" + recommendation.getFirstName() + ".txt";
+		if (!RecommendationStore.isLetterName(fileName)) {
+			throw new IllegalArgumentException("Invalid student name");
+		}
+		CompletableFuture<Void> saved = recommendationManager.saveAsTextFile(recommendation, fileName);
+		try {
+			saved.join();
+		} catch (CompletionException e) {
+			throw new IOException("Failed to save " + fileName, e.getCause());
+		}
+		// Listed only once saved, so a failed save leaves the catalog as it was.
+		recommendationManager.putRecommendation(recommendation);
+		exchange.getResponseHeaders().set("Location", "/letters/" + fileName);
+		return Response.text(201, fileName);
+	}
+
+	private Response fetch(HttpExchange exchange) throws IOException {
+		String fileName = exchange.getRequestURI().getPath().substring("/letters/".length());
+		if (!RecommendationStore.isLetterName(fileName)) {
+			throw new IllegalArgumentException("Invalid letter name");
+		}
+		String text = recommendationManager.getRecommendationStore().read(fileName);
+		return text == null ? Response.text(404, "No letter named " + fileName) : Response.text(200, text);
+	}
+
+	private Response search(HttpExchange exchange) {
+		Map<String, String> query = queryParameters(exchange.getRequestURI());
+		List<String> names = recommendationManager.searchLetters(query.getOrDefault("q", ""), limit(query));
+		return Response.json(RecommendationJson.appendStrings(new StringBuilder(), names).toString());
+	}
+
+	private Response findRecommendations(HttpExchange exchange) {
+		Map<String, String> query = queryParameters(exchange.getRequestURI());
+		String name = query.getOrDefault("name", "");
+		List<Recommendation> found = recommendationSearch.searchByNameFuzzy(name);
+		StringBuilder json = new StringBuilder("[");
+		for (int i = 0; i < found.size() && i < limit(query); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append(RecommendationJson.toJson(found.get(i)));
+		}
+		return Response.json(json.append(']').toString());
+	}
+
+	/**
+	 * Runs a handler, turning requests from outside this machine into 403
+	 * responses, bad requests into 400 responses and failures into 500
+	 * responses, and records the request.
+	 */
+	private void handle(HttpExchange exchange, String method, Handler handler) throws IOException {
+		long start = System.nanoTime();
+		Response response;
+		try {
+			Headers headers = exchange.getRequestHeaders();
+			if (!isLoopbackHost(headers.getFirst("Host"))) {
+				response = Response.text(403, "Requests must be addressed to localhost");
+			} else if (headers.containsKey("Origin")) {
+				response = Response.text(403, "Cross-origin requests are not allowed");
+			} else if (!exchange.getRequestMethod().equals(method)) {
+				exchange.getResponseHeaders().set("Allow", method);
+				response = Response.text(405, "Use " + method);
+			} else if (method.equals("POST") && !isJson(headers.getFirst("Content-Type"))) {
+				response = Response.text(415, "Use Content-Type application/json");
+			} else {
+				response = handler.handle(exchange);
+			}
+		} catch (IllegalArgumentException e) {
+			response = Response.text(400, String.valueOf(e.getMessage()));
+		} catch (IOException | RuntimeException e) {
+			failures.incrementAndGet();
+			System.out.println("Request " + exchange.getRequestURI() + " failed: " + e.getMessage());
+			response = Response.text(500, "Internal error");
+		}
+		try (OutputStream body = exchange.getResponseBody()) {
+			exchange.getResponseHeaders().set("Content-Type", response.contentType);
+			exchange.sendResponseHeaders(response.status, response.body.length);
+			body.write(response.body);
+		} finally {
+			requests.incrementAndGet();
+			latency.recordSince(start);
+		}
+	}
+
+	private static String readBody(HttpExchange exchange) throws IOException {
+		try (InputStream in = exchange.getRequestBody()) {
+			byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+			if (body.length > MAX_BODY_BYTES) {
+				throw new IllegalArgumentException("Request body over " + MAX_BODY_BYTES + " bytes");
+			}
+			return new String(body, StandardCharsets.UTF_8);
+		}
+	}
+
+	private static Map<String, String> queryParameters(URI uri) {
+		Map<String, String> parameters = new HashMap<>();
+		String query = uri.getRawQuery();
+		if (query == null) {
+			return parameters;
+		}
+		for (String pair : query.split("&")) {
+			int equals = pair.indexOf('=');
+			String name = equals < 0 ? pair : pair.substring(0, equals);
+			String value = equals < 0 ? "" : pair.substring(equals + 1);
+			parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8),
+					URLDecoder.decode(value, StandardCharsets.UTF_8));
+		}
+		return parameters;
+	}
+
+	private static int limit(Map<String, String> query) {
+		String limit = query.get("limit");
+		if (limit == null) {
+			return DEFAULT_LIMIT;
+		}
+		try {
+			return Math.max(1, Integer.parseInt(limit));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid limit: " + limit);
+		}
+	}
+
+	/**
+	 * Returns whether a {@code Host} header names a loopback address, with or
+	 * without a port. Names are not looked up, so a name that only resolves
+	 * to loopback, as in a DNS rebinding attack, is refused.
+	 *
+	 * @param host the header value, or null if there is none
+	 * @return true if the host is {@code localhost}, a {@code 127.x.x.x}
+	 *         address or {@code [::1]}
+	 */
+	static boolean isLoopbackHost(String host) {
+		if (host == null) {
+			return false;
+		}
+		String name = host.trim();
+		if (name.startsWith("[")) {
+			int end = name.indexOf(']');
+			if (end < 0 || !isPort(name.substring(end + 1))) {
+				return false;
+			}
+			return name.substring(1, end).equals("::1");
+		}
+		int colon = name.indexOf(':');
+		if (colon >= 0) {
+			if (!isPort(name.substring(colon))) {
+				return false;
+			}
+			name = name.substring(0, colon);
+		}
+		if (name.equalsIgnoreCase("localhost")) {
+			return true;
+		}
+		String[] parts = name.split("\\.", -1);
+		if (parts.length != 4 || !parts[0].equals("127")) {
+			return false;
+		}
+		for (String part : parts) {
+			if (part.isEmpty() || part.length() > 3 || !part.chars().allMatch(Character::isDigit)
+					|| Integer.parseInt(part) > 255) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether the rest of a {@code Host} header after the name is
+	 * empty or a {@code :port}.
+	 */
+	private static boolean isPort(String rest) {
+		return rest.isEmpty() || (rest.length() > 1 && rest.length() <= 6 && rest.charAt(0) == ':'
+				&& rest.chars().skip(1).allMatch(Character::isDigit));
+	}
+
+	/**
+	 * Returns whether a {@code Content-Type} header is JSON, with or without
+	 * parameters such as the charset.
+	 */
+	private static boolean isJson(String contentType) {
+		if (contentType == null) {
+			return false;
+		}
+		int semicolon = contentType.indexOf(';');
+		String mediaType = semicolon < 0 ? contentType : contentType.substring(0, semicolon);
+		return mediaType.trim().equalsIgnoreCase("application/json");
+	}
+
+	/**
+	 * Handles one request.
+	 */
+	private interface Handler {
+		Response handle(HttpExchange exchange) throws IOException;
+	}
+
+	/**
+	 * A response status, content type and body.
+	 */
+	private static final class Response {
+		private final int status;
+		private final String contentType;
+		private final byte[] body;
+
+		private Response(int status, String contentType, String body) {
+			this.status = status;
+			this.contentType = contentType;
+			this.body = body.getBytes(StandardCharsets.UTF_8);
+		}
+
+		private static Response text(int status, String body) {
+			return new Response(status, "text/plain; charset=utf-8", body);
+		}
+
+		private static Response json(String body) {
+			return new Response(200, "application/json; charset=utf-8", body);
+		}
+	}
+}
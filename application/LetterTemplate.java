@@ -0,0 +1,331 @@
+/**
+ * Precompiled letter template used to render recommendations.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A precompiled recommendation letter template. The template text is parsed
+ * once into an immutable program of literal segments and slots, so rendering a
+ * letter is a single pass that appends straight into one presized buffer.
+ * Slots are written as {@code ${name}} in the template text.
+ */
+public final class LetterTemplate {
+
+	/**
+	 * The template used for every letter compiled by the application.
+	 */
+	public static final String DEFAULT_TEMPLATE = "Letter of Recommendation\n"
+			+ "For: ${firstName} ${lastName}\n"
+			+ "\nDate: ${date}\n\n"
+			+ "To: Graduate Admissions Committee\n"
+			+ "\nI am writing this letter to recommend my former student ${firstName} ${lastName}, who is applying for the ${program} in your school.\n"
+			+ "\nI met ${firstName} in ${firstSemester} when ${pronoun} enrolled in my \"${firstCourse}\" course."
+			+ "\n${firstName} earned \"${firstCourseGrade}\" from this tough course, and this shows how knowledgeable and a hard worker ${pronoun} is."
+			+ "\n${additionalCourses}"
+			+ "\n${Pronoun} ${academicCharacteristics}."
+			+ "\n${Pronoun} was always ${personalCharacteristics}."
+			+ "\n\nFurthermore, I noticed from the term project result, ${pronoun} developed leadership, time management, and problem-solving skills. "
+			+ "${Pronoun} worked effectively with the team members and delegated tasks appropriately. They were able to deliver a successful project in a timely fashion.\n"
+			+ "\nI believe that ${firstName} has the capacity to excel at a higher education program and this is my pleasure to highly recommend ${objectivePronoun}. "
+			+ "Please do not hesitate to contact me with further questions.\n"
+			+ "\nVery Respectfully,\n"
+			+ "${signature}";
+
+	/**
+	 * The compiled form of {@link #DEFAULT_TEMPLATE}.
+	 */
+	public static final LetterTemplate DEFAULT = compile(DEFAULT_TEMPLATE);
+
+	private static final String UNSIGNED_SIGNATURE = "Faculty First Name Faculty Last Name\nFaculty Role\nFaculty School\nFaculty Department\nEmail: Faculty Email\nPhone: Faculty Phone";
+
+	/**
+	 * The values a template can substitute into the letter.
+	 */
+	enum Slot {
+		FIRST_NAME("firstName"),
+		LAST_NAME("lastName"),
+		DATE("date"),
+		TARGET_SCHOOL("targetSchool"),
+		PROGRAM("program"),
+		FIRST_SEMESTER("firstSemester"),
+		FIRST_COURSE("firstCourse"),
+		FIRST_COURSE_GRADE("firstCourseGrade"),
+		PRONOUN("pronoun"),
+		PRONOUN_CAPITALIZED("Pronoun"),
+		OBJECTIVE_PRONOUN("objectivePronoun"),
+		ADDITIONAL_COURSES("additionalCourses"),
+		ACADEMIC_CHARACTERISTICS("academicCharacteristics"),
+		PERSONAL_CHARACTERISTICS("personalCharacteristics"),
+		SIGNATURE("signature");
+
+		private final String key;
+
+		Slot(String key) {
+			this.key = key;
+		}
+
+		static Slot forKey(String key) {
+			for (Slot slot : values()) {
+				if (slot.key.equals(key)) {
+					return slot;
+				}
+			}
+			return null;
+		}
+	}
+
+	private final String[] literals;
+	private final Slot[] slots;
+	private final int literalLength;
+
+	/**
+	 * Creates a compiled template. The literal at index {@code i} is written
+	 * before the slot at index {@code i}; the last literal closes the letter.
+	 *
+	 * @param literals the literal segments, one more than the slots
+	 * @param slots    the slots between the literal segments
+	 */
+	private LetterTemplate(String[] literals, Slot[] slots) {
+		this.literals = literals;
+		this.slots = slots;
+		int length = 0;
+		for (String literal : literals) {
+			length += literal.length();
+		}
+		this.literalLength = length;
+	}
+
+	/**
+	 * Parses the given template text into a compiled template.
+	 *
+	 * @param template the template text containing {@code ${name}} slots
+	 * @return the compiled template
+	 * @throws IllegalArgumentException if a slot is unterminated or unknown
+	 */
+	public static LetterTemplate compile(String template) {
+		List<String> literals = new ArrayList<>();
+		List<Slot> slots = new ArrayList<>();
+		int start = 0;
+		int open;
+		while ((open = template.indexOf("${", start)) >= 0) {
+			int close = template.indexOf('}', open + 2);
+			if (close < 0) {
+				throw new IllegalArgumentException("Unterminated slot at index " + open);
+			}
+			String key = template.substring(open + 2, close);
+			Slot slot = Slot.forKey(key);
+			if (slot == null) {
+				throw new IllegalArgumentException("Unknown slot: " + key);
+			}
+			literals.add(template.substring(start, open));
+			slots.add(slot);
+			start = close + 1;
+		}
+		literals.add(template.substring(start));
+		return new LetterTemplate(literals.toArray(new String[0]), slots.toArray(new Slot[0]));
+	}
+
+	/**
+	 * Renders the letter for the given recommendation.
+	 *
+	 * @param recommendation the recommendation to render
+	 * @param faculty        the faculty member signing the letter, or null for a
+	 *                       placeholder signature
+	 * @return the letter text
+	 */
+	public String render(Recommendation recommendation, Faculty faculty) {
+		StringBuilder out = new StringBuilder(estimateLength(recommendation));
+		renderTo(recommendation, faculty, out);
+		return out.toString();
+	}
+
+	/**
+	 * Renders the letter for the given recommendation, appending it to the given
+	 * buffer.
+	 *
+	 * @param recommendation the recommendation to render
+	 * @param faculty        the faculty member signing the letter, or null for a
+	 *                       placeholder signature
+	 * @param out            the buffer the letter is appended to
+	 */
+	public void renderTo(Recommendation recommendation, Faculty faculty, StringBuilder out) {
+		for (int i = 0; i < slots.length; i++) {
+			out.append(literals[i]);
+			appendSlot(slots[i], recommendation, faculty, out);
+		}
+		out.append(literals[slots.length]);
+	}
+
+	/**
+	 * Estimates the rendered length of a letter so the output buffer rarely needs
+	 * to grow.
+	 *
+	 * @param recommendation the recommendation to render
+	 * @return the estimated letter length
+	 */
+	int estimateLength(Recommendation recommendation) {
+		int items = size(recommendation.getCourses()) + size(recommendation.getPersonalCharacteristics())
+				+ size(recommendation.getAcademicCharacteristics());
+		return literalLength + slots.length * 16 + items * 48 + 160;
+	}
+
+	private static void appendSlot(Slot slot, Recommendation recommendation, Faculty faculty, StringBuilder out) {
+		switch (slot) {
+		case FIRST_NAME:
+			appendCapitalized(recommendation.getFirstName(), out);
+			break;
+		case LAST_NAME:
+			appendCapitalized(recommendation.getLastName(), out);
+			break;
+		case DATE:
+			out.append(recommendation.getTodayDate());
+			break;
+		case TARGET_SCHOOL:
+			out.append(recommendation.getTargetSchool());
+			break;
+		case PROGRAM:
+			out.append(recommendation.getProgram());
+			break;
+		case FIRST_SEMESTER:
+			out.append(recommendation.getFirstSemester());
+			break;
+		case FIRST_COURSE:
+			out.append(recommendation.getFirstCourse());
+			break;
+		case FIRST_COURSE_GRADE:
+			out.append(recommendation.getFirstCourseGrade());
+			break;
+		case PRONOUN:
+			appendLowerCase(recommendation.getGender(), out);
+			break;
+		case PRONOUN_CAPITALIZED:
+			appendPronounCapitalized(recommendation.getGender(), out);
+			break;
+		case OBJECTIVE_PRONOUN:
+			out.append(objectivePronoun(recommendation.getGender()));
+			break;
+		case ADDITIONAL_COURSES:
+			appendAdditionalCourses(recommendation, out);
+			break;
+		case ACADEMIC_CHARACTERISTICS:
+			appendSeries(recommendation.getAcademicCharacteristics(), out);
+			break;
+		case PERSONAL_CHARACTERISTICS:
+			appendSeries(recommendation.getPersonalCharacteristics(), out);
+			break;
+		case SIGNATURE:
+			appendSignature(faculty, out);
+			break;
+		}
+	}
+
+	/**
+	 * Appends the sentence listing the additional courses. As with the original
+	 * letter format, the sentence is only written when the student has more than
+	 * one additional course.
+	 */
+	private static void appendAdditionalCourses(Recommendation recommendation, StringBuilder out) {
+		List<Course> courses = recommendation.getCourses();
+		if (courses == null || courses.size() <= 1) {
+			return;
+		}
+		out.append('\n');
+		appendCapitalized(recommendation.getFirstName(), out);
+		out.append(" also earned ");
+		int last = courses.size() - 1;
+		for (int i = 0; i <= last; i++) {
+			if (i == last) {
+				out.append(" and ");
+			} else if (i > 0) {
+				out.append(", ");
+			}
+			Course course = courses.get(i);
+			out.append('"');
+			appendUpperCase(course.getGrade(), out);
+			out.append("\" from my \"").append(course.getName()).append('"');
+		}
+		out.append(" courses.");
+	}
+
+	/**
+	 * Appends the items as a series, with "and" before the last item when there
+	 * is more than one.
+	 */
+	private static void appendSeries(List<String> items, StringBuilder out) {
+		if (items == null) {
+			return;
+		}
+		int last = items.size() - 1;
+		for (int i = 0; i <= last; i++) {
+			if (i > 0) {
+				out.append(i == last ? ", and " : ", ");
+			}
+			out.append(items.get(i));
+		}
+	}
+
+	private static void appendSignature(Faculty faculty, StringBuilder out) {
+		if (faculty == null) {
+			out.append(UNSIGNED_SIGNATURE);
+			return;
+		}
+		out.append(faculty.getFirstName()).append(' ').append(faculty.getLastName()).append('\n')
+				.append(faculty.getRole()).append('\n')
+				.append(faculty.getDepartment()).append('\n')
+				.append(faculty.getSchool()).append('\n')
+				.append("Email: ").append(faculty.getEmail()).append('\n')
+				.append("Phone: ").append(faculty.getPhone());
+	}
+
+	private static void appendCapitalized(String value, StringBuilder out) {
+		if (value == null || value.isEmpty()) {
+			return;
+		}
+		out.append(Character.toUpperCase(value.charAt(0))).append(value, 1, value.length());
+	}
+
+	private static void appendPronounCapitalized(String gender, StringBuilder out) {
+		if (gender == null || gender.isEmpty()) {
+			return;
+		}
+		out.append(Character.toUpperCase(Character.toLowerCase(gender.charAt(0))));
+		for (int i = 1; i < gender.length(); i++) {
+			out.append(Character.toLowerCase(gender.charAt(i)));
+		}
+	}
+
+	private static void appendLowerCase(String value, StringBuilder out) {
+		if (value == null) {
+			return;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			out.append(Character.toLowerCase(value.charAt(i)));
+		}
+	}
+
+	private static void appendUpperCase(String value, StringBuilder out) {
+		if (value == null) {
+			return;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			out.append(Character.toUpperCase(value.charAt(i)));
+		}
+	}
+
+	private static String objectivePronoun(String gender) {
+		if ("he".equalsIgnoreCase(gender)) {
+			return "him";
+		}
+		return "she".equalsIgnoreCase(gender) ? "her" : "them";
+	}
+
+	private static int size(List<?> list) {
+		return list == null ? 0 : list.size();
+	}
+}
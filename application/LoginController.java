@@ -26,7 +26,7 @@ import javafx.scene.control.TextField;
  * LoginController is responsible for handling user authentication. It allows
  * users to enter their password and validates it against a stored password.
  */
-public class LoginController {
+public class LoginController implements ResettableController {
 	private Main main;
 	public static int loginCounter = 0;
 
@@ -46,6 +46,15 @@ public class LoginController {
 		this.main = main;
 	}
 
+	/**
+	 * Clears the password field and any previous login error.
+	 */
+	@Override
+	public void reset() {
+		passwordField.clear();
+		wrongLogin.setText("");
+	}
+
 	/**
 	 * Handles the user login action.
 	 * 
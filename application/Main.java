@@ -1,33 +1,97 @@
 package application;
 
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
+import javafx.application.Platform;
 import javafx.stage.Stage;
 
 /**
  * Main class for the application. Handles the loading of various scenes and
- * manages the application's primary stage.
+ * manages the application's primary stage. Scenes are kept by a
+ * {@link SceneRegistry} after their first load; run with
+ * {@code -Dacademrec.noSceneCache=true} to load every scene from FXML on each
+ * visit, for comparing navigation latency.
+ *
+ * <p>
+ * Navigation, rendering, saving, loading and searching are measured in the
+ * application {@link MetricsRegistry}, shown on the menu's diagnostics panel
+ * and printed on exit; see {@link MetricsReporter} for writing them to a file
+ * while running. Run with {@code -Dacademrec.jfr=recordings} to keep a
+ * continuous flight recording that can be saved after a stall; see
+ * {@link FlightRecording}.
  */
 public class Main extends Application {
+	private static final String LEGACY_LETTER_DIRECTORY = "CompiledRecommendations";
+	private static final String LEGACY_IMPORT_MARKER = "legacy-import.done";
+
 	private SharedDataModel sharedDataModel;
 	private RecommendationManager recommendationManager;
+	private RecommendationStore recommendationStore;
+	private IncrementalSearch incrementalSearch;
+	private OptionFileWatcher optionFileWatcher;
+	private MetricsReporter metricsReporter;
+	private FlightRecording flightRecording;
 	private Stage primaryStage;
+	private SceneRegistry scenes;
+	private boolean scenesPreloaded;
+	private final MetricsRegistry metrics = MetricsRegistry.getDefault();
+	private final LatencyHistogram navigationLatency = metrics.histogram("scene.switch");
 
 	/**
-	 * The main method to launch the JavaFX application.
-	 * 
+	 * The main method to launch the JavaFX application. Passing {@code --batch}
+	 * as the first argument generates letters from a file instead, without
+	 * starting JavaFX (see {@link BatchLetterGenerator}); {@code --export
+	 * [directory]} writes every stored letter to a directory as one text file
+	 * each, {@code --archive file [glob]} writes the stored letters, or those
+	 * whose file names match a glob such as {@code 'Pham_*'}, into one
+	 * {@code .zip}, {@code .tar} or {@code .tar.gz} file (see
+	 * {@link LetterArchive}), and {@code --server [port]} serves letters over
+	 * loopback HTTP (see {@link LetterServer}).
+	 *
 	 * @param args Command line arguments.
 	 */
 	public static void main(String[] args) {
+		if (args.length > 0 && args[0].equals("--batch")) {
+			BatchLetterGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--export")) {
+			exportLetters(args.length > 1 ? args[1] : LEGACY_LETTER_DIRECTORY);
+			return;
+		}
+		if (args.length > 1 && args[0].equals("--archive")) {
+			archiveLetters(args[1], args.length > 2 ? args[2] : "*");
+			return;
+		}
+		if (args.length > 0 && args[0].equals("--server")) {
+			int port = args.length > 1 ? parsePort(args[1]) : LetterServer.DEFAULT_PORT;
+			if (port < 0) {
+				System.out.println("Usage: java application.Main --server [port], with a port from 0 to 65535");
+				return;
+			}
+			serveLetters(port);
+			return;
+		}
 		launch(args);
 	}
 
 	/**
-	 * Starts the JavaFX application and initializes the primary stage.
+	 * Starts the JavaFX application and initializes the primary stage, and
+	 * records how long it took to reach the login screen as
+	 * {@code startup.login}.
 	 * 
 	 * @param primaryStage The primary stage for this JavaFX application.
 	 * @throws Exception If there is an issue loading the scenes.
@@ -35,14 +99,337 @@ public class Main extends Application {
 
 	@Override
 	public void start(Stage primaryStage) throws Exception {
+		long startupStart = System.nanoTime();
+		flightRecording = FlightRecording.fromSystemProperties();
 		this.primaryStage = primaryStage;
+		scenes = new SceneRegistry(!Boolean.getBoolean("academrec.noSceneCache"));
+		registerScenes();
 		sharedDataModel = new SharedDataModel();
+		optionFileWatcher = watchOptionFiles(sharedDataModel);
 		recommendationManager =  new RecommendationManager(sharedDataModel);
+		recommendationManager.setUiExecutor(Platform::runLater);
+		try {
+			recommendationStore = openRecommendationStore(runnable -> {
+				Thread thread = new Thread(runnable, "letter-import");
+				thread.setDaemon(true);
+				thread.start();
+			}, recommendationManager);
+		} catch (IOException e) {
+			System.out.println("Cannot open the letter store: " + e.getMessage());
+			Platform.exit();
+			return;
+		}
+		recommendationManager.setRecommendationStore(recommendationStore);
+		new RecommendationCatalogLoader(recommendationManager, recommendationStore, Runnable::run).start();
+		incrementalSearch = new IncrementalSearch(recommendationManager, Platform::runLater);
+		registerMetrics();
+		metricsReporter = MetricsReporter.fromSystemProperties();
 		primaryStage.sizeToScene();
 		primaryStage.show();
 		primaryStage.setMinWidth(1024);
 		primaryStage.setMinHeight(600);
 		showLoginScene();
+		metrics.histogram("startup.login").recordSince(startupStart);
+		metrics.histogram("startup.login.jvm")
+				.record(TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime()));
+	}
+
+	/**
+	 * Adds what the screens and background threads already measure to the
+	 * application metrics.
+	 */
+	private void registerMetrics() {
+		metrics.registerRuntimeGauges();
+		recommendationManager.registerGauges();
+		metrics.gauge("scene.cached", () -> scenes.isCaching() ? 1 : 0);
+		metrics.register("search.incremental", incrementalSearch.getQueryLatency());
+		metrics.register("search.incremental.page", incrementalSearch.getPageLatency());
+		if (optionFileWatcher != null) {
+			metrics.register("option.reload", optionFileWatcher.getReloadLatency());
+		}
+	}
+
+	/**
+	 * Starts reloading the option files when they are changed on disk. The
+	 * application runs without it if the directory cannot be watched.
+	 *
+	 * @param sharedDataModel the model the option files are loaded into
+	 * @return the watcher, or null if watching failed
+	 */
+	private static OptionFileWatcher watchOptionFiles(SharedDataModel sharedDataModel) {
+		try {
+			return new OptionFileWatcher(sharedDataModel, Platform::runLater);
+		} catch (IOException e) {
+			System.out.println("Option files will not be reloaded: " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Opens the letter store, with saves written on a background thread,
+	 * recently opened letters cached in memory and loads and saves timed in the
+	 * application metrics. Letters saved by earlier versions as one file each
+	 * are imported into it on the given executor, and added to the catalog of
+	 * the given manager as they are imported; see {@link #importLegacyLetters}.
+	 *
+	 * @param importer              runs the import of the old letter files
+	 * @param recommendationManager the manager whose catalog lists the imported
+	 *                              letters, or null if there is no catalog
+	 * @return the letter store
+	 * @throws IOException if the store cannot be opened, for example because
+	 *                     another copy of the application has it open
+	 */
+	private static RecommendationStore openRecommendationStore(Executor importer,
+			RecommendationManager recommendationManager) throws IOException {
+		SegmentRecommendationStore segments = new SegmentRecommendationStore(
+				Paths.get(SegmentRecommendationStore.DEFAULT_DIRECTORY));
+		WriteBehindRecommendationStore writeBehind = new WriteBehindRecommendationStore(segments);
+		MetricsRegistry metrics = MetricsRegistry.getDefault();
+		metrics.register("store.commit", writeBehind.getCommitLatency());
+		metrics.gauge("store.queue", writeBehind::getQueueDepth);
+		metrics.gauge("store.queue.max", writeBehind::getMaxQueueDepth);
+		metrics.gauge("store.committed", writeBehind::getCommittedCount);
+		metrics.gauge("store.batches", writeBehind::getBatchCount);
+		metrics.gauge("store.segments", segments::getSegmentCount);
+		RecommendationCatalogLoader catalog = recommendationManager == null ? null
+				: new RecommendationCatalogLoader(recommendationManager, writeBehind, Runnable::run);
+		importer.execute(() -> importLegacyLetters(segments, writeBehind, catalog));
+		return new MeteredRecommendationStore(
+				new CachingRecommendationStore(writeBehind, CachingRecommendationStore.DEFAULT_MAX_CHARS), metrics);
+	}
+
+	/**
+	 * Copies the letters saved by earlier versions as one file each into the
+	 * segment store, skipping any the store already has, so an import cut short
+	 * carries on where it stopped at the next start. Once every letter is in,
+	 * a marker file in the store directory stops later imports; the old files
+	 * are left in place. The letters are added to the catalog in chunks as they
+	 * are imported, so the catalog loaded at the same time is usable from the
+	 * start and fills in as the import goes.
+	 *
+	 * @param segments the segment store written to
+	 * @param store    the store as the application sees it, saves still
+	 *                 queued included
+	 * @param catalog  adds the imported letters to the catalog, or null
+	 */
+	private static void importLegacyLetters(SegmentRecommendationStore segments, RecommendationStore store,
+			RecommendationCatalogLoader catalog) {
+		Path legacyDirectory = Paths.get(LEGACY_LETTER_DIRECTORY);
+		Path marker = Paths.get(SegmentRecommendationStore.DEFAULT_DIRECTORY, LEGACY_IMPORT_MARKER);
+		if (!Files.isDirectory(legacyDirectory) || Files.exists(marker)) {
+			return;
+		}
+		long start = System.nanoTime();
+		int imported = 0;
+		List<String> chunk = new ArrayList<>(RecommendationCatalogLoader.CHUNK_SIZE);
+		try (DirectoryRecommendationStore legacy = new DirectoryRecommendationStore(legacyDirectory)) {
+			for (String name : legacy.names()) {
+				if (RecommendationStore.isLetterName(name) && !store.contains(name)) {
+					String text = legacy.read(name);
+					if (text != null) {
+						segments.write(name, text);
+						imported++;
+						chunk.add(name);
+						if (chunk.size() == RecommendationCatalogLoader.CHUNK_SIZE) {
+							if (catalog != null) {
+								catalog.add(chunk);
+							}
+							chunk = new ArrayList<>(RecommendationCatalogLoader.CHUNK_SIZE);
+						}
+					}
+				}
+			}
+			segments.flush();
+			Files.write(marker, new byte[0]);
+			MetricsRegistry.getDefault().histogram("store.import").recordSince(start);
+			System.out.println("Imported " + imported + " letters from " + legacyDirectory);
+		} catch (IOException e) {
+			System.out.println("Importing letters from " + legacyDirectory + " stopped after " + imported
+					+ " letters; it carries on at the next start: " + e.getMessage());
+		} finally {
+			if (catalog != null) {
+				catalog.add(chunk);
+			}
+		}
+	}
+
+	/**
+	 * Writes every stored letter to a directory as one text file each.
+	 *
+	 * @param directory the directory to export to
+	 */
+	private static void exportLetters(String directory) {
+		try (RecommendationStore store = openRecommendationStore(Runnable::run, null)) {
+			int exported = store.exportTo(Paths.get(directory));
+			System.out.println("Exported " + exported + " letters to " + directory);
+		} catch (IOException | IllegalArgumentException e) {
+			System.out.println("Export failed: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Writes the stored letters whose file names match a glob into one archive,
+	 * printing the progress every tenth of the way.
+	 *
+	 * @param file the archive to write
+	 * @param glob the letters to include, such as {@code *} for all of them
+	 */
+	private static void archiveLetters(String file, String glob) {
+		PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+		long start = System.nanoTime();
+		try (RecommendationStore store = openRecommendationStore(Runnable::run, null)) {
+			int[] reported = { 0 };
+			int archived = new LetterArchive(store).export(Paths.get(file),
+					name -> matcher.matches(Paths.get(name)), (letters, total, bytes) -> {
+						int tenth = total == 0 ? 10 : (int) (letters * 10L / total);
+						if (tenth > reported[0]) {
+							reported[0] = tenth;
+							System.out.println("Archived " + letters + " of " + total + " letters");
+						}
+					});
+			long millis = (System.nanoTime() - start) / 1_000_000;
+			System.out.println("Archived " + archived + " letters to " + file + " in " + millis + " ms");
+		} catch (IOException | IllegalArgumentException e) {
+			System.out.println("Archive failed: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads a port number from the command line.
+	 *
+	 * @return the port, or -1 if it is not a number from 0 to 65535
+	 */
+	private static int parsePort(String value) {
+		try {
+			int port = Integer.parseInt(value);
+			return port <= 65535 ? port : -1;
+		} catch (NumberFormatException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * Starts serving letters over loopback HTTP without JavaFX. The server runs
+	 * until the process is stopped, and then prints its request summary and
+	 * closes the letter store.
+	 *
+	 * @param port the port to listen on
+	 */
+	private static void serveLetters(int port) {
+		try {
+			RecommendationManager recommendationManager = new RecommendationManager(new SharedDataModel());
+			RecommendationStore store = openRecommendationStore(Runnable::run, recommendationManager);
+			recommendationManager.setRecommendationStore(store);
+			LetterServer server = new LetterServer(recommendationManager, port);
+			new RecommendationCatalogLoader(recommendationManager, store, Runnable::run).start();
+			MetricsRegistry.getDefault().registerRuntimeGauges();
+			recommendationManager.registerGauges();
+			MetricsRegistry.getDefault().register("server.request", server.getLatency());
+			MetricsReporter metricsReporter = MetricsReporter.fromSystemProperties();
+			FlightRecording flightRecording = FlightRecording.fromSystemProperties();
+			server.start();
+			System.out.println("Serving letters on http://" + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+					+ server.getPort() + (server.usesVirtualThreads() ? " with virtual threads"
+							: " with " + LetterServer.FALLBACK_THREADS + " threads"));
+			Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+				server.close();
+				System.out.println(server.summary());
+				try {
+					store.close();
+				} catch (IOException e) {
+					e.printStackTrace();
+				}
+				if (metricsReporter != null) {
+					metricsReporter.close();
+				}
+				if (flightRecording != null) {
+					flightRecording.close();
+				}
+			}, "letter-server-shutdown"));
+		} catch (IOException e) {
+			System.out.println("Server failed to start: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Registers every scene of the application with the scene registry.
+	 */
+	private void registerScenes() {
+		scenes.register("Login", "/application/Login.fxml", () -> {
+			LoginController controller = new LoginController();
+			controller.setMainApp(this);
+			return controller;
+		}, 1024, 600);
+		scenes.register("ChangePassword", "ChangePassword.fxml", () -> {
+			ResetPasswordController controller = new ResetPasswordController();
+			controller.setMainApp(this);
+			return controller;
+		}, 1024, 600);
+		scenes.register("ResetPassword", "ResetPassword.fxml", () -> {
+			ResetPasswordController2 controller = new ResetPasswordController2();
+			controller.setMainApp(this);
+			return controller;
+		}, 1024, 600);
+		scenes.register("Menu", "Menu.fxml", () -> {
+			MenuController controller = new MenuController();
+			controller.setMainApp(this);
+			return controller;
+		}, 1024, 600);
+		scenes.register("Recommendation", "Recommendation.fxml", () -> {
+			RecommendationController controller = new RecommendationController(sharedDataModel, recommendationManager);
+			controller.setMainApp(this);
+			return controller;
+		}, 1024, 600);
+		scenes.register("EditSelection", "DropdownSelection.fxml", () -> {
+			DropdownSelectionController controller = new DropdownSelectionController(sharedDataModel);
+			controller.setMainApp(this);
+			return controller;
+		}, 1024, 600);
+		scenes.register("RecommendationDraft", "RecommendationDraft.fxml", () -> {
+			RecommendationDraftController controller = new RecommendationDraftController(recommendationManager, "",
+					"");
+			controller.setMainApp(this);
+			return controller;
+		}, 1024, 800);
+		scenes.register("EditRecommendation", "EditRecommendationScene.fxml", () -> {
+			EditRecommendationController controller = new EditRecommendationController(recommendationManager, null);
+			controller.setMainApp(this);
+			return controller;
+		}, 1024, 800);
+		scenes.register("SearchRecommendation", "SearchRecommendation.fxml", () -> {
+			SearchRecommendationController controller = new SearchRecommendationController(recommendationManager,
+					incrementalSearch);
+			controller.setMainApp(this);
+			return controller;
+		}, 1024, 600);
+	}
+
+	/**
+	 * Shows a registered scene on the primary stage and records how long the
+	 * navigation took, in the metrics and as a {@link FlightEvents.SceneSwitch}
+	 * event.
+	 *
+	 * @param name  the scene name
+	 * @param title the window title, or null to keep the current title
+	 * @return the scene's controller
+	 * @throws IOException if the FXML file cannot be loaded
+	 */
+	private <C> C showScene(String name, String title) throws IOException {
+		FlightEvents.SceneSwitch event = new FlightEvents.SceneSwitch();
+		event.begin();
+		long start = System.nanoTime();
+		SceneRegistry.Entry entry = scenes.get(name);
+		primaryStage.setScene(entry.getScene());
+		if (title != null) {
+			primaryStage.setTitle(title);
+		}
+		navigationLatency.recordSince(start);
+		event.end();
+		if (event.shouldCommit()) {
+			event.scene = name;
+			event.commit();
+		}
+		return entry.getController();
 	}
 
 	/**
@@ -51,14 +438,7 @@ public class Main extends Application {
 	 * @throws Exception if there's an error loading the FXML file
 	 */
 	public void showLoginScene() throws Exception {
-		FXMLLoader loader = new FXMLLoader(getClass().getResource("/application/Login.fxml"));
-		LoginController controller = new LoginController();
-		controller.setMainApp(this);
-		loader.setController(controller);
-		Parent root = loader.load();
-		Scene scene = new Scene(root, 1024, 600);
-		primaryStage.setScene(scene);
-		primaryStage.setTitle("Login");
+		showScene("Login", "Login");
 	}
 
 	/**
@@ -67,14 +447,7 @@ public class Main extends Application {
 	 * @throws Exception if there's an error loading the FXML file
 	 */
 	public void showChangePasswordScene() throws Exception {
-		FXMLLoader loader = new FXMLLoader(getClass().getResource("ChangePassword.fxml"));
-		ResetPasswordController controller = new ResetPasswordController();
-		controller.setMainApp(this);
-		loader.setController(controller);
-		Parent root = loader.load();
-		Scene scene = new Scene(root, 1024, 600);
-		primaryStage.setScene(scene);
-		primaryStage.setTitle("Change Password");
+		showScene("ChangePassword", "Change Password");
 	}
 
 	/**
@@ -83,30 +456,21 @@ public class Main extends Application {
 	 * @throws Exception if there's an error loading the FXML file
 	 */
 	public void showResetPasswordScene() throws Exception {
-		FXMLLoader loader = new FXMLLoader(getClass().getResource("ResetPassword.fxml"));
-		ResetPasswordController2 controller = new ResetPasswordController2();
-		controller.setMainApp(this);
-		loader.setController(controller);
-		Parent root = loader.load();
-		Scene scene = new Scene(root, 1024, 600);
-		primaryStage.setScene(scene);
-		primaryStage.setTitle("Reset Password");
+		showScene("ResetPassword", "Reset Password");
 	}
 
 	/**
-	 * Displays the menu scene.
+	 * Displays the menu scene. The first time the menu is shown, which is right
+	 * after login, the screens reachable from it are loaded in the background.
 	 * 
 	 * @throws Exception if there's an error loading the FXML file
 	 */
 	public void showMenuScene() throws Exception {
-		FXMLLoader loader = new FXMLLoader(getClass().getResource("Menu.fxml"));
-		MenuController controller = new MenuController();
-		controller.setMainApp(this);
-		loader.setController(controller);
-		Parent root = loader.load();
-		Scene scene = new Scene(root, 1024, 600);
-		primaryStage.setScene(scene);
-		primaryStage.setTitle("Menu");
+		showScene("Menu", "Menu");
+		if (!scenesPreloaded) {
+			scenesPreloaded = true;
+			scenes.preloadLater(Arrays.asList("Recommendation", "EditSelection", "RecommendationDraft"));
+		}
 	}
 
 	/**
@@ -115,14 +479,7 @@ public class Main extends Application {
 	 * @throws Exception if there's an error loading the FXML file
 	 */
 	public void showRecommendationScene() throws Exception {
-		FXMLLoader loader = new FXMLLoader(getClass().getResource("Recommendation.fxml"));
-		RecommendationController controller = new RecommendationController(sharedDataModel);
-		controller.setMainApp(this);
-		loader.setController(controller);
-		Parent root = loader.load();
-		Scene scene = new Scene(root, 1024, 600);
-		primaryStage.setScene(scene);
-		primaryStage.setTitle("Create Recommendation");
+		showScene("Recommendation", "Create Recommendation");
 	}
 
 	/**
@@ -131,14 +488,7 @@ public class Main extends Application {
 	 * @throws Exception if there's an error loading the FXML file
 	 */
 	public void showEditSelectionScene() throws Exception {
-		FXMLLoader loader = new FXMLLoader(getClass().getResource("DropdownSelection.fxml"));
-		DropdownSelectionController controller = new DropdownSelectionController(sharedDataModel);
-		controller.setMainApp(this);
-		loader.setController(controller);
-		Parent root = loader.load();
-		Scene scene = new Scene(root, 1024, 600);
-		primaryStage.setScene(scene);
-		primaryStage.setTitle("Edit Selections");
+		showScene("EditSelection", "Edit Selections");
 	}
 
 	/**
@@ -151,17 +501,9 @@ public class Main extends Application {
 	 */
 	public void showRecommendationDraftScene(Recommendation recommendation, String recommendationDraft)
 			throws Exception {
-		FXMLLoader loader = new FXMLLoader(getClass().getResource("RecommendationDraft.fxml"));
-		RecommendationDraftController controller = new RecommendationDraftController(recommendationManager,
-				recommendation.getFirstName(), recommendation.getLastName());
-		controller.setMainApp(this);
-		loader.setController(controller);
-		Parent root = loader.load();
-
+		RecommendationDraftController controller = showScene("RecommendationDraft", null);
+		controller.setStudentName(recommendation.getFirstName(), recommendation.getLastName());
 		controller.setRecommendationText(recommendationDraft);
-
-		Scene recommendationDraftScene = new Scene(root, 1024, 800);
-		primaryStage.setScene(recommendationDraftScene);
 		primaryStage.show();
 	}
 
@@ -172,14 +514,8 @@ public class Main extends Application {
 	 * @throws Exception if there's an error loading the FXML file
 	 */
 	public void showEditRecommendationScene(String selectedFile) throws Exception {
-		FXMLLoader loader = new FXMLLoader(getClass().getResource("EditRecommendationScene.fxml"));
-		EditRecommendationController controller = new EditRecommendationController(recommendationManager, selectedFile);
-		controller.setMainApp(this);
-		loader.setController(controller);
-		Parent root = loader.load();
-		Scene scene = new Scene(root, 1024, 800);
-		primaryStage.setScene(scene);
-		primaryStage.setTitle("Edit Recommendation");
+		EditRecommendationController controller = showScene("EditRecommendation", "Edit Recommendation");
+		controller.setSelectedFile(selectedFile);
 	}
 
 	/**
@@ -187,14 +523,7 @@ public class Main extends Application {
 	 */
 	public void showSearchRecommendationScene() {
 		try {
-			FXMLLoader loader = new FXMLLoader(getClass().getResource("SearchRecommendation.fxml"));
-			SearchRecommendationController controller = new SearchRecommendationController(recommendationManager);
-			controller.setMainApp(this);
-			loader.setController(controller);
-			Parent root = loader.load();
-			Scene scene = new Scene(root, 1024, 600);
-			primaryStage.setScene(scene);
-			primaryStage.setTitle("Edit Recommendation");
+			SearchRecommendationController controller = showScene("SearchRecommendation", "Edit Recommendation");
 			controller.setRecommendationManager(recommendationManager);
 			primaryStage.show();
 		} catch (IOException e) {
@@ -202,6 +531,50 @@ public class Main extends Application {
 		}
 	}
 
+	/**
+	 * Stops the search thread and the option file watcher and closes the
+	 * letter store when the application exits, then prints the application
+	 * metrics, which by then include the last letter writes, and stops the
+	 * metrics reporter and the flight recording.
+	 */
+	@Override
+	public void stop() {
+		if (optionFileWatcher != null) {
+			try {
+				optionFileWatcher.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		if (incrementalSearch != null) {
+			incrementalSearch.shutdown();
+		}
+		if (recommendationStore != null) {
+			try {
+				recommendationStore.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		System.out.print("Metrics:" + System.lineSeparator() + metrics.toText());
+		if (metricsReporter != null) {
+			metricsReporter.close();
+		}
+		if (flightRecording != null) {
+			flightRecording.close();
+		}
+	}
+
+	/**
+	 * Returns the continuous flight recording.
+	 *
+	 * @return the recording, or null if the application was not started with
+	 *         one
+	 */
+	public FlightRecording getFlightRecording() {
+		return flightRecording;
+	}
+
 	public SharedDataModel getSharedDataModel() {
 		return sharedDataModel;
 	}
@@ -10,16 +10,32 @@
  */
 package application;
 
+import java.io.IOException;
+import java.nio.file.Path;
+
+import javafx.animation.Animation;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
 import javafx.fxml.FXML;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Alert.AlertType;
 import javafx.scene.control.Button;
+import javafx.scene.control.TextArea;
+import javafx.util.Duration;
 
 /**
  * The MenuController class is responsible for managing the user interface of
  * the main menu. It provides functionality for navigating between different
- * scenes in the application.
+ * scenes in the application. The diagnostics button shows the application
+ * metrics over the menu, refreshed every second while they are shown, and,
+ * when a {@link FlightRecording} is running, a button to save it.
  */
 public class MenuController {
+	private static final Duration DIAGNOSTICS_REFRESH = Duration.seconds(1);
+
 	private Main main;
+	private final Timeline diagnosticsRefresh = new Timeline(
+			new KeyFrame(DIAGNOSTICS_REFRESH, event -> refreshDiagnostics()));
 
 	@FXML
 	private Button createRecommendationButton;
@@ -31,6 +47,12 @@ public class MenuController {
 	private Button searchRecommendationButton;
 	@FXML
 	private Button logoutButton;
+	@FXML
+	private Button diagnosticsButton;
+	@FXML
+	private Button saveRecordingButton;
+	@FXML
+	private TextArea diagnosticsArea;
 
 	/**
 	 * Sets the Main object associated with this controller.
@@ -101,6 +123,57 @@ public class MenuController {
 		}
 	}
 
+	/**
+	 * Handles the action when the diagnostics button is clicked. It shows or
+	 * hides the application metrics.
+	 */
+	public void handleDiagnostics() {
+		if (diagnosticsArea.isVisible()) {
+			hideDiagnostics();
+		} else {
+			diagnosticsArea.setVisible(true);
+			saveRecordingButton.setVisible(main.getFlightRecording() != null);
+			diagnosticsButton.setText("Hide Diagnostics");
+			refreshDiagnostics();
+			diagnosticsRefresh.play();
+		}
+	}
+
+	private void hideDiagnostics() {
+		diagnosticsRefresh.stop();
+		diagnosticsArea.setVisible(false);
+		saveRecordingButton.setVisible(false);
+		diagnosticsButton.setText("Diagnostics");
+	}
+
+	/**
+	 * Handles the action when the save recording button is clicked. It saves
+	 * the flight recording so far to a file and tells the user where.
+	 */
+	public void handleSaveRecording() {
+		try {
+			Path file = main.getFlightRecording().dump();
+			new Alert(AlertType.INFORMATION, "Flight recording saved to " + file).showAndWait();
+		} catch (IOException e) {
+			new Alert(AlertType.ERROR, "Could not save the flight recording: " + e.getMessage()).showAndWait();
+		}
+	}
+
+	/**
+	 * Shows the current metrics, keeping the scroll position. The menu scene
+	 * is kept after leaving it, so the refresh stops once it is no longer on
+	 * screen.
+	 */
+	private void refreshDiagnostics() {
+		if (diagnosticsArea.getScene() == null || diagnosticsArea.getScene().getWindow() == null) {
+			hideDiagnostics();
+			return;
+		}
+		double scrollTop = diagnosticsArea.getScrollTop();
+		diagnosticsArea.setText(MetricsRegistry.getDefault().toText());
+		diagnosticsArea.setScrollTop(scrollTop);
+	}
+
 	/**
 	 * Initializes the controller by setting event listeners for the buttons.
 	 */
@@ -111,5 +184,8 @@ public class MenuController {
 		changePasswordButton.setOnAction(event -> handleChangePassword());
 		logoutButton.setOnAction(event -> handleLogout());
 		searchRecommendationButton.setOnAction(event -> handleSearchRecommendation());
+		diagnosticsButton.setOnAction(event -> handleDiagnostics());
+		saveRecordingButton.setOnAction(event -> handleSaveRecording());
+		diagnosticsRefresh.setCycleCount(Animation.INDEFINITE);
 	}
 }
@@ -0,0 +1,160 @@
+/**
+ * Letter store decorator that records load and save latencies.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Records how long letters take to load and save in a {@link MetricsRegistry}
+ * and as {@link FlightEvents.LetterStore} events, and passes everything on to
+ * another store. It is the outermost store, so
+ * {@code letter.load} is what a screen or request waits for, cache hits
+ * included; {@code letter.save} is the time to hand a letter over, not to get
+ * it to disk, which the write-behind store records as {@code store.commit}.
+ */
+public class MeteredRecommendationStore implements RecommendationStore {
+	private final RecommendationStore delegate;
+	private final LatencyHistogram loadLatency;
+	private final LatencyHistogram saveLatency;
+	private final MetricsRegistry.Counter missing;
+	private final MetricsRegistry.Counter deleted;
+
+	/**
+	 * Constructor for the MeteredRecommendationStore. Also registers the number
+	 * of stored letters as the {@code store.letters} gauge.
+	 *
+	 * @param delegate the store the letters are kept in
+	 * @param registry the registry to record into
+	 */
+	public MeteredRecommendationStore(RecommendationStore delegate, MetricsRegistry registry) {
+		this.delegate = delegate;
+		loadLatency = registry.histogram("letter.load");
+		saveLatency = registry.histogram("letter.save");
+		missing = registry.counter("letter.load.missing");
+		deleted = registry.counter("letter.deleted");
+		registry.gauge("store.letters", delegate::size);
+	}
+
+	@Override
+	public void write(String name, String text) throws IOException {
+		FlightEvents.LetterStore event = new FlightEvents.LetterStore();
+		event.begin();
+		long start = System.nanoTime();
+		delegate.write(name, text);
+		saveLatency.recordSince(start);
+		commit(event, "write", text.length(), true);
+	}
+
+	@Override
+	public void writeUtf8(String name, ByteBuffer text) throws IOException {
+		FlightEvents.LetterStore event = new FlightEvents.LetterStore();
+		event.begin();
+		long start = System.nanoTime();
+		int bytes = text.remaining();
+		delegate.writeUtf8(name, text);
+		saveLatency.recordSince(start);
+		commit(event, "write", bytes, true);
+	}
+
+	@Override
+	public CompletableFuture<Void> writeAsync(String name, String text) {
+		FlightEvents.LetterStore event = new FlightEvents.LetterStore();
+		event.begin();
+		long start = System.nanoTime();
+		CompletableFuture<Void> saved = delegate.writeAsync(name, text);
+		saveLatency.recordSince(start);
+		commit(event, "writeAsync", text.length(), true);
+		return saved;
+	}
+
+	@Override
+	public String read(String name) throws IOException {
+		FlightEvents.LetterStore event = new FlightEvents.LetterStore();
+		event.begin();
+		long start = System.nanoTime();
+		String text = delegate.read(name);
+		loadLatency.recordSince(start);
+		if (text == null) {
+			missing.increment();
+		}
+		commit(event, "read", text == null ? 0 : text.length(), text != null);
+		return text;
+	}
+
+	/**
+	 * Passes the letter on without timing it, as it is copied in bulk.
+	 */
+	@Override
+	public Utf8Letter readUtf8(String name) throws IOException {
+		return delegate.readUtf8(name);
+	}
+
+	@Override
+	public boolean delete(String name) throws IOException {
+		FlightEvents.LetterStore event = new FlightEvents.LetterStore();
+		event.begin();
+		deleted.increment();
+		boolean found = delegate.delete(name);
+		commit(event, "delete", 0, found);
+		return found;
+	}
+
+	@Override
+	public CompletableFuture<Boolean> deleteAsync(String name) {
+		deleted.increment();
+		return delegate.deleteAsync(name);
+	}
+
+	private static void commit(FlightEvents.LetterStore event, String operation, int characters, boolean found) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.operation = operation;
+			event.characters = characters;
+			event.found = found;
+			event.commit();
+		}
+	}
+
+	@Override
+	public boolean contains(String name) {
+		return delegate.contains(name);
+	}
+
+	@Override
+	public List<String> names() {
+		return delegate.names();
+	}
+
+	@Override
+	public int size() {
+		return delegate.size();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		delegate.flush();
+	}
+
+	@Override
+	public int copyTo(RecommendationStore target) throws IOException {
+		return delegate.copyTo(target);
+	}
+
+	@Override
+	public int exportTo(Path directory) throws IOException {
+		return delegate.exportTo(directory);
+	}
+
+	@Override
+	public void close() throws IOException {
+		delegate.close();
+	}
+}
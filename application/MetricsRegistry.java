@@ -0,0 +1,233 @@
+/**
+ * Application-wide registry of counters, gauges and latency histograms.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.RuntimeMXBean;
+import java.lang.management.ThreadMXBean;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Named counters, gauges and latency histograms for the whole application.
+ * The diagnostics panel on the menu and the {@link MetricsReporter} read them;
+ * the classes doing the work record into them.
+ *
+ * <p>
+ * Looking a metric up by name is meant to happen once, when the recording
+ * class is created. Recording into the returned {@link Counter} or
+ * {@link LatencyHistogram} is thread-safe and does not allocate, so it can
+ * sit on hot paths such as rendering a letter. Asking twice for the same name
+ * returns the same metric, so several instances of a class add up. A gauge is
+ * read only when the metrics are reported; registering a gauge again replaces
+ * the earlier one.
+ */
+public class MetricsRegistry {
+	private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+	private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+	private final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+	private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the registry shared by the whole application.
+	 *
+	 * @return the application registry
+	 */
+	public static MetricsRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * Returns the counter with the given name, creating it if needed.
+	 *
+	 * @param name the metric name, such as {@code letter.save.failed}
+	 * @return the counter
+	 */
+	public Counter counter(String name) {
+		return counters.computeIfAbsent(name, key -> new Counter());
+	}
+
+	/**
+	 * Returns the latency histogram with the given name, creating it if needed.
+	 *
+	 * @param name the metric name, such as {@code letter.render}
+	 * @return the histogram
+	 */
+	public LatencyHistogram histogram(String name) {
+		return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+	}
+
+	/**
+	 * Reports a histogram that a class already keeps under the given name,
+	 * replacing any histogram registered under it before.
+	 *
+	 * @param name      the metric name
+	 * @param histogram the histogram
+	 */
+	public void register(String name, LatencyHistogram histogram) {
+		histograms.put(name, histogram);
+	}
+
+	/**
+	 * Registers a gauge, a value read each time the metrics are reported,
+	 * replacing any gauge registered under the same name before.
+	 *
+	 * @param name  the metric name, such as {@code catalog.recommendations}
+	 * @param value reads the current value; it must be safe to call from any
+	 *              thread
+	 */
+	public void gauge(String name, LongSupplier value) {
+		gauges.put(name, value);
+	}
+
+	/**
+	 * Registers gauges for the heap in use, the live threads and the uptime of
+	 * the Java runtime.
+	 */
+	public void registerRuntimeGauges() {
+		MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+		ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+		gauge("jvm.heap.used", () -> memory.getHeapMemoryUsage().getUsed());
+		gauge("jvm.threads", threads::getThreadCount);
+		gauge("jvm.uptime.ms", runtime::getUptime);
+	}
+
+	/**
+	 * Returns the current values of the counters and gauges, by name.
+	 *
+	 * @return the values, sorted by name
+	 */
+	public Map<String, Long> values() {
+		Map<String, Long> values = new TreeMap<>();
+		counters.forEach((name, counter) -> values.put(name, counter.get()));
+		gauges.forEach((name, gauge) -> values.put(name, gauge.getAsLong()));
+		return values;
+	}
+
+	/**
+	 * Returns the histograms, by name.
+	 *
+	 * @return the histograms, sorted by name
+	 */
+	public Map<String, LatencyHistogram> histograms() {
+		return new TreeMap<>(histograms);
+	}
+
+	/**
+	 * Formats every metric as text, one per line, for people to read.
+	 *
+	 * @return the metrics
+	 */
+	public String toText() {
+		StringBuilder text = new StringBuilder();
+		int width = 0;
+		Map<String, Long> values = values();
+		Map<String, LatencyHistogram> histograms = histograms();
+		for (String name : values.keySet()) {
+			width = Math.max(width, name.length());
+		}
+		for (String name : histograms.keySet()) {
+			width = Math.max(width, name.length());
+		}
+		String format = "%-" + Math.max(width, 1) + "s  %s%n";
+		for (Map.Entry<String, Long> value : values.entrySet()) {
+			text.append(String.format(format, value.getKey(), value.getValue()));
+		}
+		for (Map.Entry<String, LatencyHistogram> histogram : histograms.entrySet()) {
+			text.append(String.format(format, histogram.getKey(), histogram.getValue().summary()));
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Formats every metric as one JSON object, for other programs. Counters
+	 * and gauges are plain numbers; each histogram is an object of its count
+	 * and of its mean, percentiles and maximum in milliseconds.
+	 *
+	 * @return the metrics
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder("{\"time\":");
+		RecommendationJson.appendString(json, Instant.now().toString());
+		json.append(",\"values\":{");
+		boolean first = true;
+		for (Map.Entry<String, Long> value : values().entrySet()) {
+			if (!first) {
+				json.append(',');
+			}
+			first = false;
+			RecommendationJson.appendString(json, value.getKey()).append(':').append(value.getValue());
+		}
+		json.append("},\"histograms\":{");
+		first = true;
+		for (Map.Entry<String, LatencyHistogram> entry : histograms().entrySet()) {
+			if (!first) {
+				json.append(',');
+			}
+			first = false;
+			LatencyHistogram histogram = entry.getValue();
+			RecommendationJson.appendString(json, entry.getKey()).append(":{\"count\":")
+					.append(histogram.getCount());
+			appendMillis(json, "mean", histogram.getMean());
+			appendMillis(json, "p50", histogram.getPercentile(50));
+			appendMillis(json, "p99", histogram.getPercentile(99));
+			appendMillis(json, "p99.9", histogram.getPercentile(99.9));
+			appendMillis(json, "max", histogram.getMax());
+			json.append('}');
+		}
+		return json.append("}}").toString();
+	}
+
+	private static void appendMillis(StringBuilder json, String name, long nanos) {
+		json.append(",\"").append(name).append("_ms\":")
+				.append(String.format(Locale.ROOT, "%.3f", LatencyHistogram.toMillis(nanos)));
+	}
+
+	/**
+	 * A count of events, such as failed saves. Adding is thread-safe and only
+	 * allocates the first few times threads contend for the counter.
+	 */
+	public static final class Counter {
+		private final LongAdder count = new LongAdder();
+
+		private Counter() {
+		}
+
+		/**
+		 * Adds one.
+		 */
+		public void increment() {
+			count.increment();
+		}
+
+		/**
+		 * Adds the given amount.
+		 *
+		 * @param amount the amount to add
+		 */
+		public void add(long amount) {
+			count.add(amount);
+		}
+
+		/**
+		 * Returns the count.
+		 *
+		 * @return the sum of everything added
+		 */
+		public long get() {
+			return count.sum();
+		}
+	}
+}
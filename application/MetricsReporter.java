@@ -0,0 +1,117 @@
+/**
+ * Periodic writer of the application metrics to a file.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the metrics of a {@link MetricsRegistry} to a file at a fixed
+ * interval, on a background daemon thread, and once more when closed. A file
+ * name ending in {@code .json} gets {@link MetricsRegistry#toJson}, any other
+ * the text of {@link MetricsRegistry#toText}. Each dump replaces the file
+ * whole, so a program reading it never sees half of one.
+ *
+ * <p>
+ * The application starts one when run with
+ * {@code -Dacademrec.metricsFile=metrics.json}, writing every
+ * {@code academrec.metricsInterval} seconds, 60 by default.
+ */
+public class MetricsReporter implements Closeable {
+	static final String FILE_PROPERTY = "academrec.metricsFile";
+	static final String INTERVAL_PROPERTY = "academrec.metricsInterval";
+	static final long DEFAULT_INTERVAL_SECONDS = 60;
+
+	private final MetricsRegistry registry;
+	private final Path file;
+	private final ScheduledExecutorService scheduler;
+
+	/**
+	 * Constructor for the MetricsReporter. Starts writing right away.
+	 *
+	 * @param registry        the metrics to write
+	 * @param file            the file to write them to
+	 * @param intervalSeconds the time between dumps
+	 */
+	public MetricsReporter(MetricsRegistry registry, Path file, long intervalSeconds) {
+		this.registry = registry;
+		this.file = file.toAbsolutePath();
+		scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics-reporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduler.scheduleAtFixedRate(this::report, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Starts a reporter for the application registry if the
+	 * {@value #FILE_PROPERTY} system property names a file.
+	 *
+	 * @return the reporter, or null if none was asked for
+	 */
+	public static MetricsReporter fromSystemProperties() {
+		String file = System.getProperty(FILE_PROPERTY);
+		if (file == null || file.isEmpty()) {
+			return null;
+		}
+		long interval = Long.getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_SECONDS);
+		System.out.println("Writing metrics to " + file + " every " + interval + "s");
+		return new MetricsReporter(MetricsRegistry.getDefault(), Path.of(file), Math.max(1, interval));
+	}
+
+	/**
+	 * Returns the file the metrics are written to.
+	 *
+	 * @return the file
+	 */
+	public Path getFile() {
+		return file;
+	}
+
+	/**
+	 * Writes the metrics now. Failures are printed, not thrown, so one full
+	 * disk does not stop later dumps.
+	 */
+	public void report() {
+		String text = file.getFileName().toString().endsWith(".json") ? registry.toJson() + "\n"
+				: registry.toText();
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		try {
+			Files.write(temporary, text.getBytes(StandardCharsets.UTF_8));
+			try {
+				Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			System.out.println("Could not write metrics to " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Stops the periodic dumps and writes the metrics one last time.
+	 */
+	@Override
+	public void close() {
+		scheduler.shutdownNow();
+		try {
+			scheduler.awaitTermination(1, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		report();
+	}
+}
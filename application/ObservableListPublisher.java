@@ -0,0 +1,144 @@
+/**
+ * Publishes changes made by background threads to a list owned by the UI thread.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+
+/**
+ * Mirrors a collection kept by background threads into an
+ * {@link ObservableList} that is only changed on the UI thread. Any thread
+ * may add and remove elements; the changes are queued and applied by one task
+ * on the UI executor, which also applies whatever was queued while it waited.
+ * Consecutive additions become one {@code addAll} and consecutive removals one
+ * {@code removeAll}, so a burst of changes reaches list views as a few events.
+ *
+ * <p>
+ * With a direct executor, as when no JavaFX toolkit is running, changes are
+ * applied on the thread that made them, one thread at a time.
+ *
+ * @param <T> the type of the elements
+ */
+public class ObservableListPublisher<T> {
+	private final ObservableList<T> list = FXCollections.observableArrayList();
+	private final ObservableList<T> readOnlyList = FXCollections.unmodifiableObservableList(list);
+	private final Object applyLock = new Object();
+	private final List<Change<T>> pending = new ArrayList<>();
+	private volatile Executor executor;
+	private boolean scheduled;
+
+	/**
+	 * Constructor for the ObservableListPublisher.
+	 *
+	 * @param executor runs the list updates, such as {@code Platform::runLater}
+	 */
+	public ObservableListPublisher(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Sets the executor that runs the list updates from now on.
+	 *
+	 * @param executor the executor
+	 */
+	public void setExecutor(Executor executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the list. It must only be read on the UI thread.
+	 *
+	 * @return a read-only view of the list
+	 */
+	public ObservableList<T> getList() {
+		return readOnlyList;
+	}
+
+	/**
+	 * Queues adding elements to the end of the list.
+	 *
+	 * @param elements the elements
+	 */
+	public void addAll(Collection<? extends T> elements) {
+		if (!elements.isEmpty()) {
+			enqueue(new Change<>(true, new ArrayList<>(elements)));
+		}
+	}
+
+	/**
+	 * Queues removing every occurrence of an element from the list.
+	 *
+	 * @param element the element
+	 */
+	public void remove(T element) {
+		List<T> elements = new ArrayList<>(1);
+		elements.add(element);
+		enqueue(new Change<>(false, elements));
+	}
+
+	/**
+	 * Applies every queued change now, on the calling thread. Only for use
+	 * when no UI thread is involved, such as in tests and tools.
+	 */
+	public void flush() {
+		apply();
+	}
+
+	private void enqueue(Change<T> change) {
+		boolean schedule;
+		synchronized (this) {
+			pending.add(change);
+			schedule = !scheduled;
+			scheduled = true;
+		}
+		if (schedule) {
+			executor.execute(this::apply);
+		}
+	}
+
+	private void apply() {
+		synchronized (applyLock) {
+			List<Change<T>> changes;
+			synchronized (this) {
+				changes = new ArrayList<>(pending);
+				pending.clear();
+				scheduled = false;
+			}
+			for (int i = 0; i < changes.size();) {
+				boolean add = changes.get(i).add;
+				List<T> elements = new ArrayList<>();
+				for (; i < changes.size() && changes.get(i).add == add; i++) {
+					elements.addAll(changes.get(i).elements);
+				}
+				if (add) {
+					list.addAll(elements);
+				} else {
+					list.removeAll(new HashSet<>(elements));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Elements to add to or remove from the list.
+	 */
+	private static final class Change<T> {
+		private final boolean add;
+		private final List<T> elements;
+
+		private Change(boolean add, List<T> elements) {
+			this.add = add;
+			this.elements = elements;
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/**
+ * Watches the option file directory and reloads changed option files.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Watches the option file directory on a background thread and reloads an
+ * option file when another program replaces or edits it, such as the
+ * registrar's nightly course export, so running instances pick up the change
+ * without a restart.
+ *
+ * <p>
+ * Programs often write a file in several steps, so after the first event the
+ * watcher waits until the directory has been quiet for {@value #SETTLE_MILLIS}
+ * milliseconds and then reloads each changed option file once, through
+ * {@link SharedDataModel#reloadOptionFile}. Files this application saves
+ * itself are recognized there and not reloaded. The time from the settled
+ * event to the update being queued for the UI is recorded.
+ */
+public class OptionFileWatcher implements Closeable {
+	static final long SETTLE_MILLIS = 200;
+
+	private final SharedDataModel sharedDataModel;
+	private final Executor uiExecutor;
+	private final WatchService watchService;
+	private final Thread watcher;
+	private final LatencyHistogram reloadLatency = new LatencyHistogram();
+	private final AtomicLong reloads = new AtomicLong();
+	private volatile boolean closed;
+
+	/**
+	 * Constructor for the OptionFileWatcher. Starts watching right away.
+	 *
+	 * @param sharedDataModel the model whose option files are watched
+	 * @param uiExecutor      runs the list updates, such as
+	 *                        {@code Platform::runLater}
+	 * @throws IOException if the directory cannot be watched
+	 */
+	public OptionFileWatcher(SharedDataModel sharedDataModel, Executor uiExecutor) throws IOException {
+		this.sharedDataModel = sharedDataModel;
+		this.uiExecutor = uiExecutor;
+		Path directory = sharedDataModel.getDirectory().toAbsolutePath();
+		watchService = directory.getFileSystem().newWatchService();
+		directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY);
+		watcher = new Thread(this::run, "option-watcher");
+		watcher.setDaemon(true);
+		watcher.start();
+	}
+
+	private void run() {
+		try {
+			while (!closed) {
+				Set<String> changed = new LinkedHashSet<>();
+				WatchKey key = watchService.take();
+				do {
+					collect(key, changed);
+				} while ((key = watchService.poll(SETTLE_MILLIS, TimeUnit.MILLISECONDS)) != null);
+				for (String fileName : changed) {
+					long start = System.nanoTime();
+					if (sharedDataModel.reloadOptionFile(fileName, uiExecutor)) {
+						reloads.incrementAndGet();
+						reloadLatency.recordSince(start);
+						System.out.println("Reloaded " + fileName);
+					}
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// Closed.
+		}
+	}
+
+	private void collect(WatchKey key, Set<String> changed) {
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				// Events were lost, so check every file.
+				changed.addAll(sharedDataModel.getOptionFiles());
+				continue;
+			}
+			String fileName = ((Path) event.context()).getFileName().toString();
+			if (sharedDataModel.getOptionFiles().contains(fileName)) {
+				changed.add(fileName);
+			}
+		}
+		key.reset();
+	}
+
+	/**
+	 * Returns the number of option files reloaded so far.
+	 *
+	 * @return the number of reloads
+	 */
+	public long getReloads() {
+		return reloads.get();
+	}
+
+	/**
+	 * Returns how long the reloads took, from reading the file to updating the
+	 * lists.
+	 *
+	 * @return the reload latency
+	 */
+	public LatencyHistogram getReloadLatency() {
+		return reloadLatency;
+	}
+
+	/**
+	 * Returns a one-line summary of the reloads.
+	 *
+	 * @return the summary
+	 */
+	public String summary() {
+		return "Option file reloads: " + reloads.get() + ", " + reloadLatency.summary();
+	}
+
+	/**
+	 * Stops watching.
+	 *
+	 * @throws IOException if the watch service cannot be closed
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		watchService.close();
+		watcher.interrupt();
+	}
+}
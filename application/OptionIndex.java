@@ -0,0 +1,165 @@
+/**
+ * Autocomplete index over a dropdown option list.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * A read-only autocomplete index over a list of dropdown options, such as the
+ * course catalog. It finds the options that start with what was typed,
+ * ignoring case, and then the options with a word that starts with it, so
+ * {@code "obj"} finds {@code "CS151: Object-Oriented Design"}. A word starts
+ * after any character that is not a letter or digit, and where letters change
+ * to digits or back, so {@code "151"} finds it too.
+ *
+ * <p>
+ * Every option and every word start in it is kept as a lowercase key in one
+ * of two sorted arrays, so a lookup is a binary search followed by a walk over
+ * the matches, and only the first matches up to the limit are visited. The
+ * time to show suggestions therefore does not grow with the number of options.
+ */
+public class OptionIndex {
+	private final String[] options;
+	private final String[] optionKeys;
+	private final int[] optionIds;
+	private final String[] wordKeys;
+	private final int[] wordIds;
+
+	/**
+	 * Builds the index.
+	 *
+	 * @param options the options, in the order they are shown when nothing has
+	 *                been typed
+	 */
+	public OptionIndex(List<String> options) {
+		this.options = options.toArray(new String[0]);
+		List<Key> starts = new ArrayList<>(this.options.length);
+		List<Key> words = new ArrayList<>(this.options.length * 2);
+		for (int id = 0; id < this.options.length; id++) {
+			String option = this.options[id];
+			if (option == null) {
+				continue;
+			}
+			String lower = option.toLowerCase(Locale.ROOT);
+			starts.add(new Key(lower, id));
+			for (int i = 1; i < lower.length(); i++) {
+				if (isWordStart(lower, i)) {
+					words.add(new Key(lower.substring(i), id));
+				}
+			}
+		}
+		Collections.sort(starts);
+		Collections.sort(words);
+		optionKeys = new String[starts.size()];
+		optionIds = new int[starts.size()];
+		for (int i = 0; i < optionKeys.length; i++) {
+			optionKeys[i] = starts.get(i).text;
+			optionIds[i] = starts.get(i).id;
+		}
+		wordKeys = new String[words.size()];
+		wordIds = new int[words.size()];
+		for (int i = 0; i < wordKeys.length; i++) {
+			wordKeys[i] = words.get(i).text;
+			wordIds[i] = words.get(i).id;
+		}
+	}
+
+	/**
+	 * Returns the options matching what was typed: first those starting with
+	 * it, in alphabetical order, then those with a word starting with it. When
+	 * nothing was typed, the first options in their original order are
+	 * returned.
+	 *
+	 * @param query the text typed so far
+	 * @param limit the maximum number of options to return
+	 * @return the matching options
+	 */
+	public List<String> find(String query, int limit) {
+		String prefix = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+		List<String> found = new ArrayList<>(Math.min(limit, 64));
+		if (prefix.isEmpty()) {
+			for (int id = 0; id < options.length && found.size() < limit; id++) {
+				found.add(options[id]);
+			}
+			return found;
+		}
+		Set<Integer> seen = new HashSet<>();
+		collect(optionKeys, optionIds, prefix, limit, seen, found);
+		collect(wordKeys, wordIds, prefix, limit, seen, found);
+		return found;
+	}
+
+	/**
+	 * Returns the number of options in the index.
+	 *
+	 * @return the number of options
+	 */
+	public int size() {
+		return options.length;
+	}
+
+	private void collect(String[] keys, int[] ids, String prefix, int limit, Set<Integer> seen, List<String> found) {
+		for (int i = lowerBound(keys, prefix); i < keys.length && found.size() < limit
+				&& keys[i].startsWith(prefix); i++) {
+			if (seen.add(ids[i])) {
+				found.add(options[ids[i]]);
+			}
+		}
+	}
+
+	/**
+	 * Returns the index of the first key not less than the prefix. Unlike
+	 * {@link java.util.Arrays#binarySearch}, this finds the first of several
+	 * equal keys.
+	 */
+	private static int lowerBound(String[] keys, String prefix) {
+		int low = 0;
+		int high = keys.length;
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (keys[middle].compareTo(prefix) < 0) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static boolean isWordStart(String text, int i) {
+		char c = text.charAt(i);
+		char previous = text.charAt(i - 1);
+		if (!Character.isLetterOrDigit(c)) {
+			return false;
+		}
+		return !Character.isLetterOrDigit(previous) || Character.isDigit(c) != Character.isDigit(previous);
+	}
+
+	/**
+	 * A lowercase key and the option it belongs to.
+	 */
+	private static final class Key implements Comparable<Key> {
+		private final String text;
+		private final int id;
+
+		private Key(String text, int id) {
+			this.text = text;
+			this.id = id;
+		}
+
+		@Override
+		public int compareTo(Key other) {
+			int order = text.compareTo(other.text);
+			return order != 0 ? order : Integer.compare(id, other.id);
+		}
+	}
+}
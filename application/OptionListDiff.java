@@ -0,0 +1,187 @@
+/**
+ * Difference between two versions of an option list.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.collections.ObservableList;
+
+/**
+ * The change between two versions of an option list, as the runs of options
+ * removed and added ("hunks") while everything else is kept. When a file
+ * gains, loses or renames a few options, only those few are touched, so a
+ * list view showing the list keeps its scroll position and selection.
+ *
+ * <p>
+ * The hunks are found in one pass over both lists: an option that is not in
+ * the old list is added, and otherwise the old option in the way is removed.
+ * Moved options are therefore removed and added again. Every option removed
+ * from an {@link ObservableList} shifts the rest of it, so a change of more
+ * than {@value #MAX_EDITS} options and hunks is applied as one
+ * {@link ObservableList#setAll} instead, which costs no more than that.
+ */
+public class OptionListDiff {
+	static final int MAX_EDITS = 64;
+
+	private final List<Hunk> hunks;
+	private final List<String> updated;
+	private final int removed;
+	private final int added;
+	private final int edits;
+
+	private OptionListDiff(List<Hunk> hunks, List<String> updated) {
+		this.hunks = hunks;
+		this.updated = updated;
+		int removed = 0;
+		int added = 0;
+		int edits = 0;
+		for (Hunk hunk : hunks) {
+			removed += hunk.removed;
+			added += hunk.added.size();
+			edits += Math.max(hunk.removed, 1);
+		}
+		this.removed = removed;
+		this.added = added;
+		this.edits = edits;
+	}
+
+	/**
+	 * Computes the change from one version of a list to another.
+	 *
+	 * @param current the list as it is
+	 * @param updated the list as it should be
+	 * @return the change
+	 */
+	public static OptionListDiff between(List<?> current, List<String> updated) {
+		int currentSize = current.size();
+		int updatedSize = updated.size();
+		int prefix = 0;
+		int shorter = Math.min(currentSize, updatedSize);
+		while (prefix < shorter && current.get(prefix).equals(updated.get(prefix))) {
+			prefix++;
+		}
+		int suffix = 0;
+		while (suffix < shorter - prefix
+				&& current.get(currentSize - 1 - suffix).equals(updated.get(updatedSize - 1 - suffix))) {
+			suffix++;
+		}
+		int currentEnd = currentSize - suffix;
+		int updatedEnd = updatedSize - suffix;
+		List<Hunk> hunks = new ArrayList<>();
+		if (prefix == currentEnd && prefix == updatedEnd) {
+			return new OptionListDiff(hunks, updated);
+		}
+		// How often each option occurs in what is left of the current list.
+		Map<Object, Integer> remaining = new HashMap<>();
+		for (int i = prefix; i < currentEnd; i++) {
+			remaining.merge(current.get(i), 1, Integer::sum);
+		}
+		int i = prefix;
+		int j = prefix;
+		while (i < currentEnd || j < updatedEnd) {
+			if (i < currentEnd && j < updatedEnd && current.get(i).equals(updated.get(j))) {
+				remaining.merge(current.get(i), -1, Integer::sum);
+				i++;
+				j++;
+				continue;
+			}
+			int from = i;
+			List<String> added = new ArrayList<>();
+			while (i < currentEnd || j < updatedEnd) {
+				if (i < currentEnd && j < updatedEnd && current.get(i).equals(updated.get(j))) {
+					break;
+				}
+				if (j < updatedEnd && (i == currentEnd || remaining.getOrDefault(updated.get(j), 0) <= 0)) {
+					added.add(updated.get(j++));
+				} else {
+					remaining.merge(current.get(i++), -1, Integer::sum);
+				}
+			}
+			hunks.add(new Hunk(from, i - from, added));
+		}
+		return new OptionListDiff(hunks, updated);
+	}
+
+	/**
+	 * Applies the change to a list, from its last hunk to its first so the
+	 * positions of the others stay valid. Options renamed in place are set,
+	 * which does not shift the list.
+	 *
+	 * @param list the list, which must be equal to the one the change was
+	 *             computed from
+	 */
+	public void applyTo(ObservableList<String> list) {
+		if (edits > MAX_EDITS) {
+			list.setAll(updated);
+			return;
+		}
+		for (int h = hunks.size() - 1; h >= 0; h--) {
+			Hunk hunk = hunks.get(h);
+			int replaced = Math.min(hunk.removed, hunk.added.size());
+			for (int k = 0; k < replaced; k++) {
+				list.set(hunk.from + k, hunk.added.get(k));
+			}
+			if (hunk.removed > replaced) {
+				list.remove(hunk.from + replaced, hunk.from + hunk.removed);
+			} else if (hunk.added.size() > replaced) {
+				list.addAll(hunk.from + replaced, hunk.added.subList(replaced, hunk.added.size()));
+			}
+		}
+	}
+
+	/**
+	 * Returns whether the two lists were equal.
+	 *
+	 * @return true if there is nothing to change
+	 */
+	public boolean isEmpty() {
+		return hunks.isEmpty();
+	}
+
+	/**
+	 * Returns the number of options removed.
+	 *
+	 * @return the number of options removed
+	 */
+	public int getRemoved() {
+		return removed;
+	}
+
+	/**
+	 * Returns the number of options added.
+	 *
+	 * @return the number of options added
+	 */
+	public int getAdded() {
+		return added;
+	}
+
+	@Override
+	public String toString() {
+		return "-" + removed + " +" + added + " in " + hunks.size() + " hunks"
+				+ (edits > MAX_EDITS ? ", replacing the list" : "");
+	}
+
+	/**
+	 * Options removed from one position of the current list, and the options
+	 * added in their place.
+	 */
+	private static final class Hunk {
+		private final int from;
+		private final int removed;
+		private final List<String> added;
+
+		private Hunk(int from, int removed, List<String> added) {
+			this.from = from;
+			this.removed = removed;
+			this.added = added;
+		}
+	}
+}
@@ -0,0 +1,262 @@
+/**
+ * Snapshot file plus append-only change log for one option list.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Persists one dropdown option list as a snapshot file plus an append-only log
+ * of the options added and removed since, so saving one new option writes one
+ * short line instead of the whole list.
+ *
+ * <p>
+ * The snapshot is the plain option file the application has always used, one
+ * option per line. The log sits next to it, named after it with a
+ * {@code .log} extension. Its first line records the CRC-32 of the snapshot it
+ * applies to, and every other line is {@code +option} or {@code -option}. Once
+ * the log holds more entries than half the list, or {@value #MIN_COMPACTION_ENTRIES}
+ * entries for short lists, the list is compacted: the snapshot is rewritten
+ * and the log restarted. Each file is replaced by moving a complete temporary
+ * file over it, after the temporary file is forced to disk. A crash between
+ * the two moves leaves a log whose checksum no longer matches the new
+ * snapshot, so it is ignored rather than applied twice. A partly written last
+ * log line is cut off when the log is loaded, so the next entry does not get
+ * appended to it.
+ *
+ * <p>
+ * {@link #load} must be called before the first change. All methods are
+ * thread-safe.
+ */
+public class OptionLog {
+	static final int MIN_COMPACTION_ENTRIES = 256;
+	private static final String BASE_PREFIX = "#base ";
+
+	private final Path snapshot;
+	private final Path log;
+	private long snapshotCrc;
+	private int logEntries;
+	private boolean logStarted;
+
+	/**
+	 * Constructor for the OptionLog.
+	 *
+	 * @param snapshot the option file, such as {@code coursesOptions.txt}
+	 */
+	public OptionLog(Path snapshot) {
+		this.snapshot = snapshot;
+		String name = snapshot.getFileName().toString();
+		int dot = name.lastIndexOf('.');
+		this.log = snapshot.resolveSibling((dot > 0 ? name.substring(0, dot) : name) + ".log");
+	}
+
+	/**
+	 * Reads the snapshot and applies the log to it.
+	 *
+	 * @return the options, in order
+	 * @throws IOException if a file cannot be read
+	 */
+	public synchronized List<String> load() throws IOException {
+		byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(snapshot);
+		} catch (NoSuchFileException e) {
+			bytes = new byte[0];
+			if (!Files.exists(log)) {
+				System.out.println("File not found: " + snapshot);
+			}
+		}
+		return load(bytes);
+	}
+
+	/**
+	 * Reads the snapshot again if it was replaced by someone other than this
+	 * log, such as a nightly export from the registrar, and returns its
+	 * options. The new snapshot wins: entries logged against the old one are
+	 * dropped.
+	 *
+	 * @return the new options, or null if the snapshot is unchanged or gone
+	 * @throws IOException if a file cannot be read
+	 */
+	public synchronized List<String> reloadIfChanged() throws IOException {
+		byte[] bytes;
+		try {
+			bytes = Files.readAllBytes(snapshot);
+		} catch (NoSuchFileException e) {
+			return null;
+		}
+		if (crc(bytes) == snapshotCrc) {
+			return null;
+		}
+		List<String> options = load(bytes);
+		if (!logStarted && Files.exists(log)) {
+			// Restart the log so its entries are not applied again should the
+			// old snapshot come back.
+			replace(log, header());
+			logStarted = true;
+		}
+		return options;
+	}
+
+	private List<String> load(byte[] bytes) throws IOException {
+		snapshotCrc = crc(bytes);
+		List<String> options = SharedDataModel.splitLines(new String(bytes, Charset.defaultCharset()));
+		logEntries = 0;
+		logStarted = false;
+		if (!Files.exists(log)) {
+			return options;
+		}
+		byte[] logBytes = Files.readAllBytes(log);
+		String text = new String(logBytes, StandardCharsets.UTF_8);
+		int end = text.indexOf('\n');
+		if (end < 0 || !text.substring(0, end).equals(BASE_PREFIX + Long.toHexString(snapshotCrc))) {
+			// Left behind by a compaction that replaced the snapshot.
+			return options;
+		}
+		logStarted = true;
+		truncateAfterLastLine(logBytes);
+		int start = end + 1;
+		while ((end = text.indexOf('\n', start)) >= 0) {
+			if (end > start) {
+				String option = text.substring(start + 1, end);
+				if (text.charAt(start) == '+') {
+					options.add(option);
+				} else if (text.charAt(start) == '-') {
+					options.remove(option);
+				}
+				logEntries++;
+			}
+			start = end + 1;
+		}
+		return options;
+	}
+
+	/**
+	 * Records that an option was added.
+	 *
+	 * @param option the option
+	 * @throws IOException if the log cannot be written
+	 */
+	public synchronized void add(String option) throws IOException {
+		append('+', option);
+	}
+
+	/**
+	 * Records that an option was removed.
+	 *
+	 * @param option the option
+	 * @throws IOException if the log cannot be written
+	 */
+	public synchronized void remove(String option) throws IOException {
+		append('-', option);
+	}
+
+	/**
+	 * Returns whether the log has grown long enough to be compacted into a
+	 * snapshot of the given number of options.
+	 *
+	 * @param optionCount the number of options in the list
+	 * @return true if the list should be compacted
+	 */
+	public synchronized boolean shouldCompact(int optionCount) {
+		return logEntries >= Math.max(MIN_COMPACTION_ENTRIES, optionCount / 2);
+	}
+
+	/**
+	 * Writes the options as the new snapshot and restarts the log.
+	 *
+	 * @param options the options, in order
+	 * @throws IOException if a file cannot be written
+	 */
+	public synchronized void compact(List<String> options) throws IOException {
+		StringBuilder text = new StringBuilder();
+		for (String option : options) {
+			text.append(option).append(System.lineSeparator());
+		}
+		byte[] bytes = text.toString().getBytes(Charset.defaultCharset());
+		replace(snapshot, bytes);
+		snapshotCrc = crc(bytes);
+		replace(log, header());
+		logStarted = true;
+		logEntries = 0;
+	}
+
+	/**
+	 * Returns the number of entries in the log.
+	 *
+	 * @return the number of log entries
+	 */
+	public synchronized int getLogEntries() {
+		return logEntries;
+	}
+
+	private void append(char type, String option) throws IOException {
+		if (option.indexOf('\n') >= 0 || option.indexOf('\r') >= 0) {
+			throw new IllegalArgumentException("An option must be a single line");
+		}
+		if (!logStarted) {
+			replace(log, header());
+			logStarted = true;
+		}
+		Files.write(log, (type + option + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+				StandardOpenOption.APPEND);
+		logEntries++;
+	}
+
+	/**
+	 * Cuts off a partly written last line of the log. A line feed byte is
+	 * never part of another UTF-8 character, so the last one ends the last
+	 * complete line.
+	 */
+	private void truncateAfterLastLine(byte[] logBytes) throws IOException {
+		int length = logBytes.length;
+		while (length > 0 && logBytes[length - 1] != '\n') {
+			length--;
+		}
+		if (length == logBytes.length) {
+			return;
+		}
+		try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+			channel.truncate(length);
+			channel.force(true);
+		}
+	}
+
+	private byte[] header() {
+		return (BASE_PREFIX + Long.toHexString(snapshotCrc) + "\n").getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static void replace(Path file, byte[] bytes) throws IOException {
+		Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			// Without this, the rename can reach the disk before the contents.
+			channel.force(true);
+		}
+		Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static long crc(byte[] bytes) {
+		CRC32 crc = new CRC32();
+		crc.update(bytes);
+		return crc.getValue();
+	}
+}
@@ -0,0 +1,175 @@
+/**
+ * Case-insensitive sorted index for prefix lookups.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * A case-insensitive index from string keys to values, kept sorted by key so
+ * that every key starting with a prefix can be found with one tree lookup
+ * followed by an in-order walk. Several values may share a key.
+ *
+ * <p>
+ * All methods are thread-safe, so the index can be searched off the JavaFX
+ * application thread while letters are added on it.
+ *
+ * @param <V> the type of the indexed values
+ */
+public class PrefixIndex<V> {
+	private final TreeMap<String, List<V>> entries = new TreeMap<>();
+	private int size;
+
+	/**
+	 * Adds a value under the given key.
+	 *
+	 * @param key   the key, matched case-insensitively
+	 * @param value the value
+	 */
+	public synchronized void add(String key, V value) {
+		entries.computeIfAbsent(normalize(key), k -> new ArrayList<>(1)).add(value);
+		size++;
+	}
+
+	/**
+	 * Removes one occurrence of a value from the given key.
+	 *
+	 * @param key   the key the value was added under
+	 * @param value the value
+	 * @return true if the value was found and removed
+	 */
+	public synchronized boolean remove(String key, V value) {
+		String normalized = normalize(key);
+		List<V> values = entries.get(normalized);
+		if (values == null || !values.remove(value)) {
+			return false;
+		}
+		if (values.isEmpty()) {
+			entries.remove(normalized);
+		}
+		size--;
+		return true;
+	}
+
+	/**
+	 * Returns whether any value is stored under the given key, ignoring case.
+	 *
+	 * @param key the key
+	 * @return true if the key is present
+	 */
+	public synchronized boolean containsKey(String key) {
+		return entries.containsKey(normalize(key));
+	}
+
+	/**
+	 * Returns whether the given value is stored under the given key. Keys that
+	 * differ only in case hold their values together, so this tells them
+	 * apart by the value.
+	 *
+	 * @param key   the key
+	 * @param value the value
+	 * @return true if the value is stored under the key
+	 */
+	public synchronized boolean contains(String key, V value) {
+		List<V> values = entries.get(normalize(key));
+		return values != null && values.contains(value);
+	}
+
+	/**
+	 * Returns the values stored under exactly the given key.
+	 *
+	 * @param key the key
+	 * @return the values, in the order they were added
+	 */
+	public synchronized List<V> find(String key) {
+		List<V> values = entries.get(normalize(key));
+		return values == null ? Collections.emptyList() : new ArrayList<>(values);
+	}
+
+	/**
+	 * Returns every value whose key starts with the given prefix, ordered by key.
+	 *
+	 * @param prefix the prefix
+	 * @return the matching values
+	 */
+	public List<V> findByPrefix(String prefix) {
+		return findByPrefix(prefix, 0, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Returns one page of the values whose key starts with the given prefix,
+	 * ordered by key.
+	 *
+	 * @param prefix the prefix
+	 * @param offset the number of matching values to skip
+	 * @param limit  the maximum number of values to return
+	 * @return the matching values on the requested page
+	 */
+	public synchronized List<V> findByPrefix(String prefix, int offset, int limit) {
+		String normalized = normalize(prefix);
+		List<V> page = new ArrayList<>(Math.min(limit, 64));
+		int skipped = 0;
+		for (Map.Entry<String, List<V>> entry : entries.tailMap(normalized, true).entrySet()) {
+			if (!entry.getKey().startsWith(normalized)) {
+				break;
+			}
+			for (V value : entry.getValue()) {
+				if (skipped < offset) {
+					skipped++;
+				} else if (page.size() < limit) {
+					page.add(value);
+				} else {
+					return page;
+				}
+			}
+		}
+		return page;
+	}
+
+	/**
+	 * Counts the values whose key starts with the given prefix.
+	 *
+	 * @param prefix the prefix
+	 * @return the number of matching values
+	 */
+	public synchronized int countByPrefix(String prefix) {
+		String normalized = normalize(prefix);
+		int count = 0;
+		for (Map.Entry<String, List<V>> entry : entries.tailMap(normalized, true).entrySet()) {
+			if (!entry.getKey().startsWith(normalized)) {
+				break;
+			}
+			count += entry.getValue().size();
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of indexed values.
+	 *
+	 * @return the number of values
+	 */
+	public synchronized int size() {
+		return size;
+	}
+
+	/**
+	 * Removes every value from the index.
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		size = 0;
+	}
+
+	private static String normalize(String key) {
+		return key == null ? "" : key.toLowerCase(Locale.ROOT);
+	}
+}
@@ -15,6 +15,7 @@ import java.util.StringJoiner;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.regex.Pattern;
 
 /**
  * The Recommendation class represents a recommendation for a student. It
@@ -22,6 +23,9 @@ import java.util.Arrays;
  * program, and courses taken.
  */
 public class Recommendation {
+	/** Matches the commas between serialized fields, skipping escaped ones. */
+	static final Pattern FIELD_SEPARATOR = Pattern.compile("(?<!\\\\),");
+
 	private String firstName;
 	private String lastName;
 	private String gender;
@@ -297,15 +301,16 @@ public class Recommendation {
 	 */
 	public String serialize() {
 		StringJoiner joiner = new StringJoiner(",");
-		joiner.add(String.valueOf(firstName));
-		joiner.add(String.valueOf(lastName));
-		joiner.add(String.valueOf(gender));
+		joiner.add(escapeCommas(String.valueOf(firstName)));
+		joiner.add(escapeCommas(String.valueOf(lastName)));
+		joiner.add(escapeCommas(String.valueOf(gender)));
 		joiner.add(escapeCommas(targetSchool));
 		joiner.add(escapeCommas(todayDate));
 		joiner.add(escapeCommas(program));
 		joiner.add(escapeCommas(firstSemester));
-		joiner.add(String.valueOf(firstCourse));
-		joiner.add(coursesTaken.stream().map(course -> course.serialize()).collect(Collectors.joining(";")));
+		joiner.add(escapeCommas(String.valueOf(firstCourse)));
+		joiner.add(escapeCommas(String.valueOf(firstCourseGrade)));
+		joiner.add(escapeCommas(coursesTaken.stream().map(course -> course.serialize()).collect(Collectors.joining(";"))));
 		joiner.add(serializeList(personalCharacteristics));
 		joiner.add(serializeList(academicCharacteristics));
 		return joiner.toString();
@@ -318,7 +323,7 @@ public class Recommendation {
 	 * @return the deserialized Recommendation object
 	 */
 	public static Recommendation deserialize(String data) {
-		String[] parts = data.split(",", -1);
+		String[] parts = FIELD_SEPARATOR.split(data, -1);
 		String firstName = unescapeCommas(parts[0]);
 		String lastName = unescapeCommas(parts[1]);
 		String gender = unescapeCommas(parts[2]);
@@ -328,7 +333,8 @@ public class Recommendation {
 		String firstSemester = unescapeCommas(parts[6]);
 		String firstCourse = unescapeCommas(parts[7]);
 		String firstCourseGrade = unescapeCommas(parts[8]);
-		List<Course> courses = Arrays.stream(parts[9].split(";")).map(Course::deserialize).collect(Collectors.toList());
+		List<Course> courses = Arrays.stream(unescapeCommas(parts[9]).split(";")).filter(course -> !course.isEmpty())
+				.map(Course::deserialize).collect(Collectors.toList());
 		ArrayList<String> personalCharacteristics = deserializeList(parts[10]);
 		ArrayList<String> academicCharacteristics = deserializeList(parts[11]);
 
@@ -359,8 +365,11 @@ public class Recommendation {
 	 * @return the deserialized list of strings
 	 */
 	private static ArrayList<String> deserializeList(String data) {
-		String[] parts = data.split(";", -1);
 		ArrayList<String> list = new ArrayList<>();
+		if (data.isEmpty()) {
+			return list;
+		}
+		String[] parts = data.split(";", -1);
 		for (String part : parts) {
 			list.add(unescapeCommas(part));
 		}
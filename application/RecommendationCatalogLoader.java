@@ -0,0 +1,237 @@
+/**
+ * Background loading of the recommendation catalog from saved letters.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+/**
+ * Rebuilds the recommendation catalog from the letters saved in earlier
+ * sessions. The store is listed on a background thread; each chunk of letter
+ * names is parsed in parallel and then handed to the publisher, which in the
+ * app runs it on the loading thread itself, so the menu stays usable while a
+ * large catalog is still being read. The letters are then added to the full-text
+ * {@link LetterIndex}. Letter text is read with
+ * {@link RecommendationStore#readUtf8}, which goes straight to the letter
+ * store, so reading every letter neither evicts the recently opened letters
+ * from the cache nor counts as opening them in the metrics and flight
+ * recordings. Both steps are timed in the application
+ * {@link MetricsRegistry} as {@code catalog.load} and {@code catalog.index},
+ * with the letters counted as {@code catalog.letters} and
+ * {@code catalog.indexed}, and recorded as {@link FlightEvents.CatalogLoad}
+ * events. The time and rate of each step are also printed to the log.
+ */
+public class RecommendationCatalogLoader {
+	static final int CHUNK_SIZE = 2048;
+	private static final String HEADER_PREFIX = "For: ";
+	private static final int HEADER_LINES = 4;
+
+	private final RecommendationManager recommendationManager;
+	private final RecommendationStore store;
+	private final Executor publisher;
+
+	/**
+	 * Constructor for the RecommendationCatalogLoader.
+	 *
+	 * @param recommendationManager the manager the catalog is published to
+	 * @param store                 the store holding the saved letters
+	 * @param publisher             runs each catalog update, e.g.
+	 *                              {@code Platform::runLater}
+	 */
+	public RecommendationCatalogLoader(RecommendationManager recommendationManager, RecommendationStore store,
+			Executor publisher) {
+		this.recommendationManager = recommendationManager;
+		this.store = store;
+		this.publisher = publisher;
+	}
+
+	/**
+	 * Starts loading the catalog on a background daemon thread.
+	 *
+	 * @return the loading thread
+	 */
+	public Thread start() {
+		Thread thread = new Thread(this::load, "catalog-loader");
+		thread.setDaemon(true);
+		thread.start();
+		return thread;
+	}
+
+	/**
+	 * Loads the catalog on the calling thread, publishing it in chunks.
+	 *
+	 * @return the number of letters found
+	 */
+	public int load() {
+		FlightEvents.CatalogLoad event = new FlightEvents.CatalogLoad();
+		event.begin();
+		long start = System.nanoTime();
+		int loaded = 0;
+		List<String> names = store.names();
+		for (int from = 0; from < names.size(); from += CHUNK_SIZE) {
+			loaded += publish(names.subList(from, Math.min(from + CHUNK_SIZE, names.size())));
+		}
+		MetricsRegistry.getDefault().histogram("catalog.load").recordSince(start);
+		MetricsRegistry.getDefault().counter("catalog.letters").add(loaded);
+		commit(event, "catalog", loaded);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(String.format("Loaded %d recommendations in %.3fs (%.0f letters/sec)", loaded, seconds,
+				seconds > 0 ? loaded / seconds : 0.0));
+		index(names);
+		return loaded;
+	}
+
+	/**
+	 * Adds letters stored after the catalog was listed, such as letters being
+	 * imported, to the catalog and then to the full-text index. Letters already
+	 * in the catalog or the index are left alone, so this may run while
+	 * {@link #load} does.
+	 *
+	 * @param names the letter names
+	 */
+	public void add(List<String> names) {
+		int added = 0;
+		for (int from = 0; from < names.size(); from += CHUNK_SIZE) {
+			added += publish(names.subList(from, Math.min(from + CHUNK_SIZE, names.size())));
+		}
+		MetricsRegistry.getDefault().counter("catalog.letters").add(added);
+		MetricsRegistry.getDefault().counter("catalog.indexed").add(addToIndex(names));
+	}
+
+	/**
+	 * Adds the letters to the full-text index once the catalog is published, so
+	 * searching by name is available first.
+	 *
+	 * @param names the letter names
+	 */
+	private void index(List<String> names) {
+		FlightEvents.CatalogLoad event = new FlightEvents.CatalogLoad();
+		event.begin();
+		long start = System.nanoTime();
+		int indexed = addToIndex(names);
+		MetricsRegistry.getDefault().histogram("catalog.index").recordSince(start);
+		MetricsRegistry.getDefault().counter("catalog.indexed").add(indexed);
+		commit(event, "index", indexed);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		System.out.println(String.format("Indexed %d letters in %.3fs (%d words)", indexed, seconds,
+				recommendationManager.getLetterIndex().getTermCount()));
+	}
+
+	/**
+	 * Reads the letters and adds them to the full-text index. Each chunk is read
+	 * and split into words in parallel. Letters saved or deleted while this runs
+	 * are already up to date in the index and are left alone.
+	 *
+	 * @param names the letter names
+	 * @return the number of letters added to the index
+	 */
+	private int addToIndex(List<String> names) {
+		LetterIndex letterIndex = recommendationManager.getLetterIndex();
+		int indexed = 0;
+		for (int from = 0; from < names.size(); from += CHUNK_SIZE) {
+			List<LetterIndex.Document> documents = names.subList(from, Math.min(from + CHUNK_SIZE, names.size()))
+					.parallelStream().map(this::analyze).filter(document -> document != null)
+					.collect(Collectors.toList());
+			for (LetterIndex.Document document : documents) {
+				if (store.contains(document.getName()) && letterIndex.addIfAbsent(document)) {
+					indexed++;
+				}
+			}
+		}
+		return indexed;
+	}
+
+	private static void commit(FlightEvents.CatalogLoad event, String phase, int recommendations) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.phase = phase;
+			event.recommendations = recommendations;
+			event.commit();
+		}
+	}
+
+	private LetterIndex.Document analyze(String fileName) {
+		try {
+			RecommendationStore.Utf8Letter letter = store.readUtf8(fileName);
+			return letter == null ? null : LetterIndex.analyze(fileName, letter.text());
+		} catch (IOException e) {
+			System.out.println("Could not index " + fileName + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Parses a chunk of letter names in parallel and publishes the result as a
+	 * single catalog update.
+	 *
+	 * @param names the letter names in the chunk
+	 * @return the number of letters published
+	 */
+	private int publish(List<String> names) {
+		if (names.isEmpty()) {
+			return 0;
+		}
+		List<String[]> entries = names.parallelStream().map(this::parse).collect(Collectors.toList());
+		publisher.execute(() -> {
+			List<String> fileNames = new ArrayList<>(entries.size());
+			for (String[] entry : entries) {
+				fileNames.add(entry[0]);
+				if (entry[1] != null) {
+					recommendationManager.lastNameFileMap.put(entry[1], entry[0]);
+				}
+			}
+			recommendationManager.addRecommendationFiles(fileNames);
+		});
+		return entries.size();
+	}
+
+	/**
+	 * Finds the student's last name for a saved letter. Letters are saved as
+	 * {@code Last_First.txt}; when a name does not follow that pattern, the last
+	 * name is read from the "For:" line of the letter header instead.
+	 *
+	 * @param fileName the letter name
+	 * @return the letter name and the student's last name, which is null if it
+	 *         could not be found
+	 */
+	String[] parse(String fileName) {
+		String baseName = fileName.endsWith(".txt") ? fileName.substring(0, fileName.length() - ".txt".length())
+				: fileName;
+		int separator = baseName.indexOf('_');
+		if (separator > 0 && separator < baseName.length() - 1) {
+			return new String[] { fileName, baseName.substring(0, separator) };
+		}
+		return new String[] { fileName, readLastNameFromHeader(fileName) };
+	}
+
+	private String readLastNameFromHeader(String fileName) {
+		try {
+			RecommendationStore.Utf8Letter letter = store.readUtf8(fileName);
+			if (letter == null) {
+				return null;
+			}
+			try (BufferedReader reader = new BufferedReader(new StringReader(letter.text()))) {
+				String line;
+				for (int i = 0; i < HEADER_LINES && (line = reader.readLine()) != null; i++) {
+					if (line.startsWith(HEADER_PREFIX)) {
+						String name = line.substring(HEADER_PREFIX.length()).trim();
+						int space = name.lastIndexOf(' ');
+						return space < 0 ? name : name.substring(space + 1);
+					}
+				}
+			}
+		} catch (IOException e) {
+			System.out.println("Could not read header of " + fileName + ": " + e.getMessage());
+		}
+		return null;
+	}
+}
@@ -0,0 +1,565 @@
+/**
+ * Binary encoding of recommendations, courses and faculty.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A length-prefixed binary encoding for {@link Recommendation},
+ * {@link Course} and {@link Faculty}.
+ *
+ * <p>
+ * Every record starts with a schema version byte, a record type byte and the
+ * number of fields it holds. Strings are written as a varint of the UTF-8
+ * length plus one (zero marks a null string) followed by the bytes, and lists
+ * as a varint of the item count plus one followed by the items, so null and
+ * empty values survive a round trip.
+ *
+ * <p>
+ * Later schema versions may only append fields, and each appended field must
+ * be written like a string: a varint of its length plus one, then its bytes.
+ * Readers accept records of any version from 1 up, treat fields missing from
+ * an older record as null, and skip appended fields they do not know by their
+ * length. {@link View} decodes a single field by skipping over the length
+ * prefixes of the fields before it, without decoding them.
+ *
+ * <p>
+ * The encoding is not smaller than the text format of
+ * {@link Recommendation#serialize}: a record is mostly free text, and a
+ * one-byte length prefix costs the same as a one-byte separator. It is faster
+ * to encode and decode, and it round-trips exactly.
+ */
+public final class RecommendationCodec {
+	/** The schema version written by this codec. */
+	public static final byte VERSION = 1;
+
+	static final byte TYPE_RECOMMENDATION = 1;
+	static final byte TYPE_COURSE = 2;
+	static final byte TYPE_FACULTY = 3;
+
+	static final int FIRST_NAME = 0;
+	static final int LAST_NAME = 1;
+	static final int GENDER = 2;
+	static final int TARGET_SCHOOL = 3;
+	static final int TODAY_DATE = 4;
+	static final int PROGRAM = 5;
+	static final int FIRST_SEMESTER = 6;
+	static final int FIRST_COURSE = 7;
+	static final int FIRST_COURSE_GRADE = 8;
+	static final int COURSES = 9;
+	static final int PERSONAL_CHARACTERISTICS = 10;
+	static final int ACADEMIC_CHARACTERISTICS = 11;
+	static final int FIELD_COUNT = 12;
+	static final int COURSE_FIELD_COUNT = 2;
+	static final int FACULTY_FIELD_COUNT = 7;
+
+	private static final int HEADER_LENGTH = 3;
+
+	private RecommendationCodec() {
+	}
+
+	/**
+	 * Encodes a recommendation.
+	 *
+	 * @param recommendation the recommendation
+	 * @return the encoded bytes
+	 */
+	public static byte[] encode(Recommendation recommendation) {
+		Output out = new Output(256);
+		out.writeByte(VERSION);
+		out.writeByte(TYPE_RECOMMENDATION);
+		out.writeByte(FIELD_COUNT);
+		for (int field = 0; field < FIELD_COUNT; field++) {
+			switch (field) {
+			case FIRST_NAME:
+				out.writeString(recommendation.getFirstName());
+				break;
+			case LAST_NAME:
+				out.writeString(recommendation.getLastName());
+				break;
+			case GENDER:
+				out.writeString(recommendation.getGender());
+				break;
+			case TARGET_SCHOOL:
+				out.writeString(recommendation.getTargetSchool());
+				break;
+			case TODAY_DATE:
+				out.writeString(recommendation.getTodayDate());
+				break;
+			case PROGRAM:
+				out.writeString(recommendation.getProgram());
+				break;
+			case FIRST_SEMESTER:
+				out.writeString(recommendation.getFirstSemester());
+				break;
+			case FIRST_COURSE:
+				out.writeString(recommendation.getFirstCourse());
+				break;
+			case FIRST_COURSE_GRADE:
+				out.writeString(recommendation.getFirstCourseGrade());
+				break;
+			case COURSES:
+				writeCourses(out, recommendation.getCourses());
+				break;
+			case PERSONAL_CHARACTERISTICS:
+				out.writeStrings(recommendation.getPersonalCharacteristics());
+				break;
+			case ACADEMIC_CHARACTERISTICS:
+				out.writeStrings(recommendation.getAcademicCharacteristics());
+				break;
+			}
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Decodes every field of an encoded recommendation.
+	 *
+	 * @param buffer the encoded recommendation, from its position to its limit
+	 * @return the recommendation
+	 * @throws IllegalArgumentException if the record is not a recommendation
+	 */
+	public static Recommendation decode(ByteBuffer buffer) {
+		return view(buffer).toRecommendation();
+	}
+
+	/**
+	 * Wraps an encoded recommendation without decoding any of its fields.
+	 *
+	 * @param buffer the encoded recommendation, from its position to its limit;
+	 *               the view reads from it without copying
+	 * @return a view that decodes fields on demand
+	 * @throws IllegalArgumentException if the record is not a recommendation
+	 */
+	public static View view(ByteBuffer buffer) {
+		return new View(buffer.slice());
+	}
+
+	/**
+	 * Encodes a course.
+	 *
+	 * @param course the course
+	 * @return the encoded bytes
+	 */
+	public static byte[] encode(Course course) {
+		Output out = new Output(32);
+		out.writeByte(VERSION);
+		out.writeByte(TYPE_COURSE);
+		out.writeByte(COURSE_FIELD_COUNT);
+		out.writeString(course.getName());
+		out.writeString(course.getGrade());
+		return out.toByteArray();
+	}
+
+	/**
+	 * Decodes a course.
+	 *
+	 * @param buffer the encoded course; its position is advanced past the record
+	 * @return the course
+	 */
+	public static Course decodeCourse(ByteBuffer buffer) {
+		int fields = checkHeader(buffer, TYPE_COURSE);
+		String[] values = readFlatFields(buffer, fields, COURSE_FIELD_COUNT);
+		return new Course(values[0], values[1]);
+	}
+
+	/**
+	 * Encodes a faculty member.
+	 *
+	 * @param faculty the faculty member
+	 * @return the encoded bytes
+	 */
+	public static byte[] encode(Faculty faculty) {
+		Output out = new Output(128);
+		out.writeByte(VERSION);
+		out.writeByte(TYPE_FACULTY);
+		out.writeByte(FACULTY_FIELD_COUNT);
+		out.writeString(faculty.getFirstName());
+		out.writeString(faculty.getLastName());
+		out.writeString(faculty.getRole());
+		out.writeString(faculty.getSchool());
+		out.writeString(faculty.getDepartment());
+		out.writeString(faculty.getEmail());
+		out.writeString(faculty.getPhone());
+		return out.toByteArray();
+	}
+
+	/**
+	 * Decodes a faculty member.
+	 *
+	 * @param buffer the encoded faculty member; its position is advanced past the
+	 *               record
+	 * @return the faculty member
+	 */
+	public static Faculty decodeFaculty(ByteBuffer buffer) {
+		int fields = checkHeader(buffer, TYPE_FACULTY);
+		String[] values = readFlatFields(buffer, fields, FACULTY_FIELD_COUNT);
+		return new Faculty(values[0], values[1], values[2], values[3], values[4], values[5], values[6]);
+	}
+
+	/**
+	 * Reads a record whose fields are all strings, leaving fields an older
+	 * record lacks null and skipping fields a newer record appended.
+	 */
+	private static String[] readFlatFields(ByteBuffer buffer, int fields, int known) {
+		String[] values = new String[known];
+		for (int field = 0; field < fields; field++) {
+			if (field < known) {
+				values[field] = readString(buffer);
+			} else {
+				skipString(buffer);
+			}
+		}
+		return values;
+	}
+
+	private static void writeCourses(Output out, List<Course> courses) {
+		if (courses == null) {
+			out.writeVarint(0);
+			return;
+		}
+		out.writeVarint(courses.size() + 1);
+		for (Course course : courses) {
+			out.writeString(course.getName());
+			out.writeString(course.getGrade());
+		}
+	}
+
+	/**
+	 * Reads a record header, accepting this and every later schema version.
+	 *
+	 * @return the number of fields in the record
+	 */
+	private static int checkHeader(ByteBuffer buffer, byte type) {
+		int version = buffer.get() & 0xff;
+		if (version < VERSION) {
+			throw new IllegalArgumentException("Unsupported schema version " + version);
+		}
+		byte actual = buffer.get();
+		if (actual != type) {
+			throw new IllegalArgumentException("Expected record type " + type + " but found " + actual);
+		}
+		return buffer.get() & 0xff;
+	}
+
+	private static void skipField(ByteBuffer buffer, int field) {
+		if (field == COURSES || field == PERSONAL_CHARACTERISTICS || field == ACADEMIC_CHARACTERISTICS) {
+			int strings = readVarint(buffer) - 1;
+			if (field == COURSES && strings > 0) {
+				strings *= 2;
+			}
+			for (int i = 0; i < strings; i++) {
+				skipString(buffer);
+			}
+		} else {
+			skipString(buffer);
+		}
+	}
+
+	private static void skipString(ByteBuffer buffer) {
+		int length = readVarint(buffer) - 1;
+		if (length > 0) {
+			buffer.position(buffer.position() + length);
+		}
+	}
+
+	static int readVarint(ByteBuffer buffer) {
+		int value = 0;
+		for (int shift = 0; shift < 32; shift += 7) {
+			byte b = buffer.get();
+			value |= (b & 0x7f) << shift;
+			if (b >= 0) {
+				return value;
+			}
+		}
+		throw new IllegalArgumentException("Malformed varint");
+	}
+
+	static String readString(ByteBuffer buffer) {
+		int length = readVarint(buffer) - 1;
+		if (length < 0) {
+			return null;
+		}
+		String value;
+		if (buffer.hasArray()) {
+			value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length,
+					StandardCharsets.UTF_8);
+		} else {
+			byte[] bytes = new byte[length];
+			buffer.duplicate().get(bytes);
+			value = new String(bytes, StandardCharsets.UTF_8);
+		}
+		buffer.position(buffer.position() + length);
+		return value;
+	}
+
+	static ArrayList<String> readStrings(ByteBuffer buffer) {
+		int count = readVarint(buffer) - 1;
+		if (count < 0) {
+			return null;
+		}
+		ArrayList<String> strings = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			strings.add(readString(buffer));
+		}
+		return strings;
+	}
+
+	static List<Course> readCourses(ByteBuffer buffer) {
+		int count = readVarint(buffer) - 1;
+		if (count < 0) {
+			return null;
+		}
+		List<Course> courses = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			courses.add(new Course(readString(buffer), readString(buffer)));
+		}
+		return courses;
+	}
+
+	/**
+	 * A read-only view of an encoded recommendation. Each getter decodes only
+	 * the field it returns, reading directly from the wrapped buffer.
+	 */
+	public static final class View {
+		private final ByteBuffer buffer;
+		private final int fieldCount;
+		private final int[] offsets = new int[FIELD_COUNT];
+		private int located;
+
+		private View(ByteBuffer buffer) {
+			this.buffer = buffer;
+			this.fieldCount = checkHeader(buffer.duplicate(), TYPE_RECOMMENDATION);
+			offsets[0] = HEADER_LENGTH;
+		}
+
+		/**
+		 * Returns a buffer positioned at the given field, or null if the record
+		 * was written before the field existed. Field offsets are found by
+		 * skipping the fields before them and remembered for later calls.
+		 */
+		private ByteBuffer field(int field) {
+			if (field >= fieldCount) {
+				return null;
+			}
+			ByteBuffer at = buffer.duplicate();
+			at.position(offsets[located]);
+			while (located < field) {
+				skipField(at, located);
+				offsets[++located] = at.position();
+			}
+			at.position(offsets[field]);
+			return at;
+		}
+
+		private String string(int field) {
+			ByteBuffer at = field(field);
+			return at == null ? null : readString(at);
+		}
+
+		private ArrayList<String> strings(int field) {
+			ByteBuffer at = field(field);
+			return at == null ? null : readStrings(at);
+		}
+
+		/**
+		 * Returns the student's first name.
+		 *
+		 * @return the student's first name
+		 */
+		public String getFirstName() {
+			return string(FIRST_NAME);
+		}
+
+		/**
+		 * Returns the student's last name.
+		 *
+		 * @return the student's last name
+		 */
+		public String getLastName() {
+			return string(LAST_NAME);
+		}
+
+		/**
+		 * Returns the student's gender.
+		 *
+		 * @return the student's gender
+		 */
+		public String getGender() {
+			return string(GENDER);
+		}
+
+		/**
+		 * Returns the student's target school.
+		 *
+		 * @return the student's target school
+		 */
+		public String getTargetSchool() {
+			return string(TARGET_SCHOOL);
+		}
+
+		/**
+		 * Returns the date of the letter.
+		 *
+		 * @return the date of the letter
+		 */
+		public String getTodayDate() {
+			return string(TODAY_DATE);
+		}
+
+		/**
+		 * Returns the program the student is applying for.
+		 *
+		 * @return the program the student is applying for
+		 */
+		public String getProgram() {
+			return string(PROGRAM);
+		}
+
+		/**
+		 * Returns the student's first semester.
+		 *
+		 * @return the student's first semester
+		 */
+		public String getFirstSemester() {
+			return string(FIRST_SEMESTER);
+		}
+
+		/**
+		 * Returns the student's first course.
+		 *
+		 * @return the student's first course
+		 */
+		public String getFirstCourse() {
+			return string(FIRST_COURSE);
+		}
+
+		/**
+		 * Returns the grade of the student's first course.
+		 *
+		 * @return the grade of the student's first course
+		 */
+		public String getFirstCourseGrade() {
+			return string(FIRST_COURSE_GRADE);
+		}
+
+		/**
+		 * Returns the additional courses the student has taken.
+		 *
+		 * @return the additional courses the student has taken
+		 */
+		public List<Course> getCourses() {
+			ByteBuffer at = field(COURSES);
+			return at == null ? null : readCourses(at);
+		}
+
+		/**
+		 * Returns the student's personal characteristics.
+		 *
+		 * @return the student's personal characteristics
+		 */
+		public ArrayList<String> getPersonalCharacteristics() {
+			return strings(PERSONAL_CHARACTERISTICS);
+		}
+
+		/**
+		 * Returns the student's academic characteristics.
+		 *
+		 * @return the student's academic characteristics
+		 */
+		public ArrayList<String> getAcademicCharacteristics() {
+			return strings(ACADEMIC_CHARACTERISTICS);
+		}
+
+		/**
+		 * Decodes every field into a new Recommendation.
+		 *
+		 * @return the recommendation
+		 */
+		public Recommendation toRecommendation() {
+			return new Recommendation(getFirstName(), getLastName(), getGender(), getTodayDate(), getTargetSchool(),
+					getProgram(), getFirstSemester(), getFirstCourse(), getFirstCourseGrade(), getCourses(),
+					getPersonalCharacteristics(), getAcademicCharacteristics());
+		}
+	}
+
+	/**
+	 * A growable byte buffer for encoding.
+	 */
+	private static final class Output {
+		private byte[] bytes;
+		private int position;
+
+		Output(int capacity) {
+			bytes = new byte[capacity];
+		}
+
+		void writeByte(int b) {
+			ensure(1);
+			bytes[position++] = (byte) b;
+		}
+
+		void writeVarint(int value) {
+			ensure(5);
+			while ((value & ~0x7f) != 0) {
+				bytes[position++] = (byte) ((value & 0x7f) | 0x80);
+				value >>>= 7;
+			}
+			bytes[position++] = (byte) value;
+		}
+
+		void writeString(String value) {
+			if (value == null) {
+				writeVarint(0);
+				return;
+			}
+			int length = value.length();
+			boolean ascii = true;
+			for (int i = 0; i < length && ascii; i++) {
+				ascii = value.charAt(i) < 0x80;
+			}
+			if (ascii) {
+				writeVarint(length + 1);
+				ensure(length);
+				for (int i = 0; i < length; i++) {
+					bytes[position++] = (byte) value.charAt(i);
+				}
+			} else {
+				byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+				writeVarint(utf8.length + 1);
+				ensure(utf8.length);
+				System.arraycopy(utf8, 0, bytes, position, utf8.length);
+				position += utf8.length;
+			}
+		}
+
+		void writeStrings(List<String> values) {
+			if (values == null) {
+				writeVarint(0);
+				return;
+			}
+			writeVarint(values.size() + 1);
+			for (String value : values) {
+				writeString(value);
+			}
+		}
+
+		private void ensure(int length) {
+			if (position + length > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, position + length));
+			}
+		}
+
+		byte[] toByteArray() {
+			return Arrays.copyOf(bytes, position);
+		}
+	}
+}
@@ -12,7 +12,9 @@ package application;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.BiFunction;
 import java.text.*;
 
 import javafx.collections.FXCollections;
@@ -35,7 +37,9 @@ import javafx.scene.control.TextField;
  * The RecommendationController class is the controller for the Recommendation
  * application.
  */
-public class RecommendationController {
+public class RecommendationController implements ResettableController {
+	private static final int SUGGESTION_LIMIT = 30;
+
 	private SharedDataModel sharedDataModel;
 	private RecommendationManager recommendationManager;
 	private Main main;
@@ -73,7 +77,7 @@ public class RecommendationController {
 	@FXML
 	private ChoiceBox<String> programChoiceBox;
 	@FXML
-	private ChoiceBox<String> additionalCoursesChoiceBox;
+	private ComboBox<String> additionalCoursesComboBox;
 	@FXML
 	private Button compileButton;
 	@FXML
@@ -86,15 +90,17 @@ public class RecommendationController {
 	private TextField courseGradeField;
 	@FXML
 	private Label errorMessage;
+	private boolean updatingSuggestions;
 
 	/**
 	 * Constructor for the RecommendationController.
 	 * 
-	 * @param sharedDataModel the shared data model
+	 * @param sharedDataModel       the shared data model
+	 * @param recommendationManager the application's recommendation manager
 	 */
-	public RecommendationController(SharedDataModel sharedDataModel) {
+	public RecommendationController(SharedDataModel sharedDataModel, RecommendationManager recommendationManager) {
 		this.sharedDataModel = sharedDataModel;
-		this.recommendationManager =  new RecommendationManager(sharedDataModel);
+		this.recommendationManager = recommendationManager;
 	}
 
 	/**
@@ -119,11 +125,11 @@ public class RecommendationController {
 		programChoiceBox.setItems(sharedDataModel.getProgramOptions());
 		programChoiceBox.getSelectionModel().select(0);
 
-		firstCourseComboBox.setItems(sharedDataModel.getCourseOptions());
+		firstCourseComboBox.getItems().setAll(sharedDataModel.findCourseOptions("", SUGGESTION_LIMIT));
 		firstCourseComboBox.getSelectionModel().select(0);
 
-		additionalCoursesChoiceBox.setItems(sharedDataModel.getAdditionalCourses());
-		additionalCoursesChoiceBox.getSelectionModel().select(0);
+		additionalCoursesComboBox.getItems().setAll(sharedDataModel.findAdditionalCourses("", SUGGESTION_LIMIT));
+		additionalCoursesComboBox.getSelectionModel().select(0);
 
 		personalCharacteristicsListView
 				.setItems(FXCollections.observableArrayList(sharedDataModel.getPersonalCharacterOptions()));
@@ -135,13 +141,74 @@ public class RecommendationController {
 
 	}
 
+	/**
+	 * Lets the user type into a course box and shows only the best matches of
+	 * the catalog as suggestions, looked up as the text changes, so the popup
+	 * stays short however many courses there are.
+	 *
+	 * @param comboBox the combo box
+	 * @param finder   looks up the options matching the text, best first
+	 */
+	private void autocomplete(ComboBox<String> comboBox, BiFunction<String, Integer, List<String>> finder) {
+		comboBox.setEditable(true);
+		TextField editor = comboBox.getEditor();
+		editor.textProperty().addListener((observable, oldText, text) -> {
+			// Skip text set by code, such as a suggestion being picked.
+			if (updatingSuggestions || !editor.isFocused() || text.equals(comboBox.getValue())) {
+				return;
+			}
+			updatingSuggestions = true;
+			try {
+				comboBox.getItems().setAll(finder.apply(text, SUGGESTION_LIMIT));
+				if (!text.equals(editor.getText())) {
+					// Replacing the items can clear the editor.
+					editor.setText(text);
+					editor.positionCaret(text.length());
+				}
+			} finally {
+				updatingSuggestions = false;
+			}
+			if (comboBox.getItems().isEmpty()) {
+				comboBox.hide();
+			} else {
+				comboBox.show();
+			}
+		});
+	}
+
+	/**
+	 * Returns the text of a course box, whether it was typed or picked.
+	 *
+	 * @param comboBox the combo box
+	 * @return the trimmed text
+	 */
+	private static String courseText(ComboBox<String> comboBox) {
+		String text = comboBox.getEditor().getText();
+		return text == null ? "" : text.trim();
+	}
+
+	/**
+	 * Clears the form so a new recommendation can be entered, picking up any
+	 * options added since the last visit.
+	 */
+	@Override
+	public void reset() {
+		for (TextField textField : new TextField[] { dateTextField, firstTextField, lastNameField,
+				firstSemesterYearTextField, firstCourseGradeField, targetSchoolTextField, courseGradeField }) {
+			textField.clear();
+			textField.setStyle("");
+		}
+		populateChoiceBoxes();
+		additionalCoursesTableView.getItems().clear();
+	}
+
 	/**
 	 * Populates choice boxes with data from the shared data model.
 	 */
 	private void onAddCourseButtonClicked() {
-		String courseName = additionalCoursesChoiceBox.getValue();
+		String courseName = courseText(additionalCoursesComboBox);
 		String courseGrade = courseGradeField.getText().trim();
-		String firstCourse = firstCourseComboBox.getValue();
+		String firstCourse = courseText(firstCourseComboBox);
 
 		if (courseName.equals(firstCourse)) {
 			showAlert(Alert.AlertType.WARNING, "INVALID",
@@ -176,7 +243,7 @@ public class RecommendationController {
 		String lastName = lastNameField.getText().trim();
 		String gender = genderChoiceBox.getValue();
 		String targetSchool = targetSchoolTextField.getText().trim();
-		String firstCourse = firstCourseComboBox.getValue();
+		String firstCourse = courseText(firstCourseComboBox);
 		String firstSemester = firstSemesterComboBox.getValue();
 		String program = programChoiceBox.getValue();
 		String year = firstSemesterYearTextField.getText().trim();
@@ -362,6 +429,8 @@ public class RecommendationController {
 	@FXML
 	public void initialize() {
 		populateChoiceBoxes();
+		autocomplete(firstCourseComboBox, sharedDataModel::findCourseOptions);
+		autocomplete(additionalCoursesComboBox, sharedDataModel::findAdditionalCourses);
 		addCourseButton.setOnAction(event -> onAddCourseButtonClicked());
 		compileButton.setOnAction(event -> {
 			Alert alert = new Alert(AlertType.CONFIRMATION);
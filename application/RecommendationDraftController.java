@@ -10,12 +10,9 @@
  */
 package application;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.Optional;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
@@ -26,7 +23,7 @@ import javafx.scene.control.Alert.AlertType;
 /**
  * Controller for the Recommendation Draft application.
  */
-public class RecommendationDraftController {
+public class RecommendationDraftController implements ResettableController {
 	private Main main;
 	private RecommendationManager recommendationManager;
 	private String studentFirstName;
@@ -62,6 +59,25 @@ public class RecommendationDraftController {
 		this.main = main;
 	}
 
+	/**
+	 * Sets the student the draft is for.
+	 *
+	 * @param studentFirstName the student's first name
+	 * @param studentLastName  the student's last name
+	 */
+	public void setStudentName(String studentFirstName, String studentLastName) {
+		this.studentFirstName = studentFirstName;
+		this.studentLastName = studentLastName;
+	}
+
+	/**
+	 * Clears the draft left by the previous visit.
+	 */
+	@Override
+	public void reset() {
+		recommendationTextArea.clear();
+	}
+
 	/**
 	 * Sets the recommendation text in the TextArea.
 	 *
@@ -72,7 +88,9 @@ public class RecommendationDraftController {
 	}
 
 	/**
-	 * Handles the save button click event.
+	 * Handles the save button click event. The letter is queued for the letter
+	 * store and the result is shown once it has been written, so the
+	 * application thread never waits for the disk.
 	 */
 	private void onSaveButtonClicked() {
 
@@ -80,29 +98,27 @@ public class RecommendationDraftController {
 		if (!recommendationText.isEmpty()) {
 			String fileName;
 			fileName =studentLastName + "_" + studentFirstName + ".txt";
-			Path filePath = Paths.get("CompiledRecommendations", fileName);
-
-	        try {
-	            Files.createDirectories(filePath.getParent());
-	            Files.write(filePath, recommendationText.getBytes());
-	            showAlert(Alert.AlertType.INFORMATION, "Recommendation Saved", "Recommendation saved successfully.");
-	            System.out.println("File " + fileName + " saved successfully!");
-	            recommendationManager.addRecommendationFile(fileName);
-	            System.out.println("filenamelist: " + recommendationManager.getRecommendationFileNames());
-
-	            recommendationManager.lastNameFileMap.put(studentLastName, fileName);
-	            System.out.println("hashmap here: " + recommendationManager.lastNameFileMap);
-	            try {
-	                main.showMenuScene();
-	            } catch (Exception e) {
-	                e.printStackTrace();
-	            }
-
-	        } catch (IOException e) {
-	            showAlert(Alert.AlertType.ERROR, "Error Saving Recommendation",
-	                    "An error occurred while saving the recommendation. Please try again.");
-	            System.out.println("Failed to save " + fileName + " file!");
-	        }
+			String lastName = studentLastName;
+
+			saveButton.setDisable(true);
+			recommendationManager.saveLetter(fileName, recommendationText)
+					.whenComplete((ignored, error) -> Platform.runLater(() -> {
+						saveButton.setDisable(false);
+						if (error != null) {
+							showAlert(Alert.AlertType.ERROR, "Error Saving Recommendation",
+									"An error occurred while saving the recommendation. Please try again.");
+							return;
+						}
+						showAlert(Alert.AlertType.INFORMATION, "Recommendation Saved",
+								"Recommendation saved successfully.");
+						recommendationManager.addRecommendationFile(fileName);
+						recommendationManager.lastNameFileMap.put(lastName, fileName);
+						try {
+							main.showMenuScene();
+						} catch (Exception e) {
+							e.printStackTrace();
+						}
+					}));
 	    } else {
 	        showAlert(Alert.AlertType.ERROR, "No Recommendation",
 	                "The recommendation text area is empty. Please generate the recommendation first.");
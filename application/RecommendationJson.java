@@ -0,0 +1,372 @@
+/**
+ * Single-line JSON reading and writing of recommendations.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads and writes recommendations as single-line JSON objects. The field names
+ * match the Recommendation properties:
+ *
+ * <pre>
+ * {"firstName":"ava","lastName":"smith","gender":"she","date":"05/01/2023",
+ *  "targetSchool":"Stanford","program":"Master of Science (MS)",
+ *  "firstSemester":"Fall 2022","firstCourse":"CS151","firstCourseGrade":"A",
+ *  "courses":[{"name":"CS166","grade":"A"}],
+ *  "personalCharacteristics":["punctual"],"academicCharacteristics":["worked hard"]}
+ * </pre>
+ *
+ * Only the small subset of JSON needed for these records is supported: objects,
+ * arrays, strings, and bare literals, which are read as strings.
+ */
+public final class RecommendationJson {
+
+	private RecommendationJson() {
+	}
+
+	/**
+	 * Parses a recommendation from a JSON object.
+	 *
+	 * @param json the JSON text
+	 * @return the recommendation
+	 * @throws IllegalArgumentException if the text is not a valid recommendation
+	 */
+	public static Recommendation fromJson(String json) {
+		Object value = parse(json);
+		if (!(value instanceof Map)) {
+			throw new IllegalArgumentException("Expected a JSON object");
+		}
+		Map<?, ?> fields = (Map<?, ?>) value;
+		List<Course> courses = new ArrayList<>();
+		for (Object course : list(fields, "courses")) {
+			if (!(course instanceof Map)) {
+				throw new IllegalArgumentException("Expected course objects in \"courses\"");
+			}
+			courses.add(new Course(string((Map<?, ?>) course, "name"), string((Map<?, ?>) course, "grade")));
+		}
+		return new Recommendation(string(fields, "firstName"), string(fields, "lastName"), string(fields, "gender"),
+				string(fields, "date"), string(fields, "targetSchool"), string(fields, "program"),
+				string(fields, "firstSemester"), string(fields, "firstCourse"), string(fields, "firstCourseGrade"),
+				courses, strings(fields, "personalCharacteristics"), strings(fields, "academicCharacteristics"));
+	}
+
+	/**
+	 * Writes a recommendation as a JSON object.
+	 *
+	 * @param recommendation the recommendation
+	 * @return the JSON text
+	 */
+	public static String toJson(Recommendation recommendation) {
+		StringBuilder json = new StringBuilder(512);
+		json.append('{');
+		field(json, "firstName", recommendation.getFirstName()).append(',');
+		field(json, "lastName", recommendation.getLastName()).append(',');
+		field(json, "gender", recommendation.getGender()).append(',');
+		field(json, "date", recommendation.getTodayDate()).append(',');
+		field(json, "targetSchool", recommendation.getTargetSchool()).append(',');
+		field(json, "program", recommendation.getProgram()).append(',');
+		field(json, "firstSemester", recommendation.getFirstSemester()).append(',');
+		field(json, "firstCourse", recommendation.getFirstCourse()).append(',');
+		field(json, "firstCourseGrade", recommendation.getFirstCourseGrade()).append(',');
+		json.append("\"courses\":[");
+		List<Course> courses = recommendation.getCourses();
+		for (int i = 0; courses != null && i < courses.size(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			json.append('{');
+			field(json, "name", courses.get(i).getName()).append(',');
+			field(json, "grade", courses.get(i).getGrade()).append('}');
+		}
+		json.append("],");
+		appendStrings(json.append("\"personalCharacteristics\":"), recommendation.getPersonalCharacteristics());
+		appendStrings(json.append(",\"academicCharacteristics\":"), recommendation.getAcademicCharacteristics());
+		return json.append('}').toString();
+	}
+
+	/**
+	 * Appends a JSON array of strings.
+	 *
+	 * @param json   the buffer to append to
+	 * @param values the strings, or null for an empty array
+	 * @return the buffer
+	 */
+	public static StringBuilder appendStrings(StringBuilder json, List<String> values) {
+		json.append('[');
+		for (int i = 0; values != null && i < values.size(); i++) {
+			if (i > 0) {
+				json.append(',');
+			}
+			appendString(json, values.get(i));
+		}
+		return json.append(']');
+	}
+
+	/**
+	 * Appends a quoted, escaped JSON string.
+	 *
+	 * @param json  the buffer to append to
+	 * @param value the string, or null for an empty string
+	 * @return the buffer
+	 */
+	public static StringBuilder appendString(StringBuilder json, String value) {
+		json.append('"');
+		if (value != null) {
+			for (int i = 0; i < value.length(); i++) {
+				char c = value.charAt(i);
+				switch (c) {
+				case '"':
+					json.append("\\\"");
+					break;
+				case '\\':
+					json.append("\\\\");
+					break;
+				case '\n':
+					json.append("\\n");
+					break;
+				case '\r':
+					json.append("\\r");
+					break;
+				case '\t':
+					json.append("\\t");
+					break;
+				default:
+					if (c < 0x20) {
+						json.append(String.format("\\u%04x", (int) c));
+					} else {
+						json.append(c);
+					}
+				}
+			}
+		}
+		return json.append('"');
+	}
+
+	/**
+	 * Parses JSON text into maps, lists and strings.
+	 *
+	 * @param json the JSON text
+	 * @return the parsed value
+	 * @throws IllegalArgumentException if the text is malformed
+	 */
+	static Object parse(String json) {
+		Parser parser = new Parser(json);
+		Object value = parser.value();
+		parser.skipWhitespace();
+		if (parser.position != json.length()) {
+			throw parser.error("Unexpected trailing characters");
+		}
+		return value;
+	}
+
+	private static StringBuilder field(StringBuilder json, String name, String value) {
+		return appendString(json.append('"').append(name).append("\":"), value);
+	}
+
+	private static String string(Map<?, ?> fields, String name) {
+		Object value = fields.get(name);
+		if (value == null) {
+			return "";
+		}
+		if (!(value instanceof String)) {
+			throw new IllegalArgumentException("Expected a string for \"" + name + "\"");
+		}
+		return (String) value;
+	}
+
+	private static List<?> list(Map<?, ?> fields, String name) {
+		Object value = fields.get(name);
+		if (value == null) {
+			return new ArrayList<>();
+		}
+		if (!(value instanceof List)) {
+			throw new IllegalArgumentException("Expected an array for \"" + name + "\"");
+		}
+		return (List<?>) value;
+	}
+
+	private static ArrayList<String> strings(Map<?, ?> fields, String name) {
+		ArrayList<String> strings = new ArrayList<>();
+		for (Object value : list(fields, name)) {
+			if (!(value instanceof String)) {
+				throw new IllegalArgumentException("Expected strings in \"" + name + "\"");
+			}
+			strings.add((String) value);
+		}
+		return strings;
+	}
+
+	/**
+	 * A recursive descent parser over one JSON text.
+	 */
+	private static final class Parser {
+		private final String text;
+		private int position;
+
+		Parser(String text) {
+			this.text = text;
+		}
+
+		Object value() {
+			skipWhitespace();
+			if (position >= text.length()) {
+				throw error("Unexpected end of input");
+			}
+			char c = text.charAt(position);
+			if (c == '{') {
+				return object();
+			} else if (c == '[') {
+				return array();
+			} else if (c == '"') {
+				return string();
+			}
+			return literal();
+		}
+
+		Map<String, Object> object() {
+			Map<String, Object> fields = new LinkedHashMap<>();
+			position++;
+			skipWhitespace();
+			if (peek() == '}') {
+				position++;
+				return fields;
+			}
+			while (true) {
+				skipWhitespace();
+				if (peek() != '"') {
+					throw error("Expected a field name");
+				}
+				String name = string();
+				skipWhitespace();
+				expect(':');
+				fields.put(name, value());
+				skipWhitespace();
+				if (peek() == ',') {
+					position++;
+				} else {
+					expect('}');
+					return fields;
+				}
+			}
+		}
+
+		List<Object> array() {
+			List<Object> values = new ArrayList<>();
+			position++;
+			skipWhitespace();
+			if (peek() == ']') {
+				position++;
+				return values;
+			}
+			while (true) {
+				values.add(value());
+				skipWhitespace();
+				if (peek() == ',') {
+					position++;
+				} else {
+					expect(']');
+					return values;
+				}
+			}
+		}
+
+		String string() {
+			position++;
+			StringBuilder value = null;
+			int start = position;
+			while (position < text.length()) {
+				char c = text.charAt(position);
+				if (c == '"') {
+					String result = value == null ? text.substring(start, position)
+							: value.append(text, start, position).toString();
+					position++;
+					return result;
+				}
+				if (c == '\\') {
+					if (value == null) {
+						value = new StringBuilder();
+					}
+					value.append(text, start, position);
+					value.append(escape());
+					start = position;
+				} else {
+					position++;
+				}
+			}
+			throw error("Unterminated string");
+		}
+
+		private char escape() {
+			if (position + 1 >= text.length()) {
+				throw error("Unterminated escape");
+			}
+			char c = text.charAt(position + 1);
+			position += 2;
+			switch (c) {
+			case 'n':
+				return '\n';
+			case 'r':
+				return '\r';
+			case 't':
+				return '\t';
+			case 'b':
+				return '\b';
+			case 'f':
+				return '\f';
+			case 'u':
+				if (position + 4 > text.length()) {
+					throw error("Bad unicode escape");
+				}
+				try {
+					char decoded = (char) Integer.parseInt(text.substring(position, position + 4), 16);
+					position += 4;
+					return decoded;
+				} catch (NumberFormatException e) {
+					throw error("Bad unicode escape");
+				}
+			default:
+				return c;
+			}
+		}
+
+		String literal() {
+			int start = position;
+			while (position < text.length() && ",}] \t\r\n".indexOf(text.charAt(position)) < 0) {
+				position++;
+			}
+			String literal = text.substring(start, position);
+			if (literal.isEmpty()) {
+				throw error("Unexpected character");
+			}
+			return "null".equals(literal) ? null : literal;
+		}
+
+		void skipWhitespace() {
+			while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+				position++;
+			}
+		}
+
+		private char peek() {
+			return position < text.length() ? text.charAt(position) : '\0';
+		}
+
+		private void expect(char c) {
+			if (peek() != c) {
+				throw error("Expected '" + c + "'");
+			}
+			position++;
+		}
+
+		IllegalArgumentException error(String message) {
+			return new IllegalArgumentException(message + " at column " + (position + 1));
+		}
+	}
+}
@@ -10,18 +10,17 @@
  */
 package application;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 
 import java.util.regex.Matcher;
@@ -29,21 +28,51 @@ import java.util.regex.Pattern;
 
 /**
  * Manages recommendations for the application.
+ *
+ * <p>
+ * All methods are thread-safe, so letters can be saved, searched and removed
+ * from background threads and from the {@link LetterServer} while the screens
+ * use the same manager. Changes to the catalog are made one at a time under
+ * one lock and never leave the recommendation list, the last name map and the
+ * search indexes out of step. Readers take no lock: {@link #getRecommendations}
+ * returns a snapshot, copied at most once per change, and recommendations are
+ * looked up by last name in a concurrent map whose lists are replaced rather
+ * than changed. The observable list of file names shown by the screens is a
+ * copy, updated on the UI thread by an {@link ObservableListPublisher}; set
+ * its executor with {@link #setUiExecutor}.
+ *
+ * <p>
+ * Rendering and searching are timed, and the catalog size reported, in the
+ * application {@link MetricsRegistry}, and recorded as {@link FlightEvents}.
  */
 public class RecommendationManager {
 	private SharedDataModel sharedDataModel;
-	private List<Recommendation> recommendations;
-	public HashMap<String, String> lastNameFileMap;
+	private final Object catalogLock = new Object();
+	private final List<Recommendation> recommendations = new ArrayList<>();
+	private volatile List<Recommendation> recommendationSnapshot = Collections.emptyList();
+	private final Map<String, List<Recommendation>> recommendationsByLastName = new ConcurrentHashMap<>();
+	public final Map<String, String> lastNameFileMap = new ConcurrentHashMap<>();
 	Faculty faculty;
-	private ObservableList<String> recommendationFileNames = FXCollections.observableArrayList();
+	private final ObservableListPublisher<String> recommendationFileNames = new ObservableListPublisher<>(
+			Runnable::run);
+	private final PrefixIndex<String> fileNameIndex = new PrefixIndex<>();
+	private final LetterIndex letterIndex = new LetterIndex();
+	private final FuzzyIndex<Recommendation> nameIndex = new FuzzyIndex<>();
+	private final FuzzyIndex<String> fileNameFuzzyIndex = new FuzzyIndex<>();
+	private final RenderedLetterCache renderedLetters = new RenderedLetterCache(RenderedLetterCache.DEFAULT_MAX_CHARS);
+	private volatile RecommendationStore recommendationStore;
+	private final MetricsRegistry metrics = MetricsRegistry.getDefault();
+	private final LatencyHistogram renderLatency = metrics.histogram("letter.render");
+	private final LatencyHistogram letterSearchLatency = metrics.histogram("search.letters");
+	private final LatencyHistogram nameSearchLatency = metrics.histogram("search.names");
+	private final MetricsRegistry.Counter addedCount = metrics.counter("recommendations.added");
+	private final MetricsRegistry.Counter saveFailures = metrics.counter("letter.save.failed");
 
 	/**
 	 * Constructor for the RecommendationManager.
 	 */
 	public RecommendationManager(SharedDataModel sharedDataModel) {
-		recommendations = new ArrayList<>();
 		this.sharedDataModel = sharedDataModel != null ? sharedDataModel : new SharedDataModel();
-		this.lastNameFileMap = new HashMap<>();
 	}
 
 	/**
@@ -53,7 +82,6 @@ public class RecommendationManager {
 	 * @param faculty the faculty instance
 	 */
 	public RecommendationManager(Faculty faculty, SharedDataModel sharedDataModel) {
-		recommendations = new ArrayList<>();
 		this.sharedDataModel = sharedDataModel != null ? sharedDataModel : new SharedDataModel();
 
 		this.faculty = faculty != null ? faculty : new Faculty(); 
@@ -61,6 +89,23 @@ public class RecommendationManager {
 		this.sharedDataModel.setFaculty(this.faculty);
 	}
 
+	/**
+	 * Reports the catalog size, the letter index and the rendered letter cache
+	 * of this manager in the application metrics. The gauges replace those of
+	 * any manager registered before, so only the application's own manager
+	 * should be registered.
+	 */
+	public void registerGauges() {
+		metrics.gauge("catalog.recommendations", () -> {
+			synchronized (catalogLock) {
+				return recommendations.size();
+			}
+		});
+		metrics.gauge("search.letters.terms", letterIndex::getTermCount);
+		metrics.gauge("letter.render.cache.hits", renderedLetters::getHitCount);
+		metrics.gauge("letter.render.cache.misses", renderedLetters::getMissCount);
+	}
+
 	/**
 	 * Adds a recommendation and saves it as a text file.
 	 *
@@ -68,52 +113,239 @@ public class RecommendationManager {
 	 * @param filePath       the file path for saving the recommendation
 	 */
 	public void addRecommendation(Recommendation recommendation, String filePath) {
-		System.out.println("Before adding recommendation: " + recommendations);
-		recommendations.add(recommendation);
-		System.out.println("After adding recommendation: " + recommendations);
+		addRecommendations(Collections.singletonList(recommendation));
 		saveAsTextFile(recommendation, filePath);
-		System.out.println("Recommendation added: " + recommendation.toString());
 	}
 
 	/**
-	 * Saves a recommendation as a text file.
+	 * Adds several recommendations at once without saving letters for them, for
+	 * example when they are loaded from a batch file.
 	 *
-	 * @param recommendation the recommendation object
-	 * @param filePath       the file path for saving the recommendation
+	 * @param added the recommendations to add
 	 */
-	public void saveAsTextFile(Recommendation recommendation, String filePath) {
-		String fileName = generateFormattedText(recommendation);
+	public void addRecommendations(List<Recommendation> added) {
+		synchronized (catalogLock) {
+			recommendations.addAll(added);
+			for (Recommendation recommendation : added) {
+				index(recommendation);
+			}
+			recommendationSnapshot = null;
+		}
+		addedCount.add(added.size());
+	}
 
-		String folderPath = "src/CompiledRecommendations/";
-		File file = new File(folderPath + fileName);
+	/**
+	 * Saves the letter for a recommendation to the recommendation store. The
+	 * letter is added to the catalog right away and written in the background.
+	 *
+	 * @param recommendation the recommendation object
+	 * @param filePath       the file name the letter is stored under; any
+	 *                       directory part is ignored
+	 * @return a future completed once the letter is durably saved
+	 */
+	public CompletableFuture<Void> saveAsTextFile(Recommendation recommendation, String filePath) {
+		if (recommendationStore == null) {
+			System.out.println("No recommendation store is open; " + filePath + " was not saved.");
+			return CompletableFuture.completedFuture(null);
+		}
+		String fileName = Paths.get(filePath).getFileName().toString();
+		addRecommendationFile(fileName);
+		return saveLetter(fileName, generateFormattedText(recommendation));
+	}
 
-		try {
-			File folder = new File(folderPath);
-			if (!folder.exists()) {
-				folder.mkdirs();
+	/**
+	 * Saves a letter to the recommendation store and updates the full-text
+	 * index. The index is updated right away; the letter is written in the
+	 * background.
+	 *
+	 * @param fileName the name the letter is stored under
+	 * @param text     the letter text
+	 * @return a future completed once the letter is durably saved
+	 */
+	public CompletableFuture<Void> saveLetter(String fileName, String text) {
+		letterIndex.update(fileName, text);
+		CompletableFuture<Void> saved = recommendationStore.writeAsync(fileName, text);
+		saved.whenComplete((ignored, error) -> {
+			if (error != null) {
+				saveFailures.increment();
+				System.out.println("Failed to save " + fileName + ": " + error.getMessage());
 			}
+		});
+		return saved;
+	}
+
+	/**
+	 * Sets the executor the observable list of file names is updated on, such
+	 * as {@code Platform::runLater}. Until it is set, the list is updated on
+	 * the thread making the change.
+	 *
+	 * @param uiExecutor the executor
+	 */
+	public void setUiExecutor(Executor uiExecutor) {
+		recommendationFileNames.setExecutor(uiExecutor);
+	}
+
+	/**
+	 * Sets the store the compiled letters are read from and saved to.
+	 *
+	 * @param recommendationStore the recommendation store
+	 */
+	public void setRecommendationStore(RecommendationStore recommendationStore) {
+		this.recommendationStore = recommendationStore;
+	}
+
+	/**
+	 * Returns the store the compiled letters are read from and saved to.
+	 *
+	 * @return the recommendation store, or null if none has been set
+	 */
+	public RecommendationStore getRecommendationStore() {
+		return recommendationStore;
+	}
 
-			FileWriter fileWriter = new FileWriter(file);
-			BufferedWriter bufferedWriter = new BufferedWriter(fileWriter);
+	/**
+	 * Returns the full-text index over the saved letters.
+	 *
+	 * @return the letter index
+	 */
+	public LetterIndex getLetterIndex() {
+		return letterIndex;
+	}
 
-			bufferedWriter.write(filePath);
+	/**
+	 * Finds the saved letters containing the words of a query, best match
+	 * first. See {@link LetterIndex} for the query syntax.
+	 *
+	 * @param query the words or phrases to look for
+	 * @param limit the maximum number of letters to return
+	 * @return the names of the matching letters
+	 */
+	public List<String> searchLetters(String query, int limit) {
+		FlightEvents.Search event = new FlightEvents.Search();
+		event.begin();
+		long start = System.nanoTime();
+		List<String> found = letterIndex.search(query, limit);
+		letterSearchLatency.recordSince(start);
+		commitSearch(event, "letters", query, found.size());
+		return found;
+	}
 
-			bufferedWriter.close();
-			fileWriter.close();
-		} catch (IOException e) {
-			e.printStackTrace();
+	/**
+	 * Records a search in the flight recording, if one is running.
+	 *
+	 * @param event   the event, begun when the search started
+	 * @param kind    what was searched
+	 * @param query   the search text
+	 * @param results the number of results
+	 */
+	static void commitSearch(FlightEvents.Search event, String kind, String query, int results) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.kind = kind;
+			event.queryLength = query == null ? 0 : query.length();
+			event.results = results;
+			event.commit();
 		}
 	}
 
 	/**
-	 * Saves a recommendation as a text file.
+	 * Returns the recommendations held by this manager. The list is a read-only
+	 * snapshot that later changes do not affect; use the add, update and
+	 * remove methods so the search indexes stay current.
 	 *
-	 * @param recommendation the recommendation object
-	 * @param filePath       the file path for saving the recommendation
+	 * @return an unmodifiable snapshot of the recommendations
 	 */
 	public List<Recommendation> getRecommendations() {
+		List<Recommendation> snapshot = recommendationSnapshot;
+		if (snapshot != null) {
+			return snapshot;
+		}
+		synchronized (catalogLock) {
+			if (recommendationSnapshot == null) {
+				recommendationSnapshot = Collections.unmodifiableList(new ArrayList<>(recommendations));
+			}
+			return recommendationSnapshot;
+		}
+	}
+
+	/**
+	 * Removes a recommendation from this manager.
+	 *
+	 * @param recommendation the recommendation to remove
+	 * @return true if the recommendation was present
+	 */
+	public boolean removeRecommendation(Recommendation recommendation) {
+		synchronized (catalogLock) {
+			if (!recommendations.remove(recommendation)) {
+				return false;
+			}
+			unindex(recommendation);
+			recommendationSnapshot = null;
+			return true;
+		}
+	}
+
+	/**
+	 * Adds a recommendation to the name indexes. Called with the catalog lock
+	 * held.
+	 */
+	private void index(Recommendation recommendation) {
+		recommendationsByLastName.compute(lastNameKey(recommendation.getLastName()), (key, list) -> {
+			List<Recommendation> updated = list == null ? new ArrayList<>(1) : new ArrayList<>(list);
+			updated.add(recommendation);
+			return Collections.unmodifiableList(updated);
+		});
+		nameIndex.add(recommendation.getLastName(), recommendation);
+		nameIndex.add(recommendation.getFirstName(), recommendation);
+	}
+
+	/**
+	 * Removes a recommendation from the name indexes. Called with the catalog
+	 * lock held.
+	 */
+	private void unindex(Recommendation recommendation) {
+		recommendationsByLastName.computeIfPresent(lastNameKey(recommendation.getLastName()), (key, list) -> {
+			List<Recommendation> updated = new ArrayList<>(list);
+			updated.remove(recommendation);
+			return updated.isEmpty() ? null : Collections.unmodifiableList(updated);
+		});
+		nameIndex.remove(recommendation.getLastName(), recommendation);
+		nameIndex.remove(recommendation.getFirstName(), recommendation);
+	}
+
+	private static String lastNameKey(String lastName) {
+		return lastName == null ? "" : lastName.toLowerCase(Locale.ROOT);
+	}
+
+	/**
+	 * Returns the recommendations for students with the given last name, ignoring
+	 * case.
+	 *
+	 * @param lastName the last name to look up
+	 * @return the matching recommendations
+	 */
+	public List<Recommendation> findRecommendationsByLastName(String lastName) {
+		return recommendationsByLastName.getOrDefault(lastNameKey(lastName), Collections.emptyList());
+	}
 
-		return recommendations;
+	/**
+	 * Returns the recommendations for students whose first or last name is
+	 * within the given edit distance of a possibly misspelled name, closest
+	 * first.
+	 *
+	 * @param name        the name to look up
+	 * @param maxDistance the number of typos to allow
+	 * @param limit       the maximum number of recommendations to return
+	 * @return the matching recommendations
+	 */
+	public List<Recommendation> findRecommendationsByNameFuzzy(String name, int maxDistance, int limit) {
+		FlightEvents.Search event = new FlightEvents.Search();
+		event.begin();
+		long start = System.nanoTime();
+		List<Recommendation> found = nameIndex.findSimilar(name, maxDistance, limit);
+		nameSearchLatency.recordSince(start);
+		commitSearch(event, "names", name, found.size());
+		return found;
 	}
 
 	/**
@@ -125,106 +357,123 @@ public class RecommendationManager {
 	 *                              recommendation
 	 */
 	public void updateRecommendation(int index, Recommendation updatedRecommendation, String filePath) {
-		recommendations.set(index, updatedRecommendation);
+		synchronized (catalogLock) {
+			Recommendation previous = recommendations.set(index, updatedRecommendation);
+			unindex(previous);
+			index(updatedRecommendation);
+			recommendationSnapshot = null;
+		}
 		saveAsTextFile(updatedRecommendation, filePath);
 	}
 
 	/**
-	 * Generates a formatted text string for a given recommendation.
+	 * Replaces a recommendation with an updated one in the same position,
+	 * without saving a letter. Unlike {@link #updateRecommendation}, this
+	 * cannot replace the wrong recommendation when others are added or
+	 * removed at the same time.
 	 *
-	 * @param recommendation the recommendation object
-	 * @return a formatted text string for the recommendation
+	 * @param previous the recommendation to replace
+	 * @param updated  the recommendation to put in its place
+	 * @return true if the previous recommendation was present
 	 */
-	public String generateFormattedText(Recommendation recommendation) {
-		StringBuilder text = new StringBuilder();
-
-		List<Course> courses = recommendation.getCourses();
-		String firstName = recommendation.getFirstName().substring(0, 1).toUpperCase()
-				+ recommendation.getFirstName().substring(1);
-		String lastName = recommendation.getLastName().substring(0, 1).toUpperCase()
-				+ recommendation.getLastName().substring(1);
-
-		String additionalCoursesText = "";
-		if (courses.size() > 1) {
-			List<String> courseTexts = new ArrayList<>();
-			for (int i = 0; i < courses.size(); i++) {
-				Course course = courses.get(i);
-				courseTexts.add(String.format("%s from my \"%s\"", formatGrade(course.getGrade()), course.getName()));
-			}
-			if (courseTexts.size() > 1) {
-				additionalCoursesText = String.join(", ", courseTexts.subList(0, courseTexts.size() - 1));
-				additionalCoursesText += " and " + courseTexts.get(courseTexts.size() - 1);
-			} else {
-				additionalCoursesText = courseTexts.get(0);
+	public boolean replaceRecommendation(Recommendation previous, Recommendation updated) {
+		synchronized (catalogLock) {
+			int index = recommendations.indexOf(previous);
+			if (index < 0) {
+				return false;
 			}
-			additionalCoursesText = String.format("\n%s also earned %s course%s.", firstName, additionalCoursesText,
-					courses.size() > 1 ? "s" : "");
+			recommendations.set(index, updated);
+			unindex(previous);
+			index(updated);
+			recommendationSnapshot = null;
+			return true;
 		}
+	}
 
-		String gender = recommendation.getGender().toLowerCase();
-		String genderCapitalized = gender.substring(0, 1).toUpperCase() + gender.substring(1);
-		String genderObjective = gender.equals("he") ? "him" : (gender.equals("she") ? "her" : "them");
-
-		text.append("Letter of Recommendation\n");
-		text.append("For: ").append(firstName).append(" ").append(lastName).append("\n");
-		text.append("\n").append("Date: ").append(recommendation.getTodayDate()).append("\n\n");
-		text.append("To: Graduate Admissions Committee\n");
-		text.append("\n").append("I am writing this letter to recommend my former student ").append(firstName)
-				.append(" ").append(lastName).append(", who is applying for the ").append(recommendation.getProgram())
-				.append(" in your school.\n");
-		text.append("\n").append("I met ").append(firstName).append(" in ").append(recommendation.getFirstSemester())
-				.append(" when ").append(gender).append(" enrolled in my \"").append(recommendation.getFirstCourse())
-				.append("\" course.");
-		text.append("\n").append(firstName).append(" earned \"").append(recommendation.getFirstCourseGrade())
-				.append("\" from this tough course, and this shows how knowledgeable and a hard worker ").append(gender)
-				.append(" is.");
-		text.append("\n");
-		if (!additionalCoursesText.isEmpty()) {
-			text.append(additionalCoursesText);
-		}
-		text.append("\n").append(genderCapitalized).append(" ")
-				.append(String.join(", ", recommendation.getAcademicCharacteristics()));
-		if (recommendation.getAcademicCharacteristics().size() > 1) {
-			int lastIndex = text.lastIndexOf(",");
-			text.replace(lastIndex, lastIndex + 1, ", and");
+	/**
+	 * Adds a recommendation, or replaces the one already in the catalog for
+	 * the same student, so saving a student's letter again does not list the
+	 * student twice. Two recommendations are for the same student if their
+	 * first and last names are equal, as their letters have the same name.
+	 *
+	 * @param recommendation the recommendation to add
+	 * @return true if it replaced an earlier recommendation
+	 */
+	public boolean putRecommendation(Recommendation recommendation) {
+		synchronized (catalogLock) {
+			for (Recommendation previous : recommendationsByLastName
+					.getOrDefault(lastNameKey(recommendation.getLastName()), Collections.emptyList())) {
+				if (Objects.equals(previous.getLastName(), recommendation.getLastName())
+						&& Objects.equals(previous.getFirstName(), recommendation.getFirstName())) {
+					return replaceRecommendation(previous, recommendation);
+				}
+			}
+			addRecommendations(Collections.singletonList(recommendation));
+			return false;
 		}
-		text.append(".");
-		text.append("\n").append(genderCapitalized).append(" was always ")
-				.append(String.join(", ", recommendation.getPersonalCharacteristics()));
-		if (recommendation.getPersonalCharacteristics().size() > 1) {
-			int lastIndex = text.lastIndexOf(",");
-			text.replace(lastIndex, lastIndex + 1, ", and");
+	}
+
+	/**
+	 * Generates a formatted text string for a given recommendation. A letter
+	 * rendered recently for the same fields and faculty signature is returned
+	 * from the rendered letter cache.
+	 *
+	 * @param recommendation the recommendation object
+	 * @return a formatted text string for the recommendation
+	 */
+	public String generateFormattedText(Recommendation recommendation) {
+		FlightEvents.LetterRender event = new FlightEvents.LetterRender();
+		event.begin();
+		long start = System.nanoTime();
+		RenderedLetterCache.Key key = RenderedLetterCache.key(recommendation, sharedDataModel.getFacultyVersion());
+		String text = renderedLetters.get(key);
+		boolean cached = text != null;
+		if (text == null) {
+			text = LetterTemplate.DEFAULT.render(recommendation, sharedDataModel.getFaculty());
+			renderedLetters.put(key, text);
 		}
-		text.append(".");
-		text.append("\n").append("\nFurthermore, I noticed from the term project result, ").append(gender)
-				.append(" developed leadership, time management, and problem-solving skills. ")
-				.append(genderCapitalized)
-				.append(" worked effectively with the team members and delegated tasks appropriately. They were able to deliver a successful project in a timely fashion.\n");
-		text.append("\nI believe that ").append(firstName).append(
-				" has the capacity to excel at a higher education program and this is my pleasure to highly recommend ")
-				.append(genderObjective).append(". ");
-		text.append("Please do not hesitate to contact me with further questions.\n");
-		text.append("\n").append("Very Respectfully,\n");
-
-		Faculty faculty = sharedDataModel.getFaculty();
-		if (faculty != null) {
-			text.append(faculty.getSignature());
-		} else {
-			text.append(
-					"Faculty First Name Faculty Last Name\nFaculty Role\nFaculty School\nFaculty Department\nEmail: Faculty Email\nPhone: Faculty Phone");
+		renderLatency.recordSince(start);
+		commitRender(event, recommendation, text.length(), cached);
+		return text;
+	}
+
+	private static void commitRender(FlightEvents.LetterRender event, Recommendation recommendation, int characters,
+			boolean cached) {
+		event.end();
+		if (event.shouldCommit()) {
+			event.characters = characters;
+			event.courses = recommendation.getCourses() == null ? 0 : recommendation.getCourses().size();
+			event.cached = cached;
+			event.commit();
 		}
-		return text.toString();
 	}
 
 	/**
-	 * Formats the given grade by converting it to uppercase and surrounding it with
-	 * quotes.
+	 * Returns the cache of recently rendered letters.
+	 *
+	 * @return the rendered letter cache
+	 */
+	public RenderedLetterCache getRenderedLetterCache() {
+		return renderedLetters;
+	}
+
+	/**
+	 * Generates the formatted text for a given recommendation, appending it to
+	 * the given buffer instead of returning a new string, so a caller rendering
+	 * many letters can reuse one buffer. The rendered letter cache is bypassed,
+	 * since such letters are rarely rendered twice.
 	 *
-	 * @param grade the grade to format
-	 * @return the formatted grade
+	 * @param recommendation the recommendation object
+	 * @param out            the buffer the text is appended to
 	 */
-	private String formatGrade(String grade) {
-		return "\"" + grade.toUpperCase() + "\"";
+	public void generateFormattedText(Recommendation recommendation, StringBuilder out) {
+		FlightEvents.LetterRender event = new FlightEvents.LetterRender();
+		event.begin();
+		long start = System.nanoTime();
+		int length = out.length();
+		LetterTemplate.DEFAULT.renderTo(recommendation, sharedDataModel.getFaculty(), out);
+		renderLatency.recordSince(start);
+		commitRender(event, recommendation, out.length() - length, false);
 	}
 
 	/**
@@ -244,7 +493,11 @@ public class RecommendationManager {
 	 *                 deleted
 	 */
 	public void deleteRecommendationByLastName(String lastName) {
-		recommendations.removeIf(recommendation -> recommendation.getLastName().equalsIgnoreCase(lastName));
+		synchronized (catalogLock) {
+			for (Recommendation recommendation : findRecommendationsByLastName(lastName)) {
+				removeRecommendation(recommendation);
+			}
+		}
 	}
 
 	/**
@@ -253,29 +506,142 @@ public class RecommendationManager {
 	 * @param fileName the name of the recommendation file to add
 	 */
 	public void addRecommendationFile(String fileName) {
-		recommendationFileNames.add(fileName);
+		addRecommendationFiles(Collections.singletonList(fileName));
+	}
+
+	/**
+	 * Adds several recommendation files at once. The file name list is updated
+	 * with a single change, so listeners see one event per batch.
+	 *
+	 * @param fileNames the names of the recommendation files to add
+	 */
+	public void addRecommendationFiles(List<String> fileNames) {
+		synchronized (catalogLock) {
+			List<String> added = new ArrayList<>(fileNames.size());
+			for (String fileName : fileNames) {
+				// Names differing only in case are different letters.
+				if (!fileNameIndex.contains(fileName, fileName)) {
+					fileNameIndex.add(fileName, fileName);
+					indexFileNameParts(fileName);
+					added.add(fileName);
+				}
+			}
+			recommendationFileNames.addAll(added);
+		}
+	}
+
+	/**
+	 * Returns the recommendation file names starting with the given prefix,
+	 * ignoring case, in alphabetical order.
+	 *
+	 * @param prefix the prefix to match, usually the start of a last name
+	 * @return the matching file names
+	 */
+	public List<String> searchRecommendationFiles(String prefix) {
+		return fileNameIndex.findByPrefix(prefix);
+	}
+
+	/**
+	 * Returns one page of the recommendation file names starting with the given
+	 * prefix, ignoring case, in alphabetical order.
+	 *
+	 * @param prefix the prefix to match
+	 * @param offset the number of matches to skip
+	 * @param limit  the maximum number of matches to return
+	 * @return the matching file names on the requested page
+	 */
+	public List<String> searchRecommendationFiles(String prefix, int offset, int limit) {
+		return fileNameIndex.findByPrefix(prefix, offset, limit);
+	}
+
+	/**
+	 * Returns the recommendation file names with a name part, such as the last
+	 * or first name in {@code Last_First.txt}, within the given edit distance of
+	 * a possibly misspelled name, closest first.
+	 *
+	 * @param name        the name to look up
+	 * @param maxDistance the number of typos to allow
+	 * @param limit       the maximum number of file names to return
+	 * @return the matching file names
+	 */
+	public List<String> searchRecommendationFilesFuzzy(String name, int maxDistance, int limit) {
+		FlightEvents.Search event = new FlightEvents.Search();
+		event.begin();
+		long start = System.nanoTime();
+		List<String> found = fileNameFuzzyIndex.findSimilar(name, maxDistance, limit);
+		nameSearchLatency.recordSince(start);
+		commitSearch(event, "files", name, found.size());
+		return found;
 	}
 
 	/**
-	 * Returns an ObservableList of recommendation file names.
+	 * Counts the recommendation file names starting with the given prefix.
 	 *
-	 * @return an ObservableList containing the names of recommendation files
+	 * @param prefix the prefix to match
+	 * @return the number of matching file names
+	 */
+	public int countRecommendationFiles(String prefix) {
+		return fileNameIndex.countByPrefix(prefix);
+	}
+
+	/**
+	 * Returns an ObservableList of recommendation file names, for the screens.
+	 * It is updated on the UI executor shortly after each change, so it is
+	 * only to be read there; other threads should use
+	 * {@link #searchRecommendationFiles}.
+	 *
+	 * @return a read-only ObservableList containing the names of recommendation
+	 *         files
 	 */
 	public ObservableList<String> getRecommendationFileNames() {
-		return recommendationFileNames;
+		return recommendationFileNames.getList();
+	}
+
+	/**
+	 * Applies the queued changes to the observable list of file names on the
+	 * calling thread, for tools and tests running without a UI thread.
+	 */
+	public void flushRecommendationFileNames() {
+		recommendationFileNames.flush();
 	}
 
 	/**
-	 * Removes the specified recommendation file from the list and deletes the file.
+	 * Removes the specified recommendation file from the list and deletes the
+	 * letter from the recommendation store in the background.
 	 *
 	 * @param fileName the name of the recommendation file to remove
+	 * @return a future completed with whether the letter existed once the
+	 *         deletion is durably saved
 	 */
-	public void removeRecommendationFile(String fileName) {
-		recommendationFileNames.remove(fileName);
-		try {
-			Files.deleteIfExists(Paths.get(fileName));
-		} catch (IOException e) {
-			e.printStackTrace();
+	public CompletableFuture<Boolean> removeRecommendationFile(String fileName) {
+		synchronized (catalogLock) {
+			if (fileNameIndex.remove(fileName, fileName)) {
+				recommendationFileNames.remove(fileName);
+				for (String part : fileNameParts(fileName)) {
+					fileNameFuzzyIndex.remove(part, fileName);
+				}
+			}
+			letterIndex.remove(fileName);
+		}
+		RecommendationStore store = recommendationStore;
+		if (store == null) {
+			return CompletableFuture.completedFuture(false);
+		}
+		return store.deleteAsync(fileName);
+	}
+
+	private void indexFileNameParts(String fileName) {
+		for (String part : fileNameParts(fileName)) {
+			fileNameFuzzyIndex.add(part, fileName);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Splits a letter name such as {@code Last_First.txt} into its name parts.
+	 */
+	private static String[] fileNameParts(String fileName) {
+		String baseName = fileName.endsWith(".txt") ? fileName.substring(0, fileName.length() - ".txt".length())
+				: fileName;
+		return baseName.split("_");
+	}
+}
@@ -0,0 +1,211 @@
+/**
+ * Streaming reader of recommendation records from JSONL or CSV input.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streams recommendations out of a JSONL or CSV file one record at a time, so
+ * the input never has to fit in memory.
+ *
+ * <p>
+ * JSONL files hold one object per line in the format read by
+ * {@link RecommendationJson}. CSV files start with a header row naming the same
+ * fields; list fields are separated by semicolons, and each course in the
+ * {@code courses} column is written as {@code name:grade}.
+ */
+public class RecommendationRecordReader implements Closeable {
+
+	/**
+	 * The supported input formats.
+	 */
+	public enum Format {
+		JSONL, CSV
+	}
+
+	private final BufferedReader reader;
+	private final Format format;
+	private Map<String, Integer> columns;
+	private long lineNumber;
+
+	/**
+	 * Constructor for the RecommendationRecordReader.
+	 *
+	 * @param reader the reader to stream records from
+	 * @param format the format of the records
+	 */
+	public RecommendationRecordReader(BufferedReader reader, Format format) {
+		this.reader = reader;
+		this.format = format;
+	}
+
+	/**
+	 * Opens a reader over the given file, choosing the format from the file
+	 * extension ({@code .csv} for CSV, anything else for JSONL).
+	 *
+	 * @param path the input file
+	 * @return the reader
+	 * @throws IOException if the file cannot be opened
+	 */
+	public static RecommendationRecordReader open(Path path) throws IOException {
+		String name = path.getFileName().toString().toLowerCase();
+		Format format = name.endsWith(".csv") ? Format.CSV : Format.JSONL;
+		return new RecommendationRecordReader(Files.newBufferedReader(path, StandardCharsets.UTF_8), format);
+	}
+
+	/**
+	 * Reads the next recommendation.
+	 *
+	 * @return the next recommendation, or null at the end of the input
+	 * @throws IOException              if the input cannot be read
+	 * @throws IllegalArgumentException if the record is malformed; reading can
+	 *                                  continue with the next record
+	 */
+	public Recommendation read() throws IOException {
+		if (format == Format.CSV && columns == null) {
+			List<String> header = readCsvRecord();
+			if (header == null) {
+				return null;
+			}
+			columns = new HashMap<>();
+			for (int i = 0; i < header.size(); i++) {
+				columns.put(header.get(i).trim(), i);
+			}
+		}
+		while (true) {
+			if (format == Format.JSONL) {
+				String line = reader.readLine();
+				if (line == null) {
+					return null;
+				}
+				lineNumber++;
+				if (line.isBlank()) {
+					continue;
+				}
+				try {
+					return RecommendationJson.fromJson(line);
+				} catch (IllegalArgumentException e) {
+					throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+				}
+			}
+			List<String> record = readCsvRecord();
+			if (record == null) {
+				return null;
+			}
+			if (record.size() == 1 && record.get(0).isBlank()) {
+				continue;
+			}
+			return fromCsv(record);
+		}
+	}
+
+	/**
+	 * Returns the number of lines read so far.
+	 *
+	 * @return the current line number
+	 */
+	public long getLineNumber() {
+		return lineNumber;
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	private Recommendation fromCsv(List<String> record) {
+		List<Course> courses = new ArrayList<>();
+		for (String course : split(column(record, "courses"))) {
+			int separator = course.lastIndexOf(':');
+			if (separator < 0) {
+				throw new IllegalArgumentException("Line " + lineNumber + ": expected name:grade for course " + course);
+			}
+			courses.add(new Course(course.substring(0, separator).trim(), course.substring(separator + 1).trim()));
+		}
+		return new Recommendation(column(record, "firstName"), column(record, "lastName"), column(record, "gender"),
+				column(record, "date"), column(record, "targetSchool"), column(record, "program"),
+				column(record, "firstSemester"), column(record, "firstCourse"), column(record, "firstCourseGrade"),
+				courses, split(column(record, "personalCharacteristics")),
+				split(column(record, "academicCharacteristics")));
+	}
+
+	private String column(List<String> record, String name) {
+		Integer index = columns.get(name);
+		return index == null || index >= record.size() ? "" : record.get(index);
+	}
+
+	private static ArrayList<String> split(String list) {
+		ArrayList<String> values = new ArrayList<>();
+		for (String value : list.split(";")) {
+			if (!value.isBlank()) {
+				values.add(value.trim());
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Reads one CSV record, following quoted fields across line breaks.
+	 *
+	 * @return the fields of the record, or null at the end of the input
+	 */
+	private List<String> readCsvRecord() throws IOException {
+		String line = reader.readLine();
+		if (line == null) {
+			return null;
+		}
+		lineNumber++;
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		int i = 0;
+		while (true) {
+			if (i >= line.length()) {
+				if (!quoted) {
+					break;
+				}
+				line = reader.readLine();
+				if (line == null) {
+					throw new IllegalArgumentException("Line " + lineNumber + ": unterminated quoted field");
+				}
+				lineNumber++;
+				field.append('\n');
+				i = 0;
+				continue;
+			}
+			char c = line.charAt(i++);
+			if (quoted) {
+				if (c == '"' && i < line.length() && line.charAt(i) == '"') {
+					field.append('"');
+					i++;
+				} else if (c == '"') {
+					quoted = false;
+				} else {
+					field.append(c);
+				}
+			} else if (c == '"') {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+}
@@ -11,7 +11,6 @@
 package application;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Handles searching for recommendations.
@@ -35,9 +34,31 @@ public class RecommendationSearch {
 	 * @return a list of recommendations with the specified last name
 	 */
 	public List<Recommendation> searchByLastName(String lastName) {
-		return recommendationManager.getRecommendations().stream()
-				.filter(recommendation -> recommendation.getLastName().equalsIgnoreCase(lastName))
-				.collect(Collectors.toList());
+		return recommendationManager.findRecommendationsByLastName(lastName);
+	}
+
+	/**
+	 * Searches for recommendations by first or last name, allowing for typos.
+	 * Names of up to two characters must match exactly, names of up to five
+	 * may have one typo and longer names two.
+	 *
+	 * @param name the name to search for, possibly misspelled
+	 * @return the matching recommendations, closest names first
+	 */
+	public List<Recommendation> searchByNameFuzzy(String name) {
+		return searchByNameFuzzy(name, FuzzyIndex.autoDistance(name.trim().length()));
+	}
+
+	/**
+	 * Searches for recommendations by first or last name, allowing up to the
+	 * given number of inserted, deleted or replaced characters.
+	 *
+	 * @param name        the name to search for, possibly misspelled
+	 * @param maxDistance the number of typos to allow
+	 * @return the matching recommendations, closest names first
+	 */
+	public List<Recommendation> searchByNameFuzzy(String name, int maxDistance) {
+		return recommendationManager.findRecommendationsByNameFuzzy(name.trim(), maxDistance, Integer.MAX_VALUE);
 	}
 
 	/**
@@ -47,7 +68,7 @@ public class RecommendationSearch {
 	 * @param newRecommendation the new recommendation object
 	 */
 	public void editRecommendation(Recommendation oldRecommendation, Recommendation newRecommendation) {
-		recommendationManager.getRecommendations().remove(oldRecommendation);
+		recommendationManager.removeRecommendation(oldRecommendation);
 
 		String fileName = newRecommendation.getFirstName() + "_" + newRecommendation.getLastName()
 				+ "_recommendation.txt";
@@ -60,6 +81,6 @@ public class RecommendationSearch {
 	 * @param recommendation the recommendation object to delete
 	 */
 	public void deleteRecommendation(Recommendation recommendation) {
-		recommendationManager.getRecommendations().remove(recommendation);
+		recommendationManager.removeRecommendation(recommendation);
 	}
 }
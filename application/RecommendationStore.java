@@ -0,0 +1,295 @@
+/**
+ * Storage interface for the compiled recommendation letters.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Stores the compiled recommendation letters by name. Names are the file names
+ * the letters have always been saved under, such as {@code Last_First.txt}, so
+ * a store can be exported to, or imported from, a directory of text files.
+ */
+public interface RecommendationStore extends Closeable {
+
+	/**
+	 * Saves a letter, replacing any letter already stored under the name.
+	 *
+	 * @param name the letter name
+	 * @param text the letter text
+	 * @throws IOException if the letter cannot be written
+	 */
+	void write(String name, String text) throws IOException;
+
+	/**
+	 * Saves a letter whose text is already encoded as UTF-8, replacing any
+	 * letter already stored under the name. The default implementation decodes
+	 * the text and calls {@link #write(String, String)}; stores that keep letters
+	 * as UTF-8 write the bytes as they are.
+	 *
+	 * @param name the letter name
+	 * @param text the letter text, from the buffer's position to its limit; the
+	 *             buffer itself is left unchanged
+	 * @throws IOException if the letter cannot be written
+	 */
+	default void writeUtf8(String name, ByteBuffer text) throws IOException {
+		write(name, StandardCharsets.UTF_8.decode(text.duplicate()).toString());
+	}
+
+	/**
+	 * Reads a letter.
+	 *
+	 * @param name the letter name
+	 * @return the letter text, or null if no letter is stored under the name
+	 * @throws IOException if the letter cannot be read
+	 */
+	String read(String name) throws IOException;
+
+	/**
+	 * Returns the text of a letter encoded as UTF-8, to be copied somewhere
+	 * else as it is, for example into an archive. The default implementation
+	 * reads and encodes the letter; stores keeping letters in files copy them
+	 * from the file with {@link java.nio.channels.FileChannel#transferTo}, so
+	 * the text need not pass through the Java heap.
+	 *
+	 * @param name the letter name
+	 * @return the letter, or null if no letter is stored under the name
+	 * @throws IOException if the letter cannot be read
+	 */
+	default Utf8Letter readUtf8(String name) throws IOException {
+		String text = read(name);
+		return text == null ? null : Utf8Letter.of(text);
+	}
+
+	/**
+	 * Deletes a letter.
+	 *
+	 * @param name the letter name
+	 * @return true if a letter was stored under the name
+	 * @throws IOException if the deletion cannot be recorded
+	 */
+	boolean delete(String name) throws IOException;
+
+	/**
+	 * Returns whether a letter is stored under the name.
+	 *
+	 * @param name the letter name
+	 * @return true if the letter exists
+	 */
+	boolean contains(String name);
+
+	/**
+	 * Returns the names of every stored letter in alphabetical order.
+	 *
+	 * @return the letter names
+	 */
+	List<String> names();
+
+	/**
+	 * Returns the number of stored letters.
+	 *
+	 * @return the number of letters
+	 */
+	int size();
+
+	/**
+	 * Forces every letter written so far to the storage device.
+	 *
+	 * @throws IOException if the data cannot be forced
+	 */
+	void flush() throws IOException;
+
+	/**
+	 * Saves a letter without making the caller wait for the disk. The default
+	 * implementation writes on the calling thread; stores with a background
+	 * writer return before the letter is written.
+	 *
+	 * @param name the letter name
+	 * @param text the letter text
+	 * @return a future completed once the letter is durably saved, or
+	 *         completed exceptionally if it could not be
+	 */
+	default CompletableFuture<Void> writeAsync(String name, String text) {
+		try {
+			write(name, text);
+			flush();
+			return CompletableFuture.completedFuture(null);
+		} catch (IOException | RuntimeException e) {
+			CompletableFuture<Void> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+	}
+
+	/**
+	 * Deletes a letter without making the caller wait for the disk. The default
+	 * implementation deletes on the calling thread.
+	 *
+	 * @param name the letter name
+	 * @return a future completed with whether a letter was stored under the
+	 *         name once the deletion is durable, or completed exceptionally if
+	 *         it could not be saved
+	 */
+	default CompletableFuture<Boolean> deleteAsync(String name) {
+		try {
+			boolean deleted = delete(name);
+			flush();
+			return CompletableFuture.completedFuture(deleted);
+		} catch (IOException | RuntimeException e) {
+			CompletableFuture<Boolean> failed = new CompletableFuture<>();
+			failed.completeExceptionally(e);
+			return failed;
+		}
+	}
+
+	/**
+	 * Returns whether a name can be used for a letter in any store: it must not
+	 * be empty, start with a dot, or contain a path separator, as it is also the
+	 * file name when letters are exported one file each.
+	 *
+	 * @param name the letter name, such as {@code Last_First.txt}
+	 * @return true if the name is valid
+	 */
+	static boolean isLetterName(String name) {
+		return !name.isEmpty() && !name.startsWith(".") && name.indexOf('/') < 0 && name.indexOf('\\') < 0
+				&& name.indexOf('\0') < 0;
+	}
+
+	/**
+	 * Copies every letter into another store.
+	 *
+	 * @param target the store to copy to
+	 * @return the number of letters copied
+	 * @throws IOException if a letter cannot be read or written
+	 */
+	default int copyTo(RecommendationStore target) throws IOException {
+		int copied = 0;
+		for (String name : names()) {
+			String text = read(name);
+			if (text != null) {
+				target.write(name, text);
+				copied++;
+			}
+		}
+		target.flush();
+		return copied;
+	}
+
+	/**
+	 * Writes every letter to a directory as one text file per letter, the layout
+	 * used before letters were kept in a store.
+	 *
+	 * @param directory the directory to export to
+	 * @return the number of letters exported
+	 * @throws IOException if a letter cannot be read or written
+	 */
+	default int exportTo(Path directory) throws IOException {
+		try (DirectoryRecommendationStore target = new DirectoryRecommendationStore(directory)) {
+			return copyTo(target);
+		}
+	}
+
+	/**
+	 * The UTF-8 text of one letter, as returned by {@link #readUtf8}. Its size
+	 * is known before it is copied, as an archive header needs it.
+	 */
+	interface Utf8Letter {
+		/**
+		 * Returns the length of the text.
+		 *
+		 * @return the length in bytes
+		 */
+		long size();
+
+		/**
+		 * Writes the whole text to a channel. It can be called more than once.
+		 *
+		 * @param target the channel to write to
+		 * @throws IOException if the letter cannot be read, or was changed or
+		 *                     deleted after {@link #readUtf8} returned it, or
+		 *                     the channel cannot be written
+		 */
+		void transferTo(WritableByteChannel target) throws IOException;
+
+		/**
+		 * Reads the whole text into a string.
+		 *
+		 * @return the letter text
+		 * @throws IOException if the letter cannot be read, or was changed or
+		 *                     deleted after {@link #readUtf8} returned it
+		 */
+		default String text() throws IOException {
+			long size = size();
+			if (size > Integer.MAX_VALUE - 8) {
+				throw new IOException("Letter of " + size + " bytes is too large to read");
+			}
+			ByteBuffer bytes = ByteBuffer.allocate((int) size);
+			transferTo(new WritableByteChannel() {
+				@Override
+				public int write(ByteBuffer source) throws IOException {
+					int length = source.remaining();
+					if (length > bytes.remaining()) {
+						throw new IOException("Letter is longer than its size");
+					}
+					bytes.put(source);
+					return length;
+				}
+
+				@Override
+				public boolean isOpen() {
+					return true;
+				}
+
+				@Override
+				public void close() {
+				}
+			});
+			bytes.flip();
+			return StandardCharsets.UTF_8.decode(bytes).toString();
+		}
+
+		/**
+		 * Returns a letter holding the given text.
+		 *
+		 * @param text the letter text
+		 * @return the letter
+		 */
+		static Utf8Letter of(String text) {
+			return of(StandardCharsets.UTF_8.encode(text));
+		}
+
+		/**
+		 * Returns a letter holding the given UTF-8 text. The buffer is not copied
+		 * and must not be changed afterwards.
+		 *
+		 * @param bytes the letter text, from the buffer's position to its limit
+		 * @return the letter
+		 */
+		static Utf8Letter of(ByteBuffer bytes) {
+			return new Utf8Letter() {
+				@Override
+				public long size() {
+					return bytes.remaining();
+				}
+
+				@Override
+				public void transferTo(WritableByteChannel target) throws IOException {
+					ByteBuffer remaining = bytes.duplicate();
+					while (remaining.hasRemaining()) {
+						target.write(remaining);
+					}
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,274 @@
+/**
+ * Cache of recently rendered letters.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps recently rendered letters in memory, so reopening the draft screen or
+ * regenerating an unchanged letter does not render it again.
+ *
+ * <p>
+ * A letter is keyed by a 128-bit hash of every recommendation field the
+ * template reads, together with the version of the faculty member signing it.
+ * The hash is computed from the field values, not the object, so an edited
+ * recommendation gets a new key and an identical copy finds the cached letter.
+ * The faculty version changes whenever {@link SharedDataModel#setFaculty} is
+ * called, so letters with an old signature are never returned; they age out
+ * of the cache like any other unused letter.
+ *
+ * <p>
+ * The cache is bounded by the total number of characters it holds and evicts
+ * the least recently used letters first. All methods are thread-safe.
+ */
+public class RenderedLetterCache {
+	/** The default number of characters kept in memory, about 4 MB. */
+	public static final long DEFAULT_MAX_CHARS = 2L * 1024 * 1024;
+
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+	private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+
+	private final long maxChars;
+	private final LinkedHashMap<Key, String> letters = new LinkedHashMap<>(64, 0.75f, true);
+	private long cachedChars;
+	private long hits;
+	private long misses;
+	private long evictions;
+
+	/**
+	 * Constructor for the RenderedLetterCache.
+	 *
+	 * @param maxChars the maximum number of characters to keep in memory
+	 */
+	public RenderedLetterCache(long maxChars) {
+		this.maxChars = maxChars;
+	}
+
+	/**
+	 * Returns the key of the letter rendered for a recommendation and a faculty
+	 * version.
+	 *
+	 * @param recommendation the recommendation
+	 * @param facultyVersion the version of the faculty member signing the letter
+	 * @return the cache key
+	 */
+	public static Key key(Recommendation recommendation, long facultyVersion) {
+		Hash hash = new Hash();
+		hash.add(recommendation.getFirstName());
+		hash.add(recommendation.getLastName());
+		hash.add(recommendation.getGender());
+		hash.add(recommendation.getTodayDate());
+		hash.add(recommendation.getTargetSchool());
+		hash.add(recommendation.getProgram());
+		hash.add(recommendation.getFirstSemester());
+		hash.add(recommendation.getFirstCourse());
+		hash.add(recommendation.getFirstCourseGrade());
+		List<Course> courses = recommendation.getCourses();
+		hash.add(courses == null ? -1 : courses.size());
+		if (courses != null) {
+			for (Course course : courses) {
+				hash.add(course.getName());
+				hash.add(course.getGrade());
+			}
+		}
+		hash.add(recommendation.getPersonalCharacteristics());
+		hash.add(recommendation.getAcademicCharacteristics());
+		return new Key(fmix(hash.first), fmix(hash.second), facultyVersion);
+	}
+
+	/**
+	 * Returns the cached letter for a key and marks it as recently used.
+	 *
+	 * @param key the key
+	 * @return the letter, or null if it is not cached
+	 */
+	public synchronized String get(Key key) {
+		String text = letters.get(key);
+		if (text != null) {
+			hits++;
+		} else {
+			misses++;
+		}
+		return text;
+	}
+
+	/**
+	 * Caches a letter and evicts the least recently used letters until the
+	 * cache fits. Letters larger than the whole cache are not kept.
+	 *
+	 * @param key  the key
+	 * @param text the rendered letter
+	 */
+	public synchronized void put(Key key, String text) {
+		String previous = letters.remove(key);
+		if (previous != null) {
+			cachedChars -= previous.length();
+		}
+		if (text.length() > maxChars) {
+			return;
+		}
+		letters.put(key, text);
+		cachedChars += text.length();
+		Iterator<Map.Entry<Key, String>> eldest = letters.entrySet().iterator();
+		while (cachedChars > maxChars && eldest.hasNext()) {
+			cachedChars -= eldest.next().getValue().length();
+			eldest.remove();
+			evictions++;
+		}
+	}
+
+	/**
+	 * Removes every letter from the cache. The counters are kept.
+	 */
+	public synchronized void clear() {
+		letters.clear();
+		cachedChars = 0;
+	}
+
+	/**
+	 * Returns the number of lookups that found a letter.
+	 *
+	 * @return the number of cache hits
+	 */
+	public synchronized long getHitCount() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of lookups that found no letter.
+	 *
+	 * @return the number of cache misses
+	 */
+	public synchronized long getMissCount() {
+		return misses;
+	}
+
+	/**
+	 * Returns the number of letters evicted to make room for others.
+	 *
+	 * @return the number of evictions
+	 */
+	public synchronized long getEvictionCount() {
+		return evictions;
+	}
+
+	/**
+	 * Returns the number of letters currently cached.
+	 *
+	 * @return the number of cached letters
+	 */
+	public synchronized int size() {
+		return letters.size();
+	}
+
+	/**
+	 * Returns the number of characters currently cached.
+	 *
+	 * @return the number of cached characters
+	 */
+	public synchronized long getCachedChars() {
+		return cachedChars;
+	}
+
+	/**
+	 * Describes the cache counters on one line.
+	 *
+	 * @return the cache statistics
+	 */
+	public synchronized String summary() {
+		return String.format("%d letters (%d chars), %d hits, %d misses, %d evictions", letters.size(), cachedChars,
+				hits, misses, evictions);
+	}
+
+	/**
+	 * The final mixing step of MurmurHash3, so every input bit affects every
+	 * output bit.
+	 */
+	private static long fmix(long h) {
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+
+	/**
+	 * Two independent 64-bit hashes of a sequence of fields. Every field is
+	 * preceded by its length, so moving text from one field to the next changes
+	 * the hash.
+	 */
+	private static final class Hash {
+		private long first = FNV_OFFSET;
+		private long second = GOLDEN;
+
+		private void add(long value) {
+			first = (first ^ value) * FNV_PRIME;
+			second = Long.rotateLeft(second ^ value * GOLDEN, 31) * 5 + 0x52dce729;
+		}
+
+		private void add(String value) {
+			if (value == null) {
+				add(-1);
+				return;
+			}
+			add(value.length());
+			for (int i = 0; i < value.length(); i++) {
+				add(value.charAt(i));
+			}
+		}
+
+		private void add(List<String> values) {
+			if (values == null) {
+				add(-1);
+				return;
+			}
+			add(values.size());
+			for (String value : values) {
+				add(value);
+			}
+		}
+	}
+
+	/**
+	 * The key of a rendered letter.
+	 */
+	public static final class Key {
+		private final long high;
+		private final long low;
+		private final long facultyVersion;
+
+		private Key(long high, long low, long facultyVersion) {
+			this.high = high;
+			this.low = low;
+			this.facultyVersion = facultyVersion;
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key key = (Key) other;
+			return high == key.high && low == key.low && facultyVersion == key.facultyVersion;
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (low ^ low >>> 32);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("%016x%016x@%d", high, low, facultyVersion);
+		}
+	}
+}
@@ -21,7 +21,7 @@ import javafx.scene.control.Alert.AlertType;
  * ResetPasswordController is a JavaFX controller class that handles the functionality
  * of the Change Password screen.
  */
-public class ResetPasswordController {
+public class ResetPasswordController implements ResettableController {
     private Main main;
 
 	@FXML Button backButton;
@@ -40,6 +40,17 @@ public class ResetPasswordController {
 		
 	}
 
+	/**
+	 * Clears the password fields and any previous error message.
+	 */
+	@Override
+	public void reset() {
+		passwordField1.clear();
+		passwordField2.clear();
+		checkPassword.clear();
+		wrongPass.setText("");
+	}
+
     /**
      * Sets the main application reference to the provided Main instance.
      *
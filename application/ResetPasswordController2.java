@@ -18,7 +18,7 @@ import javafx.scene.control.Alert.AlertType;
  * ResetPasswordController2 is a JavaFX controller class that handles the functionality
  * of the Reset Password screen for new users.
  */
-public class ResetPasswordController2 {
+public class ResetPasswordController2 implements ResettableController {
     private Main main;
 
 	@FXML Button changePass;
@@ -34,6 +34,16 @@ public class ResetPasswordController2 {
 	public void setMainApp(Main main) {
 	    this.main = main;
 	}
+	/**
+	 * Clears the password fields and any previous error message.
+	 */
+	@Override
+	public void reset() {
+		passwordField.clear();
+		checkPassword.clear();
+		wrongPass.setText("");
+	}
+
 	/**
 	 * Handles the password reset process for new users by calling the createPassword() method.
 	 *
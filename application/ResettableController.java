@@ -0,0 +1,21 @@
+/**
+ * Interface for controllers whose scenes are reused between visits.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+/**
+ * A controller whose scene is kept by the {@link SceneRegistry} and shown again
+ * on later visits. The registry calls {@link #reset()} each time the scene is
+ * about to be shown, so the controller can clear whatever the previous visit
+ * left behind.
+ */
+public interface ResettableController {
+
+	/**
+	 * Returns the controller's scene to the state of a fresh visit.
+	 */
+	void reset();
+}
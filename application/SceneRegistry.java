@@ -0,0 +1,209 @@
+/**
+ * Cache of loaded FXML scenes and their controllers.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+/**
+ * Keeps each FXML scene after it is first loaded, so navigating back to a
+ * screen reuses its node graph and controller instead of parsing the FXML
+ * again. Scenes can also be loaded ahead of time, one per pulse of the
+ * JavaFX application thread, while the user is on another screen.
+ *
+ * <p>
+ * The application caches scenes unless started with
+ * {@code -Dacademrec.noSceneCache=true}. {@code NavigationBenchmark} walks the
+ * screens either way and prints the switch times; it needs a display, so the
+ * two have not been compared on the build machine.
+ */
+public class SceneRegistry {
+	private final Map<String, Definition> definitions = new HashMap<>();
+	private final Map<String, Entry> entries = new HashMap<>();
+	private final boolean caching;
+
+	/**
+	 * Constructor for the SceneRegistry.
+	 *
+	 * @param caching whether loaded scenes are kept; when false every request
+	 *                loads the FXML again, as the application did before
+	 */
+	public SceneRegistry(boolean caching) {
+		this.caching = caching;
+	}
+
+	/**
+	 * Returns whether loaded scenes are kept.
+	 *
+	 * @return true if scenes are cached
+	 */
+	public boolean isCaching() {
+		return caching;
+	}
+
+	/**
+	 * Registers a scene.
+	 *
+	 * @param name       the name used to request the scene
+	 * @param fxml       the FXML resource, relative to this class
+	 * @param controller creates the controller for the scene
+	 * @param width      the scene width
+	 * @param height     the scene height
+	 */
+	public void register(String name, String fxml, Supplier<Object> controller, double width, double height) {
+		definitions.put(name, new Definition(fxml, controller, width, height));
+	}
+
+	/**
+	 * Returns the named scene, loading it if it has not been loaded yet. If the
+	 * controller is a {@link ResettableController} it is reset first. Must be
+	 * called on the JavaFX application thread, like every method that loads a
+	 * scene.
+	 *
+	 * @param name the scene name
+	 * @return the scene and its controller
+	 * @throws IOException if the FXML cannot be loaded
+	 */
+	public Entry get(String name) throws IOException {
+		Entry entry = caching ? entries.get(name) : null;
+		if (entry == null) {
+			entry = load(name);
+			if (caching) {
+				entries.put(name, entry);
+			}
+		}
+		if (entry.scene == null) {
+			Definition definition = definitions.get(name);
+			entry.scene = new Scene(entry.root, definition.width, definition.height);
+		}
+		if (entry.controller instanceof ResettableController) {
+			((ResettableController) entry.controller).reset();
+		}
+		return entry;
+	}
+
+	/**
+	 * Loads the named scenes ahead of time so that the first visit to each does
+	 * not have to parse its FXML. Each scene is loaded in its own
+	 * {@link Platform#runLater} task, so input and rendering are handled
+	 * between scenes. Loading stays on the application thread because the
+	 * controllers bind to the shared option lists while they initialize.
+	 *
+	 * @param names the scenes to load
+	 */
+	public void preloadLater(List<String> names) {
+		if (caching && !names.isEmpty()) {
+			Platform.runLater(() -> preload(names, 0));
+		}
+	}
+
+	private void preload(List<String> names, int next) {
+		String name = names.get(next);
+		if (!entries.containsKey(name)) {
+			try {
+				entries.put(name, load(name));
+			} catch (IOException | RuntimeException e) {
+				System.out.println("Could not preload scene " + name + ": " + e.getMessage());
+			}
+		}
+		if (next + 1 < names.size()) {
+			Platform.runLater(() -> preload(names, next + 1));
+		}
+	}
+
+	/**
+	 * Loads a scene from its FXML, recording a {@link FlightEvents.SceneLoad}
+	 * event.
+	 */
+	private Entry load(String name) throws IOException {
+		Definition definition = definitions.get(name);
+		if (definition == null) {
+			throw new IllegalArgumentException("Unknown scene: " + name);
+		}
+		FlightEvents.SceneLoad event = new FlightEvents.SceneLoad();
+		event.begin();
+		FXMLLoader loader = new FXMLLoader(getClass().getResource(definition.fxml));
+		Object controller = definition.controller.get();
+		loader.setController(controller);
+		Parent root = loader.load();
+		event.end();
+		if (event.shouldCommit()) {
+			event.scene = name;
+			event.fxml = definition.fxml;
+			event.nodes = countNodes(root);
+			event.commit();
+		}
+		return new Entry(root, controller);
+	}
+
+	private static int countNodes(Node node) {
+		int count = 1;
+		if (node instanceof Parent) {
+			for (Node child : ((Parent) node).getChildrenUnmodifiable()) {
+				count += countNodes(child);
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * A loaded scene and its controller.
+	 */
+	public static final class Entry {
+		private final Parent root;
+		private final Object controller;
+		private Scene scene;
+
+		private Entry(Parent root, Object controller) {
+			this.root = root;
+			this.controller = controller;
+		}
+
+		/**
+		 * Returns the scene.
+		 *
+		 * @return the scene
+		 */
+		public Scene getScene() {
+			return scene;
+		}
+
+		/**
+		 * Returns the controller, cast to the caller's expected type.
+		 *
+		 * @param <C> the controller type
+		 * @return the controller
+		 */
+		@SuppressWarnings("unchecked")
+		public <C> C getController() {
+			return (C) controller;
+		}
+	}
+
+	private static final class Definition {
+		private final String fxml;
+		private final Supplier<Object> controller;
+		private final double width;
+		private final double height;
+
+		private Definition(String fxml, Supplier<Object> controller, double width, double height) {
+			this.fxml = fxml;
+			this.controller = controller;
+			this.width = width;
+			this.height = height;
+		}
+	}
+}
@@ -7,15 +7,11 @@
  */
 package application;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.*;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
@@ -24,16 +20,22 @@ import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
+import javafx.util.Duration;
 
 /**
  * The SearchRecommendationController class is the controller for the search
  * recommendation functionality in the application. It allows users to search
  * for recommendations based on the last name of a student, edit or delete
- * existing recommendation files.
+ * existing recommendation files. The results are updated as the user types,
+ * with the search itself running in the background.
  */
-public class SearchRecommendationController {
+public class SearchRecommendationController implements ResettableController {
+	private static final Duration TYPING_DELAY = Duration.millis(150);
+
 	private Main main;
 	private RecommendationManager recommendationManager;
+	private IncrementalSearch incrementalSearch;
+	private final PauseTransition typingPause = new PauseTransition(TYPING_DELAY);
 	
 	@FXML
 	Label titleLabel;
@@ -51,6 +53,8 @@ public class SearchRecommendationController {
 	Button editButton;
 	@FXML
 	Button deleteButton;
+	@FXML
+	Button moreButton;
 
 	/**
 	 * Constructs a new SearchRecommendationController with the specified RecommendationManager.
@@ -62,6 +66,19 @@ public class SearchRecommendationController {
 
 	}
 
+	/**
+	 * Constructs a new SearchRecommendationController that searches in the
+	 * background with the given IncrementalSearch.
+	 *
+	 * @param recommendationManager the RecommendationManager to be used by this controller
+	 * @param incrementalSearch     runs the searches off the JavaFX application thread
+	 */
+	public SearchRecommendationController(RecommendationManager recommendationManager,
+			IncrementalSearch incrementalSearch) {
+		this.recommendationManager = recommendationManager;
+		this.incrementalSearch = incrementalSearch;
+	}
+
 	/**
 	 * Sets the RecommendationManager to be used by this controller.
 	 *
@@ -80,6 +97,18 @@ public class SearchRecommendationController {
 		this.main = main;
 	}
 
+	/**
+	 * Clears the search field and the results of the previous visit.
+	 */
+	@Override
+	public void reset() {
+		typingPause.stop();
+		studentLastNameTextField.clear();
+		incrementalSearch.cancel();
+		fileListView.getItems().clear();
+		moreButton.setDisable(true);
+	}
+
 	/**
 	 * Shows an alert with the specified type, title, and message.
 	 *
@@ -105,16 +134,23 @@ public class SearchRecommendationController {
 		editButton.setOnAction(event -> handleEditButton());
 		searchButton.setOnAction(event -> handleSearchButton());
 		deleteButton.setOnAction(event -> handleDeleteButton());
-
-		if (recommendationManager == null) {
-			System.out.println("recommendationManager is null");
-		}
-		List<String> fileNames = recommendationManager.getRecommendationFileNames();
-		if (fileNames == null || fileNames.isEmpty()) {
-			System.out.println("fileNames is null or empty");
-		} else {
-			System.out.println("fileNames: " + fileNames);
+		moreButton.setOnAction(event -> handleMoreButton());
+		moreButton.setDisable(true);
+		studentLastNameTextField.setOnAction(event -> handleSearchButton());
+		if (incrementalSearch == null) {
+			incrementalSearch = new IncrementalSearch(recommendationManager, Platform::runLater);
 		}
+		typingPause.setOnFinished(event -> search(false));
+		studentLastNameTextField.textProperty().addListener((observable, oldText, newText) -> {
+			if (newText.trim().isEmpty()) {
+				typingPause.stop();
+				incrementalSearch.cancel();
+				fileListView.getItems().clear();
+				moreButton.setDisable(true);
+			} else {
+				typingPause.playFromStart();
+			}
+		});
 	}
 
 	/**
@@ -131,7 +167,11 @@ public class SearchRecommendationController {
 
 	/**
 	 * Handles the "Search" button, searching for recommendation files based on the
-	 * last name entered by the user.
+	 * last name entered by the user right away instead of waiting for the user
+	 * to stop typing. When no file name starts with the text, the letters
+	 * themselves are searched for it instead, best match first, and when no
+	 * letter contains it either, file names with a name close to it are shown,
+	 * in case it was mistyped.
 	 */
 	@FXML
 	public void handleSearchButton() {
@@ -140,21 +180,55 @@ public class SearchRecommendationController {
 		if (lastName == null || lastName.trim().isEmpty()) {
 			showAlert(Alert.AlertType.ERROR, "No name entered", "Please enter a last name.");
 		} else {
-			fileListView.refresh();
-			List<String> fileNames = recommendationManager.getRecommendationFileNames();
-			ObservableList<String> filteredFiles = FXCollections.observableArrayList();
-			for (String fileName : fileNames) {
-	            if (fileName.toLowerCase().startsWith(lastName.toLowerCase())) {
-					filteredFiles.add(fileName);
+			typingPause.stop();
+			search(true);
+		}
+	}
+
+	/**
+	 * Handles the "More Results" button, adding the next results of the latest
+	 * search to the list.
+	 */
+	@FXML
+	public void handleMoreButton() {
+		moreButton.setDisable(true);
+		incrementalSearch.more();
+	}
+
+	/**
+	 * Starts a background search for the text in the search field. Each page of
+	 * results is added to the list as it arrives; a search started later
+	 * replaces this one. The search stops after a first batch of results, and
+	 * the "More Results" button shows the next one.
+	 *
+	 * @param alertIfNone whether to tell the user when nothing is found
+	 */
+	private void search(boolean alertIfNone) {
+		String lastName = studentLastNameTextField.getText().trim();
+		if (lastName.isEmpty()) {
+			return;
+		}
+		moreButton.setDisable(true);
+		incrementalSearch.search(lastName, new IncrementalSearch.Results() {
+			@Override
+			public void page(List<String> names, boolean first) {
+				if (first) {
+					fileListView.getItems().setAll(names);
+				} else {
+					fileListView.getItems().addAll(names);
 				}
 			}
-			if (filteredFiles.isEmpty()) {
-				showAlert(Alert.AlertType.INFORMATION, "No files found",
-						"No files found with the last name '" + lastName + "'.");
-			} else {
-				fileListView.setItems(filteredFiles);
+
+			@Override
+			public void done(int shown, boolean more) {
+				moreButton.setDisable(!more);
+				if (shown == 0 && alertIfNone) {
+					// Shown later, so the search thread is not held while the alert is open.
+					Platform.runLater(() -> showAlert(Alert.AlertType.INFORMATION, "No files found",
+							"No files found with the last name or text '" + lastName + "'."));
+				}
 			}
-		}
+		});
 	}
 
 	/**
@@ -169,8 +243,7 @@ public class SearchRecommendationController {
 		if (selectedFile == null) {
 			showAlert(Alert.AlertType.ERROR, "No file selected", "Please select a file to edit.");
 		} else {
-            Path filePath = Paths.get("CompiledRecommendations", selectedFile);
-			if (Files.notExists(filePath)) {
+			if (!recommendationManager.getRecommendationStore().contains(selectedFile)) {
 				showAlert(Alert.AlertType.ERROR, "File Not Found", "The selected file could not be found.");
 			} else {
 				try {
@@ -201,24 +274,23 @@ public class SearchRecommendationController {
 			Optional<ButtonType> result = alert.showAndWait();
 
 			if (result.isPresent() && result.get() == ButtonType.OK) {
-				try {
-					Path filePath = Paths.get("CompiledRecommendations", selectedFile);
-					Files.delete(filePath);
-					showAlert(Alert.AlertType.INFORMATION, "File deleted", "The file has been successfully deleted.");
-
-					fileListView.getItems().remove(selectedFile);
-					recommendationManager.removeRecommendationFile(selectedFile);
-
-					try {
-						main.showMenuScene();
-					} catch (Exception e) {
-						e.printStackTrace();
-					}
-				} catch (IOException e) {
-					showAlert(Alert.AlertType.ERROR, "File deletion error",
-							"An error occurred while trying to delete the file.");
-					e.printStackTrace();
-				}
+				fileListView.getItems().remove(selectedFile);
+				recommendationManager.removeRecommendationFile(selectedFile)
+						.whenComplete((deleted, error) -> Platform.runLater(() -> {
+							if (error != null) {
+								showAlert(Alert.AlertType.ERROR, "File deletion error",
+										"An error occurred while trying to delete the file.");
+								error.printStackTrace();
+								return;
+							}
+							showAlert(Alert.AlertType.INFORMATION, "File deleted",
+									"The file has been successfully deleted.");
+							try {
+								main.showMenuScene();
+							} catch (Exception e) {
+								e.printStackTrace();
+							}
+						}));
 			}
 		}
 	}
@@ -0,0 +1,796 @@
+/**
+ * Log-structured letter store kept in append-only segment files.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * A log-structured {@link RecommendationStore}. Letters are appended to a
+ * small number of large segment files instead of one file each, and an
+ * in-memory index maps every name to the position of its latest record.
+ *
+ * <p>
+ * Each segment starts with a magic number and a format version. A record is
+ * a CRC-32 of the rest of the record, a type byte, the lengths of the name and
+ * the text, then the UTF-8 name and text. Deleting a letter appends a
+ * tombstone record. When the active segment reaches its size limit it is
+ * forced to disk and a new one is started.
+ *
+ * <p>
+ * On open, the index is rebuilt by reading the record headers of every
+ * segment in order. Only the last segment can hold a partly written record, so
+ * its checksums are verified and anything after the last good record is cut
+ * off.
+ *
+ * <p>
+ * Overwritten and deleted letters leave dead records behind. A background
+ * thread compacts the oldest sealed segments once enough of them is dead: it
+ * appends their live records to the active segment and then deletes them. The
+ * oldest segments are always compacted first, so a tombstone is only dropped
+ * together with every older record it could hide.
+ *
+ * <p>
+ * Only one process may have a store open: the application, {@code --batch},
+ * {@code --server}, {@code --export} and {@code --archive} all use the same
+ * directory, and two writers would append at the same offsets. Opening takes
+ * an exclusive lock on {@value #LOCK_FILE} in the directory, which the
+ * operating system releases when the process ends, even if it crashes.
+ *
+ * <p>
+ * Only names accepted by {@link RecommendationStore#isLetterName} are stored,
+ * so every letter can later be exported as a file of the same name. A letter
+ * stored under another name before this was checked can still be deleted.
+ *
+ * <p>
+ * Opening and compacting are timed in the application {@link MetricsRegistry}
+ * as {@code store.open} and {@code store.compact}, with the bytes compaction
+ * reclaims counted as {@code store.compact.reclaimed}.
+ */
+public class SegmentRecommendationStore implements RecommendationStore {
+	/** The default directory of the store, next to the legacy letter folder. */
+	public static final String DEFAULT_DIRECTORY = "RecommendationStore";
+	/** The default size at which a segment is sealed and a new one started. */
+	public static final long DEFAULT_SEGMENT_BYTES = 64L * 1024 * 1024;
+
+	/** The file in the store directory locked by the process using the store. */
+	public static final String LOCK_FILE = "store.lock";
+
+	static final int MAGIC = 0x41435253;
+	static final byte FORMAT_VERSION = 1;
+	static final int SEGMENT_HEADER_LENGTH = 5;
+	static final int RECORD_HEADER_LENGTH = 13;
+	static final byte TYPE_PUT = 1;
+	static final byte TYPE_DELETE = 2;
+	private static final double COMPACTION_DEAD_RATIO = 0.5;
+	private static final String SEGMENT_PREFIX = "segment-";
+	private static final String SEGMENT_SUFFIX = ".log";
+	/**
+	 * The store directories open in this process. Closing any channel to a
+	 * locked file drops the process's lock on it, so a second open in the same
+	 * process must be refused before it touches the lock file.
+	 */
+	private static final Set<Path> LOCKED_DIRECTORIES = ConcurrentHashMap.newKeySet();
+
+	private final Path directory;
+	private final long maxSegmentBytes;
+	private final Object lock = new Object();
+	private final Object compactionLock = new Object();
+	private final Path lockedDirectory;
+	private final FileChannel lockChannel;
+	private final Map<String, Location> index = new ConcurrentHashMap<>();
+	private final List<Segment> segments = new ArrayList<>();
+	private final ExecutorService compactor;
+	private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+	private final LatencyHistogram compactLatency = MetricsRegistry.getDefault().histogram("store.compact");
+	private final MetricsRegistry.Counter reclaimedBytes = MetricsRegistry.getDefault()
+			.counter("store.compact.reclaimed");
+	private Segment active;
+	private boolean closed;
+
+	/**
+	 * Opens the store in the given directory with the default segment size,
+	 * creating the directory if needed.
+	 *
+	 * @param directory the directory holding the segment files
+	 * @throws IOException if the segments cannot be read
+	 */
+	public SegmentRecommendationStore(Path directory) throws IOException {
+		this(directory, DEFAULT_SEGMENT_BYTES);
+	}
+
+	/**
+	 * Opens the store in the given directory, creating the directory if needed.
+	 *
+	 * @param directory       the directory holding the segment files
+	 * @param maxSegmentBytes the size at which a segment is sealed
+	 * @throws IOException if the segments cannot be read, or another process
+	 *                     has the store open
+	 */
+	public SegmentRecommendationStore(Path directory, long maxSegmentBytes) throws IOException {
+		this.directory = directory;
+		this.maxSegmentBytes = Math.max(maxSegmentBytes, SEGMENT_HEADER_LENGTH + RECORD_HEADER_LENGTH);
+		Files.createDirectories(directory);
+		lockedDirectory = directory.toRealPath();
+		if (!LOCKED_DIRECTORIES.add(lockedDirectory)) {
+			throw inUse(directory);
+		}
+		try {
+			lockChannel = lockDirectory(directory);
+		} catch (IOException | RuntimeException e) {
+			LOCKED_DIRECTORIES.remove(lockedDirectory);
+			throw e;
+		}
+		try {
+			open();
+		} catch (IOException | RuntimeException e) {
+			for (Segment segment : segments) {
+				segment.channel.close();
+			}
+			unlock();
+			throw e;
+		}
+		compactor = Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "store-compactor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		scheduleCompactionIfNeeded();
+	}
+
+	/**
+	 * Takes the lock that keeps other processes out of the store directory.
+	 * The lock is held for as long as the returned channel stays open.
+	 */
+	private static FileChannel lockDirectory(Path directory) throws IOException {
+		FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE);
+		FileLock fileLock;
+		try {
+			fileLock = channel.tryLock();
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		if (fileLock == null) {
+			channel.close();
+			throw inUse(directory);
+		}
+		return channel;
+	}
+
+	private static IOException inUse(Path directory) {
+		return new IOException("The letter store " + directory.toAbsolutePath()
+				+ " is in use by another copy of the application; close it and try again");
+	}
+
+	private void unlock() throws IOException {
+		try {
+			lockChannel.close();
+		} finally {
+			LOCKED_DIRECTORIES.remove(lockedDirectory);
+		}
+	}
+
+	/**
+	 * Reads every segment into the index and picks the active segment.
+	 */
+	private void open() throws IOException {
+		long start = System.nanoTime();
+		List<Path> files = new ArrayList<>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory,
+				SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+			for (Path file : stream) {
+				files.add(file);
+			}
+		}
+		Collections.sort(files);
+		for (int i = 0; i < files.size(); i++) {
+			Segment segment = new Segment(segmentId(files.get(i)), files.get(i));
+			segments.add(segment);
+			scan(segment, i == files.size() - 1);
+		}
+		if (segments.isEmpty()) {
+			active = newSegment(1);
+		} else {
+			active = segments.get(segments.size() - 1);
+		}
+		MetricsRegistry.getDefault().histogram("store.open").recordSince(start);
+	}
+
+	/**
+	 * Saves a letter.
+	 *
+	 * @throws IllegalArgumentException if the name is not a valid letter name
+	 */
+	@Override
+	public void write(String name, String text) throws IOException {
+		writeUtf8(name, ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	/**
+	 * Saves a letter whose text is already UTF-8 encoded. The record is built
+	 * and checksummed before the lock is taken, so concurrent writers only
+	 * serialize on the append itself.
+	 *
+	 * @throws IllegalArgumentException if the name is not a valid letter name
+	 */
+	@Override
+	public void writeUtf8(String name, ByteBuffer text) throws IOException {
+		checkName(name);
+		ByteBuffer record = encodeRecord(TYPE_PUT, name.getBytes(StandardCharsets.UTF_8), text);
+		synchronized (lock) {
+			checkOpen();
+			retire(index.put(name, append(record)));
+		}
+		scheduleCompactionIfNeeded();
+	}
+
+	@Override
+	public String read(String name) throws IOException {
+		while (true) {
+			Location location = index.get(name);
+			if (location == null) {
+				return null;
+			}
+			try {
+				return new String(readText(location), StandardCharsets.UTF_8);
+			} catch (ClosedChannelException e) {
+				// The segment was compacted away after the lookup; look again.
+				if (index.get(name) == location) {
+					throw e;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns a letter that is copied straight from its segment file with
+	 * {@link FileChannel#transferTo}. If compaction moves the letter while it
+	 * is being copied, the copy carries on from its new place.
+	 */
+	@Override
+	public Utf8Letter readUtf8(String name) throws IOException {
+		Location location = index.get(name);
+		return location == null ? null : new SegmentLetter(name, location);
+	}
+
+	/**
+	 * Deletes a letter.
+	 *
+	 * @throws IllegalArgumentException if the name is not a valid letter name
+	 *                                  and no letter is stored under it
+	 */
+	@Override
+	public boolean delete(String name) throws IOException {
+		synchronized (lock) {
+			checkOpen();
+			if (!index.containsKey(name)) {
+				checkName(name);
+				return false;
+			}
+			append(encodeRecord(TYPE_DELETE, name.getBytes(StandardCharsets.UTF_8), ByteBuffer.allocate(0)));
+			retire(index.remove(name));
+		}
+		scheduleCompactionIfNeeded();
+		return true;
+	}
+
+	@Override
+	public boolean contains(String name) {
+		return index.containsKey(name);
+	}
+
+	@Override
+	public List<String> names() {
+		List<String> names = new ArrayList<>(index.keySet());
+		Collections.sort(names);
+		return names;
+	}
+
+	@Override
+	public int size() {
+		return index.size();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		synchronized (lock) {
+			checkOpen();
+			active.channel.force(false);
+		}
+	}
+
+	/**
+	 * Compacts the oldest sealed segments if enough of their records are dead.
+	 * This normally happens on the background thread; calling it directly runs
+	 * a compaction on the calling thread, after any compaction in progress.
+	 *
+	 * @return the number of segments removed
+	 * @throws IOException if a segment cannot be read or written
+	 */
+	public int compact() throws IOException {
+		synchronized (compactionLock) {
+			List<Segment> victims;
+			long reclaimed = 0;
+			synchronized (lock) {
+				checkOpen();
+				victims = selectCompactionVictims();
+				for (Segment victim : victims) {
+					reclaimed += victim.size - victim.liveBytes;
+				}
+			}
+			if (victims.isEmpty()) {
+				return 0;
+			}
+			long start = System.nanoTime();
+			for (Segment victim : victims) {
+				copyLiveRecords(victim);
+			}
+			synchronized (lock) {
+				checkOpen();
+				active.channel.force(false);
+				// Oldest first, so a crash part way through never leaves a tombstone's
+				// target behind without the tombstone.
+				for (Segment victim : victims) {
+					segments.remove(victim);
+					victim.channel.close();
+					Files.delete(victim.path);
+				}
+			}
+			compactLatency.recordSince(start);
+			reclaimedBytes.add(reclaimed);
+			return victims.size();
+		}
+	}
+
+	/**
+	 * Returns the number of segment files.
+	 *
+	 * @return the number of segments
+	 */
+	public int getSegmentCount() {
+		synchronized (lock) {
+			return segments.size();
+		}
+	}
+
+	/**
+	 * Returns the total size of the segment files.
+	 *
+	 * @return the size in bytes
+	 */
+	public long getTotalBytes() {
+		synchronized (lock) {
+			long total = 0;
+			for (Segment segment : segments) {
+				total += segment.size;
+			}
+			return total;
+		}
+	}
+
+	/**
+	 * Returns the size of the records that are still live.
+	 *
+	 * @return the size in bytes
+	 */
+	public long getLiveBytes() {
+		synchronized (lock) {
+			long live = 0;
+			for (Segment segment : segments) {
+				live += segment.liveBytes;
+			}
+			return live;
+		}
+	}
+
+	/**
+	 * Forces the active segment to disk, stops the compaction thread, closes
+	 * every segment and lets other processes open the store.
+	 *
+	 * @throws IOException if a segment cannot be forced or closed
+	 */
+	@Override
+	public void close() throws IOException {
+		compactor.shutdown();
+		try {
+			compactor.awaitTermination(1, TimeUnit.MINUTES);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (lock) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			try {
+				active.channel.force(false);
+				for (Segment segment : segments) {
+					segment.channel.close();
+				}
+			} finally {
+				unlock();
+			}
+		}
+	}
+
+	/**
+	 * Builds a complete record, checksum included, ready to be appended.
+	 */
+	private static ByteBuffer encodeRecord(byte type, byte[] name, ByteBuffer text) {
+		int length = RECORD_HEADER_LENGTH + name.length + text.remaining();
+		ByteBuffer record = ByteBuffer.allocate(length);
+		record.putInt(0);
+		record.put(type);
+		record.putInt(name.length);
+		record.putInt(text.remaining());
+		record.put(name);
+		record.put(text.duplicate());
+		CRC32 crc = new CRC32();
+		crc.update(record.array(), 4, length - 4);
+		record.putInt(0, (int) crc.getValue());
+		record.flip();
+		return record;
+	}
+
+	/**
+	 * Appends a record built by {@link #encodeRecord} to the active segment,
+	 * starting a new segment first if the record would not fit. Must be called
+	 * while holding the lock.
+	 */
+	private Location append(ByteBuffer record) throws IOException {
+		int length = record.remaining();
+		int checksum = record.getInt(0);
+		byte type = record.get(4);
+		int nameLength = record.getInt(5);
+		int textLength = record.getInt(9);
+		if (active.size > SEGMENT_HEADER_LENGTH && active.size + length > maxSegmentBytes) {
+			active.channel.force(false);
+			active = newSegment(active.id + 1);
+		}
+		long offset = active.size;
+		long position = offset;
+		while (record.hasRemaining()) {
+			position += active.channel.write(record, position);
+		}
+		active.size += length;
+		if (type == TYPE_PUT) {
+			active.liveBytes += length;
+		}
+		return new Location(active, offset, nameLength, textLength, checksum);
+	}
+
+	/**
+	 * Marks the record at a location as dead. Must be called while holding the
+	 * lock.
+	 */
+	private void retire(Location location) {
+		if (location != null) {
+			location.segment.liveBytes -= location.length();
+		}
+	}
+
+	private byte[] readText(Location location) throws IOException {
+		byte[] text = new byte[location.textLength];
+		ByteBuffer buffer = ByteBuffer.wrap(text);
+		long position = location.textPosition();
+		while (buffer.hasRemaining()) {
+			int read = location.segment.channel.read(buffer, position + buffer.position());
+			if (read < 0) {
+				throw new EOFException("Letter record in " + location.segment.path + " is truncated");
+			}
+		}
+		return text;
+	}
+
+	private Segment newSegment(long id) throws IOException {
+		Path path = directory.resolve(String.format("%s%012d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+		Segment segment = new Segment(id, path);
+		writeHeader(segment);
+		segments.add(segment);
+		return segment;
+	}
+
+	private static void writeHeader(Segment segment) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_LENGTH);
+		header.putInt(MAGIC);
+		header.put(FORMAT_VERSION);
+		header.flip();
+		while (header.hasRemaining()) {
+			segment.channel.write(header, header.position());
+		}
+		segment.size = SEGMENT_HEADER_LENGTH;
+	}
+
+	private static long segmentId(Path file) {
+		String name = file.getFileName().toString();
+		return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+	}
+
+	/**
+	 * Reads the records of a segment into the index. For the last segment the
+	 * checksum of every record is verified and a torn tail is truncated.
+	 */
+	private void scan(Segment segment, boolean last) throws IOException {
+		long fileSize = segment.channel.size();
+		if (last && fileSize < SEGMENT_HEADER_LENGTH) {
+			// Created just before a crash, before its header was written.
+			segment.channel.truncate(0);
+			writeHeader(segment);
+			return;
+		}
+		long position = 0;
+		InputStream stream = new BufferedInputStream(Channels.newInputStream(segment.channel.position(0)), 1 << 16);
+		DataInputStream in = new DataInputStream(stream);
+		try {
+			if (fileSize < SEGMENT_HEADER_LENGTH || in.readInt() != MAGIC) {
+				throw new IOException(segment.path + " is not a letter store segment");
+			}
+			byte version = in.readByte();
+			if (version != FORMAT_VERSION) {
+				throw new IOException(segment.path + " uses unsupported format version " + version);
+			}
+			position = SEGMENT_HEADER_LENGTH;
+			CRC32 crc = new CRC32();
+			byte[] header = new byte[RECORD_HEADER_LENGTH - 4];
+			while (position + RECORD_HEADER_LENGTH <= fileSize) {
+				int checksum = in.readInt();
+				in.readFully(header);
+				ByteBuffer fields = ByteBuffer.wrap(header);
+				byte type = fields.get();
+				int nameLength = fields.getInt();
+				int textLength = fields.getInt();
+				long length = (long) RECORD_HEADER_LENGTH + nameLength + textLength;
+				if ((type != TYPE_PUT && type != TYPE_DELETE) || nameLength < 0 || textLength < 0
+						|| position + length > fileSize) {
+					break;
+				}
+				byte[] name = new byte[nameLength];
+				in.readFully(name);
+				if (last) {
+					byte[] text = new byte[textLength];
+					in.readFully(text);
+					crc.reset();
+					crc.update(header);
+					crc.update(name);
+					crc.update(text);
+					if ((int) crc.getValue() != checksum) {
+						break;
+					}
+				} else {
+					skipFully(in, textLength);
+				}
+				String key = new String(name, StandardCharsets.UTF_8);
+				if (type == TYPE_PUT) {
+					Location location = new Location(segment, position, nameLength, textLength, checksum);
+					segment.liveBytes += length;
+					retire(index.put(key, location));
+				} else {
+					retire(index.remove(key));
+				}
+				position += length;
+			}
+		} catch (EOFException e) {
+			// A partly written record at the end of the segment.
+		}
+		if (position < fileSize) {
+			if (!last) {
+				throw new IOException(segment.path + " is damaged at offset " + position);
+			}
+			System.out.println("Truncating partly written record at offset " + position + " of " + segment.path);
+			segment.channel.truncate(position);
+		}
+		segment.size = position;
+	}
+
+	private static void skipFully(DataInputStream in, int length) throws IOException {
+		int remaining = length;
+		while (remaining > 0) {
+			int skipped = in.skipBytes(remaining);
+			if (skipped <= 0) {
+				throw new EOFException();
+			}
+			remaining -= skipped;
+		}
+	}
+
+	/**
+	 * Picks the segments to compact: the oldest sealed segments up to and
+	 * including the newest sealed one whose dead fraction is over the threshold.
+	 * Must be called while holding the lock.
+	 */
+	private List<Segment> selectCompactionVictims() {
+		int last = -1;
+		for (int i = 0; i < segments.size(); i++) {
+			Segment segment = segments.get(i);
+			if (segment != active && segment.size > SEGMENT_HEADER_LENGTH
+					&& segment.size - segment.liveBytes >= (segment.size - SEGMENT_HEADER_LENGTH)
+							* COMPACTION_DEAD_RATIO) {
+				last = i;
+			}
+		}
+		return new ArrayList<>(segments.subList(0, last + 1));
+	}
+
+	/**
+	 * Appends every record of a segment that is still the latest version of its
+	 * letter to the active segment.
+	 */
+	private void copyLiveRecords(Segment victim) throws IOException {
+		List<Map.Entry<String, Location>> live = new ArrayList<>();
+		for (Map.Entry<String, Location> entry : index.entrySet()) {
+			if (entry.getValue().segment == victim) {
+				live.add(entry);
+			}
+		}
+		for (Map.Entry<String, Location> entry : live) {
+			String name = entry.getKey();
+			synchronized (lock) {
+				checkOpen();
+				Location location = index.get(name);
+				if (location != entry.getValue()) {
+					continue;
+				}
+				byte[] text = readText(location);
+				Location moved = append(encodeRecord(TYPE_PUT, name.getBytes(StandardCharsets.UTF_8),
+						ByteBuffer.wrap(text)));
+				index.put(name, moved);
+				retire(location);
+			}
+		}
+	}
+
+	private void scheduleCompactionIfNeeded() {
+		boolean needed;
+		synchronized (lock) {
+			needed = !closed && !selectCompactionVictims().isEmpty();
+		}
+		if (needed && compactionScheduled.compareAndSet(false, true)) {
+			compactor.execute(() -> {
+				compactionScheduled.set(false);
+				try {
+					compact();
+				} catch (IOException | RuntimeException e) {
+					System.out.println("Compaction of " + directory + " failed: " + e.getMessage());
+				}
+			});
+		}
+	}
+
+	private void checkOpen() throws IOException {
+		if (closed) {
+			throw new ClosedChannelException();
+		}
+	}
+
+	private static void checkName(String name) {
+		if (!RecommendationStore.isLetterName(name)) {
+			throw new IllegalArgumentException("Invalid letter name: " + name);
+		}
+	}
+
+	/**
+	 * One segment file.
+	 */
+	private static final class Segment {
+		private final long id;
+		private final Path path;
+		private final FileChannel channel;
+		private long size;
+		private long liveBytes;
+
+		private Segment(long id, Path path) throws IOException {
+			this.id = id;
+			this.path = path;
+			this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+					StandardOpenOption.WRITE);
+		}
+	}
+
+	/**
+	 * A letter copied from the segment holding it. If compaction moves the
+	 * letter while it is copied, the copy carries on from the new record,
+	 * which is recognized as the same text by its checksum.
+	 */
+	private final class SegmentLetter implements Utf8Letter {
+		private final String name;
+		private final Location location;
+
+		private SegmentLetter(String name, Location location) {
+			this.name = name;
+			this.location = location;
+		}
+
+		@Override
+		public long size() {
+			return location.textLength;
+		}
+
+		@Override
+		public void transferTo(WritableByteChannel target) throws IOException {
+			Location current = location;
+			long copied = 0;
+			while (copied < location.textLength) {
+				try {
+					long transferred = current.segment.channel.transferTo(current.textPosition() + copied,
+							location.textLength - copied, target);
+					if (transferred <= 0) {
+						throw new EOFException("Letter record in " + current.segment.path + " is truncated");
+					}
+					copied += transferred;
+				} catch (ClosedChannelException e) {
+					if (current.segment.channel.isOpen()) {
+						throw e;
+					}
+					// The segment was compacted away; the same text is now in a newer one.
+					Location moved = index.get(name);
+					if (moved == null || moved == current || moved.checksum != location.checksum
+							|| moved.textLength != location.textLength) {
+						throw new IOException(name + " was changed or deleted while being copied", e);
+					}
+					current = moved;
+				}
+			}
+		}
+	}
+
+	/**
+	 * The position of a letter's latest record, with the record's checksum.
+	 * Compaction copies a record with the same name and text, so the copy has
+	 * the same checksum, while a new save of the letter almost surely has
+	 * another.
+	 */
+	private static final class Location {
+		private final Segment segment;
+		private final long offset;
+		private final int nameLength;
+		private final int textLength;
+		private final int checksum;
+
+		private Location(Segment segment, long offset, int nameLength, int textLength, int checksum) {
+			this.segment = segment;
+			this.offset = offset;
+			this.nameLength = nameLength;
+			this.textLength = textLength;
+			this.checksum = checksum;
+		}
+
+		private long textPosition() {
+			return offset + RECORD_HEADER_LENGTH + nameLength;
+		}
+
+		private int length() {
+			return RECORD_HEADER_LENGTH + nameLength + textLength;
+		}
+	}
+}
@@ -1,14 +1,24 @@
 package application;
 
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 /**
@@ -16,22 +26,85 @@ import javafx.collections.ObservableList;
  * gender options, semester options, program options, course options, personal
  * character options, academic character options, and additional courses. It
  * provides methods to load and save this data from and to files.
+ *
+ * <p>
+ * The option files are read in parallel on background threads as soon as the
+ * model is created, each with a single bulk read, and each list is filled on
+ * the thread that first asks for it, waiting for its file only if it has not
+ * been read yet. The course options and the additional courses share one read
+ * of the courses file.
+ *
+ * <p>
+ * Options added or removed through {@link #addOption} and {@link #removeOption}
+ * are saved as one line in the file's {@link OptionLog}, which is compacted
+ * into the option file from time to time.
+ *
+ * <p>
+ * The course lists can also be searched as the user types, through an
+ * {@link OptionIndex} that only returns the best few matches. The index is
+ * rebuilt on a background thread once the list has gone unchanged for
+ * {@value #INDEX_DELAY_MILLIS} ms, and swapped in once it is complete; until
+ * then searches use the previous index.
+ *
+ * <p>
+ * When an option file is replaced on disk while the application runs,
+ * {@link #reloadOptionFile} reads it again and updates the lists filled from
+ * it by the {@link OptionListDiff} between old and new contents, rather than
+ * clearing and refilling them.
  */
 public class SharedDataModel {
+	private static final String SEMESTER_FILE = "semesterOptions.txt";
+	private static final String PROGRAM_FILE = "programOptions.txt";
+	private static final String PERSONAL_FILE = "personalCharacterOptions.txt";
+	private static final String ACADEMIC_FILE = "academicCharacterOptions.txt";
+	private static final String COURSE_FILE = "coursesOptions.txt";
+	private static final List<String> OPTION_FILES = Collections.unmodifiableList(
+			Arrays.asList(SEMESTER_FILE, PROGRAM_FILE, PERSONAL_FILE, ACADEMIC_FILE, COURSE_FILE));
+	private static final ExecutorService LOADER = Executors.newFixedThreadPool(
+			Math.min(4, Runtime.getRuntime().availableProcessors()), runnable -> {
+				Thread thread = new Thread(runnable, "option-loader");
+				thread.setDaemon(true);
+				return thread;
+			});
+	/** How long a searched list must go unchanged before it is indexed again. */
+	static final long INDEX_DELAY_MILLIS = 100;
+	private static final ScheduledExecutorService INDEXER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "option-indexer");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final Path directory;
+	private final Map<String, OptionLog> optionLogs = new ConcurrentHashMap<>();
+	private final Map<String, CompletableFuture<List<String>>> optionFiles = new ConcurrentHashMap<>();
 	private ObservableList<String> genderOptions = FXCollections.observableArrayList();
-	private ObservableList<String> semesterOptions = FXCollections.observableArrayList();
-	private ObservableList<String> programOptions = FXCollections.observableArrayList();
-	private ObservableList<String> courseOptions = FXCollections.observableArrayList();
-	private ObservableList<String> personalCharacterOptions = FXCollections.observableArrayList();
-	private ObservableList<String> academicCharacterOptions = FXCollections.observableArrayList();
-	private ObservableList<String> additionalCourses = FXCollections.observableArrayList();
+	private final OptionList semesterOptions = new OptionList(SEMESTER_FILE, false);
+	private final OptionList programOptions = new OptionList(PROGRAM_FILE, false);
+	private final OptionList courseOptions = new OptionList(COURSE_FILE, true);
+	private final OptionList personalCharacterOptions = new OptionList(PERSONAL_FILE, false);
+	private final OptionList academicCharacterOptions = new OptionList(ACADEMIC_FILE, false);
+	private final OptionList additionalCourses = new OptionList(COURSE_FILE, true);
+	private final OptionList[] optionLists = { semesterOptions, programOptions, courseOptions,
+			personalCharacterOptions, academicCharacterOptions, additionalCourses };
 	private Faculty faculty;
+	private volatile long facultyVersion;
 
 	/**
 	 * Constructs a SharedDataModel instance with default values for gender options
-	 * and loads data from files.
+	 * and starts loading the option files from the working directory.
 	 */
 	public SharedDataModel() {
+		this(Paths.get(""));
+	}
+
+	/**
+	 * Constructs a SharedDataModel instance with default values for gender options
+	 * and starts loading the option files from the given directory.
+	 *
+	 * @param directory the directory holding the option files
+	 */
+	public SharedDataModel(Path directory) {
+		this.directory = directory;
 		faculty = new Faculty("John","Doe","Professor","Example University","Computer Science","john.doe@example.com","555-123-4567");
 		genderOptions.addAll("he", "she", "they");
 		loadDataFromFiles();
@@ -54,7 +127,7 @@ public class SharedDataModel {
 	 *                      options.
 	 */
 	public void setSemesterOptions(ObservableList<String> semesterOptions) {
-		this.semesterOptions = semesterOptions;
+		this.semesterOptions.set(semesterOptions);
 	}
 
 	/**
@@ -64,7 +137,7 @@ public class SharedDataModel {
 	 *                       options.
 	 */
 	public void setProgramOptions(ObservableList<String> programOptions) {
-		this.programOptions = programOptions;
+		this.programOptions.set(programOptions);
 	}
 
 	/**
@@ -74,7 +147,7 @@ public class SharedDataModel {
 	 *                       options.
 	 */
 	public void setCourseOptions(ObservableList<String> courseOptions) {
-		this.courseOptions = courseOptions;
+		this.courseOptions.set(courseOptions);
 	}
 
 	/**
@@ -84,7 +157,7 @@ public class SharedDataModel {
 	 *                          additional courses.
 	 */
 	public void setAdditionalCourses(ObservableList<String> additionalCourses) {
-		this.additionalCourses = additionalCourses;
+		this.additionalCourses.set(additionalCourses);
 	}
 
 	/**
@@ -94,7 +167,7 @@ public class SharedDataModel {
 	 *                          personal characteristics.
 	 */
 	public void setPersonalCharacterOptions(ObservableList<String> personalCharacterOptions) {
-		this.personalCharacterOptions = personalCharacterOptions;
+		this.personalCharacterOptions.set(personalCharacterOptions);
 	}
 
 	/**
@@ -104,16 +177,28 @@ public class SharedDataModel {
 	 *                          academic characteristics.
 	 */
 	public void setAcademicCharacterOptions(ObservableList<String> academicCharacterOptions) {
-		this.academicCharacterOptions = academicCharacterOptions;
+		this.academicCharacterOptions.set(academicCharacterOptions);
 	}
 
 	/**
-	 * Sets the faculty object.
+	 * Sets the faculty object. Call this again after changing the faculty
+	 * object in place, so letters rendered with the old signature are not
+	 * reused.
 	 *
 	 * @param faculty A Faculty object.
 	 */
 	public void setFaculty(Faculty faculty) {
 		this.faculty = faculty;
+		facultyVersion++;
+	}
+
+	/**
+	 * Returns a number that changes every time the faculty is set.
+	 *
+	 * @return the faculty version
+	 */
+	public long getFacultyVersion() {
+		return facultyVersion;
 	}
 
 	/**
@@ -131,7 +216,7 @@ public class SharedDataModel {
 	 * @return An ObservableList of String containing the semester options.
 	 */
 	public ObservableList<String> getSemesterOptions() {
-		return semesterOptions;
+		return semesterOptions.get();
 	}
 
 	/**
@@ -140,7 +225,7 @@ public class SharedDataModel {
 	 * @return An ObservableList of String containing the program options.
 	 */
 	public ObservableList<String> getProgramOptions() {
-		return programOptions;
+		return programOptions.get();
 	}
 
 	/**
@@ -149,7 +234,7 @@ public class SharedDataModel {
 	 * @return An ObservableList of String containing the course options.
 	 */
 	public ObservableList<String> getCourseOptions() {
-		return courseOptions;
+		return courseOptions.get();
 	}
 
 	/**
@@ -159,7 +244,7 @@ public class SharedDataModel {
 	 *         options.
 	 */
 	public ObservableList<String> getPersonalCharacterOptions() {
-		return personalCharacterOptions;
+		return personalCharacterOptions.get();
 	}
 
 	/**
@@ -169,7 +254,7 @@ public class SharedDataModel {
 	 *         options.
 	 */
 	public ObservableList<String> getAcademicCharacterOptions() {
-		return academicCharacterOptions;
+		return academicCharacterOptions.get();
 	}
 
 	/**
@@ -178,7 +263,31 @@ public class SharedDataModel {
 	 * @return An ObservableList of String containing the additional courses.
 	 */
 	public ObservableList<String> getAdditionalCourses() {
-		return additionalCourses;
+		return additionalCourses.get();
+	}
+
+	/**
+	 * Returns the course options matching what was typed, for autocompletion.
+	 *
+	 * @param query the text typed so far
+	 * @param limit the maximum number of options to return
+	 * @return the matching options, best first
+	 * @see OptionIndex#find
+	 */
+	public List<String> findCourseOptions(String query, int limit) {
+		return courseOptions.find(query, limit);
+	}
+
+	/**
+	 * Returns the additional courses matching what was typed, for autocompletion.
+	 *
+	 * @param query the text typed so far
+	 * @param limit the maximum number of options to return
+	 * @return the matching options, best first
+	 * @see OptionIndex#find
+	 */
+	public List<String> findAdditionalCourses(String query, int limit) {
+		return additionalCourses.find(query, limit);
 	}
 
 	/**
@@ -191,79 +300,380 @@ public class SharedDataModel {
 	}
 
 	/**
-	 * Loads the shared data from various files.
+	 * Starts reading every option file in the background. Each file is read
+	 * once, however many lists are filled from it.
 	 */
 	public void loadDataFromFiles() {
+		for (String fileName : OPTION_FILES) {
+			optionFile(fileName);
+		}
+	}
+
+	/**
+	 * Returns the directory holding the option files.
+	 *
+	 * @return the directory
+	 */
+	public Path getDirectory() {
+		return directory;
+	}
+
+	/**
+	 * Returns the names of the option files.
+	 *
+	 * @return the file names, without a directory
+	 */
+	public List<String> getOptionFiles() {
+		return OPTION_FILES;
+	}
+
+	/**
+	 * Reads an option file again if it was changed on disk by another program,
+	 * and updates the lists filled from it. The file is read and compared on the
+	 * calling thread; only applying the change runs on the UI executor, in one
+	 * task per list. Changes this model saved itself are recognized and
+	 * skipped.
+	 *
+	 * @param fileName   the option file, such as {@code coursesOptions.txt}
+	 * @param uiExecutor runs the list updates, such as {@code Platform::runLater}
+	 * @return true if the file had changed
+	 */
+	public boolean reloadOptionFile(String fileName, Executor uiExecutor) {
+		List<String> options;
 		try {
-			File semesterFile = new File("semesterOptions.txt");
-			Scanner semesterScanner = new Scanner(semesterFile);
-			while (semesterScanner.hasNextLine()) {
-				semesterOptions.add(semesterScanner.nextLine());
+			optionFile(fileName).join();
+			options = optionLog(fileName).reloadIfChanged();
+		} catch (IOException e) {
+			System.out.println("Error while reading file: " + e.getMessage());
+			return false;
+		}
+		if (options == null) {
+			return false;
+		}
+		optionFiles.put(fileName, CompletableFuture.completedFuture(options));
+		for (OptionList list : optionLists) {
+			if (list.fileName.equals(fileName)) {
+				list.update(options, uiExecutor);
 			}
-			semesterScanner.close();
+		}
+		return true;
+	}
 
-			File programFile = new File("programOptions.txt");
-			Scanner programScanner = new Scanner(programFile);
-			while (programScanner.hasNextLine()) {
-				programOptions.add(programScanner.nextLine());
-			}
-			programScanner.close();
+	/**
+	 * Returns the options of an option file, reading it and applying its log in
+	 * the background the first time it is asked for.
+	 */
+	private CompletableFuture<List<String>> optionFile(String fileName) {
+		return optionFiles.computeIfAbsent(fileName,
+				name -> CompletableFuture.supplyAsync(() -> readOptions(name), LOADER));
+	}
 
-			File personalFile = new File("personalCharacterOptions.txt");
-			Scanner personalScanner = new Scanner(personalFile);
-			while (personalScanner.hasNextLine()) {
-				personalCharacterOptions.add(personalScanner.nextLine());
-			}
-			personalScanner.close();
+	private OptionLog optionLog(String fileName) {
+		return optionLogs.computeIfAbsent(fileName, name -> new OptionLog(directory.resolve(name)));
+	}
 
-			File academicFile = new File("academicCharacterOptions.txt");
-			Scanner academicScanner = new Scanner(academicFile);
-			while (academicScanner.hasNextLine()) {
-				academicCharacterOptions.add(academicScanner.nextLine());
-			}
-			academicScanner.close();
+	/**
+	 * Reads an option file with its log, recording a
+	 * {@link FlightEvents.OptionLoad} event.
+	 *
+	 * @param fileName the name of the option file
+	 * @return the options, or an empty list if the file cannot be read
+	 */
+	private List<String> readOptions(String fileName) {
+		FlightEvents.OptionLoad event = new FlightEvents.OptionLoad();
+		event.begin();
+		List<String> options = new ArrayList<>();
+		try {
+			options = optionLog(fileName).load();
+		} catch (IOException e) {
+			System.out.println("Error while reading file: " + e.getMessage());
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			event.file = fileName;
+			event.options = options.size();
+			event.bytes = directory.resolve(fileName).toFile().length();
+			event.commit();
+		}
+		return options;
+	}
 
-			File courseFile = new File("coursesOptions.txt");
-			Scanner courseScanner = new Scanner(courseFile);
-			while (courseScanner.hasNextLine()) {
-				courseOptions.add(courseScanner.nextLine());
-			}
-			courseScanner.close();
+	/**
+	 * Adds an option to the lists loaded from an option file and saves it by
+	 * appending one entry to the file's log.
+	 *
+	 * @param fileName the option file, such as {@code coursesOptions.txt}
+	 * @param option   the option to add
+	 */
+	public void addOption(String fileName, String option) {
+		List<OptionList> lists = optionListsFor(fileName);
+		for (OptionList list : lists) {
+			list.get().add(option);
+		}
+		OptionLog log = optionLog(fileName);
+		try {
+			log.add(option);
+			compactIfNeeded(log, lists.get(0).get());
+		} catch (IOException e) {
+			System.out.println("Error while writing file: " + e.getMessage());
+		}
+	}
 
-			File additionalCourseFile = new File("coursesOptions.txt");
-			Scanner additionalCourseScanner = new Scanner(additionalCourseFile);
-			while (additionalCourseScanner.hasNextLine()) {
-				additionalCourses.add(additionalCourseScanner.nextLine());
+	/**
+	 * Removes an option from the lists loaded from an option file and saves the
+	 * removal by appending one entry to the file's log.
+	 *
+	 * @param fileName the option file, such as {@code coursesOptions.txt}
+	 * @param option   the option to remove
+	 * @return true if the option was found
+	 */
+	public boolean removeOption(String fileName, String option) {
+		List<OptionList> lists = optionListsFor(fileName);
+		boolean removed = false;
+		for (OptionList list : lists) {
+			removed |= list.get().remove(option);
+		}
+		if (!removed) {
+			return false;
+		}
+		OptionLog log = optionLog(fileName);
+		try {
+			log.remove(option);
+			compactIfNeeded(log, lists.get(0).get());
+		} catch (IOException e) {
+			System.out.println("Error while writing file: " + e.getMessage());
+		}
+		return true;
+	}
+
+	private static void compactIfNeeded(OptionLog log, List<String> options) throws IOException {
+		if (log.shouldCompact(options.size())) {
+			log.compact(options);
+		}
+	}
+
+	/**
+	 * Returns the option lists filled from a file, loading them if needed so
+	 * the file's log has been read before it is appended to.
+	 */
+	private List<OptionList> optionListsFor(String fileName) {
+		List<OptionList> lists = new ArrayList<>(2);
+		for (OptionList list : optionLists) {
+			if (list.fileName.equals(fileName)) {
+				list.get();
+				lists.add(list);
 			}
-			additionalCourseScanner.close();
+		}
+		if (lists.isEmpty()) {
+			throw new IllegalArgumentException("Unknown option file: " + fileName);
+		}
+		return lists;
+	}
 
-		} catch (FileNotFoundException e) {
-			System.out.println("File not found: " + e.getMessage());
-		} catch (Exception e) {
-			System.out.println("Error while reading file: " + e.getMessage());
+	/**
+	 * Splits text into lines the way {@link java.util.Scanner#nextLine} does: a
+	 * line ends at a line feed, a carriage return or both, and a final line
+	 * needs no terminator.
+	 */
+	static List<String> splitLines(String text) {
+		List<String> lines = new ArrayList<>();
+		int start = 0;
+		int length = text.length();
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085') {
+				lines.add(text.substring(start, i));
+				if (c == '\r' && i + 1 < length && text.charAt(i + 1) == '\n') {
+					i++;
+				}
+				start = i + 1;
+			}
 		}
+		if (start < length) {
+			lines.add(text.substring(start));
+		}
+		return lines;
 	}
 
 	/**
-	 * Saves the specified data to a file with the specified file name.
+	 * Saves the specified data to a file with the specified file name,
+	 * replacing the whole file. To add or remove a single option, use
+	 * {@link #addOption} or {@link #removeOption}, which only append to the log.
 	 *
 	 * @param fileName the name of the file to save the data to
 	 * @param data     the data to save
 	 */
 	public void saveDataToFile(String fileName, List<String> data) {
 		try {
-			FileWriter fileWriter = new FileWriter(fileName);
-			BufferedWriter bufferedWriter = new BufferedWriter(fileWriter);
+			optionFile(fileName).join();
+			optionLog(fileName).compact(data);
+		} catch (IOException e) {
+			System.out.println("Error while writing file: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * An option list filled from its file on first access, unless it has been
+	 * replaced before then. If the list is searched, a copy of it is kept up to
+	 * date with each change, and indexed on the indexer thread once the list
+	 * stops changing. The copy is made once per rebuild, and each change is
+	 * then applied to it, so adding an option does not copy the whole list.
+	 */
+	private final class OptionList {
+		private final String fileName;
+		private final boolean indexed;
+		private final ListChangeListener<String> invalidator = this::invalidate;
+		private ObservableList<String> items = FXCollections.observableArrayList();
+		private boolean filled;
+		private volatile OptionIndex index;
+		private volatile long version;
+		private List<String> unindexed;
+		private boolean indexQueued;
+		private long queuedVersion;
 
-			for (String line : data) {
-				bufferedWriter.write(line);
-				bufferedWriter.newLine();
+		private OptionList(String fileName, boolean indexed) {
+			this.fileName = fileName;
+			this.indexed = indexed;
+			items.addListener(invalidator);
+		}
+
+		/**
+		 * Returns the list, filling it first if needed. Waiting for the file is
+		 * done without holding the list's monitor, so a caller waiting here does
+		 * not also hold up the indexer, a reload, or another thread asking for
+		 * the list. The file is looked up again once read, since a reload may
+		 * have replaced it in the meantime.
+		 */
+		private ObservableList<String> get() {
+			CompletableFuture<List<String>> file;
+			synchronized (this) {
+				if (filled) {
+					return items;
+				}
+				file = optionFile(fileName);
 			}
+			file.join();
+			synchronized (this) {
+				if (!filled) {
+					filled = true;
+					items.addAll(optionFile(fileName).join());
+				}
+				return items;
+			}
+		}
 
-			bufferedWriter.close();
-			fileWriter.close();
-		} catch (IOException e) {
-			System.out.println("Error while writing file: " + e.getMessage());
+		private synchronized void set(ObservableList<String> items) {
+			this.items.removeListener(invalidator);
+			this.items = items;
+			items.addListener(invalidator);
+			filled = true;
+			invalidate(null);
+		}
+
+		/**
+		 * Finds the options matching what was typed in the latest index. Before
+		 * the list's first index is complete, the list itself is searched.
+		 */
+		private List<String> find(String query, int limit) {
+			OptionIndex current = index;
+			if (current != null) {
+				return current.find(query, limit);
+			}
+			String text = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+			List<String> found = new ArrayList<>(Math.min(limit, 64));
+			for (String option : get()) {
+				if (found.size() >= limit) {
+					break;
+				}
+				if (option != null && option.toLowerCase(Locale.ROOT).contains(text)) {
+					found.add(option);
+				}
+			}
+			return found;
+		}
+
+		/**
+		 * Records a change to the list, and brings the copy to be indexed up to
+		 * date with it.
+		 *
+		 * @param change the change, or null if the whole list was replaced
+		 */
+		private synchronized void invalidate(ListChangeListener.Change<? extends String> change) {
+			version++;
+			if (!indexed) {
+				return;
+			}
+			if (unindexed == null || change == null) {
+				unindexed = new ArrayList<>(items);
+			} else {
+				while (change.next()) {
+					if (change.wasPermutated()) {
+						unindexed = new ArrayList<>(items);
+						break;
+					}
+					int from = change.getFrom();
+					unindexed.subList(from, from + change.getRemovedSize()).clear();
+					unindexed.addAll(from, change.getAddedSubList());
+				}
+			}
+			if (!indexQueued) {
+				indexQueued = true;
+				queueIndex();
+			}
+		}
+
+		private void queueIndex() {
+			queuedVersion = version;
+			INDEXER.schedule(this::rebuildIndex, INDEX_DELAY_MILLIS, TimeUnit.MILLISECONDS);
+		}
+
+		/**
+		 * Indexes the copy of the list on the indexer thread, unless the list
+		 * changed since the rebuild was queued, in which case it waits again.
+		 */
+		private void rebuildIndex() {
+			List<String> options;
+			synchronized (this) {
+				if (version != queuedVersion) {
+					queueIndex();
+					return;
+				}
+				options = unindexed;
+				unindexed = null;
+				indexQueued = false;
+			}
+			index = new OptionIndex(options);
+		}
+
+		/**
+		 * Brings the list up to date with new file contents. The change is
+		 * computed on the calling thread from a copy of the list, and computed
+		 * again on the UI thread only if the list was changed in between.
+		 */
+		private void update(List<String> options, Executor uiExecutor) {
+			ObservableList<String> target;
+			long seen;
+			synchronized (this) {
+				if (!filled) {
+					return;
+				}
+				target = items;
+				seen = version;
+			}
+			OptionListDiff diff = OptionListDiff.between(Arrays.asList(target.toArray()), options);
+			uiExecutor.execute(() -> {
+				ObservableList<String> current;
+				OptionListDiff change = diff;
+				synchronized (this) {
+					current = items;
+					if (current != target || version != seen) {
+						change = OptionListDiff.between(current, options);
+					}
+				}
+				if (!change.isEmpty()) {
+					change.applyTo(current);
+				}
+			});
 		}
 	}
 }
@@ -0,0 +1,152 @@
+/**
+ * Table that maps the repeated strings of recommendations to int ids.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps the strings recommendations are made of to small int ids, so a
+ * {@link CompactRecommendation} can store ids instead of its own copies of
+ * the same few course names and characteristics. Ids are given out from zero
+ * in the order strings are first seen and are never reused. Grades, of which
+ * there are only a handful, have their own table of up to {@value #MAX_GRADES}
+ * entries so a grade fits in a byte.
+ *
+ * <p>
+ * {@link #forVocabulary} fills a table with the option lists of a
+ * {@link SharedDataModel}, so the strings used most get the lowest ids.
+ * Strings outside the vocabulary, such as target schools, are added on first
+ * use. Student names are not added, as each would take an entry of its own.
+ * Adding is synchronized; looking up the string for an id is not, and is
+ * safe on any thread that got the id from this table or from a
+ * recommendation encoded with it.
+ */
+public class SymbolTable {
+	static final int MAX_GRADES = 255;
+
+	private final Map<String, Integer> ids = new HashMap<>();
+	private final Map<String, Integer> gradeCodes = new HashMap<>();
+	private volatile String[] symbols = new String[64];
+	private volatile String[] grades = new String[16];
+	private int size;
+	private int gradeCount;
+
+	/**
+	 * Creates a table filled with the vocabulary of the option lists: genders,
+	 * semesters, programs, courses and characteristics.
+	 *
+	 * @param sharedDataModel the model holding the option lists
+	 * @return the table
+	 */
+	public static SymbolTable forVocabulary(SharedDataModel sharedDataModel) {
+		SymbolTable table = new SymbolTable();
+		table.addAll(sharedDataModel.getGenderOptions());
+		table.addAll(sharedDataModel.getSemesterOptions());
+		table.addAll(sharedDataModel.getProgramOptions());
+		table.addAll(sharedDataModel.getCourseOptions());
+		table.addAll(sharedDataModel.getPersonalCharacterOptions());
+		table.addAll(sharedDataModel.getAcademicCharacterOptions());
+		return table;
+	}
+
+	/**
+	 * Adds strings to the table.
+	 *
+	 * @param strings the strings
+	 */
+	public synchronized void addAll(Collection<String> strings) {
+		for (String string : strings) {
+			id(string);
+		}
+	}
+
+	/**
+	 * Returns the id of a string, adding it to the table if it is new.
+	 *
+	 * @param string the string, or null
+	 * @return the id, or -1 for null
+	 */
+	public synchronized int id(String string) {
+		if (string == null) {
+			return -1;
+		}
+		Integer id = ids.get(string);
+		if (id != null) {
+			return id;
+		}
+		String[] current = symbols;
+		if (size == current.length) {
+			current = Arrays.copyOf(current, size * 2);
+		}
+		current[size] = string;
+		symbols = current;
+		ids.put(string, size);
+		return size++;
+	}
+
+	/**
+	 * Returns the string with an id.
+	 *
+	 * @param id the id
+	 * @return the string, or null for -1
+	 */
+	public String symbol(int id) {
+		return id < 0 ? null : symbols[id];
+	}
+
+	/**
+	 * Returns the one-byte code of a grade, adding it to the table if it is
+	 * new.
+	 *
+	 * @param grade the grade, such as {@code "A"}, or null
+	 * @return the code, or -1 for null
+	 * @throws IllegalStateException if the table already holds
+	 *                               {@value #MAX_GRADES} grades
+	 */
+	public synchronized byte gradeCode(String grade) {
+		if (grade == null) {
+			return -1;
+		}
+		Integer code = gradeCodes.get(grade);
+		if (code != null) {
+			return code.byteValue();
+		}
+		if (gradeCount == MAX_GRADES) {
+			throw new IllegalStateException("More than " + MAX_GRADES + " different grades");
+		}
+		String[] current = grades;
+		if (gradeCount == current.length) {
+			current = Arrays.copyOf(current, Math.min(gradeCount * 2, MAX_GRADES));
+		}
+		current[gradeCount] = grade;
+		grades = current;
+		gradeCodes.put(grade, gradeCount);
+		return (byte) gradeCount++;
+	}
+
+	/**
+	 * Returns the grade with a code.
+	 *
+	 * @param code the code
+	 * @return the grade, or null for -1
+	 */
+	public String grade(byte code) {
+		return code == -1 ? null : grades[code & 0xFF];
+	}
+
+	/**
+	 * Returns the number of strings in the table, not counting grades.
+	 *
+	 * @return the number of strings
+	 */
+	public synchronized int size() {
+		return size;
+	}
+}
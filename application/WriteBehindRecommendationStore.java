@@ -0,0 +1,444 @@
+/**
+ * Letter store decorator that batches writes on a background thread.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Saves letters on a single background writer thread so that callers, above
+ * all the JavaFX application thread, never wait for the disk.
+ *
+ * <p>
+ * {@link #writeAsync} and {@link #deleteAsync} queue the change and return a
+ * future right away. The writer takes everything queued at that moment, applies
+ * it to the underlying store and then forces the store to disk once for the
+ * whole batch, so a burst of saves costs one sync instead of one each. The
+ * futures complete only after that sync.
+ *
+ * <p>
+ * Until a change is written, reads through this store already see it. Queue
+ * depth, batch sizes and the commit latency from queueing to sync are
+ * recorded, and each batch is a {@link FlightEvents.LetterCommit} event.
+ */
+public class WriteBehindRecommendationStore implements RecommendationStore {
+	static final int MAX_BATCH = 256;
+
+	private final RecommendationStore delegate;
+	private final BlockingQueue<Operation> queue = new LinkedBlockingQueue<>();
+	private final Map<String, Operation> pending = new ConcurrentHashMap<>();
+	private final Thread writer;
+	private final LatencyHistogram commitLatency = new LatencyHistogram();
+	private final AtomicInteger maxQueueDepth = new AtomicInteger();
+	private final AtomicLong committed = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private volatile boolean closed;
+	private volatile Operation closing;
+
+	/**
+	 * Constructor for the WriteBehindRecommendationStore. Starts the writer
+	 * thread.
+	 *
+	 * @param delegate the store the letters are written to
+	 */
+	public WriteBehindRecommendationStore(RecommendationStore delegate) {
+		this.delegate = delegate;
+		writer = new Thread(this::run, "letter-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@Override
+	public CompletableFuture<Void> writeAsync(String name, String text) {
+		return enqueue(new Operation(name, text, false)).thenApply(ignored -> null);
+	}
+
+	@Override
+	public CompletableFuture<Boolean> deleteAsync(String name) {
+		return enqueue(new Operation(name, null, false));
+	}
+
+	/**
+	 * Queues the letter and waits until it is durably saved.
+	 */
+	@Override
+	public void write(String name, String text) throws IOException {
+		await(writeAsync(name, text));
+	}
+
+	/**
+	 * Queues a copy of the encoded letter and waits until it is durably saved.
+	 * The bytes are passed on to the underlying store as they are; they are
+	 * only decoded if the letter is read while still queued.
+	 */
+	@Override
+	public void writeUtf8(String name, ByteBuffer text) throws IOException {
+		byte[] bytes = new byte[text.remaining()];
+		text.duplicate().get(bytes);
+		await(enqueue(new Operation(name, bytes)));
+	}
+
+	/**
+	 * Queues the deletion and waits until it is durably saved.
+	 */
+	@Override
+	public boolean delete(String name) throws IOException {
+		return await(deleteAsync(name));
+	}
+
+	@Override
+	public String read(String name) throws IOException {
+		Operation operation = pending.get(name);
+		if (operation != null) {
+			return operation.text();
+		}
+		return delegate.read(name);
+	}
+
+	@Override
+	public Utf8Letter readUtf8(String name) throws IOException {
+		Operation operation = pending.get(name);
+		if (operation != null) {
+			return operation.letter();
+		}
+		return delegate.readUtf8(name);
+	}
+
+	@Override
+	public boolean contains(String name) {
+		Operation operation = pending.get(name);
+		if (operation != null) {
+			return !operation.deletes();
+		}
+		return delegate.contains(name);
+	}
+
+	/**
+	 * Lists the stored letters with the queued changes applied. The queued
+	 * changes are read before the underlying store, so a change committed in
+	 * between is still listed, by one of the two.
+	 */
+	@Override
+	public List<String> names() {
+		List<Operation> queued = new ArrayList<>(pending.values());
+		if (queued.isEmpty()) {
+			return delegate.names();
+		}
+		TreeSet<String> names = new TreeSet<>(delegate.names());
+		for (Operation operation : queued) {
+			if (!operation.deletes()) {
+				names.add(operation.name);
+			} else {
+				names.remove(operation.name);
+			}
+		}
+		return new ArrayList<>(names);
+	}
+
+	@Override
+	public int size() {
+		return pending.isEmpty() ? delegate.size() : names().size();
+	}
+
+	/**
+	 * Waits until every change queued so far is durably saved.
+	 */
+	@Override
+	public void flush() throws IOException {
+		await(enqueue(new Operation(null, null, true)));
+	}
+
+	@Override
+	public int copyTo(RecommendationStore target) throws IOException {
+		flush();
+		return delegate.copyTo(target);
+	}
+
+	@Override
+	public int exportTo(Path directory) throws IOException {
+		flush();
+		return delegate.exportTo(directory);
+	}
+
+	/**
+	 * Writes everything still queued, stops the writer thread and closes the
+	 * underlying store. Changes queued after this is
+	 * called fail.
+	 *
+	 * <p>
+	 * The writer is not interrupted: an interrupt during a write would close the
+	 * underlying file channels for good. Instead a final barrier is queued
+	 * behind every accepted change, and the writer stops once it has synced it.
+	 */
+	@Override
+	public void close() throws IOException {
+		Operation last = new Operation(null, null, true);
+		synchronized (queue) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			closing = last;
+			queue.add(last);
+		}
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		try {
+			await(last.future);
+		} finally {
+			delegate.close();
+		}
+	}
+
+	/**
+	 * Returns the number of changes waiting to be written.
+	 *
+	 * @return the queue depth
+	 */
+	public int getQueueDepth() {
+		return queue.size();
+	}
+
+	/**
+	 * Returns the largest queue depth seen since the store was opened.
+	 *
+	 * @return the maximum queue depth
+	 */
+	public int getMaxQueueDepth() {
+		return maxQueueDepth.get();
+	}
+
+	/**
+	 * Returns the time from queueing a change to its sync.
+	 *
+	 * @return the commit latency histogram
+	 */
+	public LatencyHistogram getCommitLatency() {
+		return commitLatency;
+	}
+
+	/**
+	 * Returns the number of changes durably saved.
+	 *
+	 * @return the number of committed changes
+	 */
+	public long getCommittedCount() {
+		return committed.get();
+	}
+
+	/**
+	 * Returns the number of batches the writer has synced.
+	 *
+	 * @return the number of batches
+	 */
+	public long getBatchCount() {
+		return batches.get();
+	}
+
+	/**
+	 * Describes the writes so far on one line.
+	 *
+	 * @return the write statistics
+	 */
+	public String summary() {
+		return String.format("Letter writes: %d in %d batches, max queue depth %d, commit latency %s",
+				committed.get(), batches.get(), maxQueueDepth.get(), commitLatency.summary());
+	}
+
+	private CompletableFuture<Boolean> enqueue(Operation operation) {
+		synchronized (queue) {
+			if (closed) {
+				operation.future.completeExceptionally(new IOException("The letter store is closed"));
+				return operation.future;
+			}
+			if (operation.name != null) {
+				pending.put(operation.name, operation);
+			}
+			queue.add(operation);
+		}
+		maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+		return operation.future;
+	}
+
+	private static <T> T await(CompletableFuture<T> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the letter store");
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) {
+				throw (IOException) e.getCause();
+			}
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IOException(e.getCause());
+		}
+	}
+
+	/**
+	 * The writer loop: waits for a change, takes everything else queued behind
+	 * it, and commits the batch. It stops after committing the barrier queued by
+	 * {@link #close}, which is always the last operation queued.
+	 */
+	private void run() {
+		List<Operation> batch = new ArrayList<>(MAX_BATCH);
+		while (true) {
+			Operation first;
+			try {
+				first = queue.take();
+			} catch (InterruptedException e) {
+				continue;
+			}
+			batch.add(first);
+			queue.drainTo(batch, MAX_BATCH - 1);
+			commit(batch);
+			if (batch.get(batch.size() - 1) == closing) {
+				return;
+			}
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Applies a batch to the underlying store and syncs it once. A change that
+	 * fails fails only its own future; a failed sync fails the whole batch.
+	 */
+	private void commit(List<Operation> batch) {
+		FlightEvents.LetterCommit event = new FlightEvents.LetterCommit();
+		event.begin();
+		List<Object> results = new ArrayList<>(Collections.nCopies(batch.size(), null));
+		for (int i = 0; i < batch.size(); i++) {
+			Operation operation = batch.get(i);
+			if (operation.barrier) {
+				continue;
+			}
+			try {
+				if (operation.text != null) {
+					delegate.write(operation.name, operation.text);
+					results.set(i, Boolean.TRUE);
+				} else if (operation.utf8 != null) {
+					delegate.writeUtf8(operation.name, ByteBuffer.wrap(operation.utf8));
+					results.set(i, Boolean.TRUE);
+				} else {
+					results.set(i, delegate.delete(operation.name));
+				}
+			} catch (IOException | RuntimeException e) {
+				results.set(i, e);
+			}
+		}
+		Throwable syncError = null;
+		try {
+			delegate.flush();
+		} catch (IOException | RuntimeException e) {
+			syncError = e;
+		}
+		batches.incrementAndGet();
+		long now = System.nanoTime();
+		for (int i = 0; i < batch.size(); i++) {
+			Operation operation = batch.get(i);
+			if (operation.name != null) {
+				pending.remove(operation.name, operation);
+			}
+			Object result = results.get(i);
+			if (syncError != null) {
+				operation.future.completeExceptionally(syncError);
+			} else if (result instanceof Throwable) {
+				operation.future.completeExceptionally((Throwable) result);
+			} else {
+				if (!operation.barrier) {
+					committed.incrementAndGet();
+					commitLatency.record(now - operation.enqueued);
+				}
+				operation.future.complete(operation.barrier ? Boolean.TRUE : (Boolean) result);
+			}
+		}
+		event.end();
+		if (event.shouldCommit()) {
+			for (int i = 0; i < batch.size(); i++) {
+				Operation operation = batch.get(i);
+				if (!operation.barrier) {
+					event.changes++;
+					event.characters += operation.length();
+					if (syncError != null || results.get(i) instanceof Throwable) {
+						event.failed++;
+					}
+				}
+			}
+			event.commit();
+		}
+	}
+
+	/**
+	 * A queued write, deletion or flush barrier. A write holds either the text
+	 * or its UTF-8 encoding, as it was passed in.
+	 */
+	private static final class Operation {
+		private final String name;
+		private final String text;
+		private final byte[] utf8;
+		private final boolean barrier;
+		private final long enqueued = System.nanoTime();
+		private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+
+		private Operation(String name, String text, boolean barrier) {
+			this.name = name;
+			this.text = text;
+			this.utf8 = null;
+			this.barrier = barrier;
+		}
+
+		private Operation(String name, byte[] utf8) {
+			this.name = name;
+			this.text = null;
+			this.utf8 = utf8;
+			this.barrier = false;
+		}
+
+		private boolean deletes() {
+			return !barrier && text == null && utf8 == null;
+		}
+
+		private String text() {
+			return utf8 != null ? new String(utf8, StandardCharsets.UTF_8) : text;
+		}
+
+		private Utf8Letter letter() {
+			if (utf8 != null) {
+				return Utf8Letter.of(ByteBuffer.wrap(utf8).asReadOnlyBuffer());
+			}
+			return text == null ? null : Utf8Letter.of(text);
+		}
+
+		/**
+		 * Returns the length of the letter written, in characters or, for an
+		 * encoded letter, in bytes.
+		 */
+		private int length() {
+			return utf8 != null ? utf8.length : text == null ? 0 : text.length();
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/**
+ * Generated recommendation data shared by the benchmarks.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates realistic recommendation data for the benchmarks. The same seed
+ * always produces the same data set, so runs can be compared with each other.
+ */
+public final class BenchmarkData {
+	static final String[] FIRST_NAMES = { "ava", "liam", "sophia", "noah", "mia", "ethan", "isabella", "lucas",
+			"amelia", "mateo", "harper", "elijah", "evelyn", "james", "camila", "benjamin", "luna", "henry", "aria",
+			"daniel" };
+	static final String[] LAST_NAMES = { "smith", "johnson", "williams", "brown", "jones", "garcia", "miller",
+			"davis", "rodriguez", "martinez", "hernandez", "lopez", "gonzalez", "wilson", "anderson", "thomas",
+			"taylor", "moore", "jackson", "martin", "lee", "perez", "thompson", "white", "harris", "sanchez",
+			"clark", "ramirez", "lewis", "robinson", "nguyen", "pham", "kyaw", "atendido" };
+	static final String[] SYLLABLES = { "ka", "mo", "ri", "ten", "bar", "lin", "do", "ve", "sa", "gon", "ha", "el",
+			"zu", "pe", "tor", "ni", "ma", "ro", "us", "an" };
+	static final String[] GENDERS = { "he", "she", "they" };
+	static final String[] SEMESTERS = { "Spring", "Summer", "Fall" };
+	static final String[] PROGRAMS = { "Master of Science (MS)", "Master of Business Administration (MBA)",
+			"Doctor of Philosophy (PhD)" };
+	static final String[] COURSES = { "CS151: Object-Oriented Design", "CS166: Information Security",
+			"CS154: Formal Languages and Computability", "CS160: Software Engineering",
+			"CS256: Cryptography", "CS146: Data Structures and Algorithms", "CS157A: Introduction to Database Management Systems",
+			"CS401: Software Architecture" };
+	static final String[] GRADES = { "a", "b", "c", "A", "B" };
+	static final String[] PERSONAL = { "very passionate", "very enthusiastic", "punctual", "attentive",
+			"very hard-working", "very respectful", "well-prepared" };
+	static final String[] ACADEMIC = { "submitted well-written assignments",
+			"participated in all of my class activities", "worked hard", "was very well prepared for every exam and assignment",
+			"picked up new skills quickly", "was able to excel academically at the top of my class" };
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Creates one recommendation with the given number of additional courses.
+	 *
+	 * @param random  the source of randomness
+	 * @param courses the number of additional courses
+	 * @return a new recommendation
+	 */
+	public static Recommendation recommendation(Random random, int courses) {
+		List<Course> coursesTaken = new ArrayList<>(courses);
+		for (int i = 0; i < courses; i++) {
+			coursesTaken.add(new Course(pick(random, COURSES), pick(random, GRADES)));
+		}
+		return new Recommendation(pick(random, FIRST_NAMES), lastName(random), pick(random, GENDERS),
+				"05/0" + (1 + random.nextInt(9)) + "/2023", "Stanford", pick(random, PROGRAMS),
+				pick(random, SEMESTERS) + " " + (2018 + random.nextInt(6)), pick(random, COURSES), pick(random, GRADES),
+				coursesTaken, picks(random, PERSONAL, 1 + random.nextInt(3)),
+				picks(random, ACADEMIC, 1 + random.nextInt(3)));
+	}
+
+	/**
+	 * Creates the given number of recommendations with between zero and four
+	 * additional courses each.
+	 *
+	 * @param count the number of recommendations
+	 * @param seed  the random seed
+	 * @return the recommendations
+	 */
+	public static List<Recommendation> recommendations(int count, long seed) {
+		Random random = new Random(seed);
+		List<Recommendation> recommendations = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			recommendations.add(recommendation(random, random.nextInt(5)));
+		}
+		return recommendations;
+	}
+
+	/**
+	 * Creates the faculty member used to sign benchmark letters.
+	 *
+	 * @return a new faculty member
+	 */
+	public static Faculty faculty() {
+		return new Faculty("John", "Doe", "Professor", "Example University", "Computer Science",
+				"john.doe@example.com", "555-123-4567");
+	}
+
+	/**
+	 * Creates the text of a letter of about the given length by joining
+	 * rendered letters, so it has the line lengths of real letters.
+	 *
+	 * @param chars the length of the text
+	 * @param seed  the random seed
+	 * @return the letter text, exactly {@code chars} characters long
+	 */
+	public static String letterText(int chars, long seed) {
+		Random random = new Random(seed);
+		Faculty faculty = faculty();
+		StringBuilder text = new StringBuilder(chars + 4096);
+		while (text.length() < chars) {
+			LetterTemplate.DEFAULT.renderTo(recommendation(random, random.nextInt(5)), faculty, text);
+			text.append('\n');
+		}
+		text.setLength(chars);
+		return text.toString();
+	}
+
+	/**
+	 * Picks a last name. Half are drawn from a short list of common names and
+	 * half are made of two or three syllables, which gives a few common names
+	 * shared by many students and a long tail of rare ones, as in a real
+	 * registry.
+	 *
+	 * @param random the source of randomness
+	 * @return a last name
+	 */
+	public static String lastName(Random random) {
+		if (random.nextBoolean()) {
+			return pick(random, LAST_NAMES);
+		}
+		StringBuilder name = new StringBuilder(pick(random, SYLLABLES));
+		int syllables = 1 + random.nextInt(2);
+		for (int i = 0; i < syllables; i++) {
+			name.append(pick(random, SYLLABLES));
+		}
+		return name.toString();
+	}
+
+	private static String pick(Random random, String[] values) {
+		return values[random.nextInt(values.length)];
+	}
+
+	private static ArrayList<String> picks(Random random, String[] values, int count) {
+		ArrayList<String> picked = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			picked.add(pick(random, values));
+		}
+		return picked;
+	}
+}
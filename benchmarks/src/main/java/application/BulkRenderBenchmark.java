@@ -0,0 +1,192 @@
+/**
+ * Benchmark of parallel letter rendering by thread count.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how {@link BulkLetterRenderer} scales with the number of worker
+ * threads. Each operation renders {@code letters} letters; scores are
+ * milliseconds per batch, so the speed-up at n threads is the 1-thread score
+ * divided by the n-thread score.
+ *
+ * <p>
+ * The {@code memory} store only counts the encoded bytes, isolating rendering
+ * and encoding; the {@code segment} store writes to a segment store in a
+ * temporary directory, where appends are serialized. {@link #sequential} is
+ * the single-threaded loop over {@link RecommendationManager#generateFormattedText}
+ * the renderer replaces. Scaling is limited by the cores of the machine, so
+ * the thread counts above the core count only show the overhead; the results
+ * so far come from a single-core machine and say nothing yet about scaling to
+ * 16 cores:
+ * <pre>
+ * java -jar target/benchmarks.jar BulkRenderBenchmark -p store=memory
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkRenderBenchmark {
+	@Param({ "1", "2", "4", "8", "16" })
+	public int threads;
+
+	@Param({ "memory", "segment" })
+	public String store;
+
+	@Param({ "10000" })
+	public int letters;
+
+	private RecommendationManager recommendationManager;
+	private List<Recommendation> recommendations;
+	private Path root;
+	private RecommendationStore target;
+	private BulkLetterRenderer renderer;
+
+	/**
+	 * Creates the data set, the store and the renderer.
+	 *
+	 * @throws IOException if the store cannot be opened
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		SharedDataModel sharedDataModel = new SharedDataModel();
+		sharedDataModel.setFaculty(BenchmarkData.faculty());
+		recommendationManager = new RecommendationManager(sharedDataModel);
+		recommendations = BenchmarkData.recommendations(letters, 42L);
+		if ("segment".equals(store)) {
+			root = Files.createTempDirectory("bulk-render");
+			target = new SegmentRecommendationStore(root);
+		} else {
+			target = new CountingStore();
+		}
+		renderer = new BulkLetterRenderer(recommendationManager, target, threads);
+		Recommendation first = recommendations.get(0);
+		renderer.renderAll(Collections.singletonList(first));
+		if ("segment".equals(store) && !recommendationManager.generateFormattedText(first)
+				.equals(target.read(first.getLastName() + "_" + first.getFirstName() + ".txt"))) {
+			throw new IllegalStateException("Renderer wrote a different letter");
+		}
+	}
+
+	/**
+	 * Stops the renderer and deletes the store.
+	 *
+	 * @throws IOException if the files cannot be deleted
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		renderer.shutdown();
+		target.close();
+		if (root != null) {
+			try (Stream<Path> files = Files.walk(root)) {
+				files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+			}
+		}
+	}
+
+	/**
+	 * Renders and writes every letter on the renderer's threads.
+	 *
+	 * @return the number of letters written
+	 */
+	@Benchmark
+	public int renderAll() {
+		return renderer.renderAll(recommendations);
+	}
+
+	/**
+	 * Renders and writes every letter one by one on the calling thread,
+	 * creating a new string for each.
+	 *
+	 * @return the number of letters written
+	 * @throws IOException if a letter cannot be written
+	 */
+	@Benchmark
+	public int sequential() throws IOException {
+		for (Recommendation recommendation : recommendations) {
+			target.write(recommendation.getLastName() + "_" + recommendation.getFirstName() + ".txt",
+					recommendationManager.generateFormattedText(recommendation));
+		}
+		return recommendations.size();
+	}
+
+	/**
+	 * A store that keeps nothing and only counts the bytes written to it.
+	 */
+	static final class CountingStore implements RecommendationStore {
+		private final LongAdder bytes = new LongAdder();
+
+		@Override
+		public void write(String name, String text) {
+			bytes.add(text.length());
+		}
+
+		@Override
+		public void writeUtf8(String name, ByteBuffer text) {
+			bytes.add(text.remaining());
+		}
+
+		@Override
+		public String read(String name) {
+			return null;
+		}
+
+		@Override
+		public boolean delete(String name) {
+			return false;
+		}
+
+		@Override
+		public boolean contains(String name) {
+			return false;
+		}
+
+		@Override
+		public List<String> names() {
+			return Collections.emptyList();
+		}
+
+		@Override
+		public int size() {
+			return 0;
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void close() {
+		}
+	}
+}
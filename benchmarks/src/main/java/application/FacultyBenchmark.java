@@ -0,0 +1,53 @@
+/**
+ * Benchmark of building the faculty signature.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures building the faculty signature appended to every letter. Scores are
+ * signatures per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FacultyBenchmark {
+	private Faculty faculty;
+
+	/**
+	 * Creates the faculty member.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		faculty = BenchmarkData.faculty();
+	}
+
+	/**
+	 * Builds the signature.
+	 *
+	 * @return the signature
+	 */
+	@Benchmark
+	public String getSignature() {
+		return faculty.getSignature();
+	}
+}
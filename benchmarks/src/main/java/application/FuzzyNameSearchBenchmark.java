@@ -0,0 +1,160 @@
+/**
+ * Benchmark of typo-tolerant name lookups.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures typo-tolerant name lookups in a {@link FuzzyIndex} against scanning
+ * every name with the bounded Levenshtein distance. Half of the names are drawn
+ * as in {@link BenchmarkData#lastName}, the other half have three to five
+ * syllables, which gives a long tail of rare names. Each query is an indexed
+ * name with one or two typos, looked up with
+ * {@link FuzzyIndex#autoDistance}. Scores are microseconds per lookup.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class FuzzyNameSearchBenchmark {
+	private static final int QUERIES = 1024;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int names;
+
+	private String[] indexed;
+	private FuzzyIndex<Integer> fuzzyIndex;
+	private String[] queries;
+	private int[] distances;
+	private int next;
+
+	/**
+	 * Generates and indexes the names, makes the misspelled queries and checks
+	 * that the index finds exactly what the scan finds.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		Random random = new Random(42L);
+		indexed = new String[names];
+		fuzzyIndex = new FuzzyIndex<>();
+		for (int i = 0; i < names; i++) {
+			indexed[i] = random.nextBoolean() ? BenchmarkData.lastName(random) : longName(random);
+			fuzzyIndex.add(indexed[i], i);
+		}
+		queries = new String[QUERIES];
+		distances = new int[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			String name = indexed[random.nextInt(names)];
+			queries[i] = misspell(random, random.nextInt(4) == 0 ? misspell(random, name) : name);
+			distances[i] = FuzzyIndex.autoDistance(queries[i].length());
+		}
+		for (int i = 0; i < 64; i++) {
+			if (!new HashSet<>(fuzzyIndex.findSimilar(queries[i], distances[i], Integer.MAX_VALUE))
+					.equals(new HashSet<>(scan(queries[i], distances[i])))) {
+				throw new IllegalStateException("Index and scan disagree for " + queries[i]);
+			}
+		}
+		System.out.println(String.format("%n%d names, %d distinct", names, fuzzyIndex.getKeyCount()));
+	}
+
+	private int nextIndex() {
+		int index = next;
+		next = (next + 1) & (QUERIES - 1);
+		return index;
+	}
+
+	/**
+	 * Looks up a misspelled name in the index.
+	 *
+	 * @return the matching name numbers
+	 */
+	@Benchmark
+	public List<Integer> fuzzyIndex() {
+		int index = nextIndex();
+		return fuzzyIndex.findSimilar(queries[index], distances[index], 50);
+	}
+
+	/**
+	 * Looks up a misspelled name by comparing it with every name.
+	 *
+	 * @return the matching name numbers
+	 */
+	@Benchmark
+	public List<Integer> bruteForce() {
+		int index = nextIndex();
+		return scan(queries[index], distances[index]);
+	}
+
+	private List<Integer> scan(String query, int maxDistance) {
+		String normalized = query.toLowerCase(Locale.ROOT);
+		List<Integer> matches = new ArrayList<>();
+		for (int i = 0; i < indexed.length; i++) {
+			if (FuzzyIndex.editDistance(normalized, indexed[i], maxDistance) <= maxDistance) {
+				matches.add(i);
+			}
+		}
+		return matches;
+	}
+
+	private static String longName(Random random) {
+		StringBuilder name = new StringBuilder();
+		int syllables = 3 + random.nextInt(3);
+		for (int i = 0; i < syllables; i++) {
+			name.append(BenchmarkData.SYLLABLES[random.nextInt(BenchmarkData.SYLLABLES.length)]);
+		}
+		return name.toString();
+	}
+
+	/**
+	 * Applies one random typo: a replaced, inserted, deleted or swapped letter.
+	 */
+	private static String misspell(Random random, String name) {
+		StringBuilder typo = new StringBuilder(name);
+		int at = random.nextInt(name.length());
+		char letter = (char) ('a' + random.nextInt(26));
+		switch (random.nextInt(4)) {
+		case 0:
+			typo.setCharAt(at, letter);
+			break;
+		case 1:
+			typo.insert(at, letter);
+			break;
+		case 2:
+			if (name.length() > 3) {
+				typo.deleteCharAt(at);
+			}
+			break;
+		default:
+			if (at + 1 < name.length()) {
+				typo.setCharAt(at, name.charAt(at + 1));
+				typo.setCharAt(at + 1, name.charAt(at));
+			}
+			break;
+		}
+		return typo.toString();
+	}
+}
@@ -0,0 +1,127 @@
+/**
+ * Previous StringBuilder letter formatter, kept as a benchmark baseline.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The StringBuilder letter formatter that RecommendationManager used before
+ * letters were rendered through {@link LetterTemplate}. It is kept here as the
+ * baseline for the letter benchmarks and to check that both produce the same
+ * text.
+ */
+public class LegacyLetterFormatter {
+	private final SharedDataModel sharedDataModel;
+
+	/**
+	 * Constructor for the LegacyLetterFormatter.
+	 *
+	 * @param sharedDataModel the shared data model holding the signing faculty
+	 */
+	public LegacyLetterFormatter(SharedDataModel sharedDataModel) {
+		this.sharedDataModel = sharedDataModel;
+	}
+
+	/**
+	 * Generates a formatted text string for a given recommendation.
+	 *
+	 * @param recommendation the recommendation object
+	 * @return a formatted text string for the recommendation
+	 */
+	public String generateFormattedText(Recommendation recommendation) {
+		StringBuilder text = new StringBuilder();
+
+		List<Course> courses = recommendation.getCourses();
+		String firstName = recommendation.getFirstName().substring(0, 1).toUpperCase()
+				+ recommendation.getFirstName().substring(1);
+		String lastName = recommendation.getLastName().substring(0, 1).toUpperCase()
+				+ recommendation.getLastName().substring(1);
+
+		String additionalCoursesText = "";
+		if (courses.size() > 1) {
+			List<String> courseTexts = new ArrayList<>();
+			for (int i = 0; i < courses.size(); i++) {
+				Course course = courses.get(i);
+				courseTexts.add(String.format("%s from my \"%s\"", formatGrade(course.getGrade()), course.getName()));
+			}
+			if (courseTexts.size() > 1) {
+				additionalCoursesText = String.join(", ", courseTexts.subList(0, courseTexts.size() - 1));
+				additionalCoursesText += " and " + courseTexts.get(courseTexts.size() - 1);
+			} else {
+				additionalCoursesText = courseTexts.get(0);
+			}
+			additionalCoursesText = String.format("\n%s also earned %s course%s.", firstName, additionalCoursesText,
+					courses.size() > 1 ? "s" : "");
+		}
+
+		String gender = recommendation.getGender().toLowerCase();
+		String genderCapitalized = gender.substring(0, 1).toUpperCase() + gender.substring(1);
+		String genderObjective = gender.equals("he") ? "him" : (gender.equals("she") ? "her" : "them");
+
+		text.append("Letter of Recommendation\n");
+		text.append("For: ").append(firstName).append(" ").append(lastName).append("\n");
+		text.append("\n").append("Date: ").append(recommendation.getTodayDate()).append("\n\n");
+		text.append("To: Graduate Admissions Committee\n");
+		text.append("\n").append("I am writing this letter to recommend my former student ").append(firstName)
+				.append(" ").append(lastName).append(", who is applying for the ").append(recommendation.getProgram())
+				.append(" in your school.\n");
+		text.append("\n").append("I met ").append(firstName).append(" in ").append(recommendation.getFirstSemester())
+				.append(" when ").append(gender).append(" enrolled in my \"").append(recommendation.getFirstCourse())
+				.append("\" course.");
+		text.append("\n").append(firstName).append(" earned \"").append(recommendation.getFirstCourseGrade())
+				.append("\" from this tough course, and this shows how knowledgeable and a hard worker ").append(gender)
+				.append(" is.");
+		text.append("\n");
+		if (!additionalCoursesText.isEmpty()) {
+			text.append(additionalCoursesText);
+		}
+		text.append("\n").append(genderCapitalized).append(" ")
+				.append(String.join(", ", recommendation.getAcademicCharacteristics()));
+		if (recommendation.getAcademicCharacteristics().size() > 1) {
+			int lastIndex = text.lastIndexOf(",");
+			text.replace(lastIndex, lastIndex + 1, ", and");
+		}
+		text.append(".");
+		text.append("\n").append(genderCapitalized).append(" was always ")
+				.append(String.join(", ", recommendation.getPersonalCharacteristics()));
+		if (recommendation.getPersonalCharacteristics().size() > 1) {
+			int lastIndex = text.lastIndexOf(",");
+			text.replace(lastIndex, lastIndex + 1, ", and");
+		}
+		text.append(".");
+		text.append("\n").append("\nFurthermore, I noticed from the term project result, ").append(gender)
+				.append(" developed leadership, time management, and problem-solving skills. ")
+				.append(genderCapitalized)
+				.append(" worked effectively with the team members and delegated tasks appropriately. They were able to deliver a successful project in a timely fashion.\n");
+		text.append("\nI believe that ").append(firstName).append(
+				" has the capacity to excel at a higher education program and this is my pleasure to highly recommend ")
+				.append(genderObjective).append(". ");
+		text.append("Please do not hesitate to contact me with further questions.\n");
+		text.append("\n").append("Very Respectfully,\n");
+
+		Faculty faculty = sharedDataModel.getFaculty();
+		if (faculty != null) {
+			text.append(faculty.getSignature());
+		} else {
+			text.append(
+					"Faculty First Name Faculty Last Name\nFaculty Role\nFaculty School\nFaculty Department\nEmail: Faculty Email\nPhone: Faculty Phone");
+		}
+		return text.toString();
+	}
+
+	/**
+	 * Formats the given grade by converting it to uppercase and surrounding it with
+	 * quotes.
+	 *
+	 * @param grade the grade to format
+	 * @return the formatted grade
+	 */
+	private String formatGrade(String grade) {
+		return "\"" + grade.toUpperCase() + "\"";
+	}
+}
@@ -0,0 +1,89 @@
+/**
+ * Benchmark of the previous line-by-line letter reader.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The line-by-line reader the editor used before letters were read from the
+ * store in one call, kept as a baseline for {@link LetterReadBenchmark}. The
+ * text is built with string concatenation, so the cost grows with the square
+ * of the letter size; a 5 MB letter takes tens of seconds per open and is left
+ * out.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LegacyLetterReadBenchmark {
+	@Param({ "1024", "102400" })
+	public int size;
+
+	private Path file;
+
+	/**
+	 * Writes the letter to a file.
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		file = Files.createTempFile("Pham_Tiffany", ".txt");
+		new DirectoryRecommendationStore(file.getParent()).write(file.getFileName().toString(),
+				BenchmarkData.letterText(size, 42L));
+	}
+
+	/**
+	 * Deletes the letter file.
+	 *
+	 * @throws IOException if the file cannot be deleted
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	/**
+	 * Reads the letter the way {@code EditRecommendationController.setTextArea}
+	 * used to.
+	 *
+	 * @return the letter
+	 * @throws IOException if the letter cannot be read
+	 */
+	@Benchmark
+	public String lineByLine() throws IOException {
+		String text = "";
+		BufferedReader br = new BufferedReader(new FileReader(file.toFile()));
+		String line;
+		while ((line = br.readLine()) != null) {
+			text += line + '\n';
+		}
+		br.close();
+		return text;
+	}
+}
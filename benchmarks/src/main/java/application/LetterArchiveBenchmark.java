@@ -0,0 +1,92 @@
+/**
+ * Throughput and allocation check of the letter exports.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Exports a segment store of many letters, 100000 by default, once as one text
+ * file per letter with {@link RecommendationStore#exportTo} and once into each
+ * {@link LetterArchive.Format}, and prints letters and megabytes per second
+ * for each, with the heap allocated per letter. Run with
+ * {@code -Xmx64m} to confirm that an archive of any size fits in a small heap:
+ *
+ * <pre>
+ * java -Xmx64m -cp benchmarks/target/benchmarks.jar application.LetterArchiveBenchmark 100000
+ * </pre>
+ */
+public class LetterArchiveBenchmark {
+	private static final int LETTER_CHARS = 2500;
+	private static final int TEXTS = 64;
+
+	/**
+	 * Runs the exports.
+	 *
+	 * @param args the number of letters, 100000 by default
+	 * @throws IOException if the store or an export cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		int count = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		Path root = Files.createTempDirectory("letter-archive");
+		try (SegmentRecommendationStore store = new SegmentRecommendationStore(root.resolve("segments"))) {
+			String[] texts = new String[TEXTS];
+			for (int i = 0; i < TEXTS; i++) {
+				texts[i] = BenchmarkData.letterText(LETTER_CHARS, i);
+			}
+			for (int i = 0; i < count; i++) {
+				store.write("Student" + i + "_Benchmark.txt", texts[i % TEXTS]);
+			}
+			store.flush();
+			System.out.println(String.format("%,d letters of %,d characters", count, LETTER_CHARS));
+
+			long start = System.nanoTime();
+			long allocated = allocatedBytes();
+			int exported = store.exportTo(root.resolve("directory"));
+			report("directory", exported, start, allocated, directorySize(root.resolve("directory")));
+
+			for (LetterArchive.Format format : LetterArchive.Format.values()) {
+				Path file = root.resolve("letters-" + format.name().toLowerCase(Locale.ROOT));
+				start = System.nanoTime();
+				allocated = allocatedBytes();
+				int archived = new LetterArchive(store).export(file, format, name -> true, null);
+				report(format.name(), archived, start, allocated, Files.size(file));
+			}
+		} finally {
+			delete(root);
+		}
+	}
+
+	private static void report(String label, int letters, long start, long allocated, long outputBytes) {
+		double seconds = (System.nanoTime() - start) / 1e9;
+		double letterBytes = (double) letters * LETTER_CHARS;
+		System.out.println(String.format("%-10s %,9.0f letters/s %8.1f MB/s %,14d bytes written %8.0f B/letter allocated",
+				label, letters / seconds, letterBytes / seconds / 1e6, outputBytes,
+				(double) (allocatedBytes() - allocated) / letters));
+	}
+
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+	}
+
+	private static long directorySize(Path directory) throws IOException {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.mapToLong(file -> file.toFile().length()).sum();
+		}
+	}
+
+	private static void delete(Path root) throws IOException {
+		try (Stream<Path> files = Files.walk(root)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+}
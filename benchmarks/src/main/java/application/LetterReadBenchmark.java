@@ -0,0 +1,126 @@
+/**
+ * Benchmark of opening a letter from a letter store.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures opening a letter in the editor: reading one letter of the given
+ * size from a store that also holds {@code letters - 1} other letters. Scores
+ * are microseconds per open. See {@link LegacyLetterReadBenchmark} for the
+ * line-by-line reader these replace.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LetterReadBenchmark {
+	private static final String NAME = "Pham_Tiffany.txt";
+
+	@Param({ "1024", "102400", "5242880" })
+	public int size;
+
+	@Param({ "1", "10000" })
+	public int letters;
+
+	private Path root;
+	private DirectoryRecommendationStore directoryStore;
+	private SegmentRecommendationStore segmentStore;
+	private CachingRecommendationStore cachingStore;
+
+	/**
+	 * Fills a directory store and a segment store with the same letters.
+	 *
+	 * @throws IOException if the stores cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		root = Files.createTempDirectory("letter-read");
+		directoryStore = new DirectoryRecommendationStore(root.resolve("directory"));
+		segmentStore = new SegmentRecommendationStore(root.resolve("segments"));
+		String filler = BenchmarkData.letterText(1024, 7L);
+		for (int i = 1; i < letters; i++) {
+			directoryStore.write("Student" + i + "_Filler.txt", filler);
+			segmentStore.write("Student" + i + "_Filler.txt", filler);
+		}
+		String letter = BenchmarkData.letterText(size, 42L);
+		directoryStore.write(NAME, letter);
+		segmentStore.write(NAME, letter);
+		segmentStore.flush();
+		cachingStore = new CachingRecommendationStore(segmentStore, CachingRecommendationStore.DEFAULT_MAX_CHARS);
+		if (!letter.equals(segmentStore.read(NAME)) || !letter.equals(cachingStore.read(NAME))) {
+			throw new IllegalStateException("Stores returned a different letter");
+		}
+	}
+
+	/**
+	 * Deletes the stores.
+	 *
+	 * @throws IOException if the files cannot be deleted
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		cachingStore.close();
+		try (Stream<Path> files = Files.walk(root)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+
+	/**
+	 * Reads the letter from its own file in one call.
+	 *
+	 * @return the letter
+	 * @throws IOException if the letter cannot be read
+	 */
+	@Benchmark
+	public String directoryRead() throws IOException {
+		return directoryStore.read(NAME);
+	}
+
+	/**
+	 * Reads the letter from the segment store with one positional read.
+	 *
+	 * @return the letter
+	 * @throws IOException if the letter cannot be read
+	 */
+	@Benchmark
+	public String segmentRead() throws IOException {
+		return segmentStore.read(NAME);
+	}
+
+	/**
+	 * Reopens a letter that is already in the cache.
+	 *
+	 * @return the letter
+	 * @throws IOException if the letter cannot be read
+	 */
+	@Benchmark
+	public String cachedRead() throws IOException {
+		return cachingStore.read(NAME);
+	}
+}
@@ -0,0 +1,197 @@
+/**
+ * Load test of the letter server with concurrent clients.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Drives a {@link LetterServer} with a fixed number of concurrent clients and
+ * reports requests per second and latency percentiles for each. Every client
+ * sends its next request as soon as the previous one is answered. Seven in ten
+ * requests render a letter, and one in ten each saves a letter, fetches a
+ * saved letter and searches the letters.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar application.LetterServerLoadTest [seconds] [clients,...] [url]
+ * </pre>
+ *
+ * Without a URL, a server is started in this process on a store in a
+ * temporary directory holding {@value #SAVED_LETTERS} letters; the default is
+ * ten seconds each at 1, 100 and 5,000 clients. The latency is measured by the
+ * clients, from sending a request to receiving the whole response.
+ *
+ * <p>
+ * On Java 21 and later the in-process server must run each request on a
+ * virtual thread; the test stops with an error if it does not, so running it
+ * once on Java 21 checks that path of the server.
+ */
+public class LetterServerLoadTest {
+	static final int SAVED_LETTERS = 1000;
+	private static final String[] SEARCH_WORDS = { "passionate", "punctual", "assignments", "Stanford", "exam" };
+
+	private final HttpClient client;
+	private final URI base;
+	private final List<Recommendation> recommendations = BenchmarkData.recommendations(SAVED_LETTERS, 7);
+	private final AtomicLong sequence = new AtomicLong();
+
+	/**
+	 * Constructor for the LetterServerLoadTest.
+	 *
+	 * @param base the server URL, such as {@code http://127.0.0.1:8765}
+	 */
+	public LetterServerLoadTest(URI base) {
+		this.base = base;
+		this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(30)).build();
+	}
+
+	/**
+	 * Runs the load test from the command line.
+	 *
+	 * @param args the seconds per run, the client counts and the server URL
+	 * @throws Exception if the server cannot be started or a run is
+	 *                   interrupted
+	 */
+	public static void main(String[] args) throws Exception {
+		int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		int[] clientCounts = args.length > 1 ? Arrays.stream(args[1].split(",")).mapToInt(Integer::parseInt).toArray()
+				: new int[] { 1, 100, 5000 };
+		if (args.length > 2) {
+			run(new LetterServerLoadTest(URI.create(args[2])), seconds, clientCounts);
+			return;
+		}
+		Path directory = Files.createTempDirectory("letter-server");
+		RecommendationStore store = new CachingRecommendationStore(
+				new WriteBehindRecommendationStore(new SegmentRecommendationStore(directory)),
+				CachingRecommendationStore.DEFAULT_MAX_CHARS);
+		RecommendationManager recommendationManager = new RecommendationManager(new SharedDataModel());
+		recommendationManager.setRecommendationStore(store);
+		LetterServer server = new LetterServer(recommendationManager, 0);
+		try {
+			if (Runtime.version().feature() >= 21 && !server.usesVirtualThreads()) {
+				throw new IllegalStateException("Java " + Runtime.version().feature()
+						+ " has virtual threads, but the server does not use them");
+			}
+			server.start();
+			System.out.println("Server on port " + server.getPort() + (server.usesVirtualThreads()
+					? " with virtual threads" : " with " + LetterServer.FALLBACK_THREADS + " platform threads"));
+			LetterServerLoadTest test = new LetterServerLoadTest(URI.create("http://127.0.0.1:" + server.getPort()));
+			test.saveLetters();
+			run(test, seconds, clientCounts);
+			System.out.println(server.summary());
+		} finally {
+			server.close();
+			store.close();
+			try (Stream<Path> files = Files.walk(directory)) {
+				files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+			}
+		}
+	}
+
+	private static void run(LetterServerLoadTest test, int seconds, int[] clientCounts) throws InterruptedException {
+		System.out.println(String.format("%8s %10s %10s %10s %10s %8s", "clients", "req/s", "p50 ms", "p99 ms",
+				"p99.9 ms", "errors"));
+		for (int clients : clientCounts) {
+			test.run(clients, Math.min(2, seconds));
+			System.out.println(test.run(clients, seconds));
+		}
+	}
+
+	/**
+	 * Saves the letters that fetch and search requests look for.
+	 */
+	private void saveLetters() throws IOException, InterruptedException {
+		for (Recommendation recommendation : recommendations) {
+			HttpResponse<String> response = client.send(post("/letters", recommendation),
+					HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() != 201) {
+				throw new IOException("Saving a letter failed: " + response.statusCode() + " " + response.body());
+			}
+		}
+	}
+
+	/**
+	 * Runs the given number of clients for the given time.
+	 *
+	 * @param clients the number of concurrent clients
+	 * @param seconds how long to run
+	 * @return a report line
+	 * @throws InterruptedException if interrupted while waiting for the
+	 *                              clients
+	 */
+	public String run(int clients, int seconds) throws InterruptedException {
+		LatencyHistogram latency = new LatencyHistogram();
+		AtomicLong errors = new AtomicLong();
+		CountDownLatch finished = new CountDownLatch(clients);
+		long start = System.nanoTime();
+		long deadline = start + seconds * 1_000_000_000L;
+		for (int i = 0; i < clients; i++) {
+			sendNext(deadline, latency, errors, finished);
+		}
+		finished.await();
+		double elapsed = (System.nanoTime() - start) / 1e9;
+		return String.format("%8d %10.0f %10.3f %10.3f %10.3f %8d", clients, latency.getCount() / elapsed,
+				LatencyHistogram.toMillis(latency.getPercentile(50)), LatencyHistogram.toMillis(latency.getPercentile(99)),
+				LatencyHistogram.toMillis(latency.getPercentile(99.9)), errors.get());
+	}
+
+	private void sendNext(long deadline, LatencyHistogram latency, AtomicLong errors, CountDownLatch finished) {
+		if (System.nanoTime() >= deadline) {
+			finished.countDown();
+			return;
+		}
+		HttpRequest request = nextRequest();
+		long sent = System.nanoTime();
+		client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, error) -> {
+			latency.recordSince(sent);
+			if (error != null || response.statusCode() >= 400) {
+				errors.incrementAndGet();
+			}
+			sendNext(deadline, latency, errors, finished);
+		});
+	}
+
+	private HttpRequest nextRequest() {
+		long n = sequence.getAndIncrement();
+		Recommendation recommendation = recommendations.get((int) (n % recommendations.size()));
+		switch ((int) (n % 10)) {
+		case 0:
+			return post("/letters", recommendation);
+		case 1:
+			return HttpRequest.newBuilder(base.resolve("/letters/"
+					+ URLEncoder.encode(recommendation.getLastName() + "_" + recommendation.getFirstName() + ".txt",
+							StandardCharsets.UTF_8)))
+					.build();
+		case 2:
+			return HttpRequest.newBuilder(base.resolve("/search?limit=10&q=" + SEARCH_WORDS[(int) (n / 10
+					% SEARCH_WORDS.length)])).build();
+		default:
+			return post("/render", recommendation);
+		}
+	}
+
+	private HttpRequest post(String path, Recommendation recommendation) {
+		return HttpRequest.newBuilder(base.resolve(path))
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(RecommendationJson.toJson(recommendation))).build();
+	}
+}
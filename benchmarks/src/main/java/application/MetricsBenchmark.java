@@ -0,0 +1,87 @@
+/**
+ * Benchmark of the cost of recording metrics.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures what recording into the {@link MetricsRegistry} adds to a hot path:
+ * one counter increment, and one latency taken with
+ * {@link LatencyHistogram#recordSince}, each from one thread and from four
+ * threads sharing the metric. Run with {@code -prof gc} to confirm that
+ * recording allocates nothing:
+ *
+ * <pre>
+ * java -jar benchmarks/target/benchmarks.jar MetricsBenchmark -prof gc
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+	private MetricsRegistry.Counter counter;
+	private LatencyHistogram histogram;
+
+	/**
+	 * Looks the metrics up, as the recording classes do when created.
+	 */
+	@Setup
+	public void setUp() {
+		MetricsRegistry registry = new MetricsRegistry();
+		counter = registry.counter("benchmark.count");
+		histogram = registry.histogram("benchmark.latency");
+	}
+
+	/**
+	 * Counts one event.
+	 */
+	@Benchmark
+	public void increment() {
+		counter.increment();
+	}
+
+	/**
+	 * Counts one event from four threads at once.
+	 */
+	@Benchmark
+	@Threads(4)
+	public void incrementShared() {
+		counter.increment();
+	}
+
+	/**
+	 * Times an empty operation.
+	 */
+	@Benchmark
+	public void recordLatency() {
+		histogram.recordSince(System.nanoTime());
+	}
+
+	/**
+	 * Times an empty operation from four threads at once.
+	 */
+	@Benchmark
+	@Threads(4)
+	public void recordLatencyShared() {
+		histogram.recordSince(System.nanoTime());
+	}
+}
@@ -0,0 +1,137 @@
+/**
+ * Navigation latency check of the application screens.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.Arrays;
+import java.util.List;
+
+import javafx.animation.AnimationTimer;
+import javafx.application.Application;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+
+/**
+ * Starts the application and walks it through Menu, Search, Menu, Create and
+ * back, as a user going between the screens would, then prints how long the
+ * switches took and exits. It needs a display, and like the application it
+ * reads the option files and opens the letter store in the working directory.
+ * Run it once with the scene cache and once without to compare the two:
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar application.NavigationBenchmark 50
+ * java -Dacademrec.noSceneCache=true -cp benchmarks/target/benchmarks.jar application.NavigationBenchmark 50
+ * </pre>
+ *
+ * One step is taken per pulse. For each step, {@code switch} is the time
+ * {@code Main} spends in the show method, the same time it records as
+ * {@code scene.switch}, and {@code layout} the time from the start of the
+ * switch until the new scene's CSS and layout are done on the pulse that
+ * shows it. The first round, when each screen is shown for the first time, is
+ * reported apart from the later rounds.
+ */
+public class NavigationBenchmark {
+	private static final List<String> ROUTE = Arrays.asList("Menu", "Search", "Menu", "Create");
+
+	/**
+	 * Launches the application and the walk through the screens. The
+	 * application class is nested, as the java launcher refuses to start a
+	 * JavaFX application class from the class path.
+	 *
+	 * @param args the number of rounds, 50 by default
+	 */
+	public static void main(String[] args) {
+		Application.launch(Walk.class, args);
+	}
+
+	/**
+	 * The application, taking one step of the route per pulse once started.
+	 */
+	public static class Walk extends Main {
+		private final LatencyHistogram firstSwitch = new LatencyHistogram();
+		private final LatencyHistogram firstLayout = new LatencyHistogram();
+		private final LatencyHistogram laterSwitch = new LatencyHistogram();
+		private final LatencyHistogram laterLayout = new LatencyHistogram();
+		private Stage stage;
+		private int rounds;
+		private int step;
+		private Scene measured;
+		private Runnable measuring;
+
+		@Override
+		public void start(Stage primaryStage) throws Exception {
+			List<String> args = getParameters().getRaw();
+			rounds = args.isEmpty() ? 50 : Integer.parseInt(args.get(0));
+			stage = primaryStage;
+			super.start(primaryStage);
+			new AnimationTimer() {
+				@Override
+				public void handle(long now) {
+					if (step == rounds * ROUTE.size()) {
+						stop();
+						report();
+						Platform.exit();
+						return;
+					}
+					try {
+						next();
+					} catch (Exception e) {
+						stop();
+						System.out.println("Navigation failed: " + e);
+						Platform.exit();
+					}
+				}
+			}.start();
+		}
+
+		/**
+		 * Shows the next screen of the route, and records the time until its
+		 * layout is done once the pulse gets there.
+		 */
+		private void next() throws Exception {
+			if (measuring != null) {
+				// Removed here rather than from the listener, while the scene is not
+				// running its listeners.
+				measured.removePostLayoutPulseListener(measuring);
+			}
+			boolean first = step < ROUTE.size();
+			String screen = ROUTE.get(step % ROUTE.size());
+			step++;
+			long start = System.nanoTime();
+			switch (screen) {
+			case "Menu":
+				showMenuScene();
+				break;
+			case "Search":
+				showSearchRecommendationScene();
+				break;
+			default:
+				showRecommendationScene();
+				break;
+			}
+			(first ? firstSwitch : laterSwitch).recordSince(start);
+			boolean[] recorded = { false };
+			measured = stage.getScene();
+			measuring = () -> {
+				if (!recorded[0]) {
+					recorded[0] = true;
+					(first ? firstLayout : laterLayout).recordSince(start);
+				}
+			};
+			measured.addPostLayoutPulseListener(measuring);
+		}
+
+		private void report() {
+			String cache = Boolean.getBoolean("academrec.noSceneCache") ? "off" : "on";
+			System.out.println("Scene cache " + cache + ", " + rounds + " rounds of " + String.join(" > ", ROUTE));
+			System.out.println("First round:  switch " + firstSwitch.summary());
+			System.out.println("              layout " + firstLayout.summary());
+			System.out.println("Later rounds: switch " + laterSwitch.summary());
+			System.out.println("              layout " + laterLayout.summary());
+		}
+	}
+}
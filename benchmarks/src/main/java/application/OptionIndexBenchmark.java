@@ -0,0 +1,100 @@
+/**
+ * Benchmark of course suggestions while typing.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures finding the suggestions for a course box as the user types, in a
+ * catalog of {@code courses} courses. {@link #find} asks the
+ * {@link OptionIndex} for the first {@value #LIMIT} matches; {@link #scan}
+ * checks every course, as filtering the whole list would. {@link #build}
+ * measures building the index, which happens on a background thread after the
+ * list changes. Scores are microseconds per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OptionIndexBenchmark {
+	private static final int LIMIT = 30;
+	private static final String[] QUERIES = { "cs1", "obj", "secur", "2", "data", "cs15", "in" };
+
+	@Param({ "1000", "50000", "500000" })
+	public int courses;
+
+	private List<String> options;
+	private OptionIndex index;
+	private int next;
+
+	/**
+	 * Builds the catalog and its index.
+	 */
+	@Setup
+	public void setUp() {
+		options = new ArrayList<>(courses);
+		for (int i = 0; i < courses; i++) {
+			String course = BenchmarkData.COURSES[i % BenchmarkData.COURSES.length];
+			options.add(course.replaceFirst("\\d+", Integer.toString(100 + i)));
+		}
+		index = new OptionIndex(options);
+	}
+
+	/**
+	 * Finds the first matches for a query through the index.
+	 *
+	 * @return the matches
+	 */
+	@Benchmark
+	public List<String> find() {
+		return index.find(QUERIES[next++ % QUERIES.length], LIMIT);
+	}
+
+	/**
+	 * Finds every match for a query by checking each course.
+	 *
+	 * @return the matches
+	 */
+	@Benchmark
+	public List<String> scan() {
+		String query = QUERIES[next++ % QUERIES.length];
+		List<String> found = new ArrayList<>();
+		for (String option : options) {
+			if (option.toLowerCase(Locale.ROOT).contains(query)) {
+				found.add(option);
+			}
+		}
+		return found.subList(0, Math.min(LIMIT, found.size()));
+	}
+
+	/**
+	 * Builds the index.
+	 *
+	 * @return the index
+	 */
+	@Benchmark
+	public OptionIndex build() {
+		return new OptionIndex(options);
+	}
+}
@@ -0,0 +1,118 @@
+/**
+ * Benchmark of applying a changed course file to a course list.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+/**
+ * Measures bringing a course list of {@code entries} courses up to date after
+ * the course file was replaced with a version in which a few courses were
+ * renamed and one was added. {@link #diffOnUiThread} is the work left for the
+ * JavaFX application thread when the diff was computed in the background,
+ * {@link #diffAndApply} includes computing it, and {@link #setAll} clears and
+ * refills the list. The list has a listener that visits every added course,
+ * as a list view does. Scores are microseconds per update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OptionListDiffBenchmark {
+	@Param({ "10000", "100000", "500000" })
+	public int entries;
+
+	private final ObservableList<String> list = FXCollections.observableArrayList();
+	private List<String> before;
+	private List<String> after;
+	private OptionListDiff forward;
+	private OptionListDiff backward;
+	private boolean updated;
+	private long visited;
+
+	/**
+	 * Builds the two versions of the course file.
+	 */
+	@Setup
+	public void setUp() {
+		before = new ArrayList<>(entries);
+		for (int i = 0; i < entries; i++) {
+			before.add(BenchmarkData.COURSES[i % BenchmarkData.COURSES.length] + " " + i);
+		}
+		after = new ArrayList<>(before);
+		for (int i = 0; i < 3; i++) {
+			int position = entries / 2 + i * 10;
+			after.set(position, after.get(position) + " (renamed)");
+		}
+		after.add("CS299: New Course");
+		list.setAll(before);
+		list.addListener((ListChangeListener<String>) change -> {
+			while (change.next()) {
+				for (String course : change.getAddedSubList()) {
+					visited += course.length();
+				}
+			}
+		});
+		forward = OptionListDiff.between(before, after);
+		backward = OptionListDiff.between(after, before);
+	}
+
+	/**
+	 * Applies a diff computed in advance.
+	 *
+	 * @return the number of characters visited by the listener
+	 */
+	@Benchmark
+	public long diffOnUiThread() {
+		(updated ? backward : forward).applyTo(list);
+		updated = !updated;
+		return visited;
+	}
+
+	/**
+	 * Computes the diff and applies it.
+	 *
+	 * @return the number of characters visited by the listener
+	 */
+	@Benchmark
+	public long diffAndApply() {
+		OptionListDiff.between(list, updated ? before : after).applyTo(list);
+		updated = !updated;
+		return visited;
+	}
+
+	/**
+	 * Replaces every course.
+	 *
+	 * @return the number of characters visited by the listener
+	 */
+	@Benchmark
+	public long setAll() {
+		list.setAll(updated ? before : after);
+		updated = !updated;
+		return visited;
+	}
+}
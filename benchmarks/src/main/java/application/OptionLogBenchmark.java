@@ -0,0 +1,102 @@
+/**
+ * Benchmark of saving one option to a large option list.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures saving one new course when the course list already holds
+ * {@code entries} courses. {@link #addOption} appends to the option log,
+ * including its share of the periodic compactions; {@link #rewriteFile}
+ * rewrites the whole option file, as every addition used to. Scores are
+ * microseconds per added course.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OptionLogBenchmark {
+	private static final String COURSE_FILE = "coursesOptions.txt";
+
+	@Param({ "1000", "100000" })
+	public int entries;
+
+	private Path directory;
+	private SharedDataModel sharedDataModel;
+	private int next;
+
+	/**
+	 * Writes an option file with the given number of courses and loads it.
+	 *
+	 * @throws IOException if the file cannot be written
+	 */
+	@Setup(Level.Iteration)
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("option-log");
+		List<String> courses = new ArrayList<>(entries);
+		for (int i = 0; i < entries; i++) {
+			courses.add(BenchmarkData.COURSES[i % BenchmarkData.COURSES.length] + " " + i);
+		}
+		Files.write(directory.resolve(COURSE_FILE), courses);
+		sharedDataModel = new SharedDataModel(directory);
+		if (sharedDataModel.getCourseOptions().size() != entries) {
+			throw new IllegalStateException("Courses were not loaded");
+		}
+	}
+
+	/**
+	 * Deletes the option files.
+	 *
+	 * @throws IOException if the files cannot be deleted
+	 */
+	@TearDown(Level.Iteration)
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+
+	/**
+	 * Adds one course through the option log.
+	 */
+	@Benchmark
+	public void addOption() {
+		sharedDataModel.addOption(COURSE_FILE, "New course " + next++);
+	}
+
+	/**
+	 * Adds one course and rewrites the whole option file.
+	 */
+	@Benchmark
+	public void rewriteFile() {
+		sharedDataModel.getCourseOptions().add("New course " + next++);
+		sharedDataModel.saveDataToFile(COURSE_FILE, sharedDataModel.getCourseOptions());
+	}
+}
@@ -0,0 +1,141 @@
+/**
+ * Benchmark of the text and binary recommendation codecs.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the comma-separated text codec of {@link Recommendation} with the
+ * binary {@link RecommendationCodec}. Scores are records per second; the setup
+ * prints the average encoded size of each format.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommendationCodecBenchmark {
+	private List<Recommendation> recommendations;
+	private String[] text;
+	private ByteBuffer[] binary;
+	private String[] courses;
+	private int next;
+
+	/**
+	 * Encodes the data set in both formats and checks that both codecs
+	 * round-trip every record.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		recommendations = BenchmarkData.recommendations(1024, 42L);
+		text = new String[recommendations.size()];
+		binary = new ByteBuffer[recommendations.size()];
+		courses = new String[recommendations.size()];
+		long textBytes = 0;
+		long binaryBytes = 0;
+		for (int i = 0; i < recommendations.size(); i++) {
+			Recommendation recommendation = recommendations.get(i);
+			text[i] = recommendation.serialize();
+			binary[i] = ByteBuffer.wrap(RecommendationCodec.encode(recommendation));
+			textBytes += text[i].getBytes(StandardCharsets.UTF_8).length;
+			binaryBytes += binary[i].remaining();
+			courses[i] = new Course(recommendation.getFirstCourse(), recommendation.getFirstCourseGrade()).serialize();
+			String expected = RecommendationJson.toJson(recommendation);
+			if (!RecommendationJson.toJson(RecommendationCodec.decode(binary[i])).equals(expected)) {
+				throw new IllegalStateException("Binary codec does not round-trip " + recommendation.getLastName());
+			}
+			if (!RecommendationJson.toJson(Recommendation.deserialize(text[i])).equals(expected)) {
+				throw new IllegalStateException("Text codec does not round-trip " + recommendation.getLastName());
+			}
+		}
+		System.out.println(String.format("%nbytes/record: text %.1f, binary %.1f",
+				textBytes / (double) text.length, binaryBytes / (double) binary.length));
+	}
+
+	private int nextIndex() {
+		int index = next;
+		next = (next + 1) & (recommendations.size() - 1);
+		return index;
+	}
+
+	/**
+	 * Encodes a recommendation with the text codec.
+	 *
+	 * @return the encoded record
+	 */
+	@Benchmark
+	public String textEncode() {
+		return recommendations.get(nextIndex()).serialize();
+	}
+
+	/**
+	 * Decodes a recommendation with the text codec.
+	 *
+	 * @return the decoded record
+	 */
+	@Benchmark
+	public Recommendation textDecode() {
+		return Recommendation.deserialize(text[nextIndex()]);
+	}
+
+	/**
+	 * Decodes a course with the text codec.
+	 *
+	 * @return the decoded course
+	 */
+	@Benchmark
+	public Course textCourseDecode() {
+		return Course.deserialize(courses[nextIndex()]);
+	}
+
+	/**
+	 * Encodes a recommendation with the binary codec.
+	 *
+	 * @return the encoded record
+	 */
+	@Benchmark
+	public byte[] binaryEncode() {
+		return RecommendationCodec.encode(recommendations.get(nextIndex()));
+	}
+
+	/**
+	 * Decodes every field of a recommendation with the binary codec.
+	 *
+	 * @return the decoded record
+	 */
+	@Benchmark
+	public Recommendation binaryDecode() {
+		return RecommendationCodec.decode(binary[nextIndex()]);
+	}
+
+	/**
+	 * Reads only the last name from an encoded recommendation, as a search over
+	 * stored records would.
+	 *
+	 * @return the last name
+	 */
+	@Benchmark
+	public String binaryLazyLastName() {
+		return RecommendationCodec.view(binary[nextIndex()]).getLastName();
+	}
+}
@@ -0,0 +1,78 @@
+/**
+ * Benchmark of rendering a letter through the recommendation manager.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures rendering a letter through {@link RecommendationManager}, the call
+ * the recommendation screen makes. The data set fits in the rendered letter
+ * cache, so {@link #generateFormattedText} measures a cache hit, including the
+ * hash of the fields; {@link #generateFormattedTextUncached} renders every
+ * time, as the batch generator does. Scores are letters per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecommendationManagerBenchmark {
+	private RecommendationManager recommendationManager;
+	private List<Recommendation> recommendations;
+	private int next;
+
+	/**
+	 * Creates the manager and the data set.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		SharedDataModel sharedDataModel = new SharedDataModel();
+		sharedDataModel.setFaculty(BenchmarkData.faculty());
+		recommendationManager = new RecommendationManager(sharedDataModel);
+		recommendations = BenchmarkData.recommendations(1024, 42L);
+	}
+
+	/**
+	 * Renders one letter.
+	 *
+	 * @return the letter
+	 */
+	@Benchmark
+	public String generateFormattedText() {
+		Recommendation recommendation = recommendations.get(next);
+		next = (next + 1) & (recommendations.size() - 1);
+		return recommendationManager.generateFormattedText(recommendation);
+	}
+
+	/**
+	 * Renders one letter without the rendered letter cache.
+	 *
+	 * @return the letter
+	 */
+	@Benchmark
+	public String generateFormattedTextUncached() {
+		Recommendation recommendation = recommendations.get(next);
+		next = (next + 1) & (recommendations.size() - 1);
+		StringBuilder text = new StringBuilder(4096);
+		recommendationManager.generateFormattedText(recommendation, text);
+		return text.toString();
+	}
+}
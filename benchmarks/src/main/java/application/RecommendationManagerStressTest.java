@@ -0,0 +1,276 @@
+/**
+ * Concurrency stress test of the recommendation manager.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Checks that {@link RecommendationManager} neither loses changes nor throws
+ * when many threads add, replace, remove and search recommendations and
+ * letter names at once.
+ *
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar application.RecommendationManagerStressTest [seconds] [threads]
+ * </pre>
+ *
+ * Each thread works on last names and letter names of its own, so it knows
+ * exactly what the manager must hold for them, and checks every search for
+ * them against that while the other threads keep changing theirs. At the end
+ * the whole catalog, the name indexes and the observable list of letter names
+ * are compared with what all threads expect. The process exits with status 1
+ * on any difference or exception. The default is ten seconds on 32 threads.
+ */
+public class RecommendationManagerStressTest {
+	private static final int NAMES_PER_THREAD = 16;
+
+	private final RecommendationManager recommendationManager = new RecommendationManager(new SharedDataModel());
+	private final ConcurrentLinkedQueue<String> failures = new ConcurrentLinkedQueue<>();
+	private final AtomicLong operations = new AtomicLong();
+
+	/**
+	 * Runs the stress test from the command line.
+	 *
+	 * @param args the number of seconds and of threads
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	public static void main(String[] args) throws InterruptedException {
+		int seconds = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+		int threads = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+		RecommendationManagerStressTest test = new RecommendationManagerStressTest();
+		boolean passed = test.run(threads, seconds);
+		System.exit(passed ? 0 : 1);
+	}
+
+	/**
+	 * Runs the given number of threads for the given time and checks the
+	 * result.
+	 *
+	 * @param threads the number of threads
+	 * @param seconds how long to run
+	 * @return true if no change was lost and nothing threw
+	 * @throws InterruptedException if interrupted while waiting for the threads
+	 */
+	public boolean run(int threads, int seconds) throws InterruptedException {
+		long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+		List<Worker> workers = new ArrayList<>(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Thread> running = new ArrayList<>(threads);
+		for (int i = 0; i < threads; i++) {
+			Worker worker = new Worker(i, deadline, start);
+			workers.add(worker);
+			Thread thread = new Thread(worker, "stress-" + i);
+			running.add(thread);
+			thread.start();
+		}
+		start.countDown();
+		for (Thread thread : running) {
+			thread.join();
+		}
+		verify(workers);
+		System.out.println(String.format("%d operations on %d threads in %ds, %d recommendations, %d letter names",
+				operations.get(), threads, seconds, recommendationManager.getRecommendations().size(),
+				recommendationManager.getRecommendationFileNames().size()));
+		for (String failure : failures) {
+			System.out.println("FAIL: " + failure);
+		}
+		System.out.println(failures.isEmpty() ? "PASS" : "FAIL: " + failures.size() + " problems");
+		return failures.isEmpty();
+	}
+
+	/**
+	 * Compares the final state of the manager with what the threads expect.
+	 */
+	private void verify(List<Worker> workers) {
+		Map<Recommendation, Boolean> expected = new IdentityHashMap<>();
+		Set<String> expectedFiles = new TreeSet<>();
+		for (Worker worker : workers) {
+			for (List<Recommendation> list : worker.byLastName.values()) {
+				for (Recommendation recommendation : list) {
+					expected.put(recommendation, Boolean.TRUE);
+				}
+			}
+			for (String lastName : worker.byLastName.keySet()) {
+				worker.checkLastName(lastName);
+			}
+			worker.checkFiles();
+			expectedFiles.addAll(worker.files);
+		}
+		List<Recommendation> catalog = recommendationManager.getRecommendations();
+		Map<Recommendation, Boolean> actual = new IdentityHashMap<>();
+		for (Recommendation recommendation : catalog) {
+			if (actual.put(recommendation, Boolean.TRUE) != null) {
+				failures.add("Recommendation listed twice: " + recommendation.getLastName());
+			}
+		}
+		if (!actual.keySet().equals(expected.keySet())) {
+			failures.add("Catalog holds " + actual.size() + " recommendations, expected " + expected.size());
+		}
+		recommendationManager.flushRecommendationFileNames();
+		List<String> fileNames = new ArrayList<>(recommendationManager.getRecommendationFileNames());
+		if (fileNames.size() != new HashSet<>(fileNames).size() || !new TreeSet<>(fileNames).equals(expectedFiles)) {
+			failures.add("Observable letter names hold " + fileNames.size() + ", expected " + expectedFiles.size());
+		}
+	}
+
+	/**
+	 * One thread of changes and searches on its own names.
+	 */
+	private final class Worker implements Runnable {
+		private final int id;
+		private final long deadline;
+		private final CountDownLatch start;
+		private final Random random;
+		private final Map<String, List<Recommendation>> byLastName = new HashMap<>();
+		private final Set<String> files = new TreeSet<>();
+		private int created;
+
+		private Worker(int id, long deadline, CountDownLatch start) {
+			this.id = id;
+			this.deadline = deadline;
+			this.start = start;
+			this.random = new Random(id);
+		}
+
+		@Override
+		public void run() {
+			try {
+				start.await();
+				while (System.nanoTime() < deadline) {
+					step();
+					operations.incrementAndGet();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (RuntimeException e) {
+				failures.add("Thread " + id + " threw " + e);
+				e.printStackTrace();
+			}
+		}
+
+		private void step() {
+			String lastName = "T" + id + "n" + random.nextInt(NAMES_PER_THREAD);
+			List<Recommendation> mine = byLastName.computeIfAbsent(lastName, key -> new ArrayList<>());
+			switch (random.nextInt(10)) {
+			case 0:
+			case 1: {
+				Recommendation added = recommendation(lastName);
+				recommendationManager.addRecommendations(Collections.singletonList(added));
+				mine.add(added);
+				break;
+			}
+			case 2:
+				if (!mine.isEmpty()) {
+					Recommendation previous = mine.remove(random.nextInt(mine.size()));
+					Recommendation updated = recommendation(lastName);
+					if (!recommendationManager.replaceRecommendation(previous, updated)) {
+						failures.add("Lost " + lastName + " before replacing it");
+					}
+					mine.add(updated);
+				}
+				break;
+			case 3:
+				if (!mine.isEmpty()) {
+					Recommendation removed = mine.remove(random.nextInt(mine.size()));
+					if (!recommendationManager.removeRecommendation(removed)) {
+						failures.add("Lost " + lastName + " before removing it");
+					}
+				}
+				break;
+			case 4: {
+				String fileName = lastName + "_F" + random.nextInt(4) + ".txt";
+				if (random.nextBoolean()) {
+					recommendationManager.addRecommendationFile(fileName);
+					files.add(fileName);
+				} else {
+					recommendationManager.removeRecommendationFile(fileName);
+					files.remove(fileName);
+				}
+				break;
+			}
+			case 5:
+				checkFiles();
+				break;
+			case 6:
+				recommendationManager.findRecommendationsByNameFuzzy("T" + random.nextInt(32) + "n1", 1, 20);
+				break;
+			case 7:
+				if (random.nextInt(50) == 0) {
+					checkCatalogContainsMine();
+				}
+				break;
+			default:
+				checkLastName(lastName);
+				break;
+			}
+		}
+
+		private Recommendation recommendation(String lastName) {
+			return new Recommendation("F" + id + "x" + created++, lastName, "they", "05/01/2023", "Stanford",
+					"Master of Science (MS)", "Fall 2023", "CS151", "A", new ArrayList<>(), new ArrayList<>(),
+					new ArrayList<>());
+		}
+
+		private void checkLastName(String lastName) {
+			List<Recommendation> expected = byLastName.getOrDefault(lastName, Collections.emptyList());
+			List<Recommendation> found = recommendationManager.findRecommendationsByLastName(lastName);
+			if (!sameElements(found, expected)) {
+				failures.add("Search for " + lastName + " found " + found.size() + ", expected " + expected.size());
+			}
+		}
+
+		private void checkFiles() {
+			// The "n" after the thread number keeps "T1n" from matching thread 10.
+			Set<String> mine = new TreeSet<>(recommendationManager.searchRecommendationFiles("T" + id + "n"));
+			if (!mine.equals(files)) {
+				failures.add("Thread " + id + " letter names " + mine + ", expected " + files);
+			}
+		}
+
+		private void checkCatalogContainsMine() {
+			Map<Recommendation, Boolean> all = new IdentityHashMap<>();
+			for (Recommendation recommendation : recommendationManager.getRecommendations()) {
+				all.put(recommendation, Boolean.TRUE);
+			}
+			for (List<Recommendation> list : byLastName.values()) {
+				for (Recommendation recommendation : list) {
+					if (!all.containsKey(recommendation)) {
+						failures.add("Snapshot is missing " + recommendation.getLastName());
+						return;
+					}
+				}
+			}
+		}
+
+		private boolean sameElements(List<Recommendation> found, List<Recommendation> expected) {
+			if (found.size() != expected.size()) {
+				return false;
+			}
+			Map<Recommendation, Boolean> set = new IdentityHashMap<>();
+			for (Recommendation recommendation : expected) {
+				set.put(recommendation, Boolean.TRUE);
+			}
+			for (Recommendation recommendation : found) {
+				if (set.remove(recommendation) == null) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
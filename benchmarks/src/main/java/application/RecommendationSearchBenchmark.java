@@ -0,0 +1,170 @@
+/**
+ * Benchmark of recommendation lookups by last name.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures looking up recommendations by last name at 1k, 100k and 1M
+ * recommendations. Queries are last names of students in the data set, so
+ * common names are searched for more often, as they would be in practice.
+ * {@link #linearScan} is the stream filter the search used before the last
+ * names were indexed. {@link #searchFilesByPrefix} fetches one page of
+ * letter names, and {@link #incrementalSearch} runs what the search screen
+ * does on the first keystroke: an {@link IncrementalSearch} for a one-letter
+ * prefix, shown page by page until the search stops. Scores are microseconds
+ * per search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RecommendationSearchBenchmark {
+	private static final int QUERIES = 1024;
+
+	@Param({ "1000", "100000", "1000000" })
+	public int recommendations;
+
+	private RecommendationManager recommendationManager;
+	private RecommendationSearch recommendationSearch;
+	private String[] lastNames;
+	private String[] prefixes;
+	private String[] initials;
+	private IncrementalSearch incrementalSearch;
+	private int next;
+
+	/**
+	 * Loads the data set into a manager and picks the queries.
+	 */
+	@Setup(Level.Trial)
+	public void setUp() {
+		List<Recommendation> data = BenchmarkData.recommendations(recommendations, 42L);
+		recommendationManager = new RecommendationManager(new SharedDataModel());
+		recommendationManager.addRecommendations(data);
+		List<String> fileNames = new ArrayList<>(data.size());
+		for (Recommendation recommendation : data) {
+			fileNames.add(recommendation.getLastName() + "_" + recommendation.getFirstName() + ".txt");
+		}
+		recommendationManager.addRecommendationFiles(fileNames);
+		recommendationSearch = new RecommendationSearch(recommendationManager);
+
+		Random random = new Random(7L);
+		lastNames = new String[QUERIES];
+		prefixes = new String[QUERIES];
+		initials = new String[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			String lastName = data.get(random.nextInt(data.size())).getLastName();
+			lastNames[i] = random.nextBoolean() ? lastName : lastName.toUpperCase(Locale.ROOT);
+			prefixes[i] = lastName.substring(0, Math.min(3, lastName.length()));
+			initials[i] = lastName.substring(0, 1);
+		}
+		if (recommendationSearch.searchByLastName(lastNames[0]).size() != linearScan(lastNames[0]).size()) {
+			throw new IllegalStateException("Index and scan disagree for " + lastNames[0]);
+		}
+		incrementalSearch = new IncrementalSearch(recommendationManager, Runnable::run);
+	}
+
+	/**
+	 * Stops the search thread.
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		incrementalSearch.shutdown();
+	}
+
+	private int nextIndex() {
+		int index = next;
+		next = (next + 1) & (QUERIES - 1);
+		return index;
+	}
+
+	/**
+	 * Looks up a last name in the index.
+	 *
+	 * @return the matching recommendations
+	 */
+	@Benchmark
+	public List<Recommendation> searchByLastName() {
+		return recommendationSearch.searchByLastName(lastNames[nextIndex()]);
+	}
+
+	/**
+	 * Looks up a last name by scanning every recommendation.
+	 *
+	 * @return the matching recommendations
+	 */
+	@Benchmark
+	public List<Recommendation> linearScan() {
+		return linearScan(lastNames[nextIndex()]);
+	}
+
+	/**
+	 * Fetches the first page of letter names starting with a prefix, as the
+	 * search screen does for each page it shows.
+	 *
+	 * @return the matching letter names
+	 */
+	@Benchmark
+	public List<String> searchFilesByPrefix() {
+		return recommendationManager.searchRecommendationFiles(prefixes[nextIndex()], 0,
+				IncrementalSearch.PAGE_SIZE + 1);
+	}
+
+	/**
+	 * Searches for a one-letter prefix as the search screen does, with the
+	 * pages shown on the benchmark thread, and waits until the search stops.
+	 *
+	 * @return the number of letter names shown
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	@Benchmark
+	public int incrementalSearch() throws InterruptedException {
+		CountDownLatch done = new CountDownLatch(1);
+		int[] shown = new int[1];
+		incrementalSearch.search(initials[nextIndex()], new IncrementalSearch.Results() {
+			@Override
+			public void page(List<String> names, boolean first) {
+			}
+
+			@Override
+			public void done(int total, boolean more) {
+				shown[0] = total;
+				done.countDown();
+			}
+		});
+		done.await();
+		return shown[0];
+	}
+
+	private List<Recommendation> linearScan(String lastName) {
+		return recommendationManager.getRecommendations().stream()
+				.filter(recommendation -> recommendation.getLastName().equalsIgnoreCase(lastName))
+				.collect(Collectors.toList());
+	}
+}
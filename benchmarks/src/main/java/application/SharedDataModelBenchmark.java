@@ -0,0 +1,163 @@
+/**
+ * Benchmark of loading the dropdown option files.
+ *
+ * @version 1.0
+ * @since 2026-10-18
+ */
+package application;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures loading the dropdown options at startup. With {@code entries} set
+ * to 0 the option files are read from the working directory, as they are by
+ * the application, so this suite has to be run from the repository root;
+ * otherwise every option file is generated with that many lines in a temporary
+ * directory. Scores are microseconds per load.
+ *
+ * <p>
+ * {@link #startup} is the time the login screen waits for the data model,
+ * {@link #loadDataFromFiles} the time until every list is filled, and
+ * {@link #scannerLoad} the line-by-line loading the model did before, which
+ * the login screen used to wait for in full.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SharedDataModelBenchmark {
+	private static final String[] OPTION_FILES = { "semesterOptions.txt", "programOptions.txt",
+			"personalCharacterOptions.txt", "academicCharacterOptions.txt", "coursesOptions.txt" };
+
+	@Param({ "0", "100000" })
+	public int entries;
+
+	private Path directory;
+	private Path generated;
+
+	/**
+	 * Generates the option files, or checks that the repository's can be found.
+	 *
+	 * @throws IOException if the files cannot be written
+	 */
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		if (entries == 0) {
+			directory = Paths.get("");
+			for (String file : OPTION_FILES) {
+				if (!Files.isRegularFile(Paths.get(file))) {
+					throw new IllegalStateException(file + " not found; run this benchmark from the repository root");
+				}
+			}
+			return;
+		}
+		generated = Files.createTempDirectory("option-files");
+		directory = generated;
+		Random random = new Random(42L);
+		for (String file : OPTION_FILES) {
+			List<String> lines = new ArrayList<>(entries);
+			for (int i = 0; i < entries; i++) {
+				lines.add(BenchmarkData.COURSES[random.nextInt(BenchmarkData.COURSES.length)] + " " + i);
+			}
+			Files.write(generated.resolve(file), lines);
+		}
+		SharedDataModel model = new SharedDataModel(directory);
+		if (model.getCourseOptions().size() != entries || model.getAdditionalCourses().size() != entries
+				|| !model.getCourseOptions().equals(scannerLoad().get(4))) {
+			throw new IllegalStateException("Options were loaded differently");
+		}
+	}
+
+	/**
+	 * Deletes the generated option files.
+	 *
+	 * @throws IOException if the files cannot be deleted
+	 */
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		if (generated != null) {
+			try (Stream<Path> files = Files.walk(generated)) {
+				files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+			}
+		}
+	}
+
+	/**
+	 * Creates a data model, which starts loading the option files in the
+	 * background.
+	 *
+	 * @return the data model
+	 */
+	@Benchmark
+	public SharedDataModel startup() {
+		return new SharedDataModel(directory);
+	}
+
+	/**
+	 * Creates a data model and waits for every option list.
+	 *
+	 * @return the loaded data model
+	 */
+	@Benchmark
+	public SharedDataModel loadDataFromFiles() {
+		SharedDataModel model = new SharedDataModel(directory);
+		model.getSemesterOptions();
+		model.getProgramOptions();
+		model.getPersonalCharacterOptions();
+		model.getAcademicCharacterOptions();
+		model.getCourseOptions();
+		model.getAdditionalCourses();
+		return model;
+	}
+
+	/**
+	 * Loads the option lists one after another with a {@link Scanner} each,
+	 * reading the courses file twice, as the data model used to.
+	 *
+	 * @return the loaded lists
+	 * @throws FileNotFoundException if an option file is missing
+	 */
+	@Benchmark
+	public List<List<String>> scannerLoad() throws FileNotFoundException {
+		List<List<String>> lists = new ArrayList<>();
+		for (String file : new String[] { OPTION_FILES[0], OPTION_FILES[1], OPTION_FILES[2], OPTION_FILES[3],
+				OPTION_FILES[4], OPTION_FILES[4] }) {
+			List<String> lines = new ArrayList<>();
+			Scanner scanner = new Scanner(new File(directory.resolve(file).toString()));
+			while (scanner.hasNextLine()) {
+				lines.add(scanner.nextLine());
+			}
+			scanner.close();
+			lists.add(lines);
+		}
+		return lists;
+	}
+}